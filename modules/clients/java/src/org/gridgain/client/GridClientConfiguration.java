@@ -76,6 +76,12 @@ public class GridClientConfiguration {
     /** TCP_NODELAY flag. */
     private boolean tcpNoDelay = DFLT_TCP_NODELAY;
 
+    /** Maximum number of in-flight requests per connection. */
+    private int maxPipelinedReqs;
+
+    /** Request coalescing window in microseconds. */
+    private long coalescingWindow;
+
     /** SSL context factory  */
     private GridSslContextFactory sslCtxFactory;
 
@@ -135,12 +141,14 @@ public class GridClientConfiguration {
         autoFetchAttrs = cfg.isAutoFetchAttributes();
         autoFetchMetrics = cfg.isAutoFetchMetrics();
         balancer = cfg.getBalancer();
+        coalescingWindow = cfg.getRequestCoalescingWindow();
         connectTimeout = cfg.getConnectTimeout();
         cred = cfg.getCredentials();
         enableAttrsCache = cfg.isEnableAttributesCache();
         enableMetricsCache = cfg.isEnableMetricsCache();
         executor = cfg.getExecutorService();
         maxConnIdleTime = cfg.getMaxConnectionIdleTime();
+        maxPipelinedReqs = cfg.getMaxPipelinedRequests();
         pingInterval = cfg.getPingInterval();
         pingTimeout = cfg.getPingTimeout();
         proto = cfg.getProtocol();
@@ -294,6 +302,54 @@ public class GridClientConfiguration {
         this.tcpNoDelay = tcpNoDelay;
     }
 
+    /**
+     * Gets maximum number of requests which can be sent over single {@link GridClientProtocol#TCP}
+     * connection without waiting for responses. Once the limit is reached, threads issuing new
+     * requests block until responses for previous ones are received.
+     * <p>
+     * Default is {@code 0} which means that number of in-flight requests is not limited.
+     *
+     * @return Maximum number of in-flight requests per connection.
+     */
+    public int getMaxPipelinedRequests() {
+        return maxPipelinedReqs;
+    }
+
+    /**
+     * Sets maximum number of in-flight requests per connection. See {@link #getMaxPipelinedRequests()}.
+     *
+     * @param maxPipelinedReqs Maximum number of in-flight requests, {@code 0} for no limit.
+     */
+    public void setMaxPipelinedRequests(int maxPipelinedReqs) {
+        this.maxPipelinedReqs = maxPipelinedReqs;
+    }
+
+    /**
+     * Gets request coalescing window in microseconds. If greater than {@code 0}, then concurrent
+     * single-key {@code get} and {@code put} operations sent over the same {@link GridClientProtocol#TCP}
+     * connection within this window are combined into one multi-key request. This trades slightly
+     * higher latency of individual operations for much higher throughput under concurrent load.
+     * <p>
+     * Note that if batched request fails to be sent, operations joined to the batch by other threads
+     * fail without being retried on another connection.
+     * <p>
+     * Default is {@code 0} which means that requests are not coalesced.
+     *
+     * @return Request coalescing window in microseconds.
+     */
+    public long getRequestCoalescingWindow() {
+        return coalescingWindow;
+    }
+
+    /**
+     * Sets request coalescing window in microseconds. See {@link #getRequestCoalescingWindow()}.
+     *
+     * @param coalescingWindow Request coalescing window in microseconds, {@code 0} to disable coalescing.
+     */
+    public void setRequestCoalescingWindow(long coalescingWindow) {
+        this.coalescingWindow = coalescingWindow;
+    }
+
     /**
      * Sets timeout for socket connect operation.
      *
@@ -650,6 +706,8 @@ public class GridClientConfiguration {
         String proto = in.getProperty(prefix + "protocol");
         String srvrs = in.getProperty(prefix + "servers");
         String tcpNoDelay = in.getProperty(prefix + "tcp.noDelay");
+        String maxPipelinedReqs = in.getProperty(prefix + "tcp.maxPipelinedRequests");
+        String coalescingWindow = in.getProperty(prefix + "tcp.coalescingWindow");
         String topRefreshFreq = in.getProperty(prefix + "topology.refresh");
 
         String sslEnabled = in.getProperty(prefix + "ssl.enabled");
@@ -692,6 +750,12 @@ public class GridClientConfiguration {
         if (!isEmpty(tcpNoDelay))
             setTcpNoDelay(Boolean.parseBoolean(tcpNoDelay));
 
+        if (!isEmpty(maxPipelinedReqs))
+            setMaxPipelinedRequests(Integer.parseInt(maxPipelinedReqs));
+
+        if (!isEmpty(coalescingWindow))
+            setRequestCoalescingWindow(Long.parseLong(coalescingWindow));
+
         if (!isEmpty(topRefreshFreq))
             setTopologyRefreshFrequency(Long.parseLong(topRefreshFreq));
 
@@ -744,6 +808,8 @@ public class GridClientConfiguration {
                 String name = in.getProperty(prefix + "data." + cfgName + ".name");
                 String bal = in.getProperty(prefix + "data." + cfgName + ".balancer");
                 String aff = in.getProperty(prefix + "data." + cfgName + ".affinity");
+                String nearMaxSize = in.getProperty(prefix + "data." + cfgName + ".nearCacheMaxSize");
+                String nearTtl = in.getProperty(prefix + "data." + cfgName + ".nearCacheTimeToLive");
 
                 GridClientDataConfiguration dataCfg = new GridClientDataConfiguration();
 
@@ -751,6 +817,12 @@ public class GridClientConfiguration {
                 dataCfg.setBalancer(resolveBalancer(bal));
                 dataCfg.setAffinity(resolveAffinity(aff));
 
+                if (!isEmpty(nearMaxSize))
+                    dataCfg.setNearCacheMaxSize(Integer.parseInt(nearMaxSize));
+
+                if (!isEmpty(nearTtl))
+                    dataCfg.setNearCacheTimeToLive(Long.parseLong(nearTtl));
+
                 list.add(dataCfg);
             }
 
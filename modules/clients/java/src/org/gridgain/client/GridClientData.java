@@ -23,6 +23,8 @@
 
 package org.gridgain.client;
 
+import org.jetbrains.annotations.*;
+
 import java.util.*;
 
 /**
@@ -366,6 +368,15 @@ public interface GridClientData {
      */
     public GridClientDataMetrics cachedMetrics() throws GridClientException;
 
+    /**
+     * Gets metrics of client near cache (see {@link GridClientDataConfiguration#getNearCacheMaxSize()}).
+     * Hits and misses are counted for reads served by near cache, writes are counted for values
+     * loaded from remote grid and stored in near cache.
+     *
+     * @return Near cache metrics or {@code null} if near cache is disabled.
+     */
+    @Nullable public GridClientDataMetrics nearCacheMetrics();
+
     /**
      * Append requested value to already cached one. This method supports work with strings, lists and maps.
      * <p>
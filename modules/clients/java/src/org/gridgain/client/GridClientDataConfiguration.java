@@ -24,6 +24,8 @@ package org.gridgain.client;
 
 import org.gridgain.client.balancer.*;
 
+import java.util.*;
+
 /**
  * Java client data configuration.
  */
@@ -37,6 +39,15 @@ public class GridClientDataConfiguration {
     /** Balancer for pinned mode. */
     private GridClientLoadBalancer balancer = new GridClientRandomBalancer();
 
+    /** Near cache maximum size. */
+    private int nearMaxSize;
+
+    /** Near cache entries time to live. */
+    private long nearTtl;
+
+    /** Near cache eviction policy. */
+    private GridClientNearCacheEvictionPolicy nearEvictPlc;
+
     /**
      * Creates empty configuration.
      */
@@ -54,6 +65,9 @@ public class GridClientDataConfiguration {
         affinity = cfg.getAffinity();
         balancer = cfg.getPinnedBalancer();
         name = cfg.getName();
+        nearEvictPlc = cfg.getNearCacheEvictionPolicy();
+        nearMaxSize = cfg.getNearCacheMaxSize();
+        nearTtl = cfg.getNearCacheTimeToLive();
     }
 
     /**
@@ -120,4 +134,71 @@ public class GridClientDataConfiguration {
     public void setBalancer(GridClientLoadBalancer balancer) {
         this.balancer = balancer;
     }
+
+    /**
+     * Gets maximum number of entries in client near cache. If greater than {@code 0}, then
+     * values returned by {@link GridClientData#get(Object)} and {@link GridClientData#getAll(Collection)}
+     * are kept on client and subsequent reads of the same keys are served locally.
+     * <p>
+     * Near cache is stale-tolerant: it is invalidated on every update made through this client,
+     * but updates made by other clients or grid nodes become visible only once near entry expires.
+     * Therefore near cache should be used only for data which may be read stale for up to
+     * {@link #getNearCacheTimeToLive()} milliseconds, which must be positive if near cache is enabled.
+     * <p>
+     * Default is {@code 0} which means that near cache is disabled.
+     *
+     * @return Maximum near cache size.
+     */
+    public int getNearCacheMaxSize() {
+        return nearMaxSize;
+    }
+
+    /**
+     * Sets maximum number of entries in client near cache. See {@link #getNearCacheMaxSize()}.
+     *
+     * @param nearMaxSize Maximum near cache size, {@code 0} to disable near cache.
+     */
+    public void setNearCacheMaxSize(int nearMaxSize) {
+        this.nearMaxSize = nearMaxSize;
+    }
+
+    /**
+     * Gets time in milliseconds after which near cache entry expires and next read goes to
+     * remote grid. This is the maximum time for which near cache may return stale value updated
+     * by other clients or grid nodes. Must be positive if near cache is enabled, client fails to
+     * start otherwise. Default is {@code 0}.
+     *
+     * @return Near cache entries time to live in milliseconds.
+     */
+    public long getNearCacheTimeToLive() {
+        return nearTtl;
+    }
+
+    /**
+     * Sets near cache entries time to live in milliseconds. See {@link #getNearCacheTimeToLive()}.
+     *
+     * @param nearTtl Near cache entries time to live.
+     */
+    public void setNearCacheTimeToLive(long nearTtl) {
+        this.nearTtl = nearTtl;
+    }
+
+    /**
+     * Gets eviction policy for near cache. If {@code null}, then {@link GridClientNearCacheLruEvictionPolicy}
+     * is used.
+     *
+     * @return Near cache eviction policy.
+     */
+    public GridClientNearCacheEvictionPolicy getNearCacheEvictionPolicy() {
+        return nearEvictPlc;
+    }
+
+    /**
+     * Sets eviction policy for near cache. Policy instance must not be shared between clients.
+     *
+     * @param nearEvictPlc Near cache eviction policy.
+     */
+    public void setNearCacheEvictionPolicy(GridClientNearCacheEvictionPolicy nearEvictPlc) {
+        this.nearEvictPlc = nearEvictPlc;
+    }
 }
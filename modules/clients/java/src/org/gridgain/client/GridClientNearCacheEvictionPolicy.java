@@ -0,0 +1,57 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.client;
+
+import org.jetbrains.annotations.*;
+
+/**
+ * Eviction policy for client near cache (see {@link GridClientDataConfiguration#getNearCacheMaxSize()}).
+ * Policy tracks keys stored in near cache and, once near cache exceeds its maximum size, is asked
+ * for a key to evict.
+ * <p>
+ * Near cache synchronizes on policy instance when calling its methods, so implementations
+ * do not need to be thread-safe. A separate policy instance must be used for every data configuration.
+ */
+public interface GridClientNearCacheEvictionPolicy {
+    /**
+     * Callback for key stored in or read from near cache.
+     *
+     * @param key Key.
+     */
+    public void onAccessed(Object key);
+
+    /**
+     * Callback for key removed from near cache.
+     *
+     * @param key Key.
+     */
+    public void onRemoved(Object key);
+
+    /**
+     * Gets next key to evict from near cache.
+     *
+     * @return Key to evict or {@code null} if policy does not track any keys.
+     */
+    @Nullable public Object evictionCandidate();
+}
@@ -0,0 +1,59 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.client;
+
+import org.jetbrains.annotations.*;
+
+import java.util.*;
+
+/**
+ * Near cache eviction policy based on {@code LRU} algorithm. Least recently read or
+ * updated key is evicted first. This is the default near cache eviction policy.
+ */
+public class GridClientNearCacheLruEvictionPolicy implements GridClientNearCacheEvictionPolicy {
+    /** Keys in access order. */
+    private final LinkedHashMap<Object, Boolean> keys = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** {@inheritDoc} */
+    @Override public void onAccessed(Object key) {
+        keys.put(key, Boolean.TRUE);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onRemoved(Object key) {
+        keys.remove(key);
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public Object evictionCandidate() {
+        Iterator<Object> it = keys.keySet().iterator();
+
+        return it.hasNext() ? it.next() : null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return "GridClientNearCacheLruEvictionPolicy [size=" + keys.size() + ']';
+    }
+}
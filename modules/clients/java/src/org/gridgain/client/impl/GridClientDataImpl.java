@@ -27,6 +27,7 @@ import org.gridgain.client.balancer.*;
 import org.gridgain.client.impl.connection.*;
 import org.gridgain.client.util.*;
 import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
 
 import java.util.*;
 
@@ -46,6 +47,9 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
     /** Cache flags to be enabled. */
     private final Set<GridClientCacheFlag> flags;
 
+    /** Near cache, {@code null} if disabled. */
+    private final GridClientNearCache near;
+
     /**
      * Creates a data projection.
      *
@@ -56,15 +60,17 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
      * @param balancer Pinned node balancer. If {@code null}, then no balancer will be used.
      * @param flags Cache flags to be enabled. If {@code null}, then no flags will be used.
      * @param cacheMetrics Whether to cache received metrics.
+     * @param near Near cache shared by all projections of the cache. If {@code null}, then near cache is disabled.
      */
     GridClientDataImpl(String cacheName, GridClientImpl client, Collection<GridClientNode> nodes,
         GridClientPredicate<? super GridClientNode> filter, GridClientLoadBalancer balancer,
-        Set<GridClientCacheFlag> flags, boolean cacheMetrics) {
+        Set<GridClientCacheFlag> flags, boolean cacheMetrics, @Nullable GridClientNearCache near) {
         super(client, nodes, filter, balancer);
 
         this.cacheName = cacheName;
         this.cacheMetrics = cacheMetrics;
         this.flags = flags == null ? Collections.<GridClientCacheFlag>emptySet() : Collections.unmodifiableSet(flags);
+        this.near = near;
     }
 
     /** {@inheritDoc} */
@@ -101,12 +107,12 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
         A.notNull(key, "key");
         A.notNull(val, "val");
 
-        return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
+        return updateAsync(new ClientProjectionClosure<Boolean>() {
             @Override public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
                 return conn.cachePut(cacheName, key, val, flags, destNodeId);
             }
-        }, cacheName, key);
+        }, Collections.singleton(key), key);
     }
 
     /** {@inheritDoc} */
@@ -123,12 +129,12 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
 
         K key = GridClientUtils.first(entries.keySet());
 
-        return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
+        return updateAsync(new ClientProjectionClosure<Boolean>() {
             @Override public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
                 return conn.cachePutAll(cacheName, entries, flags, destNodeId);
             }
-        }, cacheName, key);
+        }, entries.keySet(), key);
     }
 
     /** {@inheritDoc} */
@@ -140,12 +146,40 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
     @Override public <K, V> GridClientFuture<V> getAsync(final K key) {
         A.notNull(key, "key");
 
-        return withReconnectHandling(new ClientProjectionClosure<V>() {
+        final long nearVer;
+
+        if (near != null) {
+            V val = near.get(key);
+
+            if (val != null)
+                return new GridClientFutureAdapter<>(val);
+
+            nearVer = near.version();
+        }
+        else
+            nearVer = 0;
+
+        GridClientFuture<V> fut = withReconnectHandling(new ClientProjectionClosure<V>() {
             @Override public GridClientFuture<V> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
                 return conn.cacheGet(cacheName, key, flags, destNodeId);
             }
         }, cacheName, key);
+
+        if (near != null) {
+            fut.listenAsync(new GridClientFutureListener<V>() {
+                @Override public void onDone(GridClientFuture<V> fut) {
+                    try {
+                        near.put(key, fut.get(), nearVer);
+                    }
+                    catch (GridClientException ignored) {
+                        // Failure is reported to the caller through the future.
+                    }
+                }
+            });
+        }
+
+        return fut;
     }
 
     /** {@inheritDoc} */
@@ -160,6 +194,57 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
         if (keys.isEmpty())
             return new GridClientFutureAdapter<>(Collections.<K, V>emptyMap());
 
+        if (near == null)
+            return getAllRemote(keys);
+
+        final Map<K, V> nearVals = new HashMap<>();
+
+        final Collection<K> misses = new ArrayList<>(keys.size());
+
+        for (K key : keys) {
+            V val = near.get(key);
+
+            if (val != null)
+                nearVals.put(key, val);
+            else
+                misses.add(key);
+        }
+
+        if (misses.isEmpty())
+            return new GridClientFutureAdapter<>(nearVals);
+
+        final long nearVer = near.version();
+
+        final GridClientFutureAdapter<Map<K, V>> res = new GridClientFutureAdapter<>();
+
+        this.<K, V>getAllRemote(misses).listenAsync(new GridClientFutureListener<Map<K, V>>() {
+            @Override public void onDone(GridClientFuture<Map<K, V>> fut) {
+                try {
+                    Map<K, V> vals = fut.get();
+
+                    for (Map.Entry<K, V> e : vals.entrySet())
+                        near.put(e.getKey(), e.getValue(), nearVer);
+
+                    nearVals.putAll(vals);
+
+                    res.onDone(nearVals);
+                }
+                catch (GridClientException e) {
+                    res.onDone(e);
+                }
+            }
+        });
+
+        return res;
+    }
+
+    /**
+     * Gets values for keys from remote grid.
+     *
+     * @param keys Keys.
+     * @return Future for the values.
+     */
+    private <K, V> GridClientFuture<Map<K, V>> getAllRemote(final Collection<K> keys) {
         K key = GridClientUtils.first(keys);
 
         return withReconnectHandling(new ClientProjectionClosure<Map<K, V>>() {
@@ -180,13 +265,13 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
     @Override public <K> GridClientFuture<Boolean> removeAsync(final K key) {
         A.notNull(key, "key");
 
-        return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
+        return updateAsync(new ClientProjectionClosure<Boolean>() {
             @Override
             public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
                 return conn.cacheRemove(cacheName, key, flags, destNodeId);
             }
-        }, cacheName, key);
+        }, Collections.singleton(key), key);
     }
 
     /** {@inheritDoc} */
@@ -203,12 +288,12 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
 
         K key = GridClientUtils.first(keys);
 
-        return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
+        return updateAsync(new ClientProjectionClosure<Boolean>() {
             @Override public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
                 return conn.cacheRemoveAll(cacheName, keys, flags, destNodeId);
             }
-        }, cacheName, key);
+        }, keys, key);
     }
 
     /** {@inheritDoc} */
@@ -221,12 +306,12 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
         A.notNull(key, "key");
         A.notNull(val, "val");
 
-        return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
+        return updateAsync(new ClientProjectionClosure<Boolean>() {
             @Override public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
                 return conn.cacheReplace(cacheName, key, val, flags, destNodeId);
             }
-        }, cacheName, key);
+        }, Collections.singleton(key), key);
     }
 
     /** {@inheritDoc} */
@@ -238,12 +323,12 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
     @Override public <K, V> GridClientFuture<Boolean> casAsync(final K key, final V val1, final V val2) {
         A.notNull(key, "key");
 
-        return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
+        return updateAsync(new ClientProjectionClosure<Boolean>() {
             @Override public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
                 return conn.cacheCompareAndSet(cacheName, key, val1, val2, flags, destNodeId);
             }
-        }, cacheName, key);
+        }, Collections.singleton(key), key);
     }
 
     /** {@inheritDoc} */
@@ -315,12 +400,12 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
         A.notNull(key, "key");
         A.notNull(val, "val");
 
-        return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
+        return updateAsync(new ClientProjectionClosure<Boolean>() {
             @Override public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
                 return conn.cacheAppend(cacheName, key, val, flags, destNodeId);
             }
-        }, cacheName, key);
+        }, Collections.singleton(key), key);
     }
 
     /** {@inheritDoc} */
@@ -334,12 +419,44 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
         A.notNull(key, "key");
         A.notNull(val, "val");
 
-        return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
+        return updateAsync(new ClientProjectionClosure<Boolean>() {
             @Override public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
                 return conn.cachePrepend(cacheName, key, val, flags, destNodeId);
             }
-        }, cacheName, key);
+        }, Collections.singleton(key), key);
+    }
+
+    /**
+     * Performs update operation invalidating near cache entries for updated keys both
+     * before operation is sent and after it completes.
+     *
+     * @param c Update closure.
+     * @param keys Updated keys.
+     * @param affKey Affinity key.
+     * @return Update future.
+     */
+    private <R> GridClientFuture<R> updateAsync(ClientProjectionClosure<R> c, final Collection<?> keys,
+        @Nullable Object affKey) {
+        if (near == null)
+            return withReconnectHandling(c, cacheName, affKey);
+
+        near.invalidate(keys);
+
+        GridClientFuture<R> fut = withReconnectHandling(c, cacheName, affKey);
+
+        fut.listenAsync(new GridClientFutureListener<R>() {
+            @Override public void onDone(GridClientFuture<R> fut) {
+                near.invalidate(keys);
+            }
+        });
+
+        return fut;
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public GridClientDataMetrics nearCacheMetrics() {
+        return near != null ? near.metrics() : null;
     }
 
     /** {@inheritDoc} */
@@ -389,7 +506,7 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
         /** {@inheritDoc} */
         @Override public GridClientDataImpl create(Collection<GridClientNode> nodes,
             GridClientPredicate<? super GridClientNode> filter, GridClientLoadBalancer balancer) {
-            return new GridClientDataImpl(cacheName, client, nodes, filter, balancer, flags, cacheMetrics);
+            return new GridClientDataImpl(cacheName, client, nodes, filter, balancer, flags, cacheMetrics, near);
         }
     }
 }
@@ -127,6 +127,12 @@ public class GridClientImpl implements GridClient {
             top = new GridClientTopology(cfg);
 
             for (GridClientDataConfiguration dataCfg : cfg.getDataConfigurations()) {
+                // Near cache is not invalidated by updates from other clients, so its entries must expire.
+                if (dataCfg.getNearCacheMaxSize() > 0 && dataCfg.getNearCacheTimeToLive() <= 0)
+                    throw new GridClientException("Near cache time to live must be positive if near cache is " +
+                        "enabled (please fix configuration and restart) [cacheName=" + dataCfg.getName() +
+                        ", nearTtl=" + dataCfg.getNearCacheTimeToLive() + ']');
+
                 GridClientDataAffinity aff = dataCfg.getAffinity();
 
                 if (aff instanceof GridClientTopologyListener)
@@ -267,8 +273,11 @@ public class GridClientImpl implements GridClient {
                 }
             };
 
+            GridClientNearCache near = dataCfg != null && dataCfg.getNearCacheMaxSize() > 0 ?
+                new GridClientNearCache(dataCfg) : null;
+
             data = new GridClientDataImpl(
-                cacheName, this, null, cacheNodes, balancer, null, cfg.isEnableMetricsCache());
+                cacheName, this, null, cacheNodes, balancer, null, cfg.isEnableMetricsCache(), near);
 
             GridClientDataImpl old = dataMap.putIfAbsent(key, data);
 
@@ -0,0 +1,261 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.client.impl;
+
+import org.gridgain.client.*;
+import org.jetbrains.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Client-side near cache for one remote cache. Values loaded from remote grid are cached with
+ * bounded size and optional time to live. Every update made through the client invalidates the key.
+ * <p>
+ * To avoid caching stale values, near cache keeps invalidation version which is incremented on
+ * every invalidation. Value loaded from remote grid is stored only if no invalidation happened
+ * since the load started.
+ */
+class GridClientNearCache {
+    /** Entries. */
+    private final ConcurrentMap<Object, Entry> map = new ConcurrentHashMap<>();
+
+    /** Maximum size. */
+    private final int maxSize;
+
+    /** Time to live. */
+    private final long ttl;
+
+    /** Eviction policy. */
+    private final GridClientNearCacheEvictionPolicy plc;
+
+    /** Invalidation version. */
+    private final AtomicLong ver = new AtomicLong();
+
+    /** Hits. */
+    private final AtomicInteger hits = new AtomicInteger();
+
+    /** Misses. */
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /** Stored values. */
+    private final AtomicInteger writes = new AtomicInteger();
+
+    /** Create time. */
+    private final long createTime = System.currentTimeMillis();
+
+    /** Last read time. */
+    private volatile long readTime = createTime;
+
+    /** Last write time. */
+    private volatile long writeTime = createTime;
+
+    /**
+     * @param cfg Data configuration.
+     */
+    GridClientNearCache(GridClientDataConfiguration cfg) {
+        assert cfg.getNearCacheMaxSize() > 0;
+        assert cfg.getNearCacheTimeToLive() > 0;
+
+        maxSize = cfg.getNearCacheMaxSize();
+        ttl = cfg.getNearCacheTimeToLive();
+        plc = cfg.getNearCacheEvictionPolicy() != null ? cfg.getNearCacheEvictionPolicy() :
+            new GridClientNearCacheLruEvictionPolicy();
+    }
+
+    /**
+     * Gets current invalidation version. Should be obtained before value is requested from
+     * remote grid and passed to {@link #put(Object, Object, long)}.
+     *
+     * @return Invalidation version.
+     */
+    long version() {
+        return ver.get();
+    }
+
+    /**
+     * @param key Key.
+     * @return Cached value or {@code null} if there is no valid near entry for the key.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable <V> V get(Object key) {
+        Entry e = map.get(key);
+
+        long now = System.currentTimeMillis();
+
+        readTime = now;
+
+        if (e == null || e.expireTime <= now) {
+            if (e != null)
+                remove(key, e);
+
+            misses.incrementAndGet();
+
+            return null;
+        }
+
+        hits.incrementAndGet();
+
+        synchronized (plc) {
+            if (map.get(key) == e)
+                plc.onAccessed(key);
+        }
+
+        return (V)e.val;
+    }
+
+    /**
+     * Stores value loaded from remote grid. Value is not stored if near cache was
+     * invalidated since given version was obtained.
+     *
+     * @param key Key.
+     * @param val Value, {@code null} values are not cached.
+     * @param startVer Invalidation version obtained before the load was started.
+     */
+    void put(Object key, @Nullable Object val, long startVer) {
+        if (val == null || ver.get() != startVer)
+            return;
+
+        long now = System.currentTimeMillis();
+
+        Entry e = new Entry(val, now + ttl);
+
+        map.put(key, e);
+
+        // Invalidation could happen concurrently with put.
+        if (ver.get() != startVer) {
+            remove(key, e);
+
+            return;
+        }
+
+        writes.incrementAndGet();
+
+        writeTime = now;
+
+        synchronized (plc) {
+            if (map.get(key) == e)
+                plc.onAccessed(key);
+
+            while (map.size() > maxSize) {
+                Object evict = plc.evictionCandidate();
+
+                if (evict == null)
+                    break;
+
+                map.remove(evict);
+
+                plc.onRemoved(evict);
+            }
+        }
+    }
+
+    /**
+     * Invalidates key. Should be called both before and after key is updated on remote grid.
+     *
+     * @param key Key.
+     */
+    void invalidate(Object key) {
+        ver.incrementAndGet();
+
+        Entry e = map.remove(key);
+
+        if (e != null) {
+            synchronized (plc) {
+                if (!map.containsKey(key))
+                    plc.onRemoved(key);
+            }
+        }
+    }
+
+    /**
+     * Invalidates keys.
+     *
+     * @param keys Keys.
+     */
+    void invalidate(Collection<?> keys) {
+        for (Object key : keys)
+            invalidate(key);
+    }
+
+    /**
+     * @return Near cache metrics.
+     */
+    GridClientDataMetrics metrics() {
+        GridClientDataMetricsAdapter m = new GridClientDataMetricsAdapter();
+
+        int hits0 = hits.get();
+        int misses0 = misses.get();
+
+        m.createTime(createTime);
+        m.readTime(readTime);
+        m.writeTime(writeTime);
+        m.hits(hits0);
+        m.misses(misses0);
+        m.reads(hits0 + misses0);
+        m.writes(writes.get());
+
+        return m;
+    }
+
+    /**
+     * @param key Key.
+     * @param e Expected entry.
+     */
+    private void remove(Object key, Entry e) {
+        if (map.remove(key, e)) {
+            synchronized (plc) {
+                if (!map.containsKey(key))
+                    plc.onRemoved(key);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return "GridClientNearCache [size=" + map.size() + ", maxSize=" + maxSize + ", ttl=" + ttl +
+            ", hits=" + hits + ", misses=" + misses + ']';
+    }
+
+    /**
+     * Near cache entry.
+     */
+    private static class Entry {
+        /** Value. */
+        private final Object val;
+
+        /** Expire time. */
+        private final long expireTime;
+
+        /**
+         * @param val Value.
+         * @param expireTime Expire time.
+         */
+        private Entry(Object val, long expireTime) {
+            this.val = val;
+            this.expireTime = expireTime;
+        }
+    }
+}
@@ -302,7 +302,8 @@ public class GridClientConnectionManagerImpl implements GridClientConnectionMana
                     conn = new GridClientTcpConnection(clientId, addr, sslCtx, evtLoop,
                         cfg.getConnectTimeout(), cfg.getPingInterval(), cfg.getPingTimeout(),
                         cfg.isTcpNoDelay(), protoId == null ? cfg.getMarshaller() : null,
-                        top, cfg.getCredentials(), protoId);
+                        top, cfg.getCredentials(), protoId, cfg.getMaxPipelinedRequests(),
+                        cfg.getRequestCoalescingWindow());
 
                     break;
                 }
@@ -0,0 +1,409 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.client.impl.connection;
+
+import org.gridgain.client.*;
+import org.gridgain.client.impl.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * Combines concurrent single-key {@code get} and {@code put} operations issued over the same
+ * connection into multi-key requests.
+ * <p>
+ * The first thread which issues an operation for given cache, flags and destination node becomes
+ * the batch leader. It waits for the coalescing window (or until batch is full), then sends all
+ * operations collected so far as one {@code GET_ALL} or {@code PUT_ALL} request. Other threads
+ * add their operations to the batch and wait only until batch is sent, not for the response.
+ * <p>
+ * If batch could not be sent because connection was reset or closed, every thread, including
+ * followers, gets the exception from its own call, so each operation is retried by the caller
+ * on another connection the same way as a non-coalesced one. Any other send error fails futures
+ * of all operations in the batch.
+ */
+class GridClientRequestCoalescer {
+    /** Maximum number of operations in one batch. */
+    private static final int MAX_BATCH_SIZE = 256;
+
+    /** Connection. */
+    private final GridClientConnection conn;
+
+    /** Coalescing window in nanoseconds. */
+    private final long windowNanos;
+
+    /** Open batches. */
+    private final ConcurrentMap<BatchKey, Batch> batches = new ConcurrentHashMap<>();
+
+    /**
+     * @param conn Connection to send batched requests over.
+     * @param windowMicros Coalescing window in microseconds.
+     */
+    GridClientRequestCoalescer(GridClientConnection conn, long windowMicros) {
+        assert windowMicros > 0;
+
+        this.conn = conn;
+
+        windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+    }
+
+    /**
+     * @return {@code True} if there are no operations waiting to be sent.
+     */
+    boolean isEmpty() {
+        return batches.isEmpty();
+    }
+
+    /**
+     * @param cacheName Cache name.
+     * @param key Key.
+     * @param flags Cache flags.
+     * @param destNodeId Destination node ID.
+     * @return Future for the value.
+     * @throws GridClientConnectionResetException If batch could not be sent.
+     * @throws GridClientClosedException If client was closed.
+     */
+    @SuppressWarnings("unchecked")
+    <K, V> GridClientFutureAdapter<V> get(String cacheName, K key, Set<GridClientCacheFlag> flags, UUID destNodeId)
+        throws GridClientConnectionResetException, GridClientClosedException {
+        return (GridClientFutureAdapter<V>)add(new BatchKey(false, cacheName, flags, destNodeId), key, null);
+    }
+
+    /**
+     * @param cacheName Cache name.
+     * @param key Key.
+     * @param val Value.
+     * @param flags Cache flags.
+     * @param destNodeId Destination node ID.
+     * @return Future for the operation result.
+     * @throws GridClientConnectionResetException If batch could not be sent.
+     * @throws GridClientClosedException If client was closed.
+     */
+    @SuppressWarnings("unchecked")
+    <K, V> GridClientFutureAdapter<Boolean> put(String cacheName, K key, V val, Set<GridClientCacheFlag> flags,
+        UUID destNodeId) throws GridClientConnectionResetException, GridClientClosedException {
+        return (GridClientFutureAdapter<Boolean>)add(new BatchKey(true, cacheName, flags, destNodeId), key, val);
+    }
+
+    /**
+     * Adds operation to open batch or starts new batch.
+     *
+     * @param bk Batch key.
+     * @param key Key.
+     * @param val Value for put, {@code null} for get.
+     * @return Operation future.
+     * @throws GridClientConnectionResetException If batch could not be sent.
+     * @throws GridClientClosedException If client was closed.
+     */
+    private GridClientFutureAdapter<?> add(BatchKey bk, Object key, Object val)
+        throws GridClientConnectionResetException, GridClientClosedException {
+        while (true) {
+            Batch b = batches.get(bk);
+
+            boolean leader = false;
+
+            if (b == null) {
+                Batch old = batches.putIfAbsent(bk, b = new Batch());
+
+                if (old != null)
+                    b = old;
+                else
+                    leader = true;
+            }
+
+            GridClientFutureAdapter<Object> fut = b.add(key, val);
+
+            if (fut == null) {
+                // Batch is sealed, start new one.
+                batches.remove(bk, b);
+
+                continue;
+            }
+
+            if (leader) {
+                b.await(windowNanos);
+
+                batches.remove(bk, b);
+
+                send(bk, b);
+            }
+            else
+                b.awaitSent();
+
+            return fut;
+        }
+    }
+
+    /**
+     * Sends batch. Must be called by batch leader. Followers are released once send attempt completes.
+     *
+     * @param bk Batch key.
+     * @param b Batch.
+     * @throws GridClientConnectionResetException If batch could not be sent.
+     * @throws GridClientClosedException If client was closed.
+     */
+    @SuppressWarnings("unchecked")
+    private void send(BatchKey bk, final Batch b) throws GridClientConnectionResetException,
+        GridClientClosedException {
+        b.seal();
+
+        try {
+            if (bk.put) {
+                GridClientFutureAdapter<Boolean> res = conn.cachePutAll(bk.cacheName, b.vals, bk.flags, bk.destNodeId);
+
+                res.listenAsync(new GridClientFutureListener<Boolean>() {
+                    @Override public void onDone(GridClientFuture<Boolean> res) {
+                        try {
+                            Boolean ok = res.get();
+
+                            for (List<GridClientFutureAdapter<Object>> futs : b.futs.values()) {
+                                for (GridClientFutureAdapter<Object> fut : futs)
+                                    fut.onDone(ok);
+                            }
+                        }
+                        catch (GridClientException e) {
+                            b.onDone(e);
+                        }
+                    }
+                });
+            }
+            else {
+                GridClientFutureAdapter<Map<Object, Object>> res = conn.cacheGetAll(bk.cacheName, b.futs.keySet(),
+                    bk.flags, bk.destNodeId);
+
+                res.listenAsync(new GridClientFutureListener<Map<Object, Object>>() {
+                    @Override public void onDone(GridClientFuture<Map<Object, Object>> res) {
+                        try {
+                            Map<Object, Object> vals = res.get();
+
+                            for (Map.Entry<Object, List<GridClientFutureAdapter<Object>>> e : b.futs.entrySet()) {
+                                Object val = vals != null ? vals.get(e.getKey()) : null;
+
+                                for (GridClientFutureAdapter<Object> fut : e.getValue())
+                                    fut.onDone(val);
+                            }
+                        }
+                        catch (GridClientException e) {
+                            b.onDone(e);
+                        }
+                    }
+                });
+            }
+        }
+        catch (GridClientConnectionResetException | GridClientClosedException e) {
+            // Every thread will retry its own operation.
+            b.sendErr = e;
+
+            throw e;
+        }
+        catch (Throwable e) {
+            // Unexpected error, fail all operations so that followers do not wait for response forever.
+            b.onDone(e);
+
+            throw e;
+        }
+        finally {
+            b.sent.countDown();
+        }
+    }
+
+    /**
+     * Batch key.
+     */
+    private static class BatchKey {
+        /** Put flag, {@code false} for get. */
+        private final boolean put;
+
+        /** Cache name. */
+        private final String cacheName;
+
+        /** Cache flags. */
+        private final Set<GridClientCacheFlag> flags;
+
+        /** Destination node ID. */
+        private final UUID destNodeId;
+
+        /**
+         * @param put Put flag.
+         * @param cacheName Cache name.
+         * @param flags Cache flags.
+         * @param destNodeId Destination node ID.
+         */
+        private BatchKey(boolean put, String cacheName, Set<GridClientCacheFlag> flags, UUID destNodeId) {
+            this.put = put;
+            this.cacheName = cacheName;
+            this.flags = flags;
+            this.destNodeId = destNodeId;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            if (this == o)
+                return true;
+
+            if (!(o instanceof BatchKey))
+                return false;
+
+            BatchKey other = (BatchKey)o;
+
+            return put == other.put && Objects.equals(cacheName, other.cacheName) &&
+                Objects.equals(flags, other.flags) && Objects.equals(destNodeId, other.destNodeId);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            return Objects.hash(put, cacheName, flags, destNodeId);
+        }
+    }
+
+    /**
+     * Batch of operations.
+     */
+    private static class Batch {
+        /** Leader thread. */
+        private final Thread leader = Thread.currentThread();
+
+        /** Futures by key. */
+        private final Map<Object, List<GridClientFutureAdapter<Object>>> futs = new LinkedHashMap<>();
+
+        /** Values to put. */
+        private final Map<Object, Object> vals = new LinkedHashMap<>();
+
+        /** Number of operations. */
+        private int size;
+
+        /** Sealed flag. */
+        private boolean sealed;
+
+        /** Released once send attempt completes. */
+        private final CountDownLatch sent = new CountDownLatch(1);
+
+        /** Send error, {@code null} if batch was sent. */
+        private volatile GridClientException sendErr;
+
+        /**
+         * @param key Key.
+         * @param val Value for put, {@code null} for get.
+         * @return Operation future or {@code null} if batch is sealed.
+         */
+        synchronized GridClientFutureAdapter<Object> add(Object key, Object val) {
+            if (sealed)
+                return null;
+
+            GridClientFutureAdapter<Object> fut = new GridClientFutureAdapter<>();
+
+            List<GridClientFutureAdapter<Object>> keyFuts = futs.get(key);
+
+            if (keyFuts == null)
+                futs.put(key, keyFuts = new ArrayList<>(1));
+
+            keyFuts.add(fut);
+
+            if (val != null)
+                vals.put(key, val);
+
+            if (++size >= MAX_BATCH_SIZE) {
+                sealed = true;
+
+                LockSupport.unpark(leader);
+            }
+
+            return fut;
+        }
+
+        /**
+         * Seals batch, no more operations can be added after this call.
+         */
+        synchronized void seal() {
+            sealed = true;
+        }
+
+        /**
+         * Waits until batch is full or window passes.
+         *
+         * @param windowNanos Window in nanoseconds.
+         */
+        void await(long windowNanos) {
+            long deadline = System.nanoTime() + windowNanos;
+
+            long rem;
+
+            while ((rem = deadline - System.nanoTime()) > 0 && !isSealed())
+                LockSupport.parkNanos(rem);
+        }
+
+        /**
+         * Waits until leader attempts to send batch. Must be called by followers.
+         *
+         * @throws GridClientConnectionResetException If batch could not be sent.
+         * @throws GridClientClosedException If client was closed.
+         */
+        void awaitSent() throws GridClientConnectionResetException, GridClientClosedException {
+            boolean interrupted = false;
+
+            while (true) {
+                try {
+                    sent.await();
+
+                    break;
+                }
+                catch (InterruptedException ignored) {
+                    interrupted = true;
+                }
+            }
+
+            if (interrupted)
+                Thread.currentThread().interrupt();
+
+            GridClientException e = sendErr;
+
+            if (e instanceof GridClientClosedException)
+                throw new GridClientClosedException(e.getMessage());
+
+            if (e != null)
+                throw new GridClientConnectionResetException("Failed to send coalesced request (will retry): " +
+                    e.getMessage(), e);
+        }
+
+        /**
+         * @return Sealed flag.
+         */
+        private synchronized boolean isSealed() {
+            return sealed;
+        }
+
+        /**
+         * Fails all operations in batch.
+         *
+         * @param e Error.
+         */
+        void onDone(Throwable e) {
+            for (List<GridClientFutureAdapter<Object>> keyFuts : futs.values()) {
+                for (GridClientFutureAdapter<Object> fut : keyFuts)
+                    fut.onDone(e);
+            }
+        }
+    }
+}
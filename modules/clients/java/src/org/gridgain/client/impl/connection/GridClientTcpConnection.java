@@ -99,6 +99,12 @@ public class GridClientTcpConnection extends GridClientConnection {
     /** Timer to run ping checks. */
     private ScheduledFuture<?> pingTask;
 
+    /** Limit of in-flight requests, {@code null} if not limited. */
+    private final Semaphore inFlight;
+
+    /** Request coalescer, {@code null} if coalescing is disabled. */
+    private final GridClientRequestCoalescer coalescer;
+
     /**
      * Creates a client facade, tries to connect to remote server, in case of success starts reader thread.
      *
@@ -114,13 +120,15 @@ public class GridClientTcpConnection extends GridClientConnection {
      * @param top Topology instance.
      * @param cred Client credentials.      @throws IOException If connection could not be established.
      * @param protoId Custom protocol ID, if marshaller is not defined.
+     * @param maxPipelinedReqs Maximum number of in-flight requests, {@code 0} for no limit.
+     * @param coalescingWindow Request coalescing window in microseconds, {@code 0} to disable coalescing.
      * @throws IOException If IO error occurs.
      * @throws InterruptedException If connection was interrupted.
      * @throws GridClientException If handshake error occurs.
      */
     GridClientTcpConnection(UUID clientId, InetSocketAddress srvAddr, final SSLContext sslCtx, EventLoopGroup grp,
         int connectTimeout, long pingInterval, long pingTimeout, boolean tcpNoDelay, final GridClientMarshaller marsh,
-        GridClientTopology top, Object cred, Byte protoId)
+        GridClientTopology top, Object cred, Byte protoId, int maxPipelinedReqs, long coalescingWindow)
         throws IOException, InterruptedException, GridClientException {
         super(clientId, srvAddr, sslCtx, top, cred);
 
@@ -128,6 +136,9 @@ public class GridClientTcpConnection extends GridClientConnection {
 
         this.marsh = marsh;
 
+        inFlight = maxPipelinedReqs > 0 ? new Semaphore(maxPipelinedReqs) : null;
+        coalescer = coalescingWindow > 0 ? new GridClientRequestCoalescer(this, coalescingWindow) : null;
+
         final HandshakeHandler handshakeHnd = new HandshakeHandler(marsh != null ? marsh.getProtocolId() : protoId);
 
         Bootstrap b = new Bootstrap().group(grp).
@@ -289,7 +300,8 @@ public class GridClientTcpConnection extends GridClientConnection {
         // Timestamp of the last sent or received message.
         long lastMsgTime = Math.max(Math.max(lastMsgSndTime, lastMsgRcvTime), createTs);
 
-        if (lastMsgTime + idleTimeout < System.currentTimeMillis() && pendingReqs.isEmpty()) {
+        if (lastMsgTime + idleTimeout < System.currentTimeMillis() && pendingReqs.isEmpty() &&
+            (coalescer == null || coalescer.isEmpty())) {
             // In case of new request came between empty check and setting closing flag
             // await for finishing all requests.
             close(CONN_IDLE, true);
@@ -372,6 +384,16 @@ public class GridClientTcpConnection extends GridClientConnection {
 
         checkClosed(closeReason);
 
+        if (!routeMode && inFlight != null) {
+            inFlight.acquire();
+
+            fut.listenAsync(new GridClientFutureListener<R>() {
+                @Override public void onDone(GridClientFuture<R> fut) {
+                    inFlight.release();
+                }
+            });
+        }
+
         GridClientFutureAdapter old = pendingReqs.putIfAbsent(reqId, fut);
 
         assert old == null;
@@ -526,6 +548,31 @@ public class GridClientTcpConnection extends GridClientConnection {
         return req;
     }
 
+    /** {@inheritDoc} */
+    @Override public <K, V> GridClientFutureAdapter<Boolean> cachePut(String cacheName, K key, V val,
+        Set<GridClientCacheFlag> flags, UUID destNodeId)
+        throws GridClientConnectionResetException, GridClientClosedException {
+        if (coalescer != null) {
+            checkClosed(closeReason);
+
+            return coalescer.put(cacheName, key, val, flags, destNodeId);
+        }
+
+        return super.cachePut(cacheName, key, val, flags, destNodeId);
+    }
+
+    /** {@inheritDoc} */
+    @Override public <K, V> GridClientFutureAdapter<V> cacheGet(String cacheName, K key, Set<GridClientCacheFlag> flags,
+        UUID destNodeId) throws GridClientConnectionResetException, GridClientClosedException {
+        if (coalescer != null) {
+            checkClosed(closeReason);
+
+            return coalescer.get(cacheName, key, flags, destNodeId);
+        }
+
+        return super.cacheGet(cacheName, key, flags, destNodeId);
+    }
+
     /** {@inheritDoc} */
     @Override public <K, V> GridClientFutureAdapter<Boolean> cachePutAll(String cacheName, Map<K, V> entries,
         Set<GridClientCacheFlag> flags, UUID destNodeId)
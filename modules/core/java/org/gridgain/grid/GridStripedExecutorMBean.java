@@ -0,0 +1,89 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid;
+
+import org.gridgain.grid.util.mbean.*;
+
+/**
+ * MBean that provides access to information about partition-striped executor used to process
+ * cache messages. Each stripe is a single thread with its own queue.
+ */
+@GridMBeanDescription("MBean that provides access to information about partition-striped executor.")
+public interface GridStripedExecutorMBean {
+    /**
+     * Gets number of stripes (threads) in the executor.
+     *
+     * @return Number of stripes.
+     */
+    @GridMBeanDescription("Number of stripes (threads).")
+    public int getStripesCount();
+
+    /**
+     * Gets total number of tasks waiting in queues of all stripes.
+     *
+     * @return Total queue size.
+     */
+    @GridMBeanDescription("Total number of tasks waiting in queues of all stripes.")
+    public int getQueueSize();
+
+    /**
+     * Gets total number of tasks completed by all stripes.
+     *
+     * @return Number of completed tasks.
+     */
+    @GridMBeanDescription("Total number of tasks completed by all stripes.")
+    public long getCompletedTaskCount();
+
+    /**
+     * Gets number of tasks waiting in the queue of each stripe.
+     *
+     * @return Queue size of each stripe.
+     */
+    @GridMBeanDescription("Number of tasks waiting in the queue of each stripe.")
+    public int[] getStripesQueueSizes();
+
+    /**
+     * Gets number of tasks completed by each stripe.
+     *
+     * @return Number of completed tasks of each stripe.
+     */
+    @GridMBeanDescription("Number of tasks completed by each stripe.")
+    public long[] getStripesCompletedTaskCounts();
+
+    /**
+     * Gets average time in nanoseconds tasks spent in the queue of each stripe before execution.
+     *
+     * @return Average wait time of each stripe.
+     */
+    @GridMBeanDescription("Average time in nanoseconds tasks spent in the queue of each stripe before execution.")
+    public long[] getStripesAverageWaitTimes();
+
+    /**
+     * Gets average time in nanoseconds from task submission till its completion for each stripe.
+     *
+     * @return Average latency of each stripe.
+     */
+    @GridMBeanDescription("Average time in nanoseconds from task submission till its completion for each stripe.")
+    public long[] getStripesAverageLatencies();
+}
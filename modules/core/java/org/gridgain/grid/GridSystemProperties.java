@@ -380,6 +380,14 @@ public final class GridSystemProperties {
      */
     public static final String GG_MARSHAL_BUFFERS_RECHECK = "GRIDGAIN_MARSHAL_BUFFERS_RECHECK";
 
+    /**
+     * Flag that enables runtime generation of field serializers in
+     * {@link org.gridgain.grid.marshaller.optimized.GridOptimizedMarshaller}. If {@code false},
+     * fields are always serialized reflectively. Default value is {@code true}.
+     */
+    public static final String GG_OPTIMIZED_MARSHALLER_GENERATE_SERIALIZERS =
+        "GRIDGAIN_OPTIMIZED_MARSHALLER_GENERATE_SERIALIZERS";
+
     /**
      * System property to disable {@link HostnameVerifier} for SSL connections.
      * Can be used for development with self-signed certificates. Default value is {@code false}.
@@ -404,6 +412,19 @@ public final class GridSystemProperties {
      */
     public static final String GG_OFFHEAP_SAFE_RELEASE = "GRIDGAIN_OFFHEAP_SAFE_RELEASE";
 
+    /**
+     * Flag that will make off-heap memory use size-class slab allocator instead of allocating every
+     * block directly from operating system. Default value is {@code false}.
+     */
+    public static final String GG_OFFHEAP_SLAB_ALLOCATOR = "GRIDGAIN_OFFHEAP_SLAB_ALLOCATOR";
+
+    /**
+     * Flag that will make off-heap map lookups read segments optimistically without acquiring
+     * segment lock. Optimistic reads rely on x86 memory ordering and must not be enabled on
+     * other platforms. Default value is {@code false}.
+     */
+    public static final String GG_OFFHEAP_OPTIMISTIC_READS = "GRIDGAIN_OFFHEAP_OPTIMISTIC_READS";
+
     /**
      * Maximum buffer size for continuous queries.
      */
@@ -412,6 +433,22 @@ public final class GridSystemProperties {
     /** Maximum size for atomic cache queue delete history. */
     public static final String GG_ATOMIC_CACHE_DELETE_HISTORY_SIZE = "GRIDGAIN_ATOMIC_CACHE_DELETE_HISTORY_SIZE";
 
+    /**
+     * Maximum number of updates remembered by DHT partitions for history-based preloading
+     * (summed over all partitions of a cache). Default value is {@code 1000000} for caches with
+     * {@link org.gridgain.grid.cache.GridCacheConfiguration#getSnapshotPath() partition snapshots}
+     * enabled and {@code 0} for other caches, i.e. update history is disabled and partitions are
+     * always preloaded as a whole.
+     */
+    public static final String GG_DHT_PARTITION_HISTORY_SIZE = "GRIDGAIN_DHT_PARTITION_HISTORY_SIZE";
+
+    /**
+     * Number of stripes (threads) in the partition-striped pool used to process cache messages.
+     * Default is the number of available processors. Set to {@code 0} to process such messages
+     * in system pool.
+     */
+    public static final String GG_IO_STRIPED_POOL_SIZE = "GRIDGAIN_IO_STRIPED_POOL_SIZE";
+
     /**
      * Comma separated list of addresses in format "10.100.22.100:45000,10.100.22.101:45000".
      * Makes sense only for {@link GridTcpDiscoveryVmIpFinder}.
@@ -62,6 +62,9 @@ public class GridCacheConfiguration {
     /** Default atomic sequence reservation size. */
     public static final int DFLT_ATOMIC_SEQUENCE_RESERVE_SIZE = 1000;
 
+    /** Default ratio of atomic sequence reservation consumed before next reservation is prefetched. */
+    public static final double DFLT_ATOMIC_SEQUENCE_PREFETCH_RATIO = 0.75;
+
     /** Default size of preload thread pool. */
     public static final int DFLT_PRELOAD_THREAD_POOL_SIZE = 2;
 
@@ -137,6 +140,9 @@ public class GridCacheConfiguration {
     /** Default preload batch size in bytes. */
     public static final int DFLT_PRELOAD_BATCH_SIZE = 512 * 1024; // 512K
 
+    /** Default partition snapshot frequency in milliseconds. */
+    public static final long DFLT_SNAPSHOT_FREQUENCY = 5 * 60 * 1000;
+
     /** Default distributed garbage collection frequency. */
     public static final long DFLT_DGC_FREQUENCY = 10000;
 
@@ -215,6 +221,9 @@ public class GridCacheConfiguration {
     /** Default batch size for all cache's sequences. */
     private int seqReserveSize = DFLT_ATOMIC_SEQUENCE_RESERVE_SIZE;
 
+    /** Ratio of sequence reservation after which next reservation is prefetched. */
+    private double seqPrefetchRatio = DFLT_ATOMIC_SEQUENCE_PREFETCH_RATIO;
+
     /** Preload thread pool size. */
     private int preloadPoolSize = DFLT_PRELOAD_THREAD_POOL_SIZE;
 
@@ -395,6 +404,12 @@ public class GridCacheConfiguration {
     /** */
     private long preloadThrottle = DFLT_PRELOAD_THROTTLE;
 
+    /** */
+    private String snapshotPath;
+
+    /** */
+    private long snapshotFreq = DFLT_SNAPSHOT_FREQUENCY;
+
     /** */
     private GridDrReceiverCacheConfiguration drRcvCacheCfg;
 
@@ -469,6 +484,9 @@ public class GridCacheConfiguration {
         qryIdxEnabled = cc.isQueryIndexEnabled();
         refreshAheadRatio = cc.getRefreshAheadRatio();
         seqReserveSize = cc.getAtomicSequenceReserveSize();
+        seqPrefetchRatio = cc.getAtomicSequencePrefetchRatio();
+        snapshotFreq = cc.getSnapshotFrequency();
+        snapshotPath = cc.getSnapshotPath();
         startSize = cc.getStartSize();
         store = cc.getStore();
         storeValBytes = cc.isStoreValueBytes();
@@ -1145,6 +1163,11 @@ public class GridCacheConfiguration {
 
     /**
      * Flag indicating if cached values should be additionally stored in serialized form. It's set to true by default.
+     * <p>
+     * If set to {@code false} for {@link GridCacheAtomicityMode#ATOMIC} cache, entries also use compact layout:
+     * serialized keys are not kept, versions are kept in primitive fields and {@code long}, {@code int}
+     * and {@code String} keys are kept in primitive form. This lowers per-entry heap overhead at the cost
+     * of extra short-lived objects created on entry access.
      *
      * @param storeValBytes {@code true} if cached values should be additionally stored in serialized form, {@code
      * false} otherwise.
@@ -1639,6 +1662,31 @@ public class GridCacheConfiguration {
         this.seqReserveSize = seqReserveSize;
     }
 
+    /**
+     * Gets ratio of reserved range of {@link GridCacheAtomicSequence} values which may be consumed
+     * locally before next range is reserved asynchronously. Prefetching next range in background
+     * allows threads to avoid waiting for reservation when current range is exhausted. Value must
+     * be between {@code 0} and {@code 1}, value of {@code 1} disables prefetching.
+     * <p>
+     * Default value is {@link #DFLT_ATOMIC_SEQUENCE_PREFETCH_RATIO}.
+     *
+     * @return Atomic sequence prefetch ratio.
+     */
+    public double getAtomicSequencePrefetchRatio() {
+        return seqPrefetchRatio;
+    }
+
+    /**
+     * Sets ratio of reserved range of {@link GridCacheAtomicSequence} values which may be consumed
+     * locally before next range is reserved asynchronously.
+     *
+     * @param seqPrefetchRatio Atomic sequence prefetch ratio.
+     * @see #getAtomicSequencePrefetchRatio()
+     */
+    public void setAtomicSequencePrefetchRatio(double seqPrefetchRatio) {
+        this.seqPrefetchRatio = seqPrefetchRatio;
+    }
+
     /**
      * Gets size of preloading thread pool. Note that size serves as a hint and implementation
      * may create more threads for preloading than specified here (but never less threads).
@@ -1750,6 +1798,56 @@ public class GridCacheConfiguration {
         this.preloadThrottle = preloadThrottle;
     }
 
+    /**
+     * Gets path to directory where local partitions of distributed cache are periodically
+     * saved to speed up restart of this node. On start, partitions are loaded from the
+     * saved snapshots and only entries updated since the snapshot was taken are then
+     * preloaded from other nodes. Path may be absolute or relative to {@code GRIDGAIN_HOME}.
+     * <p>
+     * Only updates remembered by other nodes can be preloaded incrementally, so nodes with
+     * snapshots enabled keep history of partition updates, its size is controlled by
+     * {@link org.gridgain.grid.GridSystemProperties#GG_DHT_PARTITION_HISTORY_SIZE} system property.
+     * If history does not reach back to the time the snapshot was taken (for example, if snapshots
+     * are not enabled on other nodes), partition is preloaded as a whole on top of the snapshot.
+     * <p>
+     * Every node must be given its own directory. If {@code null} (default), snapshots are disabled.
+     *
+     * @return Partition snapshot directory or {@code null} if snapshots are disabled.
+     */
+    @Nullable public String getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    /**
+     * Sets path to partition snapshot directory. See {@link #getSnapshotPath()} for more information.
+     *
+     * @param snapshotPath Partition snapshot directory or {@code null} to disable snapshots.
+     */
+    public void setSnapshotPath(@Nullable String snapshotPath) {
+        this.snapshotPath = snapshotPath;
+    }
+
+    /**
+     * Gets frequency in milliseconds with which local partitions are saved to snapshot
+     * directory. Ignored if {@link #getSnapshotPath()} is not set.
+     * <p>
+     * If not provided, then default value {@link #DFLT_SNAPSHOT_FREQUENCY} is used.
+     *
+     * @return Partition snapshot frequency in milliseconds.
+     */
+    public long getSnapshotFrequency() {
+        return snapshotFreq;
+    }
+
+    /**
+     * Sets partition snapshot frequency. See {@link #getSnapshotFrequency()} for more information.
+     *
+     * @param snapshotFreq Partition snapshot frequency in milliseconds.
+     */
+    public void setSnapshotFrequency(long snapshotFreq) {
+        this.snapshotFreq = snapshotFreq;
+    }
+
     /**
      * Affinity key mapper used to provide custom affinity key for any given key.
      * Affinity mapper is particularly useful when several objects need to be collocated
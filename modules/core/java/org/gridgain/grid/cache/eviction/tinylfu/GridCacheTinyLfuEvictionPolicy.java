@@ -0,0 +1,802 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+package org.gridgain.grid.cache.eviction.tinylfu;
+
+import org.gridgain.grid.cache.*;
+import org.gridgain.grid.cache.eviction.*;
+import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * Eviction policy based on {@code W-TinyLFU} algorithm. New entries enter small {@code LRU}
+ * admission window. Entry leaving the window competes with the {@code LRU} victim of the main
+ * space and the one with lower estimated access frequency gets evicted. Frequencies are kept in
+ * compact count-min sketch which is periodically aged, so that it follows changes of the hot set.
+ * Main space is split into probation and protected segments, so entries read once by scan queries
+ * or batch reads do not push out entries which are accessed repeatedly.
+ * <p>
+ * Accesses to already tracked entries are recorded into striped lossy buffers and applied in
+ * batches under a lock, so hot path neither allocates nor blocks. Ordering node is attached to
+ * the entry as metadata when entry is first seen and is reused for all subsequent accesses.
+ */
+public class GridCacheTinyLfuEvictionPolicy<K, V> implements GridCacheEvictionPolicy<K, V>,
+    GridCacheTinyLfuEvictionPolicyMBean {
+    /** Default share of maximum size given to admission window. */
+    public static final float DFLT_WINDOW_RATIO = 0.01f;
+
+    /** Share of main space given to protected segment. */
+    private static final float PROTECTED_RATIO = 0.8f;
+
+    /** Number of read buffers, must be power of two. */
+    private static final int READ_BUF_STRIPES = 16;
+
+    /** Size of single read buffer, must be power of two. */
+    private static final int READ_BUF_SIZE = 32;
+
+    /** Node is in admission window. */
+    private static final byte WINDOW = 0;
+
+    /** Node is in probation segment of main space. */
+    private static final byte PROBATION = 1;
+
+    /** Node is in protected segment of main space. */
+    private static final byte PROTECTED = 2;
+
+    /** Node is attached to entry, but is not linked into any queue yet. */
+    private static final byte NEW = 3;
+
+    /** Node is not tracked anymore. */
+    private static final byte REMOVED = 4;
+
+    /** Tag. */
+    private final String meta = UUID.randomUUID().toString();
+
+    /** Maximum size. */
+    private volatile int max = GridCacheConfiguration.DFLT_CACHE_SIZE;
+
+    /** Window ratio. */
+    private volatile float windowRatio = DFLT_WINDOW_RATIO;
+
+    /** Lock guarding queues and sketch. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Admission window. */
+    private final NodeList<K, V> window = new NodeList<>();
+
+    /** Probation segment. */
+    private final NodeList<K, V> probation = new NodeList<>();
+
+    /** Protected segment. */
+    private final NodeList<K, V> prot = new NodeList<>();
+
+    /** Frequency sketch. */
+    private volatile FrequencySketch sketch;
+
+    /** Read buffers. */
+    private final AtomicReferenceArray<Node<K, V>> readBufs =
+        new AtomicReferenceArray<>(READ_BUF_STRIPES * READ_BUF_SIZE);
+
+    /** Write positions in read buffers. */
+    private final AtomicIntegerArray readBufIdxs = new AtomicIntegerArray(READ_BUF_STRIPES);
+
+    /** Number of tracked entries. */
+    private volatile int size;
+
+    /** Hits. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Misses. */
+    private final LongAdder misses = new LongAdder();
+
+    /** Dropped reads. */
+    private final LongAdder droppedReads = new LongAdder();
+
+    /** Admitted candidates. */
+    private volatile long admitted;
+
+    /** Rejected candidates. */
+    private volatile long rejected;
+
+    /**
+     * Constructs W-TinyLFU eviction policy with all defaults.
+     */
+    public GridCacheTinyLfuEvictionPolicy() {
+        sketch = new FrequencySketch(max);
+    }
+
+    /**
+     * Constructs W-TinyLFU eviction policy with maximum size.
+     *
+     * @param max Maximum allowed size of cache before entry will start getting evicted.
+     */
+    public GridCacheTinyLfuEvictionPolicy(int max) {
+        A.ensure(max > 0, "max > 0");
+
+        this.max = max;
+
+        sketch = new FrequencySketch(max);
+    }
+
+    /**
+     * Gets maximum allowed size of cache before entry will start getting evicted.
+     *
+     * @return Maximum allowed size of cache before entry will start getting evicted.
+     */
+    @Override public int getMaxSize() {
+        return max;
+    }
+
+    /**
+     * Sets maximum allowed size of cache before entry will start getting evicted.
+     *
+     * @param max Maximum allowed size of cache before entry will start getting evicted.
+     */
+    @Override public void setMaxSize(int max) {
+        A.ensure(max > 0, "max > 0");
+
+        this.max = max;
+    }
+
+    /** {@inheritDoc} */
+    @Override public float getWindowRatio() {
+        return windowRatio;
+    }
+
+    /**
+     * Sets share of maximum size given to admission window. Larger window favors recency,
+     * smaller window favors frequency. Default is {@link #DFLT_WINDOW_RATIO}.
+     *
+     * @param windowRatio Share of maximum size given to admission window.
+     */
+    @Override public void setWindowRatio(float windowRatio) {
+        A.ensure(windowRatio > 0 && windowRatio < 1, "windowRatio > 0 && windowRatio < 1");
+
+        this.windowRatio = windowRatio;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getCurrentSize() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getWindowSize() {
+        return window.size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getProtectedSize() {
+        return prot.size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getHits() {
+        return hits.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getMisses() {
+        return misses.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public float getHitRatio() {
+        long hits = this.hits.sum();
+        long total = hits + misses.sum();
+
+        return total == 0 ? 0 : (float)hits / total;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getAdmittedCount() {
+        return admitted;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getRejectedCount() {
+        return rejected;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getSketchCounters() {
+        return sketch.counters();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getSketchSamples() {
+        return sketch.samples;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getSketchResets() {
+        return sketch.resets;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getDroppedReads() {
+        return droppedReads.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String getMetaAttributeName() {
+        return meta;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onEntryAccessed(boolean rmv, GridCacheEntry<K, V> entry) {
+        if (!rmv) {
+            if (!entry.isCached())
+                return;
+
+            Node<K, V> node = entry.meta(meta);
+
+            if (node == null) {
+                misses.increment();
+
+                Collection<GridCacheEntry<K, V>> victims = add(entry, true);
+
+                if (victims != null) {
+                    for (GridCacheEntry<K, V> victim : victims) {
+                        if (!victim.evict())
+                            add(victim, false); // Keep tracking entry which could not be evicted.
+                    }
+                }
+            }
+            else {
+                hits.increment();
+
+                recordRead(node);
+            }
+        }
+        else {
+            Node<K, V> node = entry.removeMeta(meta);
+
+            if (node != null) {
+                lock.lock();
+
+                try {
+                    if (node.queue == NEW)
+                        // Prevent concurrent add from linking it.
+                        node.queue = REMOVED;
+                    else if (node.queue != REMOVED)
+                        remove(node);
+                }
+                finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts tracking entry.
+     *
+     * @param entry Entry.
+     * @param evict Whether to select entries to evict.
+     * @return Entries to evict or {@code null} if there is none.
+     */
+    @Nullable private Collection<GridCacheEntry<K, V>> add(GridCacheEntry<K, V> entry, boolean evict) {
+        Node<K, V> node = new Node<>(entry, entry.getKey().hashCode());
+
+        if (entry.putMetaIfAbsent(meta, node) != null)
+            return null; // Was concurrently added.
+
+        lock.lock();
+
+        try {
+            if (node.queue != NEW || !entry.isCached()) {
+                // Was concurrently evicted or removed.
+                entry.removeMeta(meta, node);
+
+                node.queue = REMOVED;
+
+                return null;
+            }
+
+            drainReadBuffers();
+
+            sketch.increment(node.hash);
+
+            window.addLast(node);
+
+            node.queue = WINDOW;
+
+            size++;
+
+            return evict ? evict() : null;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records access to tracked entry. Access is dropped if buffer is full and
+     * cannot be drained without waiting for the lock.
+     *
+     * @param node Node.
+     */
+    private void recordRead(Node<K, V> node) {
+        int stripe = (int)Thread.currentThread().getId() & (READ_BUF_STRIPES - 1);
+
+        int i = readBufIdxs.getAndIncrement(stripe);
+
+        if (i < READ_BUF_SIZE) {
+            readBufs.lazySet(stripe * READ_BUF_SIZE + i, node);
+
+            if (i == READ_BUF_SIZE - 1)
+                tryDrain();
+        }
+        else {
+            droppedReads.increment();
+
+            tryDrain();
+        }
+    }
+
+    /**
+     * Drains read buffers if lock is free.
+     */
+    private void tryDrain() {
+        if (lock.tryLock()) {
+            try {
+                drainReadBuffers();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Applies recorded accesses.
+     */
+    private void drainReadBuffers() {
+        assert lock.isHeldByCurrentThread();
+
+        int max = this.max;
+
+        if (sketch.capacity < max)
+            sketch = new FrequencySketch(max);
+
+        for (int s = 0; s < READ_BUF_STRIPES; s++) {
+            int cnt = Math.min(readBufIdxs.get(s), READ_BUF_SIZE);
+
+            if (cnt == 0)
+                continue;
+
+            int base = s * READ_BUF_SIZE;
+
+            for (int i = 0; i < cnt; i++) {
+                Node<K, V> node = readBufs.get(base + i);
+
+                if (node != null) {
+                    readBufs.lazySet(base + i, null);
+
+                    onRead(node, max);
+                }
+            }
+
+            readBufIdxs.set(s, 0);
+        }
+    }
+
+    /**
+     * @param node Accessed node.
+     * @param max Maximum size.
+     */
+    private void onRead(Node<K, V> node, int max) {
+        switch (node.queue) {
+            case WINDOW:
+                sketch.increment(node.hash);
+
+                window.moveToTail(node);
+
+                break;
+
+            case PROBATION:
+                sketch.increment(node.hash);
+
+                probation.unlink(node);
+
+                node.queue = PROTECTED;
+
+                prot.addLast(node);
+
+                int protMax = (int)((max - windowMax(max)) * PROTECTED_RATIO);
+
+                // Demote least recently used protected entries.
+                while (prot.size > protMax) {
+                    Node<K, V> demoted = prot.head;
+
+                    prot.unlink(demoted);
+
+                    demoted.queue = PROBATION;
+
+                    probation.addLast(demoted);
+                }
+
+                break;
+
+            case PROTECTED:
+                sketch.increment(node.hash);
+
+                prot.moveToTail(node);
+
+                break;
+
+            default:
+                // Ignore nodes which are not linked yet or not tracked anymore.
+                assert node.queue == NEW || node.queue == REMOVED;
+        }
+    }
+
+    /**
+     * Moves overflowing window entries to main space, admitting them only if they are accessed
+     * more frequently than main space victims.
+     *
+     * @return Entries to evict or {@code null} if there is none.
+     */
+    @Nullable private Collection<GridCacheEntry<K, V>> evict() {
+        assert lock.isHeldByCurrentThread();
+
+        int max = this.max;
+
+        int winMax = windowMax(max);
+        int mainMax = max - winMax;
+
+        Collection<GridCacheEntry<K, V>> victims = null;
+
+        while (window.size > winMax) {
+            Node<K, V> cand = window.head;
+
+            window.unlink(cand);
+
+            cand.queue = PROBATION;
+
+            probation.addLast(cand);
+
+            if (probation.size + prot.size <= mainMax)
+                continue;
+
+            Node<K, V> victim = probation.head != cand ? probation.head : prot.head;
+
+            if (victim != null && sketch.frequency(cand.hash) > sketch.frequency(victim.hash))
+                admitted++;
+            else {
+                rejected++;
+
+                victim = cand;
+            }
+
+            victims = evict(victim, victims);
+        }
+
+        // Maximum size may have been decreased.
+        while (size > max) {
+            Node<K, V> victim = probation.head != null ? probation.head : prot.head != null ? prot.head : window.head;
+
+            victims = evict(victim, victims);
+        }
+
+        return victims;
+    }
+
+    /**
+     * @param max Maximum size.
+     * @return Maximum size of admission window.
+     */
+    private int windowMax(int max) {
+        return Math.max(1, (int)(max * windowRatio));
+    }
+
+    /**
+     * @param node Node to evict.
+     * @param victims Collection of victims to add entry to.
+     * @return Collection of victims.
+     */
+    private Collection<GridCacheEntry<K, V>> evict(Node<K, V> node, @Nullable Collection<GridCacheEntry<K, V>> victims) {
+        remove(node);
+
+        node.entry.removeMeta(meta, node);
+
+        if (victims == null)
+            victims = new ArrayList<>();
+
+        victims.add(node.entry);
+
+        return victims;
+    }
+
+    /**
+     * @param node Node to stop tracking.
+     */
+    private void remove(Node<K, V> node) {
+        assert lock.isHeldByCurrentThread();
+
+        switch (node.queue) {
+            case WINDOW:
+                window.unlink(node);
+
+                break;
+
+            case PROBATION:
+                probation.unlink(node);
+
+                break;
+
+            case PROTECTED:
+                prot.unlink(node);
+
+                break;
+
+            default:
+                assert false : node.queue;
+        }
+
+        node.queue = REMOVED;
+
+        size--;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheTinyLfuEvictionPolicy.class, this, "size", size);
+    }
+
+    /**
+     * Ordering node attached to entry.
+     */
+    private static class Node<K, V> {
+        /** Entry. */
+        private final GridCacheEntry<K, V> entry;
+
+        /** Key hash. */
+        private final int hash;
+
+        /** Queue this node is in, guarded by policy lock. */
+        private byte queue = NEW;
+
+        /** */
+        private Node<K, V> prev;
+
+        /** */
+        private Node<K, V> next;
+
+        /**
+         * @param entry Entry.
+         * @param hash Key hash.
+         */
+        private Node(GridCacheEntry<K, V> entry, int hash) {
+            this.entry = entry;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list of nodes, guarded by policy lock.
+     */
+    private static class NodeList<K, V> {
+        /** Least recently used node. */
+        private Node<K, V> head;
+
+        /** Most recently used node. */
+        private Node<K, V> tail;
+
+        /** Size. */
+        private volatile int size;
+
+        /**
+         * @param node Node to add to tail.
+         */
+        void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+
+            if (tail == null)
+                head = node;
+            else
+                tail.next = node;
+
+            tail = node;
+
+            size++;
+        }
+
+        /**
+         * @param node Node to unlink.
+         */
+        void unlink(Node<K, V> node) {
+            Node<K, V> prev = node.prev;
+            Node<K, V> next = node.next;
+
+            if (prev == null)
+                head = next;
+            else
+                prev.next = next;
+
+            if (next == null)
+                tail = prev;
+            else
+                next.prev = prev;
+
+            node.prev = null;
+            node.next = null;
+
+            size--;
+        }
+
+        /**
+         * @param node Node to move to tail.
+         */
+        void moveToTail(Node<K, V> node) {
+            if (node != tail) {
+                unlink(node);
+
+                addLast(node);
+            }
+        }
+    }
+
+    /**
+     * Count-min sketch with four 4-bit counters per key packed into longs. Counters are halved
+     * once number of increments reaches ten times the capacity, so that old popularity fades.
+     */
+    private static class FrequencySketch {
+        /** Seeds of hash functions. */
+        private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+        /** Mask clearing high bit of every counter after shift. */
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        /** Mask of low bit of every counter. */
+        private static final long ONE_MASK = 0x1111111111111111L;
+
+        /** Capacity. */
+        private final int capacity;
+
+        /** Counters. */
+        private final long[] tbl;
+
+        /** Number of increments after which counters are halved. */
+        private final int sampleSize;
+
+        /** Increments since last reset. */
+        private int samples;
+
+        /** Number of resets. */
+        private long resets;
+
+        /**
+         * @param capacity Expected number of distinct keys.
+         */
+        FrequencySketch(int capacity) {
+            this.capacity = capacity;
+
+            tbl = new long[U.ceilPow2(Math.max(capacity, 8))];
+
+            sampleSize = (int)Math.min(10L * capacity, Integer.MAX_VALUE);
+        }
+
+        /**
+         * @return Number of counters.
+         */
+        int counters() {
+            return tbl.length * 16;
+        }
+
+        /**
+         * @param hash Key hash.
+         * @return Estimated frequency, from {@code 0} to {@code 15}.
+         */
+        int frequency(int hash) {
+            hash = U.hash(hash);
+
+            int start = (hash & 3) << 2;
+
+            int freq = Integer.MAX_VALUE;
+
+            for (int i = 0; i < 4; i++) {
+                int idx = indexOf(hash, i);
+
+                int cnt = (int)((tbl[idx] >>> ((start + i) << 2)) & 0xfL);
+
+                freq = Math.min(freq, cnt);
+            }
+
+            return freq;
+        }
+
+        /**
+         * @param hash Key hash.
+         */
+        void increment(int hash) {
+            hash = U.hash(hash);
+
+            int start = (hash & 3) << 2;
+
+            boolean added = false;
+
+            for (int i = 0; i < 4; i++)
+                added |= incrementAt(indexOf(hash, i), start + i);
+
+            if (added && ++samples >= sampleSize)
+                reset();
+        }
+
+        /**
+         * @param i Index of long.
+         * @param j Index of counter within long.
+         * @return {@code True} if counter was incremented.
+         */
+        private boolean incrementAt(int i, int j) {
+            int off = j << 2;
+
+            long mask = 0xfL << off;
+
+            if ((tbl[i] & mask) != mask) {
+                tbl[i] += 1L << off;
+
+                return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * @param hash Spread key hash.
+         * @param i Hash function index.
+         * @return Index of long holding counter.
+         */
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+
+            h += h >>> 32;
+
+            return (int)h & (tbl.length - 1);
+        }
+
+        /**
+         * Halves all counters.
+         */
+        private void reset() {
+            int odd = 0;
+
+            for (int i = 0; i < tbl.length; i++) {
+                odd += Long.bitCount(tbl[i] & ONE_MASK);
+
+                tbl[i] = (tbl[i] >>> 1) & RESET_MASK;
+            }
+
+            samples = (samples - (odd >>> 2)) >>> 1;
+
+            resets++;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+package org.gridgain.grid.cache.eviction.tinylfu;
+
+import org.gridgain.grid.util.mbean.*;
+
+/**
+ * MBean for {@code W-TinyLFU} eviction policy.
+ */
+@GridMBeanDescription("MBean for W-TinyLFU cache eviction policy.")
+public interface GridCacheTinyLfuEvictionPolicyMBean {
+    /**
+     * Gets name of metadata attribute used to store eviction policy data.
+     *
+     * @return Name of metadata attribute used to store eviction policy data.
+     */
+    @GridMBeanDescription("Name of metadata attribute used to store eviction policy data.")
+    public String getMetaAttributeName();
+
+    /**
+     * Gets maximum allowed cache size.
+     *
+     * @return Maximum allowed cache size.
+     */
+    @GridMBeanDescription("Maximum allowed cache size.")
+    public int getMaxSize();
+
+    /**
+     * Sets maximum allowed cache size.
+     *
+     * @param max Maximum allowed cache size.
+     */
+    @GridMBeanDescription("Sets maximum allowed cache size.")
+    public void setMaxSize(int max);
+
+    /**
+     * Gets share of maximum size given to admission window.
+     *
+     * @return Share of maximum size given to admission window.
+     */
+    @GridMBeanDescription("Share of maximum size given to admission window.")
+    public float getWindowRatio();
+
+    /**
+     * Sets share of maximum size given to admission window.
+     *
+     * @param windowRatio Share of maximum size given to admission window.
+     */
+    @GridMBeanDescription("Sets share of maximum size given to admission window.")
+    public void setWindowRatio(float windowRatio);
+
+    /**
+     * Gets current number of tracked entries.
+     *
+     * @return Current number of tracked entries.
+     */
+    @GridMBeanDescription("Current number of tracked entries.")
+    public int getCurrentSize();
+
+    /**
+     * Gets current size of admission window.
+     *
+     * @return Current size of admission window.
+     */
+    @GridMBeanDescription("Current size of admission window.")
+    public int getWindowSize();
+
+    /**
+     * Gets current size of protected segment of main space.
+     *
+     * @return Current size of protected segment.
+     */
+    @GridMBeanDescription("Current size of protected segment of main space.")
+    public int getProtectedSize();
+
+    /**
+     * Gets number of accesses to entries tracked by the policy.
+     *
+     * @return Number of hits.
+     */
+    @GridMBeanDescription("Number of accesses to entries tracked by the policy.")
+    public long getHits();
+
+    /**
+     * Gets number of accesses to entries which were not tracked by the policy.
+     *
+     * @return Number of misses.
+     */
+    @GridMBeanDescription("Number of accesses to entries which were not tracked by the policy.")
+    public long getMisses();
+
+    /**
+     * Gets ratio of hits to all accesses.
+     *
+     * @return Hit ratio.
+     */
+    @GridMBeanDescription("Ratio of hits to all accesses.")
+    public float getHitRatio();
+
+    /**
+     * Gets number of window candidates admitted to main space.
+     *
+     * @return Number of admitted candidates.
+     */
+    @GridMBeanDescription("Number of window candidates admitted to main space.")
+    public long getAdmittedCount();
+
+    /**
+     * Gets number of window candidates rejected by frequency sketch.
+     *
+     * @return Number of rejected candidates.
+     */
+    @GridMBeanDescription("Number of window candidates rejected by frequency sketch.")
+    public long getRejectedCount();
+
+    /**
+     * Gets number of counters in frequency sketch.
+     *
+     * @return Number of counters in frequency sketch.
+     */
+    @GridMBeanDescription("Number of counters in frequency sketch.")
+    public int getSketchCounters();
+
+    /**
+     * Gets number of increments recorded by frequency sketch since last aging.
+     *
+     * @return Number of increments since last aging.
+     */
+    @GridMBeanDescription("Number of increments recorded by frequency sketch since last aging.")
+    public int getSketchSamples();
+
+    /**
+     * Gets number of times frequency sketch counters were halved.
+     *
+     * @return Number of sketch agings.
+     */
+    @GridMBeanDescription("Number of times frequency sketch counters were halved.")
+    public long getSketchResets();
+
+    /**
+     * Gets number of accesses dropped because read buffers were full.
+     *
+     * @return Number of dropped accesses.
+     */
+    @GridMBeanDescription("Number of accesses dropped because read buffers were full.")
+    public long getDroppedReads();
+}
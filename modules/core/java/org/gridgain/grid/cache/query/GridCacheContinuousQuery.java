@@ -131,6 +131,9 @@ public interface GridCacheContinuousQuery<K, V> extends AutoCloseable {
      */
     public static final boolean DFLT_AUTO_UNSUBSCRIBE = true;
 
+    /** Default value for conflation flag. Every update is delivered by default. */
+    public static final boolean DFLT_CONFLATE = false;
+
     /**
      * Sets mandatory local callback. This callback is called only
      * in local node when new updates are received.
@@ -156,6 +159,10 @@ public interface GridCacheContinuousQuery<K, V> extends AutoCloseable {
     /**
      * Sets optional key-value filter. This filter is called before
      * entry is sent to the master node.
+     * <p>
+     * If filter checks a single SQL field for equality or range, consider using
+     * {@link GridCacheContinuousQueryFieldFilter}. Such filters are indexed on data nodes,
+     * so that cache updates are not matched against every running query.
      *
      * @param filter Key-value filter.
      */
@@ -235,6 +242,33 @@ public interface GridCacheContinuousQuery<K, V> extends AutoCloseable {
      */
     public boolean isAutoUnsubscribe();
 
+    /**
+     * Sets conflation flag.
+     * <p>
+     * If this flag is {@code true}, remote nodes keep only the latest value for every key
+     * within the buffer (see {@link #bufferSize(int)} and {@link #timeInterval(long)}), so
+     * if the same key was updated several times before the buffer is flushed, only the
+     * last update is delivered to the callback. Buffer size in this case limits the number
+     * of distinct keys. Conflated buffers are sent to master node as compact batches of
+     * serialized keys and values.
+     * <p>
+     * Conflation is useful for caches with frequently updated keys (e.g. market data),
+     * where only the latest state matters. Note that updates happening on master node
+     * itself are not buffered and therefore not conflated.
+     * <p>
+     * Default value for this flag is {@code false}.
+     *
+     * @param conflate Conflation flag.
+     */
+    public void conflate(boolean conflate);
+
+    /**
+     * Gets conflation flag. See {@link #conflate(boolean)} for more information.
+     *
+     * @return Conflation flag.
+     */
+    public boolean isConflate();
+
     /**
      * Starts continuous query execution on the whole grid.
      * <p>
@@ -0,0 +1,237 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.cache.query;
+
+import org.gridgain.grid.*;
+import org.gridgain.grid.lang.*;
+import org.gridgain.grid.util.typedef.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
+
+import java.lang.reflect.*;
+
+/**
+ * Continuous query filter which checks a single value field annotated with
+ * {@link GridCacheQuerySqlField} for equality or for being within a range.
+ * <p>
+ * Unlike arbitrary {@link GridCacheContinuousQuery#filter(GridBiPredicate) filters}, which
+ * have to be evaluated for every cache update, filters of this type are compiled into
+ * subscription index on data nodes, so that every update is matched only against
+ * queries subscribed to the updated field value. This makes large numbers of
+ * continuous queries over the same cache much cheaper.
+ * <p>
+ * Field is resolved by the same name which is used in SQL queries, i.e. either
+ * {@link GridCacheQuerySqlField#name()} or name of annotated field or getter method
+ * (without {@code get} prefix). Names are compared ignoring case. Entries with
+ * {@code null} values (e.g. removed entries) never pass this filter.
+ * <h1 class="header">Example</h1>
+ * <pre name="code" class="java">
+ * GridCacheContinuousQuery&lt;UUID, Person&gt; qry = cache.queries().createContinuousQuery();
+ *
+ * // Receive updates only for persons with salary between 1000 and 2000.
+ * qry.filter(GridCacheContinuousQueryFieldFilter.&lt;UUID, Person&gt;between("salary", 1000, 2000));
+ * </pre>
+ */
+public class GridCacheContinuousQueryFieldFilter<K, V> implements GridBiPredicate<K, V> {
+    /** Field name. */
+    private final String field;
+
+    /** Value for equality check, {@code null} for range check. */
+    private final Object val;
+
+    /** Lower bound (inclusive), {@code null} if not bounded. */
+    private final Comparable<Object> from;
+
+    /** Upper bound (inclusive), {@code null} if not bounded. */
+    private final Comparable<Object> to;
+
+    /** Last resolved value class and its field accessor. */
+    private transient volatile T2<Class<?>, Member> accessor;
+
+    /**
+     * @param field Field name.
+     * @param val Value for equality check.
+     * @param from Lower bound.
+     * @param to Upper bound.
+     */
+    private GridCacheContinuousQueryFieldFilter(String field, @Nullable Object val, @Nullable Comparable<?> from,
+        @Nullable Comparable<?> to) {
+        this.field = field;
+        this.val = val;
+        this.from = (Comparable<Object>)from;
+        this.to = (Comparable<Object>)to;
+    }
+
+    /**
+     * Creates filter which passes entries with given field equal to given value.
+     *
+     * @param field Field name.
+     * @param val Field value.
+     * @return Filter.
+     */
+    public static <K, V> GridCacheContinuousQueryFieldFilter<K, V> equalTo(String field, Object val) {
+        A.notNull(field, "field", val, "val");
+
+        return new GridCacheContinuousQueryFieldFilter<>(field, val, null, null);
+    }
+
+    /**
+     * Creates filter which passes entries with given field within given range. Both bounds
+     * are inclusive, {@code null} bound means that range is not bounded from that side.
+     *
+     * @param field Field name.
+     * @param from Lower bound.
+     * @param to Upper bound.
+     * @return Filter.
+     */
+    public static <K, V> GridCacheContinuousQueryFieldFilter<K, V> between(String field, @Nullable Comparable<?> from,
+        @Nullable Comparable<?> to) {
+        A.notNull(field, "field");
+        A.ensure(from != null || to != null, "from != null || to != null");
+
+        return new GridCacheContinuousQueryFieldFilter<>(field, null, from, to);
+    }
+
+    /**
+     * @return Field name.
+     */
+    public String field() {
+        return field;
+    }
+
+    /**
+     * @return Value for equality check or {@code null} if this is a range filter.
+     */
+    @Nullable public Object value() {
+        return val;
+    }
+
+    /**
+     * @return {@code True} if this is a range filter.
+     */
+    public boolean range() {
+        return val == null;
+    }
+
+    /**
+     * Gets value of filtered field from given cache value.
+     *
+     * @param obj Cache value.
+     * @return Field value or {@code null} if value is {@code null} or has no such field.
+     */
+    @Nullable public Object fieldValue(@Nullable V obj) {
+        if (obj == null)
+            return null;
+
+        T2<Class<?>, Member> acc = accessor;
+
+        if (acc == null || acc.get1() != obj.getClass())
+            accessor = acc = new T2<Class<?>, Member>(obj.getClass(), member(obj.getClass()));
+
+        Member m = acc.get2();
+
+        if (m == null)
+            return null;
+
+        try {
+            return m instanceof Field ? ((Field)m).get(obj) : ((Method)m).invoke(obj);
+        }
+        catch (IllegalAccessException | InvocationTargetException e) {
+            throw new GridRuntimeException("Failed to get field value [field=" + field + ", cls=" +
+                obj.getClass().getName() + ']', e);
+        }
+    }
+
+    /**
+     * Checks whether given field value passes this filter.
+     *
+     * @param fieldVal Field value.
+     * @return {@code True} if value passes filter.
+     */
+    public boolean matches(@Nullable Object fieldVal) {
+        if (fieldVal == null)
+            return false;
+
+        if (val != null)
+            return val.equals(fieldVal);
+
+        try {
+            return (from == null || from.compareTo(fieldVal) <= 0) && (to == null || to.compareTo(fieldVal) >= 0);
+        }
+        catch (ClassCastException ignored) {
+            return false;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean apply(K k, V v) {
+        return matches(fieldValue(v));
+    }
+
+    /**
+     * Finds field or getter annotated with {@link GridCacheQuerySqlField} which has filtered name.
+     *
+     * @param cls Value class.
+     * @return Member or {@code null} if not found.
+     */
+    @Nullable private Member member(Class<?> cls) {
+        for (Class<?> c = cls; c != null && !c.equals(Object.class); c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                GridCacheQuerySqlField ann = f.getAnnotation(GridCacheQuerySqlField.class);
+
+                if (ann != null && field.equalsIgnoreCase(ann.name().isEmpty() ? f.getName() : ann.name())) {
+                    f.setAccessible(true);
+
+                    return f;
+                }
+            }
+
+            for (Method m : c.getDeclaredMethods()) {
+                GridCacheQuerySqlField ann = m.getAnnotation(GridCacheQuerySqlField.class);
+
+                if (ann == null || m.getParameterTypes().length != 0)
+                    continue;
+
+                String name = ann.name();
+
+                if (name.isEmpty())
+                    name = m.getName().startsWith("get") && m.getName().length() > 3 ? m.getName().substring(3) :
+                        m.getName();
+
+                if (field.equalsIgnoreCase(name)) {
+                    m.setAccessible(true);
+
+                    return m;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheContinuousQueryFieldFilter.class, this);
+    }
+}
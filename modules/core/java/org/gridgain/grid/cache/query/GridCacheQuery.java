@@ -87,6 +87,14 @@ import org.jetbrains.annotations.*;
  *         containing aggregated values, one for each node.
  *     </li>
  *     <li>
+ *         The two limitations above do not apply to simple SQL fields queries which select
+ *         only grouping columns and {@code count}, {@code sum}, {@code min}, {@code max}
+ *         or {@code avg} functions and have no {@code distinct}, {@code having},
+ *         {@code order by} or {@code limit} clauses. Such queries return partial
+ *         aggregates from each node, which are merged into final groups on the
+ *         querying node.
+ *     </li>
+ *     <li>
  *         Joins will work correctly only if joined objects are stored in
  *         collocated mode or at least one side of the join is stored in
  *         {@link GridCacheMode#REPLICATED} cache. Refer to
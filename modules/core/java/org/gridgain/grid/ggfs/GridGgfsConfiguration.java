@@ -96,6 +96,9 @@ public class GridGgfsConfiguration {
     /** Default IPC endpoint enabled flag. */
     public static final boolean DFLT_IPC_ENDPOINT_ENABLED = true;
 
+    /** Default maximum number of entries in node-local path cache. */
+    public static final int DFLT_PATH_CACHE_SIZE = 16 * 1024;
+
     /** GGFS instance name. */
     private String name;
 
@@ -177,6 +180,9 @@ public class GridGgfsConfiguration {
     /** Maximum range length. */
     private long maxTaskRangeLen;
 
+    /** Maximum number of entries in node-local path cache. */
+    private int pathCacheSize = DFLT_PATH_CACHE_SIZE;
+
     /**
      * Constructs default configuration.
      */
@@ -216,6 +222,7 @@ public class GridGgfsConfiguration {
         metaCacheName = cfg.getMetaCacheName();
         mgmtPort = cfg.getManagementPort();
         name = cfg.getName();
+        pathCacheSize = cfg.getPathCacheSize();
         pathModes = cfg.getPathModes();
         perNodeBatchSize = cfg.getPerNodeBatchSize();
         perNodeParallelBatchCnt = cfg.getPerNodeParallelBatchCount();
@@ -839,6 +846,31 @@ public class GridGgfsConfiguration {
         this.maxTaskRangeLen = maxTaskRangeLen;
     }
 
+    /**
+     * Gets maximum number of entries in node-local cache of resolved paths and file infos. This cache allows
+     * to resolve frequently accessed paths without reading meta cache for each path component. Cached entries
+     * are invalidated on every metadata update, which requires each metadata update to be additionally
+     * delivered to all GGFS nodes.
+     * <p>
+     * In case value of this parameter is set to {@code 0} or negative value, path cache is disabled. Default
+     * value is {@link #DFLT_PATH_CACHE_SIZE}.
+     *
+     * @return Maximum number of entries in path cache.
+     */
+    public int getPathCacheSize() {
+        return pathCacheSize;
+    }
+
+    /**
+     * Sets maximum number of entries in node-local cache of resolved paths and file infos.
+     * See {@link #getPathCacheSize()} for more details.
+     *
+     * @param pathCacheSize Maximum number of entries in path cache.
+     */
+    public void setPathCacheSize(int pathCacheSize) {
+        this.pathCacheSize = pathCacheSize;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(GridGgfsConfiguration.class, this);
@@ -245,6 +245,11 @@ class GridEventConsumeHandler implements GridContinuousHandler {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public Collection<?> prepareNotifications(Collection<Object> objs, GridKernalContext ctx) {
+        return objs;
+    }
+
     /** {@inheritDoc} */
     @Override public void p2pMarshal(GridKernalContext ctx) throws GridException {
         assert ctx != null;
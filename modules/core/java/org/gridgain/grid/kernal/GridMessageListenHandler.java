@@ -99,6 +99,11 @@ public class GridMessageListenHandler implements GridContinuousHandler {
         assert false;
     }
 
+    /** {@inheritDoc} */
+    @Override public Collection<?> prepareNotifications(Collection<Object> objs, GridKernalContext ctx) {
+        return objs;
+    }
+
     /** {@inheritDoc} */
     @Override public void p2pMarshal(GridKernalContext ctx) throws GridException {
         assert ctx != null;
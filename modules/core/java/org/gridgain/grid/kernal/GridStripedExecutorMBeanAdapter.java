@@ -0,0 +1,107 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.kernal;
+
+import org.gridgain.grid.*;
+import org.gridgain.grid.util.*;
+
+/**
+ * Adapter for {@link GridStripedExecutorMBean} which delegates all method calls to the underlying
+ * {@link GridStripedExecutor} instance.
+ */
+public class GridStripedExecutorMBeanAdapter implements GridStripedExecutorMBean {
+    /** */
+    private final GridStripedExecutor exec;
+
+    /**
+     * Creates adapter.
+     *
+     * @param exec Striped executor.
+     */
+    public GridStripedExecutorMBeanAdapter(GridStripedExecutor exec) {
+        assert exec != null;
+
+        this.exec = exec;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getStripesCount() {
+        return exec.stripes();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getQueueSize() {
+        return exec.queueSize();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getCompletedTaskCount() {
+        long cnt = 0;
+
+        for (int i = 0; i < exec.stripes(); i++)
+            cnt += exec.completedTasks(i);
+
+        return cnt;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int[] getStripesQueueSizes() {
+        int[] res = new int[exec.stripes()];
+
+        for (int i = 0; i < res.length; i++)
+            res[i] = exec.queueSize(i);
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long[] getStripesCompletedTaskCounts() {
+        long[] res = new long[exec.stripes()];
+
+        for (int i = 0; i < res.length; i++)
+            res[i] = exec.completedTasks(i);
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long[] getStripesAverageWaitTimes() {
+        long[] res = new long[exec.stripes()];
+
+        for (int i = 0; i < res.length; i++)
+            res[i] = exec.averageWaitTime(i);
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long[] getStripesAverageLatencies() {
+        long[] res = new long[exec.stripes()];
+
+        for (int i = 0; i < res.length; i++)
+            res[i] = exec.averageLatency(i);
+
+        return res;
+    }
+}
@@ -42,6 +42,7 @@ import org.gridgain.grid.util.typedef.internal.*;
 import org.gridgain.grid.util.worker.*;
 import org.jetbrains.annotations.*;
 
+import javax.management.*;
 import java.io.*;
 import java.util.*;
 import java.util.Map.*;
@@ -49,6 +50,7 @@ import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
 import java.util.concurrent.locks.*;
 
+import static org.gridgain.grid.GridSystemProperties.*;
 import static org.gridgain.grid.events.GridEventType.*;
 import static org.gridgain.grid.kernal.GridTopic.*;
 import static org.gridgain.grid.kernal.managers.communication.GridIoPolicy.*;
@@ -86,6 +88,12 @@ public class GridIoManager extends GridManagerAdapter<GridCommunicationSpi<Seria
     /** Internal management pool. */
     private ExecutorService mgmtPool;
 
+    /** Partition-striped pool, {@code null} if disabled. */
+    private GridStripedExecutor stripedPool;
+
+    /** Partition-striped pool MBean, {@code null} if pool is disabled. */
+    private ObjectName stripedPoolMBean;
+
     /** Discovery listener. */
     private GridLocalEventListener discoLsnr;
 
@@ -171,6 +179,24 @@ public class GridIoManager extends GridManagerAdapter<GridCommunicationSpi<Seria
         sysPool = ctx.config().getSystemExecutorService();
         mgmtPool = ctx.config().getManagementExecutorService();
 
+        int stripes = Integer.getInteger(GG_IO_STRIPED_POOL_SIZE, Runtime.getRuntime().availableProcessors());
+
+        if (stripes > 0) {
+            stripedPool = new GridStripedExecutor(stripes, ctx.gridName(), "striped", log);
+
+            try {
+                stripedPoolMBean = U.registerMBean(ctx.config().getMBeanServer(), ctx.gridName(), "Thread Pools",
+                    "GridStripedExecutor", new GridStripedExecutorMBeanAdapter(stripedPool),
+                    GridStripedExecutorMBean.class);
+
+                if (log.isDebugEnabled())
+                    log.debug("Registered striped executor MBean: " + stripedPoolMBean);
+            }
+            catch (JMException e) {
+                U.error(log, "Failed to register striped executor MBean.", e);
+            }
+        }
+
         getSpi().setListener(commLsnr = new GridCommunicationListener<Serializable>() {
             @Override public void onMessage(UUID nodeId, Serializable msg, GridRunnable msgC) {
                 try {
@@ -386,6 +412,18 @@ public class GridIoManager extends GridManagerAdapter<GridCommunicationSpi<Seria
     @Override public void stop(boolean cancel) throws GridException {
         stopSpi();
 
+        if (stripedPoolMBean != null) {
+            try {
+                ctx.config().getMBeanServer().unregisterMBean(stripedPoolMBean);
+            }
+            catch (JMException e) {
+                U.error(log, "Failed to unregister striped executor MBean: " + stripedPoolMBean, e);
+            }
+        }
+
+        if (stripedPool != null)
+            stripedPool.stop();
+
         // Clear cache.
         cacheMsg.set(null);
 
@@ -466,7 +504,8 @@ public class GridIoManager extends GridManagerAdapter<GridCommunicationSpi<Seria
 
                 case PUBLIC_POOL:
                 case SYSTEM_POOL:
-                case MANAGEMENT_POOL: {
+                case MANAGEMENT_POOL:
+                case STRIPED_POOL: {
                     if (msg.isOrdered())
                         processOrderedMessage(node, msg, plc, msgC);
                     else
@@ -500,6 +539,8 @@ public class GridIoManager extends GridManagerAdapter<GridCommunicationSpi<Seria
                 return pubPool;
             case MANAGEMENT_POOL:
                 return mgmtPool;
+            case STRIPED_POOL:
+                return stripedPool != null ? stripedPool : sysPool;
 
             default: {
                 assert false : "Invalid communication policy: " + plc;
@@ -606,7 +647,10 @@ public class GridIoManager extends GridManagerAdapter<GridCommunicationSpi<Seria
         };
 
         try {
-            pool(plc).execute(c);
+            if (plc == STRIPED_POOL && stripedPool != null && msg.stripe() >= 0)
+                stripedPool.execute(msg.stripe(), c);
+            else
+                pool(plc).execute(c);
         }
         catch (RejectedExecutionException e) {
             U.error(log, "Failed to process regular message due to execution rejection. Increase the upper bound " +
@@ -856,6 +900,23 @@ public class GridIoManager extends GridManagerAdapter<GridCommunicationSpi<Seria
      */
     private void send(GridNode node, Object topic, int topicOrd, GridTcpCommunicationMessageAdapter msg,
         GridIoPolicy plc, long msgId, long timeout, boolean skipOnTimeout) throws GridException {
+        send(node, topic, topicOrd, msg, plc, -1, msgId, timeout, skipOnTimeout);
+    }
+
+    /**
+     * @param node Destination node.
+     * @param topic Topic to send the message to.
+     * @param topicOrd GridTopic enumeration ordinal.
+     * @param msg Message to send.
+     * @param plc Type of processing.
+     * @param stripe Stripe index for {@link GridIoPolicy#STRIPED_POOL} policy or {@code -1}.
+     * @param msgId Message ID.
+     * @param timeout Timeout.
+     * @param skipOnTimeout Whether message can be skipped on timeout.
+     * @throws GridException Thrown in case of any errors.
+     */
+    private void send(GridNode node, Object topic, int topicOrd, GridTcpCommunicationMessageAdapter msg,
+        GridIoPolicy plc, int stripe, long msgId, long timeout, boolean skipOnTimeout) throws GridException {
         assert node != null;
         assert topic != null;
         assert msg != null;
@@ -863,6 +924,8 @@ public class GridIoManager extends GridManagerAdapter<GridCommunicationSpi<Seria
 
         GridIoMessage ioMsg = new GridIoMessage(plc, topic, topicOrd, msg, msgId, timeout, skipOnTimeout);
 
+        ioMsg.stripe(stripe);
+
         if (locNodeId.equals(node.id())) {
             assert plc != P2P_POOL;
 
@@ -954,6 +1017,43 @@ public class GridIoManager extends GridManagerAdapter<GridCommunicationSpi<Seria
         send(node, topic, topic.ordinal(), msg, plc, -1, 0, false);
     }
 
+    /**
+     * Sends message to be processed in {@link GridIoPolicy#STRIPED_POOL} on remote node.
+     * Messages sent with the same stripe index are processed sequentially by the same thread.
+     *
+     * @param node Destination node.
+     * @param topic Topic to send the message to.
+     * @param msg Message to send.
+     * @param stripe Stripe index (e.g. partition number).
+     * @throws GridException Thrown in case of any errors.
+     */
+    public void sendStriped(GridNode node, Object topic, GridTcpCommunicationMessageAdapter msg, int stripe)
+        throws GridException {
+        send(node, topic, -1, msg, STRIPED_POOL, stripe, -1, 0, false);
+    }
+
+    /**
+     * Sends message to be processed in {@link GridIoPolicy#STRIPED_POOL} on remote node.
+     * Messages sent with the same stripe index are processed sequentially by the same thread.
+     *
+     * @param node Destination node.
+     * @param topic Topic to send the message to.
+     * @param msg Message to send.
+     * @param stripe Stripe index (e.g. partition number).
+     * @throws GridException Thrown in case of any errors.
+     */
+    public void sendStriped(GridNode node, GridTopic topic, GridTcpCommunicationMessageAdapter msg, int stripe)
+        throws GridException {
+        send(node, topic, topic.ordinal(), msg, STRIPED_POOL, stripe, -1, 0, false);
+    }
+
+    /**
+     * @return Partition-striped pool or {@code null} if it is disabled.
+     */
+    @Nullable public GridStripedExecutor stripedPool() {
+        return stripedPool;
+    }
+
     /**
      * @param topic Message topic.
      * @param nodeId Node ID.
@@ -1500,6 +1600,16 @@ public class GridIoManager extends GridManagerAdapter<GridCommunicationSpi<Seria
         X.println(">>>  msgIdMapSize: " + msgIdMap.size());
         X.println(">>>  closedTopicsSize: " + closedTopics.sizex());
         X.println(">>>  discoWaitMapSize: " + waitMap.size());
+
+        GridStripedExecutor stripedPool = this.stripedPool;
+
+        if (stripedPool != null) {
+            for (int i = 0; i < stripedPool.stripes(); i++)
+                X.println(">>>  stripe " + i + " [queueSize=" + stripedPool.queueSize(i) +
+                    ", completed=" + stripedPool.completedTasks(i) +
+                    ", avgWaitNanos=" + stripedPool.averageWaitTime(i) +
+                    ", avgLatencyNanos=" + stripedPool.averageLatency(i) + ']');
+        }
     }
 
     /**
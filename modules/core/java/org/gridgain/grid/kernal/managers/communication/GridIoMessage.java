@@ -61,6 +61,9 @@ public class GridIoMessage extends GridTcpCommunicationMessageAdapter {
     /** Message. */
     private GridTcpCommunicationMessageAdapter msg;
 
+    /** Stripe index for {@link GridIoPolicy#STRIPED_POOL} policy, {@code -1} if not set. */
+    private int stripe = -1;
+
     /**
      * No-op constructor to support {@link Externalizable} interface.
      * This constructor is not meant to be used for other purposes.
@@ -164,6 +167,20 @@ public class GridIoMessage extends GridTcpCommunicationMessageAdapter {
         return skipOnTimeout;
     }
 
+    /**
+     * @return Stripe index or {@code -1} if not set.
+     */
+    int stripe() {
+        return stripe;
+    }
+
+    /**
+     * @param stripe Stripe index.
+     */
+    void stripe(int stripe) {
+        this.stripe = stripe;
+    }
+
     /**
      * @return {@code True} if message is ordered, {@code false} otherwise.
      */
@@ -217,6 +234,7 @@ public class GridIoMessage extends GridTcpCommunicationMessageAdapter {
         _clone.timeout = timeout;
         _clone.skipOnTimeout = skipOnTimeout;
         _clone.msg = msg != null ? (GridTcpCommunicationMessageAdapter)msg.clone() : null;
+        _clone.stripe = stripe;
     }
 
     /** {@inheritDoc} */
@@ -274,6 +292,12 @@ public class GridIoMessage extends GridTcpCommunicationMessageAdapter {
 
                 commState.idx++;
 
+            case 7:
+                if (!commState.putInt(stripe))
+                    return false;
+
+                commState.idx++;
+
         }
 
         return true;
@@ -347,6 +371,14 @@ public class GridIoMessage extends GridTcpCommunicationMessageAdapter {
 
                 commState.idx++;
 
+            case 7:
+                if (buf.remaining() < 4)
+                    return false;
+
+                stripe = commState.getInt();
+
+                commState.idx++;
+
         }
 
         return true;
@@ -40,7 +40,13 @@ public enum GridIoPolicy {
     SYSTEM_POOL,
 
     /** Management execution pool. */
-    MANAGEMENT_POOL;
+    MANAGEMENT_POOL,
+
+    /**
+     * Striped execution pool. Messages with the same stripe index (e.g. cache
+     * messages for the same partition) are processed by the same thread in order.
+     */
+    STRIPED_POOL;
 
     /** Enum values. */
     private static final GridIoPolicy[] VALS = values();
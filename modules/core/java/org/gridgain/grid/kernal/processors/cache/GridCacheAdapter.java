@@ -52,6 +52,7 @@ import org.gridgain.grid.util.tostring.*;
 import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.jetbrains.annotations.*;
+import sun.misc.*;
 
 import javax.transaction.*;
 import java.io.*;
@@ -78,6 +79,9 @@ public abstract class GridCacheAdapter<K, V> extends GridMetadataAwareAdapter im
     /** clearAll() split threshold. */
     public static final int CLEAR_ALL_SPLIT_THRESHOLD = 10000;
 
+    /** Unsafe instance. */
+    private static final Unsafe UNSAFE = GridUnsafe.unsafe();
+
     /** Deserialization stash. */
     private static final ThreadLocal<GridBiTuple<String, String>> stash = new ThreadLocal<GridBiTuple<String,
             String>>() {
@@ -1686,6 +1690,10 @@ public abstract class GridCacheAdapter<K, V> extends GridMetadataAwareAdapter im
 
                 Map<K, GridCacheVersion> misses = null;
 
+                // Bring swapped entries to memory in batches instead of unswapping them one by one below.
+                if (keys.size() > 1 && ctx.isSwapOrOffheapEnabled())
+                    unswapAll(keys);
+
                 for (K key : keys) {
                     // Ignore null keys.
                     if (key == null)
@@ -3367,9 +3375,27 @@ public abstract class GridCacheAdapter<K, V> extends GridMetadataAwareAdapter im
 
         validateCacheKeys(keys);
 
+        unswapAll(keys);
+    }
+
+    /**
+     * Moves entries for given keys from swap and off-heap to memory using batched reads,
+     * skipping keys which already have entries in memory.
+     * <p>
+     * Entries are created and locked before swap is read, the same way batch eviction locks
+     * them before writing to swap, so a concurrent single-key unswap can never observe a key
+     * which is already removed from swap but not yet set to its entry.
+     *
+     * @param keys Keys.
+     * @throws GridException If failed.
+     */
+    protected void unswapAll(Collection<? extends K> keys) throws GridException {
         Collection<K> unswap = new ArrayList<>(keys.size());
 
         for (K key : keys) {
+            if (key == null)
+                continue;
+
             // Do not look up in swap for existing entries.
             GridCacheEntryEx<K, V> entry = peekEx(key);
 
@@ -3382,19 +3408,80 @@ public abstract class GridCacheAdapter<K, V> extends GridMetadataAwareAdapter im
             }
         }
 
-        Collection<GridCacheBatchSwapEntry<K, V>> swapped = ctx.swap().readAndRemove(unswap);
-
-        for (GridCacheBatchSwapEntry<K, V> swapEntry : swapped) {
-            K key = swapEntry.key();
+        if (unswap.isEmpty())
+            return;
 
-            GridCacheEntryEx<K, V> entry = entryEx(key);
+        // Get all participating entries before locking to avoid deadlock.
+        Map<K, GridCacheEntryEx<K, V>> cached = new LinkedHashMap<>(unswap.size(), 1.0f);
 
+        for (K key : unswap) {
             try {
-                entry.initialValue(key, swapEntry);
+                cached.put(key, entryEx(key));
             }
-            catch (GridCacheEntryRemovedException ignored) {
+            catch (GridDhtInvalidPartitionException ignored) {
                 if (log.isDebugEnabled())
-                    log.debug("Entry has been concurrently removed.");
+                    log.debug("Got invalid partition for key (will skip): " + key);
+            }
+        }
+
+        List<GridCacheEntryEx<K, V>> locked = new ArrayList<>(cached.size());
+
+        Collection<K> unswapped = new HashSet<>();
+
+        try {
+            Collection<K> lockedKeys = new ArrayList<>(cached.size());
+
+            for (Map.Entry<K, GridCacheEntryEx<K, V>> e : cached.entrySet()) {
+                GridCacheEntryEx<K, V> entry = e.getValue();
+
+                UNSAFE.monitorEnter(entry);
+
+                locked.add(entry);
+
+                try {
+                    // Entry might have been loaded or removed before it was locked.
+                    if (!entry.obsolete() && entry.isNewLocked())
+                        lockedKeys.add(e.getKey());
+                }
+                catch (GridCacheEntryRemovedException ignored) {
+                    // No-op.
+                }
+            }
+
+            if (lockedKeys.isEmpty())
+                return;
+
+            Collection<GridCacheBatchSwapEntry<K, V>> swapped = ctx.swap().readAndRemove(lockedKeys);
+
+            for (GridCacheBatchSwapEntry<K, V> swapEntry : swapped) {
+                K key = swapEntry.key();
+
+                GridCacheEntryEx<K, V> entry = cached.get(key);
+
+                assert entry != null : key;
+
+                try {
+                    // Cannot be rejected since entry is locked, new and not obsolete.
+                    boolean set = entry.initialValue(key, swapEntry);
+
+                    assert set : entry;
+
+                    unswapped.add(key);
+                }
+                catch (GridCacheEntryRemovedException ignored) {
+                    assert false : "Locked entry cannot become obsolete: " + entry;
+                }
+            }
+        }
+        finally {
+            // Unlock entries in reverse order.
+            for (ListIterator<GridCacheEntryEx<K, V>> it = locked.listIterator(locked.size()); it.hasPrevious();)
+                UNSAFE.monitorExit(it.previous());
+
+            // Let eviction manager clean up entries which were created for keys missing in swap.
+            for (Map.Entry<K, GridCacheEntryEx<K, V>> e : cached.entrySet()) {
+                if (!unswapped.contains(e.getKey()))
+                    ctx.evicts().touch(e.getValue());
             }
         }
     }
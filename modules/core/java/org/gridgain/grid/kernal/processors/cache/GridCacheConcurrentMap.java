@@ -725,7 +725,7 @@ public class GridCacheConcurrentMap<K, V> {
                         log.info("Cache map entry: " + e);
 
                         if (!e.deleted()) {
-                            if (!(e.key instanceof GridCacheInternal))
+                            if (!(e.key() instanceof GridCacheInternal))
                                 pubCnt++;
                         }
 
@@ -888,7 +888,7 @@ public class GridCacheConcurrentMap<K, V> {
                     GridCacheMapEntry<K, V> e = getFirst(hdr.table(), hash);
 
                     while (e != null) {
-                        if (e.hash() == hash && key.equals(e.key))
+                        if (e.hash() == hash && e.keyEquals(key))
                             return true;
 
                         e = e.next(hdr.id());
@@ -953,7 +953,7 @@ public class GridCacheConcurrentMap<K, V> {
 
                 GridCacheMapEntry<K, V> e = bin;
 
-                while (e != null && (e.hash() != hash || !key.equals(e.key)))
+                while (e != null && (e.hash() != hash || !e.keyEquals(key)))
                     e = e.next(hdrId);
 
                 GridCacheMapEntry<K, V> retVal;
@@ -1034,7 +1034,7 @@ public class GridCacheConcurrentMap<K, V> {
 
                 GridCacheMapEntry<K, V> e = bin;
 
-                while (e != null && (e.hash() != hash || !key.equals(e.key)))
+                while (e != null && (e.hash() != hash || !e.keyEquals(key)))
                     e = e.next(hdrId);
 
                 if (e != null) {
@@ -1148,7 +1148,7 @@ public class GridCacheConcurrentMap<K, V> {
                 GridCacheMapEntry<K, V> prev = null;
                 GridCacheMapEntry<K, V> e = bin;
 
-                while (e != null && (e.hash() != hash || !key.equals(e.key))) {
+                while (e != null && (e.hash() != hash || !e.keyEquals(key))) {
                     prev = e;
 
                     e = e.next(hdr.id());
@@ -1261,7 +1261,7 @@ public class GridCacheConcurrentMap<K, V> {
 
                 for (GridCacheMapEntry<K, V> e : entries) {
                     for (; e != null; e = e.next(hdr.id())) {
-                        if (!(e.key instanceof GridCacheInternal)) {
+                        if (!(e.key() instanceof GridCacheInternal)) {
                             // In case desired entry was deleted, we return the closest one from left.
                             retVal = e;
 
@@ -1298,7 +1298,7 @@ public class GridCacheConcurrentMap<K, V> {
                     while (e != null) {
                         cnt++;
 
-                        if (!(e.key instanceof GridCacheInternal))
+                        if (!(e.key() instanceof GridCacheInternal))
                             pubCnt++;
 
                         e = e.next(hdr.id());
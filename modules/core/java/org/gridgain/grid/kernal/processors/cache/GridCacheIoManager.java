@@ -317,6 +317,10 @@ public class GridCacheIoManager<K, V> extends GridCacheManagerAdapter<K, V> {
         if (log.isDebugEnabled())
             log.debug("Sending cache message [msg=" + msg + ", node=" + U.toShortString(node) + ']');
 
+        K stripeKey = msg.stripeKey();
+
+        int part = stripeKey != null ? cctx.affinity().partition(stripeKey) : -1;
+
         int cnt = 0;
         boolean first = true;
 
@@ -334,12 +338,19 @@ public class GridCacheIoManager<K, V> extends GridCacheManagerAdapter<K, V> {
                 else
                     msg0 = (GridCacheMessage<K, V>)msg.clone();
 
-                if (gridTopic != null)
-                    cctx.gridIO().send(node, gridTopic, msg0, SYSTEM_POOL);
+                if (gridTopic != null) {
+                    if (part >= 0)
+                        cctx.gridIO().sendStriped(node, gridTopic, msg0, part);
+                    else
+                        cctx.gridIO().send(node, gridTopic, msg0, SYSTEM_POOL);
+                }
                 else {
                     assert topic != null;
 
-                    cctx.gridIO().send(node, topic, msg0, SYSTEM_POOL);
+                    if (part >= 0)
+                        cctx.gridIO().sendStriped(node, topic, msg0, part);
+                    else
+                        cctx.gridIO().send(node, topic, msg0, SYSTEM_POOL);
                 }
 
                 return;
@@ -93,9 +93,9 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
     @GridToStringExclude
     protected final GridCacheContext<K, V> cctx;
 
-    /** Key. */
+    /** Key, see {@link #key(Object)}. */
     @GridToStringInclude
-    protected final K key;
+    private K key;
 
     /** Value. */
     @GridToStringInclude
@@ -105,9 +105,9 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
     @GridToStringInclude
     protected final long startVer;
 
-    /** Version. */
+    /** Version, see {@link #ver(GridCacheVersion)}. */
     @GridToStringInclude
-    protected GridCacheVersion ver;
+    private GridCacheVersion ver;
 
     /** Next entry in the linked list. */
     @GridToStringExclude
@@ -157,7 +157,8 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
      */
     protected GridCacheMapEntry(GridCacheContext<K, V> cctx, K key, int hash, V val,
         GridCacheMapEntry<K, V> next, long ttl, int hdrId) {
-        this.key = key;
+        key(key);
+
         this.hash = hash;
         this.cctx = cctx;
 
@@ -169,9 +170,9 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
         next(hdrId, next);
 
-        ver = cctx.versions().next();
+        ver(cctx.versions().next());
 
-        startVer = ver.order();
+        startVer = ver().order();
 
         log = U.logger(cctx.kernalContext(), logRef, this);
     }
@@ -306,18 +307,18 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
         if (kb == null || (vb.isNull() && v != null)) {
             if (kb == null)
-                kb = CU.marshal(cctx, key);
+                kb = CU.marshal(cctx, key());
 
             if (vb.isNull())
                 vb = (v != null && v instanceof byte[]) ? GridCacheValueBytes.plain(v) :
                     GridCacheValueBytes.marshaled(CU.marshal(cctx, v));
 
             synchronized (this) {
-                if (keyBytes == null)
+                if (keyBytes == null && isStoreKeyBytes())
                     keyBytes = kb;
 
                 // If value didn't change.
-                if (!isOffHeapValuesOnly() && valBytes == null && val == v)
+                if (!isOffHeapValuesOnly() && isStoreValueBytes() && valBytes == null && val == v)
                     valBytes = vb.isPlain() ? null : vb.get();
             }
         }
@@ -327,7 +328,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
     /** {@inheritDoc} */
     @Override public boolean isInternal() {
-        return key instanceof GridCacheInternal;
+        return key() instanceof GridCacheInternal;
     }
 
     /** {@inheritDoc} */
@@ -380,7 +381,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
      * @return {@code True} if start version.
      */
     protected boolean isStartVersion() {
-        return ver.nodeOrder() == cctx.localNode().order() && ver.order() == startVer;
+        return ver().nodeOrder() == cctx.localNode().order() && ver().order() == startVer;
     }
 
     /** {@inheritDoc} */
@@ -409,7 +410,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                 if (!obsolete()) {
                     info = new GridCacheEntryInfo<>();
 
-                    info.key(key);
+                    info.key(key());
 
                     long expireTime = expireTimeExtras();
 
@@ -418,7 +419,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                     info.keyBytes(keyBytes);
                     info.ttl(ttlExtras());
                     info.expireTime(expireTime);
-                    info.version(ver);
+                    info.version(ver());
                     info.setNew(isStartVersion());
                     info.setDeleted(deletedUnlocked());
 
@@ -516,8 +517,8 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             if (val != null)
                 valClsLdrId = cctx.deploy().getClassLoaderId(val.getClass().getClassLoader());
 
-            cctx.swap().write(key(), getOrMarshalKeyBytes(), hash, valBytes.get(), valBytes.isPlain(), ver,
-                ttlExtras(), expireTime, cctx.deploy().getClassLoaderId(U.detectObjectClassLoader(key)), valClsLdrId);
+            cctx.swap().write(key(), getOrMarshalKeyBytes(), hash, valBytes.get(), valBytes.isPlain(), ver(),
+                ttlExtras(), expireTime, cctx.deploy().getClassLoaderId(U.detectObjectClassLoader(key())), valClsLdrId);
 
             if (log.isDebugEnabled())
                 log.debug("Wrote swap entry: " + this);
@@ -555,7 +556,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
                 synchronized (GridCacheMapEntry.this){
                     // If there is a point to refresh.
-                    if (!matchVer.equals(ver)) {
+                    if (!matchVer.equals(ver())) {
                         refreshingLocked(false);
 
                         if (log.isDebugEnabled())
@@ -581,7 +582,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                         // If version matched, set value. Note that we don't update
                         // swap here, as asynchronous refresh happens only if
                         // value is already in memory.
-                        if (val != null && matchVer.equals(ver)) {
+                        if (val != null && matchVer.equals(ver())) {
                             try {
                                 V prev = rawGetOrUnmarshalUnlocked();
 
@@ -589,10 +590,10 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
                                 long expTime = toExpireTime(ttl);
 
-                                updateIndex(val, null, expTime, ver, prev);
+                                updateIndex(val, null, expTime, ver(), prev);
 
                                 // Don't change version for read-through.
-                                update(val, null, expTime, ttl, ver);
+                                update(val, null, expTime, ttl, ver());
                             }
                             catch (GridException e) {
                                 U.error(log, "Failed to update cache index: " + GridCacheMapEntry.this, e);
@@ -644,7 +645,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         V ret = null;
 
         if (!F.isEmpty(filter) && !cctx.isAll(
-            (new GridCacheFilterEvaluationEntry<>(key, rawGetOrUnmarshal(), this, true)), filter))
+            (new GridCacheFilterEvaluationEntry<>(key(), rawGetOrUnmarshal(), this, true)), filter))
             return CU.<V>failed(failFast);
 
         boolean asyncRefresh = false;
@@ -661,7 +662,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             checkObsolete();
 
             // Cache version for optimistic check.
-            startVer = ver;
+            startVer = ver();
 
             GridCacheMvcc<K> mvcc = mvccExtras();
 
@@ -758,7 +759,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             }
 
             if (evt && expired && cctx.events().isRecordable(EVT_CACHE_OBJECT_EXPIRED)) {
-                cctx.events().addEvent(partition(), key, tx, owner, EVT_CACHE_OBJECT_EXPIRED, null, false, expiredVal,
+                cctx.events().addEvent(partition(), key(), tx, owner, EVT_CACHE_OBJECT_EXPIRED, null, false, expiredVal,
                     expiredVal != null || hasOldBytes);
 
                 // No more notifications.
@@ -766,7 +767,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             }
 
             if (evt && !expired && cctx.events().isRecordable(EVT_CACHE_OBJECT_READ)) {
-                cctx.events().addEvent(partition(), key, tx, owner, EVT_CACHE_OBJECT_READ, ret, ret != null, old,
+                cctx.events().addEvent(partition(), key(), tx, owner, EVT_CACHE_OBJECT_READ, ret, ret != null, old,
                     hasOldBytes || old != null);
 
                 // No more notifications.
@@ -777,7 +778,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         if (asyncRefresh && !readThrough && cctx.isStoreEnabled()) {
             assert ret != null;
 
-            refreshAhead(key, startVer);
+            refreshAhead(key(), startVer);
         }
 
         // Check before load.
@@ -808,7 +809,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                 }
             }
 
-            ret = readThrough(tx0, key, false, filter);
+            ret = readThrough(tx0, key(), false, filter);
 
             loadedFromStore = true;
         }
@@ -819,7 +820,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             long ttl = ttlExtras();
 
             // If version matched, set value.
-            if (startVer.equals(ver)) {
+            if (startVer.equals(ver())) {
                 match = true;
 
                 if (ret != null) {
@@ -845,7 +846,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                 }
 
                 if (evt && cctx.events().isRecordable(EVT_CACHE_OBJECT_READ))
-                    cctx.events().addEvent(partition(), key, tx, owner, EVT_CACHE_OBJECT_READ, ret, ret != null,
+                    cctx.events().addEvent(partition(), key(), tx, owner, EVT_CACHE_OBJECT_READ, ret, ret != null,
                         old, hasOldBytes);
             }
         }
@@ -873,7 +874,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             checkObsolete();
 
             // Cache version for optimistic check.
-            startVer = ver;
+            startVer = ver();
 
             wasNew = isNew();
         }
@@ -881,7 +882,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         // Check before load.
         if (cctx.isAll(this, filter)) {
             // TODO Read through will change version for near cache.
-            V ret = readThrough(null, key, true, filter);
+            V ret = readThrough(null, key(), true, filter);
 
             boolean touch = false;
 
@@ -898,7 +899,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                         return ret;
 
                     // If version matched, set value.
-                    if (startVer.equals(ver)) {
+                    if (startVer.equals(ver())) {
                         releaseSwap();
 
                         V old = rawGetOrUnmarshalUnlocked();
@@ -1004,7 +1005,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             assert newVer != null : "Failed to get write version for tx: " + tx;
 
             if (tx != null && !tx.local() && tx.onePhaseCommit() && explicitVer == null) {
-                if (!isNew() && ver.compareTo(newVer) > 0) {
+                if (!isNew() && ver().compareTo(newVer) > 0) {
                     if (log.isDebugEnabled())
                         log.debug("Skipping entry update for one-phase commit since current entry version is " +
                             "greater than write version [entry=" + this + ", newVer=" + newVer + ']');
@@ -1042,23 +1043,25 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                 cctx.cache().metrics0().onWrite();
 
             if (evt && newVer != null && cctx.events().isRecordable(EVT_CACHE_OBJECT_PUT))
-                cctx.events().addEvent(partition(), key, evtNodeId, tx == null ? null : tx.xid(),
+                cctx.events().addEvent(partition(), key(), evtNodeId, tx == null ? null : tx.xid(),
                     newVer, EVT_CACHE_OBJECT_PUT, val, val != null, old, old != null || hasValueUnlocked());
 
             GridCacheMode mode = cctx.config().getCacheMode();
 
             if (mode == GridCacheMode.LOCAL || mode == GridCacheMode.REPLICATED ||
                 (tx != null && (tx.dht() || tx.colocated()) && tx.local()))
-                cctx.continuousQueries().onEntryUpdate(this, key, val, valueBytesUnlocked(), false);
+                cctx.continuousQueries().onEntryUpdate(this, key(), val, valueBytesUnlocked(), false);
         }
 
+        onUpdated(newVer);
+
         if (log.isDebugEnabled())
             log.debug("Updated cache entry [val=" + val + ", old=" + old + ", entry=" + this + ']');
 
         // Persist outside of synchronization. The correctness of the
         // value will be handled by current transaction.
         if (writeThrough)
-            cctx.store().putToStore(tx, key, val, newVer);
+            cctx.store().putToStore(tx, key(), val, newVer);
 
         return valid ? new GridCacheUpdateTxResult<>(true, old) : new GridCacheUpdateTxResult<V>(false, null);
     }
@@ -1116,7 +1119,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                 newVer = explicitVer != null ? explicitVer : tx == null ? nextVersion() : tx.writeVersion();
 
                 if (tx != null && !tx.local() && tx.onePhaseCommit() && explicitVer == null) {
-                    if (!startVer && ver.compareTo(newVer) > 0) {
+                    if (!startVer && ver().compareTo(newVer) > 0) {
                         if (log.isDebugEnabled())
                             log.debug("Skipping entry removal for one-phase commit since current entry version is " +
                                 "greater than write version [entry=" + this + ", newVer=" + newVer + ']');
@@ -1161,14 +1164,14 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                 }
 
                 if (evt && newVer != null && cctx.events().isRecordable(EVT_CACHE_OBJECT_REMOVED))
-                    cctx.events().addEvent(partition(), key, evtNodeId, tx == null ? null : tx.xid(), newVer,
+                    cctx.events().addEvent(partition(), key(), evtNodeId, tx == null ? null : tx.xid(), newVer,
                         EVT_CACHE_OBJECT_REMOVED, null, false, old, old != null || hasValueUnlocked());
 
                 GridCacheMode mode = cctx.config().getCacheMode();
 
                 if (mode == GridCacheMode.LOCAL || mode == GridCacheMode.REPLICATED ||
                     (tx != null && (tx.dht() || tx.colocated()) && tx.local()))
-                    cctx.continuousQueries().onEntryUpdate(this, key, null, null, false);
+                    cctx.continuousQueries().onEntryUpdate(this, key(), null, null, false);
             }
         }
         finally {
@@ -1179,15 +1182,17 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             }
         }
 
+        onUpdated(newVer);
+
         // Persist outside of synchronization. The correctness of the
         // value will be handled by current transaction.
         if (writeThrough)
-            cctx.store().removeFromStore(tx, key);
+            cctx.store().removeFromStore(tx, key());
 
         if (!cctx.deferredDelete()) {
             synchronized (this) {
                 // If entry is still removed.
-                if (newVer == ver) {
+                if (newVer.equals(ver())) {
                     if (obsoleteVer == null || !markObsolete(obsoleteVer)) {
                         if (log.isDebugEnabled())
                             log.debug("Entry could not be marked obsolete (it is still used): " + this);
@@ -1334,7 +1339,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
             if (!drNeedResolve) { // Perform version check only in case there will be no explicit conflict resolution.
                 if (verCheck) {
-                    if (!isNew() && ATOMIC_VER_COMPARATOR.compare(ver, newVer) > 0) {
+                    if (!isNew() && ATOMIC_VER_COMPARATOR.compare(ver(), newVer) > 0) {
                         if (log.isDebugEnabled())
                             log.debug("Received entry update for with smaller version than current (will ignore) " +
                                 "[entry=" + this + ", newVer=" + newVer + ']');
@@ -1345,7 +1350,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                     }
                 }
                 else
-                    assert isNew() || ATOMIC_VER_COMPARATOR.compare(ver, newVer) <= 0 :
+                    assert isNew() || ATOMIC_VER_COMPARATOR.compare(ver(), newVer) <= 0 :
                         "Invalid version for inner update [entry=" + this + ", newVer=" + newVer + ']';
             }
 
@@ -1373,9 +1378,9 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             old = needVal ? rawGetOrUnmarshalUnlocked() : val;
 
             if (needVal && old == null) {
-                old = readThrough(null, key, false, CU.<K, V>empty());
+                old = readThrough(null, key(), false, CU.<K, V>empty());
 
-                update(old, null, 0, 0, ver);
+                update(old, null, 0, 0, ver());
 
                 if (deletedUnlocked() && old != null)
                     deletedUnlocked(false);
@@ -1419,7 +1424,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             if (op == GridCacheOperation.UPDATE) {
                 if (writeThrough)
                     // Must persist inside synchronization in non-tx mode.
-                    cctx.store().putToStore(null, key, updated, newVer);
+                    cctx.store().putToStore(null, key(), updated, newVer);
 
                 if (!hadVal) {
                     boolean new0 = isNew();
@@ -1446,14 +1451,14 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                 drReplicate(drType, updated, valBytes, newVer);
 
                 if (evt && newVer != null && cctx.events().isRecordable(EVT_CACHE_OBJECT_PUT))
-                    cctx.events().addEvent(partition(), key, evtNodeId, null,
+                    cctx.events().addEvent(partition(), key(), evtNodeId, null,
                         newVer, EVT_CACHE_OBJECT_PUT, updated, updated != null, old,
                         old != null || hadVal);
             }
             else {
                 if (writeThrough)
                     // Must persist inside synchronization in non-tx mode.
-                    cctx.store().removeFromStore(null, key);
+                    cctx.store().removeFromStore(null, key());
 
                 // Update index inside synchronization since it can be updated
                 // in load methods without actually holding entry lock.
@@ -1485,7 +1490,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                 drReplicate(drType, null, null, newVer);
 
                 if (evt && newVer != null && cctx.events().isRecordable(EVT_CACHE_OBJECT_REMOVED))
-                    cctx.events().addEvent(partition(), key, evtNodeId, null, newVer,
+                    cctx.events().addEvent(partition(), key(), evtNodeId, null, newVer,
                         EVT_CACHE_OBJECT_REMOVED, null, false, old, old != null || hadVal);
 
                 res = hadVal;
@@ -1499,9 +1504,11 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                 cctx.cache().metrics0().onWrite();
 
             if (primary || cctx.isReplicated())
-                cctx.continuousQueries().onEntryUpdate(this, key, val, valueBytesUnlocked(), false);
+                cctx.continuousQueries().onEntryUpdate(this, key(), val, valueBytesUnlocked(), false);
         }
 
+        onUpdated(newVer);
+
         if (log.isDebugEnabled())
             log.debug("Updated cache entry [val=" + val + ", old=" + old + ", entry=" + this + ']');
 
@@ -1525,7 +1532,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             GridDrSenderCacheEntryFilter<K, V> drFilter = drSndCfg != null ?
                 (GridDrSenderCacheEntryFilter<K, V>)drSndCfg.getEntryFilter() : null;
 
-            GridDrRawEntry<K, V> entry = new GridDrRawEntry<>(key, keyBytes, val, valBytes, rawTtl(), rawExpireTime(),
+            GridDrRawEntry<K, V> entry = new GridDrRawEntry<>(key(), keyBytes, val, valBytes, rawTtl(), rawExpireTime(),
                 ver.drVersion());
 
             boolean apply = drFilter == null;
@@ -1576,7 +1583,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
             if (!F.isEmpty(filter)) {
                 synchronized (this) {
-                    startVer = this.ver;
+                    startVer = ver();
                 }
 
                 if (!cctx.isAll(this, filter))
@@ -1584,7 +1591,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             }
 
             synchronized (this) {
-                if (startVer != null && !startVer.equals(this.ver))
+                if (startVer != null && !startVer.equals(ver()))
                     // Version has changed since filter checking.
                     continue;
 
@@ -1715,7 +1722,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
     @Override public synchronized boolean markObsoleteVersion(GridCacheVersion ver) {
         assert cctx.deferredDelete();
 
-        return obsoleteVersionExtras() != null || (this.ver.equals(ver) && markObsolete(ver));
+        return obsoleteVersionExtras() != null || (ver().equals(ver) && markObsolete(ver));
     }
 
     /**
@@ -1762,6 +1769,16 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         // No-op.
     }
 
+    /**
+     * This method is called outside of entry synchronization each time entry
+     * value is updated or removed by a cache operation. Must not block.
+     *
+     * @param ver Version of the update.
+     */
+    protected void onUpdated(GridCacheVersion ver) {
+        // No-op.
+    }
+
     /** {@inheritDoc} */
     @Override public final synchronized boolean obsolete() {
         return obsoleteVersionExtras() != null;
@@ -1779,12 +1796,12 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         throws GridException {
         assert newVer != null;
 
-        if (curVer == null || ver.equals(curVer)) {
+        if (curVer == null || ver().equals(curVer)) {
             V val = saveValueForIndexUnlocked();
 
             value(null, null);
 
-            ver = newVer;
+            ver(newVer);
 
             releaseSwap();
 
@@ -1813,7 +1830,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             synchronized (this){
                 checkObsolete();
 
-                startVer = ver;
+                startVer = ver();
             }
 
             if (!cctx.isAll(this, filter))
@@ -1822,7 +1839,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             synchronized (this) {
                 checkObsolete();
 
-                if (startVer.equals(ver)) {
+                if (startVer.equals(ver())) {
                     invalidate(null, nextVersion());
 
                     return true;
@@ -1843,7 +1860,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         synchronized (this) {
             checkObsolete();
 
-            startVer = ver;
+            startVer = ver();
         }
 
         if (!cctx.isAll(this, filter))
@@ -1855,7 +1872,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             if (deletedUnlocked())
                 return false; // Cannot compact soft-deleted entries.
 
-            if (startVer.equals(ver)) {
+            if (startVer.equals(ver())) {
                 if (hasValueUnlocked() && !checkExpired()) {
                     if (!isOffHeapValuesOnly()) {
                         if (val != null)
@@ -1888,7 +1905,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
         long oldExpireTime = expireTimeExtras();
 
-        if (oldExpireTime != 0 && expireTime != oldExpireTime && cctx.config().isEagerTtl())
+        if (oldExpireTime != 0 && expireTime == 0 && cctx.config().isEagerTtl())
             cctx.ttl().removeTrackedEntry(this);
 
         value(val, valBytes);
@@ -1898,7 +1915,34 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         if (expireTime != 0 && expireTime != oldExpireTime && cctx.config().isEagerTtl())
             cctx.ttl().addTrackedEntry(this);
 
-        this.ver = ver;
+        ver(ver);
+    }
+
+    /**
+     * Gets timing wheel node managed by {@link GridCacheTtlManager}. Must be called while holding lock on entry.
+     *
+     * @return Timing wheel node of tracked entry or {@code null} if entry is not tracked.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable GridTimingWheel.Node<GridCacheMapEntry<K, V>> ttlNode() {
+        assert Thread.holdsLock(this);
+
+        return extras != null ? (GridTimingWheel.Node<GridCacheMapEntry<K, V>>)extras.ttlNode() : null;
+    }
+
+    /**
+     * Sets timing wheel node managed by {@link GridCacheTtlManager}. Node is kept in TTL extras,
+     * so it can be set only while TTL is set. Must be called while holding lock on entry.
+     *
+     * @param ttlNode Timing wheel node of tracked entry or {@code null} if entry is not tracked.
+     */
+    void ttlNode(@Nullable GridTimingWheel.Node<GridCacheMapEntry<K, V>> ttlNode) {
+        assert Thread.holdsLock(this);
+
+        if (extras != null)
+            extras = extras.ttlNode(ttlNode);
+        else
+            assert ttlNode == null : "TTL is not set: " + this;
     }
 
     /**
@@ -1908,6 +1952,13 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         return cctx.config().isStoreValueBytes();
     }
 
+    /**
+     * @return {@code True} if serialized key should be kept in entry once it was marshalled.
+     */
+    protected boolean isStoreKeyBytes() {
+        return true;
+    }
+
     /**
      * @return {@code True} if values should be stored off-heap.
      */
@@ -1944,11 +1995,54 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         return key;
     }
 
+    /**
+     * Checks whether entry key equals to given one, without creating key object for
+     * compact entries which keep key in another form.
+     *
+     * @param key Key to compare with.
+     * @return {@code True} if given key equals entry key.
+     */
+    protected boolean keyEquals(Object key) {
+        return key.equals(this.key);
+    }
+
+    /**
+     * Stores entry key, called once from constructor. Compact entries override
+     * this method together with {@link #key()} to keep key in a smaller form, so
+     * their fields set here must not have initializers.
+     *
+     * @param key Key.
+     */
+    protected void key(K key) {
+        this.key = key;
+    }
+
+    /**
+     * Gets entry version without obsolete check. Must be called under entry lock,
+     * unless caller is fine with a stale version.
+     *
+     * @return Entry version.
+     */
+    protected GridCacheVersion ver() {
+        return ver;
+    }
+
+    /**
+     * Sets entry version, first time from constructor. Compact entries override this
+     * method together with {@link #ver()} to keep version in primitive fields, so
+     * their fields set here must not have initializers.
+     *
+     * @param ver Entry version.
+     */
+    protected void ver(GridCacheVersion ver) {
+        this.ver = ver;
+    }
+
     /** {@inheritDoc} */
     @Override public synchronized GridCacheVersion version() throws GridCacheEntryRemovedException {
         checkObsolete();
 
-        return ver;
+        return ver();
     }
 
     /**
@@ -2144,7 +2238,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
     private void groupLockSanityCheck(GridCacheTxEx<K, V> tx) throws GridCacheEntryRemovedException, GridException {
         assert tx.groupLock();
 
-        GridCacheTxEntry<K, V> txEntry = tx.entry(key);
+        GridCacheTxEntry<K, V> txEntry = tx.entry(key());
 
         if (txEntry.groupLockEntry()) {
             if (lockedByAny())
@@ -2186,7 +2280,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
     @Nullable private GridTuple<V> peekTx(boolean failFast,
         GridPredicate<GridCacheEntry<K, V>>[] filter,
         @Nullable GridCacheTxEx<K, V> tx) throws GridCacheFilterFailedException {
-        return tx == null ? null : tx.peek(failFast, key, filter);
+        return tx == null ? null : tx.peek(failFast, key(), filter);
     }
 
     /**
@@ -2212,14 +2306,14 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
                 synchronized (this) {
                     if (checkExpired()) {
-                        rmv = markObsolete(cctx.versions().next(this.ver));
+                        rmv = markObsolete(cctx.versions().next(ver()));
 
                         return null;
                     }
 
                     checkObsolete();
 
-                    ver = this.ver;
+                    ver = ver();
                     val = rawGetOrUnmarshalUnlocked();
                 }
 
@@ -2277,7 +2371,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                 return null;
         }
 
-        return cctx.store().loadFromStore(cctx.tm().localTxx(), key);
+        return cctx.store().loadFromStore(cctx.tm().localTxx(), key());
     }
 
     /**
@@ -2358,8 +2452,8 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
     /** {@inheritDoc} */
     @Override public synchronized GridDrEntry<K, V> drEntry() throws GridException {
-        return new GridDrPlainEntry<>(key, isStartVersion() ? unswap(true) : rawGetOrUnmarshalUnlocked(),
-            ttlExtras(), expireTimeExtras(), ver.drVersion());
+        return new GridDrPlainEntry<>(key(), isStartVersion() ? unswap(true) : rawGetOrUnmarshalUnlocked(),
+            ttlExtras(), expireTimeExtras(), ver().drVersion());
     }
 
     /** {@inheritDoc} */
@@ -2378,10 +2472,14 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         if (cctx.isUnmarshalValues() && valBytes != null && val == null && isNewLocked())
             val = cctx.marshaller().<V>unmarshal(valBytes, cctx.deploy().globalLoader());
 
+        boolean loaded;
+
         synchronized (this) {
             checkObsolete();
 
-            if (isNew() || (!preload && deletedUnlocked())) {
+            loaded = isNew() || (!preload && deletedUnlocked());
+
+            if (loaded) {
                 long expTime = expireTime < 0 ? toExpireTime(ttl) : expireTime;
 
                 if (val != null || valBytes != null)
@@ -2406,14 +2504,16 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
                 drReplicate(drType, val, valBytes, ver);
 
-                if (!skipQryNtf && cctx.isLocalNode(CU.primaryNode(cctx, key)))
-                    cctx.continuousQueries().onEntryUpdate(this, key, val, valueBytesUnlocked(), true);
-
-                return true;
+                if (!skipQryNtf && cctx.isLocalNode(CU.primaryNode(cctx, key())))
+                    cctx.continuousQueries().onEntryUpdate(this, key(), val, valueBytesUnlocked(), true);
             }
-
-            return false;
         }
+
+        // Preloaded values are not new updates, so they are not recorded.
+        if (loaded && !preload)
+            onUpdated(ver);
+
+        return loaded;
     }
 
     /** {@inheritDoc} */
@@ -2441,7 +2541,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         throws GridException, GridCacheEntryRemovedException {
         checkObsolete();
 
-        if (curVer == null || curVer.equals(ver)) {
+        if (curVer == null || curVer.equals(ver())) {
             if (val != this.val) {
                 if (newVer == null)
                     newVer = nextVersion();
@@ -2476,7 +2576,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
      */
     private GridCacheVersion nextVersion() {
         // Do not change topology version when generating next version.
-        return cctx.versions().next(ver);
+        return cctx.versions().next(ver());
     }
 
     /** {@inheritDoc} */
@@ -2665,7 +2765,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             tx = cctx.tm().localTx();
 
         if (tx != null) {
-            long time = tx.entryExpireTime(key);
+            long time = tx.entryExpireTime(key());
 
             if (time > 0)
                 return time;
@@ -2701,7 +2801,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                 if (expired) {
                     if (cctx.deferredDelete() && !detached() && !isInternal()) {
                         if (!deletedUnlocked()) {
-                            update(null, null, 0L, 0L, ver);
+                            update(null, null, 0L, 0L, ver());
 
                             deletedUnlocked(true);
 
@@ -2714,8 +2814,8 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                     }
 
                     if (cctx.events().isRecordable(EVT_CACHE_OBJECT_EXPIRED))
-                        cctx.events().addEvent(partition(), key, cctx.localNodeId(), null, EVT_CACHE_OBJECT_EXPIRED, null,
-                            false, expiredVal, expiredVal != null || hasOldBytes);
+                        cctx.events().addEvent(partition(), key(), cctx.localNodeId(), null, EVT_CACHE_OBJECT_EXPIRED,
+                            null, false, expiredVal, expiredVal != null || hasOldBytes);
                 }
 
 
@@ -2748,7 +2848,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             tx = cctx.tm().localTx();
 
         if (tx != null) {
-            long entryTtl = tx.entryTtl(key);
+            long entryTtl = tx.entryTtl(key());
 
             if (entryTtl > 0)
                 return entryTtl;
@@ -2765,7 +2865,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
     @Override public synchronized void keyBytes(byte[] keyBytes) throws GridCacheEntryRemovedException {
         checkObsolete();
 
-        if (keyBytes != null)
+        if (keyBytes != null && isStoreKeyBytes())
             this.keyBytes = keyBytes;
     }
 
@@ -2781,10 +2881,12 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         if (bytes != null)
             return bytes;
 
-        bytes = CU.marshal(cctx, key);
+        bytes = CU.marshal(cctx, key());
 
-        synchronized (this) {
-            keyBytes = bytes;
+        if (isStoreKeyBytes()) {
+            synchronized (this) {
+                keyBytes = bytes;
+            }
         }
 
         return bytes;
@@ -2806,9 +2908,9 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         synchronized (this) {
             checkObsolete();
 
-            if (ver == null || this.ver.equals(ver)) {
+            if (ver == null || ver().equals(ver)) {
                 val = this.val;
-                ver = this.ver;
+                ver = ver();
                 valBytes = valueBytesUnlocked();
             }
             else
@@ -2846,13 +2948,13 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
     protected void updateIndex(@Nullable V val, @Nullable byte[] valBytes, long expireTime, GridCacheVersion ver,
         @Nullable V prevVal) throws GridException {
         assert Thread.holdsLock(this);
-        assert val != null || valBytes != null : "null values in update index for key: " + key;
+        assert val != null || valBytes != null : "null values in update index for key: " + key();
 
         try {
             GridCacheQueryManager<K, V> qryMgr = cctx.queries();
 
             if (qryMgr != null)
-                qryMgr.store(key, keyBytes, val, valBytes, ver, expireTime);
+                qryMgr.store(key(), keyBytes, val, valBytes, ver, expireTime);
         }
         catch (GridException e) {
             throw new GridCacheIndexUpdateException(e);
@@ -2907,7 +3009,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         if (prjAware)
             prjPerCall = cctx.projectionPerCall();
 
-        return new GridCacheEntryImpl<>(prjPerCall, cctx, key, this);
+        return new GridCacheEntryImpl<>(prjPerCall, cctx, key(), this);
     }
 
     /** {@inheritDoc} */
@@ -2958,14 +3060,14 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                     GridCacheVersion v;
 
                     synchronized (this) {
-                        v = ver;
+                        v = ver();
                     }
 
                     if (!cctx.isAll(this, filter))
                         return false;
 
                     synchronized (this) {
-                        if (!v.equals(ver))
+                        if (!v.equals(ver()))
                             // Version has changed since entry passed the filter. Do it again.
                             continue;
 
@@ -3033,8 +3135,8 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                         valClsLdrId = cctx.deploy().getClassLoaderId(U.detectObjectClassLoader(val));
 
                     ret = new GridCacheBatchSwapEntry<>(key(), getOrMarshalKeyBytes(), hash, partition(),
-                        valBytes.get(), valBytes.isPlain(), ver, ttlExtras(), expireTimeExtras(),
-                        cctx.deploy().getClassLoaderId(U.detectObjectClassLoader(key)), valClsLdrId);
+                        valBytes.get(), valBytes.isPlain(), ver(), ttlExtras(), expireTimeExtras(),
+                        cctx.deploy().getClassLoaderId(U.detectObjectClassLoader(key())), valClsLdrId);
                 }
 
                 value(null, null);
@@ -3089,7 +3191,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
         GridCacheTxEx<K, V> tx = cctx.tm().localTxx();
 
-        return tx == null || !tx.removed(key);
+        return tx == null || !tx.removed(key());
     }
 
     /**
@@ -3498,7 +3600,7 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
      */
     protected void ttlAndExpireTimeExtras(long ttl, long expireTime) {
         extras = (extras != null) ? extras.ttlAndExpireTime(ttl, expireTime) : ttl != 0 ?
-            new GridCacheTtlEntryExtras<K>(ttl, expireTime) : null;
+            new GridCacheTtlEntryExtras<K>(ttl, expireTime, null) : null;
     }
 
     /**
@@ -26,6 +26,7 @@ package org.gridgain.grid.kernal.processors.cache;
 import org.gridgain.grid.*;
 import org.gridgain.grid.cache.*;
 import org.gridgain.grid.kernal.*;
+import org.gridgain.grid.kernal.managers.communication.*;
 import org.gridgain.grid.kernal.managers.deployment.*;
 import org.gridgain.grid.lang.*;
 import org.gridgain.grid.marshaller.*;
@@ -85,6 +86,17 @@ public abstract class GridCacheMessage<K, V> extends GridTcpCommunicationMessage
         return false;
     }
 
+    /**
+     * Gets key which partition defines the stripe this message is processed in on the
+     * receiving node (see {@link GridIoPolicy#STRIPED_POOL}). Messages returning
+     * {@code null} are processed in system pool.
+     *
+     * @return Key or {@code null} if message is not bound to a partition.
+     */
+    @Nullable public K stripeKey() {
+        return null;
+    }
+
     /**
      * @return {@code True} if class loading errors should be ignored, false otherwise.
      */
@@ -306,6 +306,17 @@ public class GridCacheProcessor extends GridProcessorAdapter {
             assertParameter(cc.getPreloadBatchSize() > 0, "preloadBatchSize > 0");
         }
 
+        if (cc.getSnapshotPath() != null) {
+            if (cc.getCacheMode() != PARTITIONED && cc.getCacheMode() != REPLICATED)
+                U.warn(log, "Partition snapshots are supported only for distributed caches (will ignore) " +
+                    "[cacheName=" + cc.getName() + ']');
+            else if (cc.getPreloadMode() == GridCachePreloadMode.NONE)
+                U.warn(log, "Partition snapshots require preloading to be enabled (will ignore) " +
+                    "[cacheName=" + cc.getName() + ']');
+
+            assertParameter(cc.getSnapshotFrequency() > 0, "snapshotFrequency > 0");
+        }
+
         if (cc.getCacheMode() == PARTITIONED || cc.getCacheMode() == REPLICATED) {
             if (isNearEnabled(cc) && cc.getAtomicityMode() == ATOMIC)
                 throw new GridException("Cannot start cache with ATOMIC atomicity mode and near-enabled" +
@@ -421,6 +432,9 @@ public class GridCacheProcessor extends GridProcessorAdapter {
 
         assertParameter(cc.getContinuousQueryQueueSize() > 0, "cfg.getContinuousQueryQueueSize() > 0");
 
+        assertParameter(cc.getAtomicSequencePrefetchRatio() > 0 && cc.getAtomicSequencePrefetchRatio() <= 1,
+            "cfg.getAtomicSequencePrefetchRatio() > 0 && cfg.getAtomicSequencePrefetchRatio() <= 1");
+
         // Validate DR send configuration.
         boolean ggfsCache = CU.isGgfsCache(c, cc.getName());
         boolean mongoCache = false; // CU.isMongoCache(c, cc.getName());
@@ -421,11 +421,11 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
 
         // First check off-heap store.
         if (offheapEnabled) {
-            byte[] entryBytes = offheap.get(spaceName, part, key, keyBytes);
-
             // To unmarshal entry itself local class loader will be enough.
-            if (entryBytes != null)
-                return swapEntry((GridCacheSwapEntry<V>)unmarshal(entryBytes, cctx.deploy().localLoader()));
+            GridCacheSwapEntry<V> e = offheap.getValue(spaceName, part, key, keyBytes, cctx.deploy().localLoader());
+
+            if (e != null)
+                return swapEntry(e);
         }
 
         if (!swapEnabled)
@@ -460,12 +460,12 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
 
         // First try removing from offheap.
         if (offheapEnabled) {
-            byte[] entryBytes = offheap.remove(spaceName, part, key, keyBytes);
+            // To unmarshal swap entry itself local class loader will be enough.
+            GridCacheSwapEntry<V> e = offheap.removeValue(spaceName, part, key, keyBytes,
+                cctx.deploy().localLoader());
 
-            if (entryBytes != null) {
-                // To unmarshal swap entry itself local class loader will be enough.
-                GridCacheSwapEntry<V> entry = swapEntry((GridCacheSwapEntry<V>)unmarshal(entryBytes,
-                    cctx.deploy().localLoader()));
+            if (e != null) {
+                GridCacheSwapEntry<V> entry = swapEntry(e);
 
                 if (entry == null)
                     return null;
@@ -554,7 +554,7 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
      * @return Read value.
      * @throws GridException If read failed.
      */
-    @Nullable GridCacheSwapEntry<V> read(K key) throws GridException {
+    @Nullable public GridCacheSwapEntry<V> read(K key) throws GridException {
         if (!offheapEnabled && !swapEnabled)
             return null;
 
@@ -574,6 +574,10 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
     }
 
     /**
+     * Removes entries for given keys from off-heap and swap. Keys are grouped by partition and
+     * every group goes through off-heap first, with remaining misses removed from swap by single
+     * batch call.
+     *
      * @param keys Collection of keys to remove from swap.
      * @return Collection of swap entries.
      * @throws GridException If failed,
@@ -586,122 +590,137 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
 
         final GridCacheQueryManager<K, V> qryMgr = cctx.queries();
 
-        ArrayList<K> keysList = new ArrayList<>(keys);
         final Collection<GridCacheBatchSwapEntry<K, V>> res = new ArrayList<>(keys.size());
 
-        // First try removing from offheap.
-        if (offheapEnabled) {
-            Iterator<K> iter = keysList.iterator();
+        final GridTuple<GridException> err = F.t1();
 
-            while (iter.hasNext()) {
-                K key = iter.next();
+        GridBiInClosure<GridSwapKey, byte[]> c = !swapEnabled ? null : new GridBiInClosure<GridSwapKey, byte[]>() {
+            @Override public void apply(GridSwapKey swapKey, byte[] rmv) {
+                if (rmv != null) {
+                    try {
+                        // To unmarshal swap entry itself local class loader will be enough.
+                        GridCacheSwapEntry<V> entry = swapEntry((GridCacheSwapEntry<V>)unmarshal(rmv,
+                            cctx.deploy().localLoader()));
 
-                int part = cctx.affinity().partition(key);
+                        if (entry == null)
+                            return;
 
-                byte[] keyBytes = CU.marshal(cctx, key);
+                        K key = (K)swapKey.key();
 
-                int hash = U.hash(key);
+                        res.add(batchSwapEntry(swapKey, entry));
 
-                byte[] entryBytes = offheap.remove(spaceName, part, key, keyBytes);
+                        // Event notification.
+                        if (cctx.events().isRecordable(EVT_CACHE_OBJECT_UNSWAPPED))
+                            cctx.events().addEvent(swapKey.partition(), key, cctx.nodeId(),
+                                (GridUuid)null, null, EVT_CACHE_OBJECT_UNSWAPPED, null, false, entry.value(),
+                                true);
 
-                if (entryBytes != null) {
-                    // To unmarshal swap entry itself local class loader will be enough.
-                    GridCacheSwapEntry<V> entry = swapEntry((GridCacheSwapEntry<V>)unmarshal(entryBytes,
-                        cctx.deploy().localLoader()));
+                        // Always fire this event, since preloading depends on it.
+                        onUnswapped(swapKey.partition(), key, swapKey.keyBytes(), entry.value(),
+                            entry.valueBytes(), entry.version(), entry.ttl(), entry.expireTime());
 
-                    if (entry == null)
-                        continue;
+                        if (qryMgr != null)
+                            qryMgr.onUnswap(key, entry.value(), entry.valueBytes());
+                    }
+                    catch (GridException e) {
+                        err.set(e);
+                    }
+                }
+            }
+        };
 
-                    iter.remove();
+        for (Collection<GridSwapKey> batch : batches(keys).values()) {
+            Collection<GridSwapKey> misses = batch;
 
-                    // Always fire this event, since preloading depends on it.
-                    onOffHeaped(part, key, keyBytes, entry.value(),
-                        entry.valueBytes(), entry.version(), entry.ttl(), entry.expireTime());
+            // First try removing from offheap.
+            if (offheapEnabled) {
+                misses = swapEnabled ? new ArrayList<GridSwapKey>(batch.size()) : null;
 
-                    if (cctx.events().isRecordable(EVT_CACHE_OBJECT_FROM_OFFHEAP))
-                        cctx.events().addEvent(part, key, cctx.nodeId(), (GridUuid)null, null,
-                            EVT_CACHE_OBJECT_FROM_OFFHEAP, null, false, null, true);
+                for (GridSwapKey swapKey : batch) {
+                    K key = (K)swapKey.key();
+                    int part = swapKey.partition();
 
-                    if (qryMgr != null)
-                        qryMgr.onUnswap(key, entry.value(), entry.valueBytes());
+                    // To unmarshal swap entry itself local class loader will be enough.
+                    GridCacheSwapEntry<V> e = offheap.removeValue(spaceName, part, key, swapKey.keyBytes(),
+                        cctx.deploy().localLoader());
 
-                    GridCacheBatchSwapEntry<K, V> unswapped = new GridCacheBatchSwapEntry<>(key, keyBytes, hash,
-                        part, entry.valueBytes(),entry.valueIsByteArray(), entry.version(), entry.ttl(),
-                        entry.expireTime(), entry.keyClassLoaderId(), entry.valueClassLoaderId());
+                    if (e != null) {
+                        GridCacheSwapEntry<V> entry = swapEntry(e);
 
-                    unswapped.value(entry.value());
+                        if (entry == null)
+                            continue;
 
-                    res.add(unswapped);
-                }
-            }
+                        // Always fire this event, since preloading depends on it.
+                        onOffHeaped(part, key, swapKey.keyBytes(), entry.value(),
+                            entry.valueBytes(), entry.version(), entry.ttl(), entry.expireTime());
 
-            if (!swapEnabled || keysList.isEmpty())
-                return res;
-        }
+                        if (cctx.events().isRecordable(EVT_CACHE_OBJECT_FROM_OFFHEAP))
+                            cctx.events().addEvent(part, key, cctx.nodeId(), (GridUuid)null, null,
+                                EVT_CACHE_OBJECT_FROM_OFFHEAP, null, false, null, true);
 
-        // Swap is enabled.
-        final GridTuple<GridException> err = F.t1();
+                        if (qryMgr != null)
+                            qryMgr.onUnswap(key, entry.value(), entry.valueBytes());
 
-        Collection<GridSwapKey> converted = new ArrayList<>(F.viewReadOnly(keysList, new C1<K, GridSwapKey>() {
-            @Override public GridSwapKey apply(K key) {
-                try {
-                    return new GridSwapKey(key, cctx.affinity().partition(key), CU.marshal(cctx, key));
-                }
-                catch (GridException e) {
-                    throw new GridRuntimeException(e);
+                        res.add(batchSwapEntry(swapKey, entry));
+                    }
+                    else if (misses != null)
+                        misses.add(swapKey);
                 }
             }
-        }));
 
-        swapMgr.removeAll(spaceName,
-            converted,
-            new GridBiInClosure<GridSwapKey, byte[]>() {
-                @Override public void apply(GridSwapKey swapKey, byte[] rmv) {
-                    if (rmv != null) {
-                        try {
-                            // To unmarshal swap entry itself local class loader will be enough.
-                            GridCacheSwapEntry<V> entry = swapEntry((GridCacheSwapEntry<V>)unmarshal(rmv,
-                                cctx.deploy().localLoader()));
+            if (swapEnabled && !misses.isEmpty()) {
+                swapMgr.removeAll(spaceName, misses, c, cctx.deploy().globalLoader());
 
-                            if (entry == null)
-                                return;
+                if (err.get() != null)
+                    throw err.get();
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Groups keys by partition, marshalling every key once for both off-heap and swap lookups.
+     *
+     * @param keys Keys.
+     * @return Swap keys grouped by partition.
+     * @throws GridException If failed to marshal key.
+     */
+    private Map<Integer, Collection<GridSwapKey>> batches(Collection<? extends K> keys) throws GridException {
+        Map<Integer, Collection<GridSwapKey>> batches = new HashMap<>();
 
-                            K key = (K)swapKey.key();
+        for (K key : keys) {
+            if (key == null)
+                continue;
 
-                            GridCacheBatchSwapEntry<K, V> unswapped = new GridCacheBatchSwapEntry<>(key,
-                                swapKey.keyBytes(), U.hash(key), swapKey.partition(), entry.valueBytes(),
-                                entry.valueIsByteArray(), entry.version(), entry.ttl(), entry.expireTime(),
-                                entry.keyClassLoaderId(), entry.valueClassLoaderId());
+            int part = cctx.affinity().partition(key);
 
-                            unswapped.value(entry.value());
+            Collection<GridSwapKey> batch = batches.get(part);
 
-                            res.add(unswapped);
+            if (batch == null)
+                batches.put(part, batch = new ArrayList<>());
 
-                            // Event notification.
-                            if (cctx.events().isRecordable(EVT_CACHE_OBJECT_UNSWAPPED))
-                                cctx.events().addEvent(swapKey.partition(), key, cctx.nodeId(),
-                                    (GridUuid)null, null, EVT_CACHE_OBJECT_UNSWAPPED, null, false, entry.value(),
-                                    true);
+            batch.add(new GridSwapKey(key, part, CU.marshal(cctx, key)));
+        }
 
-                            // Always fire this event, since preloading depends on it.
-                            onUnswapped(swapKey.partition(), key, swapKey.keyBytes(), entry.value(),
-                                entry.valueBytes(), entry.version(), entry.ttl(), entry.expireTime());
+        return batches;
+    }
 
-                            if (qryMgr != null)
-                                qryMgr.onUnswap(key, entry.value(), entry.valueBytes());
-                        }
-                        catch (GridException e) {
-                            err.set(e);
-                        }
-                    }
-                }
-            },
-            cctx.deploy().globalLoader());
+    /**
+     * @param swapKey Swap key.
+     * @param entry Swap entry.
+     * @return Batch swap entry.
+     */
+    private GridCacheBatchSwapEntry<K, V> batchSwapEntry(GridSwapKey swapKey, GridCacheSwapEntry<V> entry) {
+        K key = (K)swapKey.key();
 
-        if (err.get() != null)
-            throw err.get();
+        GridCacheBatchSwapEntry<K, V> unswapped = new GridCacheBatchSwapEntry<>(key, swapKey.keyBytes(),
+            U.hash(key), swapKey.partition(), entry.valueBytes(), entry.valueIsByteArray(), entry.version(),
+            entry.ttl(), entry.expireTime(), entry.keyClassLoaderId(), entry.valueClassLoaderId());
 
-        return res;
+        unswapped.value(entry.value());
+
+        return unswapped;
     }
 
     /**
@@ -818,7 +837,8 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
     }
 
     /**
-     * Performs batch write of swapped entries.
+     * Performs batch write of swapped entries. Entries are grouped by partition, so that swap
+     * receives one batch per partition.
      *
      * @param swapped Collection of swapped entries.
      * @throws GridException If failed.
@@ -830,31 +850,57 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
 
         GridCacheQueryManager<K, V> qryMgr = cctx.queries();
 
-        if (offheapEnabled) {
-            for (GridCacheBatchSwapEntry<K, V> swapEntry : swapped) {
-                offheap.put(spaceName, swapEntry.partition(), swapEntry.key(), swapEntry.keyBytes(),
-                    marshal(swapEntry));
+        Map<Integer, Collection<GridCacheBatchSwapEntry<K, V>>> batches = new HashMap<>();
 
-                if (cctx.events().isRecordable(EVT_CACHE_OBJECT_TO_OFFHEAP))
-                    cctx.events().addEvent(swapEntry.partition(), swapEntry.key(), cctx.nodeId(),
-                        (GridUuid)null, null, EVT_CACHE_OBJECT_TO_OFFHEAP, null, false, null, true);
+        for (GridCacheBatchSwapEntry<K, V> swapEntry : swapped) {
+            Collection<GridCacheBatchSwapEntry<K, V>> batch = batches.get(swapEntry.partition());
 
-                if (qryMgr != null)
-                    qryMgr.onSwap(spaceName, swapEntry.key());
-            }
+            if (batch == null)
+                batches.put(swapEntry.partition(), batch = new ArrayList<>());
+
+            batch.add(swapEntry);
         }
-        else {
-            // Swap enabled.
-            swapMgr.writeAll(spaceName, swapped, cctx.deploy().globalLoader());
 
-            if (cctx.events().isRecordable(EVT_CACHE_OBJECT_SWAPPED)) {
-                for (GridCacheBatchSwapEntry<K, V> batchSwapEntry : swapped) {
-                    cctx.events().addEvent(batchSwapEntry.partition(), batchSwapEntry.key(), cctx.nodeId(),
-                        (GridUuid)null, null, EVT_CACHE_OBJECT_SWAPPED, null, false, null, true);
+        for (Collection<GridCacheBatchSwapEntry<K, V>> batch : batches.values()) {
+            if (offheapEnabled) {
+                int size = batch.size();
+
+                Object[] keys = new Object[size];
+                byte[][] keyBytes = new byte[size][];
+                byte[][] valBytes = new byte[size][];
+
+                int i = 0;
 
-                    if (qryMgr != null)
-                        qryMgr.onSwap(spaceName, batchSwapEntry.key());
+                for (GridCacheBatchSwapEntry<K, V> swapEntry : batch) {
+                    keys[i] = swapEntry.key();
+                    keyBytes[i] = swapEntry.keyBytes();
+                    valBytes[i] = marshal(swapEntry);
+
+                    i++;
                 }
+
+                offheap.putAll(spaceName, F.first(batch).partition(), keys, keyBytes, valBytes);
+
+                if (cctx.events().isRecordable(EVT_CACHE_OBJECT_TO_OFFHEAP)) {
+                    for (GridCacheBatchSwapEntry<K, V> swapEntry : batch)
+                        cctx.events().addEvent(swapEntry.partition(), swapEntry.key(), cctx.nodeId(),
+                            (GridUuid)null, null, EVT_CACHE_OBJECT_TO_OFFHEAP, null, false, null, true);
+                }
+            }
+            else {
+                // Swap enabled.
+                swapMgr.writeAll(spaceName, batch, cctx.deploy().globalLoader());
+
+                if (cctx.events().isRecordable(EVT_CACHE_OBJECT_SWAPPED)) {
+                    for (GridCacheBatchSwapEntry<K, V> swapEntry : batch)
+                        cctx.events().addEvent(swapEntry.partition(), swapEntry.key(), cctx.nodeId(),
+                            (GridUuid)null, null, EVT_CACHE_OBJECT_SWAPPED, null, false, null, true);
+                }
+            }
+
+            if (qryMgr != null) {
+                for (GridCacheBatchSwapEntry<K, V> swapEntry : batch)
+                    qryMgr.onSwap(spaceName, swapEntry.key());
             }
         }
     }
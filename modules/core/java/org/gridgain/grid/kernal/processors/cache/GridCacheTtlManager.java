@@ -35,23 +35,28 @@ import java.util.*;
 
 /**
  * Eagerly removes expired entries from cache when {@link GridCacheConfiguration#isEagerTtl()} flag is set.
+ * <p>
+ * Tracked entries are kept in a hierarchical timing wheel sharded by partition, so tracking
+ * and untracking an entry is {@code O(1)} and expired entries are removed in batches. Wheel node
+ * is stored in the entry itself and is reused when expire time of tracked entry changes.
  */
-@SuppressWarnings("NakedNotify")
 public class GridCacheTtlManager<K, V> extends GridCacheManagerAdapter<K, V> {
-    /** Entries pending removal. */
-    private final GridConcurrentSkipListSet<EntryWrapper<K, V>> pendingEntries = new GridConcurrentSkipListSet<>();
+    /** Timing wheel tick in milliseconds, matches granularity of {@link U#currentTimeMillis()}. */
+    private static final long TICK = 10;
+
+    /** Timing wheel for tracked entries. */
+    private GridTimingWheel<GridCacheMapEntry<K, V>> wheel;
 
     /** Cleanup worker thread. */
     private CleanupWorker cleanupWorker;
 
-    /** Sync mutex. */
-    private final Object mux = new Object();
-
     /** {@inheritDoc} */
     @Override protected void start0() throws GridException {
         if (cctx.kernalContext().isDaemon() || !cctx.config().isEagerTtl())
             return;
 
+        wheel = new GridTimingWheel<>(TICK, Runtime.getRuntime().availableProcessors() * 2);
+
         cleanupWorker = new CleanupWorker();
     }
 
@@ -68,21 +73,32 @@ public class GridCacheTtlManager<K, V> extends GridCacheManagerAdapter<K, V> {
     }
 
     /**
-     * Adds tracked entry to ttl processor.
+     * Adds tracked entry to ttl processor or updates expire time of already tracked entry.
+     * Must be called while holding lock on entry after updating expire time.
      *
      * @param entry Entry to add.
      */
     public void addTrackedEntry(GridCacheMapEntry<K, V> entry) {
-        EntryWrapper<K, V> wrapper = new EntryWrapper<>(entry);
+        if (wheel == null)
+            return;
 
-        pendingEntries.add(wrapper);
+        assert Thread.holdsLock(entry);
 
-        // If entry is on the first position, notify waiting thread.
-        if (wrapper == pendingEntries.firstx()) {
-            synchronized (mux) {
-                mux.notifyAll();
-            }
-        }
+        long expireTime = entry.expireTimeUnlocked();
+
+        assert expireTime != 0;
+
+        GridTimingWheel.Node<GridCacheMapEntry<K, V>> node = entry.ttlNode();
+
+        // Reuse node if it is still in the wheel.
+        if (node != null && wheel.reschedule(node, expireTime))
+            return;
+
+        node = new GridTimingWheel.Node<>(entry, expireTime);
+
+        entry.ttlNode(node);
+
+        wheel.add(node, entry.partition());
     }
 
     /**
@@ -91,14 +107,28 @@ public class GridCacheTtlManager<K, V> extends GridCacheManagerAdapter<K, V> {
     public void removeTrackedEntry(GridCacheMapEntry<K, V> entry) {
         // Remove must be called while holding lock on entry before updating expire time.
         // No need to wake up waiting thread in this case.
-        pendingEntries.remove(new EntryWrapper<>(entry));
+        assert Thread.holdsLock(entry);
+
+        GridTimingWheel.Node<GridCacheMapEntry<K, V>> node = entry.ttlNode();
+
+        if (node != null) {
+            entry.ttlNode(null);
+
+            if (wheel != null)
+                wheel.cancel(node);
+        }
     }
 
     /** {@inheritDoc} */
     @Override public void printMemoryStats() {
         X.println(">>>");
         X.println(">>> TTL processor memory stats [grid=" + cctx.gridName() + ", cache=" + cctx.name() + ']');
-        X.println(">>>   pendingEntriesSize: " + pendingEntries.size());
+        if (wheel != null) {
+            X.println(">>>   wheelSize: " + wheel.size());
+            X.println(">>>   wheelExpired: " + wheel.expiredCount());
+            X.println(">>>   wheelCancelled: " + wheel.cancelledCount());
+            X.println(">>>   wheelCascades: " + wheel.cascades());
+        }
     }
 
     /**
@@ -114,108 +144,36 @@ public class GridCacheTtlManager<K, V> extends GridCacheManagerAdapter<K, V> {
 
         /** {@inheritDoc} */
         @Override protected void body() throws InterruptedException, GridInterruptedException {
+            Collection<GridTimingWheel.Node<GridCacheMapEntry<K, V>>> expired = new ArrayList<>();
+
             while (!isCancelled()) {
-                long now = U.currentTimeMillis();
+                wheel.expire(expired);
 
                 GridCacheVersion obsoleteVer = null;
 
-                for (Iterator<EntryWrapper<K, V>> it = pendingEntries.iterator(); it.hasNext(); ) {
-                    EntryWrapper<K, V> wrapper = it.next();
-
-                    if (wrapper.expireTime <= now) {
-                        if (log.isDebugEnabled())
-                            log.debug("Trying to remove expired entry from cache: " + wrapper);
-
-                        if (obsoleteVer == null)
-                            obsoleteVer = cctx.versions().next();
-
-                        if (wrapper.entry.onTtlExpired(obsoleteVer))
-                            wrapper.entry.context().cache().removeEntry(wrapper.entry);
-
-                        it.remove();
-                    }
-                    else
-                        break;
-                }
+                for (GridTimingWheel.Node<GridCacheMapEntry<K, V>> node : expired) {
+                    GridCacheMapEntry<K, V> entry = node.item();
 
-                synchronized (mux) {
-                    while (true) {
-                        // Access of the first element must be inside of
-                        // synchronization block, so we don't miss out
-                        // on thread notification events sent from
-                        // 'addTrackedEntry(..)' method.
-                        EntryWrapper<K, V> first = pendingEntries.firstx();
-
-                        if (first != null) {
-                            long waitTime = first.expireTime - U.currentTimeMillis();
-
-                            if (waitTime > 0)
-                                mux.wait(waitTime);
-                            else
-                                break;
-                        }
-                        else
-                            mux.wait(5000);
+                    // Entry could have been concurrently untracked or tracked with another node.
+                    synchronized (entry) {
+                        if (entry.ttlNode() != node)
+                            continue;
                     }
-                }
-            }
-        }
-    }
 
-    /**
-     * Entry wrapper.
-     */
-    private static class EntryWrapper<K, V> implements Comparable<EntryWrapper<K, V>> {
-        /** Entry expire time. */
-        private final long expireTime;
+                    if (log.isDebugEnabled())
+                        log.debug("Trying to remove expired entry from cache: " + entry);
 
-        /** Entry. */
-        private final GridCacheMapEntry<K, V> entry;
+                    if (obsoleteVer == null)
+                        obsoleteVer = cctx.versions().next();
 
-        /**
-         * @param entry Cache entry to create wrapper for.
-         */
-        private EntryWrapper(GridCacheMapEntry<K, V> entry) {
-            expireTime = entry.expireTimeUnlocked();
-
-            assert expireTime != 0;
-
-            this.entry = entry;
-        }
+                    if (entry.onTtlExpired(obsoleteVer))
+                        entry.context().cache().removeEntry(entry);
+                }
 
-        /** {@inheritDoc} */
-        @Override public int compareTo(EntryWrapper<K, V> o) {
-            if (expireTime == o.expireTime) {
-                if (entry.startVersion() == o.entry.startVersion())
-                    return 0;
+                expired.clear();
 
-                return entry.startVersion() < o.entry.startVersion() ? -1 : 1;
+                wheel.await();
             }
-            else
-                return expireTime < o.expireTime ? -1 : 1;
-        }
-
-        /** {@inheritDoc} */
-        @Override public boolean equals(Object o) {
-            if (this == o)
-                return true;
-
-            if (!(o instanceof EntryWrapper))
-                return false;
-
-            EntryWrapper that = (EntryWrapper)o;
-
-            return expireTime == that.expireTime && entry.startVersion() == that.entry.startVersion();
-
-        }
-
-        /** {@inheritDoc} */
-        @Override public int hashCode() {
-            int res = (int)(expireTime ^ (expireTime >>> 32));
-
-            res = 31 * res + (int)(entry.startVersion() ^ (entry.startVersion() >>> 32));
-
-            return res;
         }
     }
 }
@@ -26,25 +26,31 @@ package org.gridgain.grid.kernal.processors.cache.datastructures;
 import org.gridgain.grid.*;
 import org.gridgain.grid.cache.*;
 import org.gridgain.grid.cache.datastructures.*;
+import org.gridgain.grid.kernal.*;
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.lang.*;
 import org.gridgain.grid.logger.*;
+import org.gridgain.grid.util.future.*;
+import org.gridgain.grid.util.tostring.*;
 import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
-import org.gridgain.grid.util.future.*;
 import org.jetbrains.annotations.*;
 
 import java.io.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
-import java.util.concurrent.locks.*;
 
-import static java.util.concurrent.TimeUnit.*;
 import static org.gridgain.grid.cache.GridCacheTxConcurrency.*;
 import static org.gridgain.grid.cache.GridCacheTxIsolation.*;
 
 /**
  * Cache sequence implementation.
+ * <p>
+ * Values are consumed lock-free from locally reserved range. Once configured
+ * {@link GridCacheConfiguration#getAtomicSequencePrefetchRatio() ratio} of the range is consumed,
+ * next range is reserved in background, so that threads don't have to wait for reservation
+ * transaction when current range is exhausted. Size of reserved ranges adapts to observed
+ * consumption rate, but never gets smaller than {@link #batchSize()}.
  */
 public final class GridCacheAtomicSequenceImpl implements GridCacheAtomicSequenceEx, Externalizable {
     /** De-serialization stash. */
@@ -55,6 +61,12 @@ public final class GridCacheAtomicSequenceImpl implements GridCacheAtomicSequenc
             }
         };
 
+    /** Time in milliseconds which single reserved range should last at observed consumption rate. */
+    private static final long RESERVE_PERIOD = 1000;
+
+    /** Maximum ratio of adapted reservation size to batch size. */
+    private static final int MAX_RESERVE_FACTOR = 64;
+
     /** Logger. */
     private GridLogger log;
 
@@ -73,29 +85,17 @@ public final class GridCacheAtomicSequenceImpl implements GridCacheAtomicSequenc
     /** Cache context. */
     private volatile GridCacheContext ctx;
 
-    /** Local value of sequence. */
-    private long locVal;
-
-    /**  Upper bound of local counter. */
-    private long upBound;
+    /** Currently consumed range. */
+    private AtomicReference<Reservation> res;
 
     /**  Sequence batch size */
     private volatile int batchSize;
 
-    /** Synchronization lock. */
-    private final Lock lock = new ReentrantLock();
+    /** Size of next reserved range adapted to consumption rate. */
+    private volatile int reserveSize;
 
-    /** Await condition. */
-    private Condition cond = lock.newCondition();
-
-    /** Callable for execution {@link #incrementAndGet} operation in async and sync mode.  */
-    private final Callable<Long> incAndGetCall = internalUpdate(1, true);
-
-    /** Callable for execution {@link #getAndIncrement} operation in async and sync mode.  */
-    private final Callable<Long> getAndIncCall = internalUpdate(1, false);
-
-    /** Add and get cache call guard. */
-    private final AtomicBoolean updateGuard = new AtomicBoolean();
+    /** Ratio of reserved range after which next range is prefetched. */
+    private double prefetchRatio;
 
     /**
      * Empty constructor required by {@link Externalizable}.
@@ -123,13 +123,15 @@ public final class GridCacheAtomicSequenceImpl implements GridCacheAtomicSequenc
         assert locVal <= upBound;
 
         batchSize = ctx.config().getAtomicSequenceReserveSize();
+        reserveSize = batchSize;
+        prefetchRatio = ctx.config().getAtomicSequencePrefetchRatio();
         this.ctx = ctx;
         this.key = key;
         this.seqView = seqView;
-        this.upBound = upBound;
-        this.locVal = locVal;
         this.name = name;
 
+        res = new AtomicReference<>(new Reservation(locVal, upBound, prefetchRatio));
+
         log = ctx.gridConfig().getGridLogger().getLogger(getClass());
     }
 
@@ -142,196 +144,149 @@ public final class GridCacheAtomicSequenceImpl implements GridCacheAtomicSequenc
     @Override public long get() throws GridException {
         checkRemoved();
 
-        lock.lock();
-
-        try {
-            return locVal;
-        }
-        finally {
-            lock.unlock();
-        }
+        return res.get().val.get();
     }
 
     /** {@inheritDoc} */
     @Override public long incrementAndGet() throws GridException {
-        return internalUpdate(1, incAndGetCall, true);
+        return internalUpdate(1, true);
     }
 
     /** {@inheritDoc} */
     @Override public long getAndIncrement() throws GridException {
-        return internalUpdate(1, getAndIncCall, false);
+        return internalUpdate(1, false);
     }
 
     /** {@inheritDoc} */
     @Override public long addAndGet(long l) throws GridException {
         A.ensure(l > 0, " Parameter mustn't be less then 1: " + l);
 
-        return internalUpdate(l, null, true);
+        return internalUpdate(l, true);
     }
 
     /** {@inheritDoc} */
     @Override public long getAndAdd(long l) throws GridException {
         A.ensure(l > 0, " Parameter mustn't be less then 1: " + l);
 
-        return internalUpdate(l, null, false);
+        return internalUpdate(l, false);
     }
 
     /**
      * Synchronous sequence update operation. Will add given amount to the sequence value.
      *
      * @param l Increment amount.
-     * @param updateCall Cache call that will update sequence reservation count in accordance with l.
      * @param updated If {@code true}, will return sequence value after update, otherwise will return sequence value
      *      prior to update.
      * @return Sequence value.
      * @throws GridException If update failed.
      */
-    @SuppressWarnings("SignalWithoutCorrespondingAwait")
-    private long internalUpdate(long l, @Nullable Callable<Long> updateCall, boolean updated) throws GridException {
-        checkRemoved();
-
+    private long internalUpdate(long l, boolean updated) throws GridException {
         assert l > 0;
 
-        lock.lock();
-
-        try {
-            // If reserved range isn't exhausted.
-            if (locVal + l <= upBound) {
-                long curVal = locVal;
-
-                locVal += l;
+        while (true) {
+            checkRemoved();
 
-                return updated ? locVal : curVal;
-            }
-        }
-        finally {
-            lock.unlock();
-        }
+            Reservation r = res.get();
 
-        if (updateCall == null)
-            updateCall = internalUpdate(l, updated);
+            long curVal = r.val.get();
 
-        while (true) {
-            if (updateGuard.compareAndSet(false, true)) {
-                try {
-                    // This call must be outside lock.
-                    return CU.outTx(updateCall, ctx);
-                }
-                finally {
-                    lock.lock();
+            long newVal = curVal + l;
 
-                    try {
-                        updateGuard.set(false);
+            // If reserved range isn't exhausted.
+            if (newVal <= r.upBound) {
+                if (r.val.compareAndSet(curVal, newVal)) {
+                    if (newVal >= r.prefetchBound)
+                        nextRange(r, l, true);
 
-                        cond.signalAll();
-                    }
-                    finally {
-                        lock.unlock();
-                    }
+                    return updated ? newVal : curVal;
                 }
             }
             else {
-                lock.lock();
+                GridFuture<Reservation> fut = nextRange(r, l, false);
 
-                try {
-                    while (locVal >= upBound && updateGuard.get())
-                        U.await(cond, 500, MILLISECONDS);
+                Reservation next;
 
-                    checkRemoved();
-
-                    // If reserved range isn't exhausted.
-                    if (locVal + l <= upBound) {
-                        long curVal = locVal;
+                try {
+                    next = fut.get();
+                }
+                catch (GridException e) {
+                    // Allow next attempt to reserve range again.
+                    r.next.compareAndSet(fut, null);
 
-                        locVal += l;
+                    // Failed prefetch is treated as missing one, so range will be reserved synchronously.
+                    if (fut instanceof PrefetchFuture) {
+                        if (log.isDebugEnabled())
+                            log.debug("Failed to prefetch next range for sequence, will reserve it synchronously " +
+                                "[name=" + name + ", err=" + e + ']');
 
-                        return updated ? locVal : curVal;
+                        continue;
                     }
+
+                    throw e;
                 }
-                finally {
-                    lock.unlock();
-                }
+
+                res.compareAndSet(r, next);
             }
         }
     }
 
     /**
-     * Asynchronous sequence update operation. Will add given amount to the sequence value.
+     * Gets future for range following given one. If reservation of next range hasn't been
+     * started yet, it is started either in background or in current thread.
      *
-     * @param l Increment amount.
-     * @param updateCall Cache call that will update sequence reservation count in accordance with l.
-     * @param updated If {@code true}, will return sequence value after update, otherwise will return sequence value
-     *      prior to update.
-     * @return Future indicating sequence value.
-     * @throws GridException If update failed.
+     * @param r Current range.
+     * @param l Increment amount which next range should fit.
+     * @param async If {@code true}, new reservation will be done in background.
+     * @return Future for next range.
      */
-    @SuppressWarnings("SignalWithoutCorrespondingAwait")
-    private GridFuture<Long> internalUpdateAsync(long l, @Nullable Callable<Long> updateCall, boolean updated)
-        throws GridException {
-        checkRemoved();
-
-        A.ensure(l > 0, " Parameter mustn't be less then 1: " + l);
-
-        lock.lock();
-
-        try {
-            // If reserved range isn't exhausted.
-            if (locVal + l <= upBound) {
-                long curVal = locVal;
+    private GridFuture<Reservation> nextRange(final Reservation r, final long l, boolean async) {
+        GridFuture<Reservation> fut = r.next.get();
 
-                locVal += l;
+        if (fut != null)
+            return fut;
 
-                return new GridFinishedFuture<>(ctx.kernalContext(), updated ? locVal : curVal);
-            }
-        }
-        finally {
-            lock.unlock();
-        }
+        final GridFutureAdapter<Reservation> fut0 = async ? new PrefetchFuture(ctx.kernalContext()) :
+            new GridFutureAdapter<Reservation>(ctx.kernalContext());
 
-        if (updateCall == null)
-            updateCall = internalUpdate(l, updated);
+        if (!r.next.compareAndSet(null, fut0))
+            return r.next.get();
 
-        while (true) {
-            if (updateGuard.compareAndSet(false, true)) {
-                try {
-                    // This call must be outside lock.
-                    return ctx.closures().callLocalSafe(updateCall, true);
-                }
-                finally {
-                    lock.lock();
+        if (async) {
+            if (log.isDebugEnabled())
+                log.debug("Prefetching next range for sequence [name=" + name + ", range=" + r + ']');
 
-                    try {
-                        updateGuard.set(false);
+            ctx.closures().callLocalSafe(new Callable<Object>() {
+                @Override public Object call() {
+                    reserve(r, l, fut0);
 
-                        cond.signalAll();
-                    }
-                    finally {
-                        lock.unlock();
-                    }
+                    return null;
                 }
-            }
-            else {
-                lock.lock();
-
-                try {
-                    while (locVal >= upBound && updateGuard.get())
-                        U.await(cond, 500, MILLISECONDS);
-
-                    checkRemoved();
+            }, true);
+        }
+        else
+            reserve(r, l, fut0);
 
-                    // If reserved range isn't exhausted.
-                    if (locVal + l <= upBound) {
-                        long curVal = locVal;
+        return fut0;
+    }
 
-                        locVal += l;
+    /**
+     * Reserves range following given one and completes future with reserved range.
+     *
+     * @param r Current range.
+     * @param l Increment amount which next range should fit.
+     * @param fut Future to complete.
+     */
+    private void reserve(Reservation r, long l, GridFutureAdapter<Reservation> fut) {
+        try {
+            fut.onDone(CU.outTx(reserveCallable(r, l), ctx));
+        }
+        catch (GridException | RuntimeException e) {
+            fut.onDone(e);
+        }
+        catch (Error e) {
+            fut.onDone(e);
 
-                        return new GridFinishedFuture<>(ctx.kernalContext(), updated ? locVal : curVal);
-                    }
-                }
-                finally {
-                    lock.unlock();
-                }
-            }
+            throw e;
         }
     }
 
@@ -351,14 +306,8 @@ public final class GridCacheAtomicSequenceImpl implements GridCacheAtomicSequenc
     @Override public void batchSize(int size) {
         A.ensure(size > 0, " Batch size can't be less then 0: " + size);
 
-        lock.lock();
-
-        try {
-            batchSize = size;
-        }
-        finally {
-            lock.unlock();
-        }
+        batchSize = size;
+        reserveSize = size;
     }
 
     /**
@@ -392,71 +341,56 @@ public final class GridCacheAtomicSequenceImpl implements GridCacheAtomicSequenc
     }
 
     /**
-     * Method returns callable for execution all update operations in async and sync mode.
+     * Adapts size of next reserved range to consumption rate observed on given range.
      *
-     * @param l Value will be added to sequence.
-     * @param updated If {@code true}, will return updated value, if {@code false}, will return previous value.
-     * @return Callable for execution in async and sync mode.
+     * @param r Current range.
+     * @return Size of next range.
      */
-    @SuppressWarnings("TooBroadScope")
-    private Callable<Long> internalUpdate(final long l, final boolean updated) {
-        return new Callable<Long>() {
-            @Override public Long call() throws Exception {
-                GridCacheTx tx = CU.txStartInternal(ctx, seqView, PESSIMISTIC, REPEATABLE_READ);
-
-                try {
-                    GridCacheAtomicSequenceValue seq = seqView.get(key);
-
-                    checkRemoved();
-
-                    assert seq != null;
-
-                    long curLocVal;
+    private int adaptReserveSize(Reservation r) {
+        long consumed = r.val.get() - r.lowBound;
 
-                    long newUpBound;
+        long elapsed = Math.max(1, U.currentTimeMillis() - r.startTime);
 
-                    lock.lock();
+        int batchSize = this.batchSize;
 
-                    try {
-                        curLocVal = locVal;
+        long maxSize = Math.min((long)batchSize * MAX_RESERVE_FACTOR, Integer.MAX_VALUE);
 
-                        // If local range was already reserved in another thread.
-                        if (locVal + l <= upBound) {
-                            long retVal = locVal;
+        // Avoid overflow for huge increments.
+        long size = consumed > Long.MAX_VALUE / RESERVE_PERIOD ? maxSize : consumed * RESERVE_PERIOD / elapsed;
 
-                            locVal += l;
+        reserveSize = (int)Math.min(Math.max(size, batchSize), maxSize);
 
-                            return updated ? locVal : retVal;
-                        }
+        return reserveSize;
+    }
 
-                        long curGlobalVal = seq.get();
+    /**
+     * Method returns callable which reserves range of values following given range.
+     *
+     * @param r Current range.
+     * @param l Increment amount which next range should fit.
+     * @return Callable for range reservation.
+     */
+    @SuppressWarnings("TooBroadScope")
+    private Callable<Reservation> reserveCallable(final Reservation r, final long l) {
+        return new Callable<Reservation>() {
+            @Override public Reservation call() throws Exception {
+                GridCacheTx tx = CU.txStartInternal(ctx, seqView, PESSIMISTIC, REPEATABLE_READ);
 
-                        long newLocVal;
+                try {
+                    GridCacheAtomicSequenceValue seq = seqView.get(key);
 
-                        /* We should use offset because we already reserved left side of range.*/
-                        long off = batchSize > 1 ? batchSize - 1 : 1;
+                    checkRemoved();
 
-                        // Calculate new values for local counter, global counter and upper bound.
-                        if (curLocVal + l >= curGlobalVal) {
-                            newLocVal = curLocVal + l;
+                    assert seq != null;
 
-                            newUpBound = newLocVal + off;
-                        }
-                        else {
-                            newLocVal = curGlobalVal;
+                    long size = Math.max(adaptReserveSize(r), l + 1);
 
-                            newUpBound = newLocVal + off;
-                        }
+                    /* We should use offset because we already reserved left side of range.*/
+                    long off = size > 1 ? size - 1 : 1;
 
-                        locVal = newLocVal;
-                        upBound = newUpBound;
+                    long newLocVal = Math.max(seq.get(), r.upBound + 1);
 
-                        if (updated)
-                            curLocVal = newLocVal;
-                    }
-                    finally {
-                        lock.unlock();
-                    }
+                    long newUpBound = newLocVal + off;
 
                     // Global counter must be more than reserved upper bound.
                     seq.set(newUpBound + 1);
@@ -465,10 +399,15 @@ public final class GridCacheAtomicSequenceImpl implements GridCacheAtomicSequenc
 
                     tx.commit();
 
-                    return curLocVal;
+                    Reservation next = new Reservation(newLocVal, newUpBound, prefetchRatio);
+
+                    if (log.isDebugEnabled())
+                        log.debug("Reserved range for sequence [name=" + name + ", range=" + next + ']');
+
+                    return next;
                 }
                 catch (Error | Exception e) {
-                    U.error(log, "Failed to get and add: " + this, e);
+                    U.error(log, "Failed to reserve range for sequence: " + name, e);
 
                     throw e;
                 } finally {
@@ -516,4 +455,70 @@ public final class GridCacheAtomicSequenceImpl implements GridCacheAtomicSequenc
     @Override public String toString() {
         return S.toString(GridCacheAtomicSequenceImpl.class, this);
     }
+
+    /**
+     * Future for range reserved in background.
+     */
+    private static class PrefetchFuture extends GridFutureAdapter<Reservation> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * Empty constructor required for {@link Externalizable}.
+         */
+        public PrefetchFuture() {
+            // No-op.
+        }
+
+        /**
+         * @param ctx Kernal context.
+         */
+        private PrefetchFuture(GridKernalContext ctx) {
+            super(ctx);
+        }
+    }
+
+    /**
+     * Range of sequence values reserved by local node.
+     */
+    private static class Reservation {
+        /** Current value. */
+        private final AtomicLong val;
+
+        /** Lower bound. */
+        private final long lowBound;
+
+        /** Upper bound. */
+        private final long upBound;
+
+        /** Value after which next range is prefetched. */
+        private final long prefetchBound;
+
+        /** Time when range was reserved. */
+        private final long startTime = U.currentTimeMillis();
+
+        /** Future for next range. */
+        @GridToStringExclude
+        private final AtomicReference<GridFuture<Reservation>> next = new AtomicReference<>();
+
+        /**
+         * @param locVal Initial value.
+         * @param upBound Upper bound.
+         * @param prefetchRatio Ratio of range after which next range is prefetched.
+         */
+        private Reservation(long locVal, long upBound, double prefetchRatio) {
+            assert locVal <= upBound;
+
+            val = new AtomicLong(locVal);
+            lowBound = locVal;
+            this.upBound = upBound;
+
+            prefetchBound = prefetchRatio < 1 ? locVal + (long)((upBound - locVal) * prefetchRatio) : Long.MAX_VALUE;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Reservation.class, this);
+        }
+    }
 }
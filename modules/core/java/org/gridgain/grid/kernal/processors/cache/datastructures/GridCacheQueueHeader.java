@@ -43,9 +43,12 @@ public class GridCacheQueueHeader<T> implements GridCacheInternal, Externalizabl
     /** Actual queue size. */
     private int size;
 
-    /** Sequence number. */
+    /** Sequence number of the last added item (queue tail). */
     private long seq;
 
+    /** Sequence number of the last polled item (queue head). */
+    private long head;
+
     /** Collocation flag. */
     private boolean collocated;
 
@@ -77,6 +80,7 @@ public class GridCacheQueueHeader<T> implements GridCacheInternal, Externalizabl
         out.writeInt(cap);
         out.writeInt(size);
         out.writeLong(seq);
+        out.writeLong(head);
         out.writeBoolean(collocated);
         out.writeUTF(qid);
     }
@@ -86,6 +90,7 @@ public class GridCacheQueueHeader<T> implements GridCacheInternal, Externalizabl
         cap = in.readInt();
         size = in.readInt();
         seq = in.readLong();
+        head = in.readLong();
         collocated = in.readBoolean();
         qid = in.readUTF();
     }
@@ -104,6 +109,27 @@ public class GridCacheQueueHeader<T> implements GridCacheInternal, Externalizabl
         return ++seq;
     }
 
+    /**
+     * Gets sequence number of the last polled item. Items with greater sequence numbers
+     * up to {@link #sequence()} inclusive are either in queue or were removed out of order.
+     *
+     * @return Head sequence number.
+     */
+    public long head() {
+        return head;
+    }
+
+    /**
+     * Moves queue head.
+     *
+     * @param head Sequence number of the last polled item.
+     */
+    public void head(long head) {
+        assert head >= this.head && head <= seq : "Invalid queue head [head=" + head + ", hdr=" + this + ']';
+
+        this.head = head;
+    }
+
     /**
      * @return Maximum queue size.
      */
@@ -128,12 +154,15 @@ public class GridCacheQueueHeader<T> implements GridCacheInternal, Externalizabl
     }
 
     /**
-     * Sets actual queue size.
+     * Sets actual queue size. Moves queue head to tail if queue becomes empty.
      *
      * @param size Actual queue size.
      */
     public void size(int size) {
         this.size = size;
+
+        if (size == 0)
+            head = seq;
     }
 
     /**
@@ -144,12 +173,13 @@ public class GridCacheQueueHeader<T> implements GridCacheInternal, Externalizabl
     }
 
     /**
-     * Decrements queue size.
+     * Decrements queue size. Moves queue head to tail if queue becomes empty.
      */
     public void decrementSize() {
         assert size > 0;
 
-        size--;
+        if (--size == 0)
+            head = seq;
     }
 
     /**
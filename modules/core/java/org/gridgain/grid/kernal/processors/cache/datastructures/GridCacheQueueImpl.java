@@ -303,8 +303,7 @@ public class GridCacheQueueImpl<T> extends AbstractCollection<T> implements Grid
         try {
             checkRemovedx();
 
-            return CU.outTx(queryCallable(qryFactory.firstItemQuery(), new TerminalItemQueryLocalReducer<T>(true),
-                false), cctx);
+            return CU.outTx(pollCallable(false), cctx);
         }
         catch (GridException e) {
             throw new GridRuntimeException(e);
@@ -330,8 +329,7 @@ public class GridCacheQueueImpl<T> extends AbstractCollection<T> implements Grid
 
             boolean peek = false;
 
-            return blockReadOp(queryCallable(qryFactory.firstItemQuery(), new TerminalItemQueryLocalReducer<T>(true),
-                peek), TAKE_TIMEOUT, timeout, unit, peek);
+            return blockReadOp(pollCallable(peek), TAKE_TIMEOUT, timeout, unit, peek);
         }
         catch (GridException e) {
             throw new GridRuntimeException(e);
@@ -353,8 +351,7 @@ public class GridCacheQueueImpl<T> extends AbstractCollection<T> implements Grid
         try {
             checkRemovedx();
 
-            return CU.outTx(queryCallable(qryFactory.firstItemQuery(), new TerminalItemQueryLocalReducer<T>(true),
-                true), cctx);
+            return CU.outTx(pollCallable(true), cctx);
         }
         catch (GridException e) {
             throw new GridRuntimeException(e);
@@ -435,8 +432,7 @@ public class GridCacheQueueImpl<T> extends AbstractCollection<T> implements Grid
 
             boolean peek = false;
 
-            return blockReadOp(queryCallable(qryFactory.firstItemQuery(), new TerminalItemQueryLocalReducer<T>(true),
-                peek), TAKE, peek);
+            return blockReadOp(pollCallable(peek), TAKE, peek);
         }
         catch (GridException e) {
             throw new GridRuntimeException(e);
@@ -522,18 +518,24 @@ public class GridCacheQueueImpl<T> extends AbstractCollection<T> implements Grid
 
     /** {@inheritDoc} */
     @Override public int drainTo(Collection<? super T> c, int maxElements) {
-        int max = Math.min(maxElements, size());
+        A.notNull(c, "c");
+        A.ensure(c != this, "Queue cannot be drained to itself.");
 
-        for (int i = 0; i < max; i++) {
-            T el = poll();
+        if (maxElements <= 0)
+            return 0;
 
-            if (el == null)
-                return i;
+        try {
+            checkRemovedx();
 
-            c.add(el);
-        }
+            Collection<T> items = CU.outTx(pollAllCallable(maxElements, false), cctx);
 
-        return max;
+            c.addAll(items);
+
+            return items.size();
+        }
+        catch (GridException e) {
+            throw new GridRuntimeException(e);
+        }
     }
 
     /** {@inheritDoc} */
@@ -736,18 +738,32 @@ public class GridCacheQueueImpl<T> extends AbstractCollection<T> implements Grid
     }
 
     /**
-     * Method implements universal method for getting object from queue.
+     * Method implements universal method for getting object from queue head.
      *
-     * @param qry Query.
-     * @param rdc Local reducer.
      * @param peek {@code true} don't release received queue item, {@code false} release received queue item.
      * @return Callable.
      */
-    private Callable<T> queryCallable(final GridCacheQuery<Map.Entry<GridCacheQueueItemKey,
-        GridCacheQueueItemImpl<T>>> qry, final GridReducer<Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>>,
-        Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>>> rdc, final boolean peek) {
+    private Callable<T> pollCallable(final boolean peek) {
         return new Callable<T>() {
             @Nullable @Override public T call() throws Exception {
+                return F.first(pollAllCallable(1, peek).call());
+            }
+        };
+    }
+
+    /**
+     * Method implements universal method for getting objects from queue head. Items are looked up
+     * by their sequence numbers starting right after header's head, so no query is executed.
+     *
+     * @param max Maximum number of items to get.
+     * @param peek {@code true} don't release received queue items, {@code false} release received queue items.
+     * @return Callable.
+     */
+    private Callable<Collection<T>> pollAllCallable(final int max, final boolean peek) {
+        assert max > 0;
+
+        return new Callable<Collection<T>>() {
+            @Override public Collection<T> call() throws Exception {
                 checkRemovedx();
 
                 try (GridCacheTx tx = CU.txStartInternal(cctx, cctx.cache(), PESSIMISTIC, REPEATABLE_READ)) {
@@ -765,100 +781,82 @@ public class GridCacheQueueImpl<T> extends AbstractCollection<T> implements Grid
                             readSem.drainPermits();
                         }
 
-                        return null;
+                        return Collections.emptyList();
                     }
 
-                    Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>> entry;
+                    int cnt = Math.min(max, globalHdr.size());
 
-                    if (collocated) {
-                        // For case if primary node was changed during request.
-                        while (true) {
-                            GridNode node = CU.primaryNode(cctx, key);
+                    List<T> res = new ArrayList<>(cnt);
 
-                            qry.projection(cctx.grid().forNode(node));
+                    Collection<GridCacheQueueItemKey> rmvKeys = new ArrayList<>(cnt);
 
-                            entry = F.reduce(qry.execute(new OneRecordReducer<T>(), qid).get(), rdc);
+                    long head = globalHdr.head();
+                    long tail = globalHdr.sequence();
 
-                            if (log.isDebugEnabled())
-                                log.debug("Entry has been found [node=" + node + ", entry=" + entry + ", queue=" +
-                                    GridCacheQueueImpl.this + ']');
+                    // Items removed out of order leave gaps in sequence, so range may have to be extended.
+                    while (res.size() < cnt && head < tail) {
+                        long last = Math.min(tail, head + cnt - res.size());
 
-                            // Entry wasn't found perhaps grid topology was changed.
-                            GridNode node2;
+                        List<GridCacheQueueItemKey> keys = new ArrayList<>((int)(last - head));
 
-                            if (entry == null) node2 = CU.primaryNode(cctx, key);
-                            else break;
+                        for (long seq = head + 1; seq <= last; seq++)
+                            keys.add(new GridCacheQueueItemKeyImpl(seq, qid, collocated));
 
-                            // Topology wasn't changed.
-                            if (node.equals(node2)) break;
-
-                            if (log.isDebugEnabled())
-                                log.debug("Entry wasn't found for queue: " + GridCacheQueueImpl.this);
-                        }
-                    }
-                    else {
-                        // In non-collocated mode query can return already removed entry. We should check this issue.
-                        while (true) {
-                            entry = F.reduce(qry.execute(new OneRecordReducer<T>(), qid).get(), rdc);
+                        Map<GridCacheQueueItemKey, GridCacheQueueItem<T>> items = itemView.getAll(keys);
 
-                            // We don't have eny items in queue.
-                            if (entry == null) break;
+                        for (GridCacheQueueItemKey itemKey : keys) {
+                            head = itemKey.sequence();
 
-                            GridCacheQueueItem<T> val = itemView.get(entry.getKey());
+                            GridCacheQueueItem<T> val = items.get(itemKey);
 
                             if (val == null) {
                                 if (log.isDebugEnabled())
-                                    log.debug("Already removed entry have been found [entry=" + entry + ", queue=" +
+                                    log.debug("Skipping removed queue item [key=" + itemKey + ", queue=" +
                                         GridCacheQueueImpl.this + ']');
 
-                                // Re-remove the key as it was removed before.
-                                itemView.remove(entry.getKey());
+                                continue;
                             }
-                            else {
-                                if (log.isDebugEnabled())
-                                    log.debug("Queue entry have been found [entry=" + entry + ", queue=" +
-                                        GridCacheQueueImpl.this + ']');
 
+                            assert val.userObject() != null : "Failed to get user object from value: " + val;
+
+                            res.add(val.userObject());
+
+                            rmvKeys.add(itemKey);
+
+                            if (res.size() == cnt)
                                 break;
-                            }
                         }
                     }
 
-                    if (entry == null) {
+                    if (res.isEmpty()) {
                         tx.setRollbackOnly();
 
-                        if (log.isDebugEnabled()) log.debug("Failed to find queue item in: " + GridCacheQueueImpl.this);
+                        if (log.isDebugEnabled())
+                            log.debug("Failed to find queue item [hdr=" + globalHdr + ", queue=" +
+                                GridCacheQueueImpl.this + ']');
 
-                        return null;
+                        return res;
                     }
 
-                    GridCacheQueueItem<T> val = entry.getValue();
-
-                    assert val != null : "Failed to get entry value: " + entry;
-                    assert val.userObject() != null : "Failed to get user object from value: " + entry;
-
                     if (!peek) {
-                        // Check queue size.
-                        assert globalHdr.size() > 0 : "Queue is empty but item has been found [item=" + val +
-                            ", header=" + globalHdr + ", queue=" + GridCacheQueueImpl.this + ']';
+                        // Move head before size update since emptied queue moves head to tail.
+                        globalHdr.head(head);
 
-                        globalHdr.decrementSize();
+                        globalHdr.size(globalHdr.size() - res.size());
 
                         // Refresh queue header in cache.
                         queueHdrView.putx(key, globalHdr);
 
-                        // Remove item from cache.
-                        boolean wasRmvd = itemView.removex(entry.getKey());
-
-                        assert wasRmvd : "Already deleted entry: " + entry;
+                        // Remove items from cache.
+                        itemView.removeAll(rmvKeys);
                     }
 
                     tx.commit();
 
                     if (log.isDebugEnabled())
-                        log.debug("Retrieved queue item [item=" + val + ", queue=" + GridCacheQueueImpl.this + ']');
+                        log.debug("Retrieved queue items [items=" + res + ", queue=" + GridCacheQueueImpl.this + ']');
 
-                    return val.userObject();
+                    return res;
                 }
             }
         };
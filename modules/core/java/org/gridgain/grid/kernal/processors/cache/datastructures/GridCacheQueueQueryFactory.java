@@ -27,18 +27,15 @@ import org.gridgain.grid.*;
 import org.gridgain.grid.cache.*;
 import org.gridgain.grid.cache.query.*;
 import org.gridgain.grid.kernal.processors.cache.*;
-import org.gridgain.grid.kernal.processors.cache.query.*;
 import org.gridgain.grid.lang.*;
 import org.gridgain.grid.logger.*;
 import org.gridgain.grid.resources.*;
 import org.gridgain.grid.util.lang.*;
-import org.gridgain.grid.util.tostring.*;
 import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
 
 import java.io.*;
 import java.util.*;
-import java.util.concurrent.*;
 
 import static org.gridgain.grid.cache.GridCacheFlag.*;
 import static org.gridgain.grid.cache.GridCacheTxConcurrency.*;
@@ -63,9 +60,6 @@ class GridCacheQueueQueryFactory<T> implements Externalizable {
     /** Query to get all queue items. */
     private GridCacheQuery<Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>>> itemsQry;
 
-    /** Query to first queue item. */
-    private GridCacheQuery<Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>>> firstItemQry;
-
     /** Query to get all queue keys. */
     private GridCacheQuery<Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>>> rmvAllKeysQry;
 
@@ -81,13 +75,6 @@ class GridCacheQueueQueryFactory<T> implements Externalizable {
     /** Queries object. */
     private GridCacheQueries<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>> qry;
 
-    /**
-     * Comparator by sequence id.
-     */
-    @SuppressWarnings("TypeMayBeWeakened")
-    @GridToStringExclude
-    private static final SequenceComparator<?> SEQ_COMP = new SequenceComparator<>();
-
     /** Queue items view.*/
     private GridCacheProjection<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>> itemView;
 
@@ -113,8 +100,6 @@ class GridCacheQueueQueryFactory<T> implements Externalizable {
 
         initRemoveAllKeysQuery();
 
-        initQueueItemQuery();
-
         this.cctx = cctx;
     }
 
@@ -169,15 +154,6 @@ class GridCacheQueueQueryFactory<T> implements Externalizable {
             " qid=? and id in (select * from table(x int=?)) " + "order by seq asc");
     }
 
-    /**
-     * Initialize queue item query.
-     */
-    private void initQueueItemQuery() {
-        // Query to first item (regarding to order) from given queue.
-        firstItemQry = qry.createSqlQuery(GridCacheQueueItemImpl.class,
-                " qid=? " + "order by seq asc");
-    }
-
     /**
      * @return Cache query for requesting all queue items.
      */
@@ -226,13 +202,6 @@ class GridCacheQueueQueryFactory<T> implements Externalizable {
         return containsQry;
     }
 
-    /**
-     * @return Cache query for requesting all queue items.
-     */
-    GridCacheQuery<Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>>> firstItemQuery() {
-        return firstItemQry;
-    }
-
     /**
      * @return Cache query for requesting queue items at specified positions.
      */
@@ -273,48 +242,6 @@ class GridCacheQueueQueryFactory<T> implements Externalizable {
         return S.toString(GridCacheQueueQueryFactory.class, this);
     }
 
-    /**
-     *
-     */
-    static class TerminalItemQueryLocalReducer<T>
-        implements R1<Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>>,
-        Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>>> {
-        /** */
-        @SuppressWarnings("OverlyStrongTypeCast")
-        private final Comparator<Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>>> cmp =
-            (SequenceComparator<T>)SEQ_COMP;
-
-        /** */
-        private boolean first;
-
-        /**
-         * @param first First flag.
-         */
-        TerminalItemQueryLocalReducer(boolean first) {
-            this.first = first;
-        }
-
-        /** */
-        private final Collection<Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>>> items =
-            new ConcurrentLinkedQueue<>();
-
-        /** {@inheritDoc} */
-        @Override public boolean collect(Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>> e) {
-            if (e != null)
-                items.add(e);
-
-            return true;
-        }
-
-        /** {@inheritDoc} */
-        @Override public Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>> reduce() {
-            if (items.isEmpty())
-                return null;
-
-            return first ? Collections.min(items, cmp) : Collections.max(items, cmp);
-        }
-    }
-
     /**
      *
      */
@@ -687,36 +614,4 @@ class GridCacheQueueQueryFactory<T> implements Externalizable {
             return retVal;
         }
     }
-
-    /**
-     * One record reducer.
-     */
-    static class OneRecordReducer<T>
-        implements GridReducer<Map.Entry<GridCacheQueueItemKey,GridCacheQueueItemImpl<T>>,
-        Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>>> {
-        /** */
-        private Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>> entry;
-
-        @Override public boolean collect(Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>> e) {
-            entry = new GridCacheQueryResponseEntry<>(e.getKey(), e.getValue());
-
-            return false;
-        }
-
-        /** {@inheritDoc} */
-        @Override public Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>> reduce() {
-            return entry;
-        }
-    }
-
-    /**
-     *
-     */
-    private static class SequenceComparator<T>
-        implements Comparator<Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>>>, Serializable {
-        @Override public int compare(Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>> item1,
-            Map.Entry<GridCacheQueueItemKey, GridCacheQueueItemImpl<T>> item2) {
-            return (int)(item1.getValue().sequence() - item2.getValue().sequence());
-        }
-    }
 }
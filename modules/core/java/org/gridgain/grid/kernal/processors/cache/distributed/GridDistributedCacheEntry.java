@@ -440,7 +440,7 @@ public class GridDistributedCacheEntry<K, V> extends GridCacheMapEntry<K, V> {
         GridCacheVersion obsoleteVer = obsoleteVersionExtras();
 
         if ((obsoleteVer != null && obsoleteVer.equals(ver)) || cctx.mvcc().isRemoved(ver))
-            throw new GridDistributedLockCancelledException("Lock has been cancelled [key=" + key +
+            throw new GridDistributedLockCancelledException("Lock has been cancelled [key=" + key() +
                 ", ver=" + ver + ']');
     }
 
@@ -785,7 +785,7 @@ public class GridDistributedCacheEntry<K, V> extends GridCacheMapEntry<K, V> {
                 tx.timeout(),
                 true,
                 tx.implicitSingle(),
-                tx.ownedVersion(key)
+                tx.ownedVersion(key())
             );
 
             return true;
@@ -869,7 +869,7 @@ public class GridDistributedCacheEntry<K, V> extends GridCacheMapEntry<K, V> {
                 boolean hasVal = hasValue();
 
                 // Event notification.
-                cctx.events().addEvent(partition(), key, prev.nodeId(), prev, EVT_CACHE_OBJECT_UNLOCKED, val, hasVal,
+                cctx.events().addEvent(partition(), key(), prev.nodeId(), prev, EVT_CACHE_OBJECT_UNLOCKED, val, hasVal,
                     val, hasVal);
             }
 
@@ -877,7 +877,7 @@ public class GridDistributedCacheEntry<K, V> extends GridCacheMapEntry<K, V> {
                 boolean hasVal = hasValue();
 
                 // Event notification.
-                cctx.events().addEvent(partition(), key, owner.nodeId(), owner, EVT_CACHE_OBJECT_LOCKED, val, hasVal,
+                cctx.events().addEvent(partition(), key(), owner.nodeId(), owner, EVT_CACHE_OBJECT_LOCKED, val, hasVal,
                     val, hasVal);
             }
         }
@@ -109,6 +109,12 @@ public class GridDhtCacheEntry<K, V> extends GridDistributedCacheEntry<K, V> {
         cctx.dht().topology().onRemoved(this);
     }
 
+    /** {@inheritDoc} */
+    @Override protected void onUpdated(GridCacheVersion ver) {
+        // Record update for history-based preloading.
+        locPart.onUpdated(key(), ver);
+    }
+
     /**
      * @param nearVer Near version.
      * @param rmv If {@code true}, then add to removed list if not found.
@@ -312,7 +318,7 @@ public class GridDhtCacheEntry<K, V> extends GridDistributedCacheEntry<K, V> {
             else
                 val0 = val;
 
-            return F.t(ver, val0, valBytes0);
+            return F.t(ver(), val0, valBytes0);
         }
     }
 
@@ -359,7 +365,7 @@ public class GridDhtCacheEntry<K, V> extends GridDistributedCacheEntry<K, V> {
         }
 
         // If remote node has no near cache, don't add it.
-        if (!U.hasNearCache(node, cacheName()) && !(key instanceof GridCacheInternal)) {
+        if (!U.hasNearCache(node, cacheName()) && !(key() instanceof GridCacheInternal)) {
             if (log.isDebugEnabled())
                 log.debug("Ignoring near reader because near cache is disabled: " + nodeId);
 
@@ -370,7 +376,7 @@ public class GridDhtCacheEntry<K, V> extends GridDistributedCacheEntry<K, V> {
         if (U.nodeIds(cctx.affinity().nodes(partition())).contains(nodeId)) {
             if (log.isDebugEnabled())
                 log.debug("Ignoring near reader because remote node is affinity node [locNodeId=" + cctx.localNodeId()
-                    + ", rmtNodeId=" + nodeId + ", key=" + key + ']');
+                    + ", rmtNodeId=" + nodeId + ", key=" + key() + ']');
 
             return null;
         }
@@ -536,7 +542,7 @@ public class GridDhtCacheEntry<K, V> extends GridDistributedCacheEntry<K, V> {
         }
         finally {
             if (rmv)
-                cctx.cache().removeIfObsolete(key); // Clear cache.
+                cctx.cache().removeIfObsolete(key()); // Clear cache.
         }
     }
 
@@ -608,9 +614,9 @@ public class GridDhtCacheEntry<K, V> extends GridDistributedCacheEntry<K, V> {
         GridCacheProjectionImpl<K, V> prjPerCall = nearCtx.projectionPerCall();
 
         if (prjPerCall != null && prjAware)
-            return new GridPartitionedCacheEntryImpl<>(prjPerCall, nearCtx, key, this);
+            return new GridPartitionedCacheEntryImpl<>(prjPerCall, nearCtx, key(), this);
 
-        return new GridPartitionedCacheEntryImpl<>(null, nearCtx, key, this);
+        return new GridPartitionedCacheEntryImpl<>(null, nearCtx, key(), this);
     }
 
     /**
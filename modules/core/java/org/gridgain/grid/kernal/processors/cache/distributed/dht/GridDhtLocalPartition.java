@@ -51,6 +51,12 @@ public class GridDhtLocalPartition<K, V> implements Comparable<GridDhtLocalParti
     private static final int MAX_DELETE_QUEUE_SIZE = Integer.getInteger(GG_ATOMIC_CACHE_DELETE_HISTORY_SIZE,
         1_000_000);
 
+    /** Maximum size for update history or {@code null} if not set explicitly. */
+    private static final Integer MAX_HISTORY_SIZE = Integer.getInteger(GG_DHT_PARTITION_HISTORY_SIZE);
+
+    /** Maximum size for update history if not set explicitly and partition snapshots are enabled. */
+    private static final int DFLT_SNAPSHOT_HISTORY_SIZE = 1_000_000;
+
     /** Static logger to avoid re-creation. */
     private static final AtomicReference<GridLogger> logRef = new AtomicReference<>();
 
@@ -91,6 +97,31 @@ public class GridDhtLocalPartition<K, V> implements Comparable<GridDhtLocalParti
     /** Remove queue. */
     private GridCircularBuffer<T2<K, GridCacheVersion>> rmvQueue;
 
+    /** Update counter. */
+    private final AtomicLong updCntr = new AtomicLong();
+
+    /** Update history ring (updated key and version of the update), {@code null} if disabled. */
+    @GridToStringExclude
+    private final AtomicReferenceArray<T2<K, GridCacheVersion>> hist;
+
+    /** Index of the next update history slot. */
+    private final AtomicLong histIdx = new AtomicLong();
+
+    /**
+     * History is complete only for updates with version topology greater than this one. Moved
+     * forward when partition gets owned and whenever an update falls out of the history.
+     */
+    private final GridAtomicLong histTopVer = new GridAtomicLong(Long.MAX_VALUE);
+
+    /** Last topology version on which this partition was owned by local node. */
+    private volatile long ownTopVer;
+
+    /** Whether entries of renting partition are being cleared, guarded by {@code rentMux}. */
+    private boolean clearing;
+
+    /** Mutex to decide between clearing renting partition and cancelling rent. */
+    private final Object rentMux = new Object();
+
     /**
      * @param cctx Context.
      * @param id Partition ID.
@@ -116,6 +147,14 @@ public class GridDhtLocalPartition<K, V> implements Comparable<GridDhtLocalParti
         int delQueueSize = Math.max(MAX_DELETE_QUEUE_SIZE / cctx.affinity().partitions(), 100);
 
         rmvQueue = new GridCircularBuffer<>(U.ceilPow2(delQueueSize));
+
+        // Snapshots are loaded incrementally only if peers remember updates made while node was down.
+        int histSize = MAX_HISTORY_SIZE != null ? MAX_HISTORY_SIZE :
+            cctx.config().getSnapshotPath() != null ? DFLT_SNAPSHOT_HISTORY_SIZE : 0;
+
+        hist = histSize > 0 ?
+            new AtomicReferenceArray<T2<K, GridCacheVersion>>(
+                U.ceilPow2(Math.max(histSize / cctx.affinity().partitions(), 100))) : null;
     }
 
     /**
@@ -247,6 +286,99 @@ public class GridDhtLocalPartition<K, V> implements Comparable<GridDhtLocalParti
         }
     }
 
+    /**
+     * Records update of given key in this partition. Called by entries outside of
+     * entry synchronization on every committed update, both on primary and backup
+     * nodes. Never blocks: the oldest history item is simply overwritten.
+     *
+     * @param key Updated key.
+     * @param ver Version of the update.
+     */
+    public void onUpdated(K key, GridCacheVersion ver) {
+        updCntr.incrementAndGet();
+
+        if (hist == null || ver == null)
+            return;
+
+        T2<K, GridCacheVersion> item = new T2<>(key, ver);
+
+        int idx = (int)(histIdx.getAndIncrement() & (hist.length() - 1));
+
+        while (true) {
+            T2<K, GridCacheVersion> evicted = hist.get(idx);
+
+            // Mark history as truncated before evicted item becomes invisible to readers.
+            if (evicted != null)
+                histTopVer.setIfGreater(evicted.get2().topologyVersion());
+
+            if (hist.compareAndSet(idx, evicted, item))
+                break;
+        }
+    }
+
+    /**
+     * @return Number of updates applied to this partition since it was created.
+     */
+    public long updateCounter() {
+        return updCntr.get();
+    }
+
+    /**
+     * Gets keys updated in this partition on topology versions greater than or equal to
+     * the given one, mapped to the version of their latest update. Returns {@code null}
+     * if history does not go that far back (it was truncated, partition was not owned at
+     * that time or history is disabled), in which case the whole partition has to be
+     * transferred.
+     *
+     * @param topVer Topology version to get updates from.
+     * @return Updated keys or {@code null} if history is not available.
+     */
+    @Nullable public Map<K, GridCacheVersion> historySince(long topVer) {
+        if (hist == null || state() != OWNING)
+            return null;
+
+        int verTopVer = cctx.versions().next(topVer).topologyVersion();
+
+        if (verTopVer <= histTopVer.get())
+            return null;
+
+        Map<K, GridCacheVersion> keys = new HashMap<>();
+
+        for (int i = 0; i < hist.length(); i++) {
+            T2<K, GridCacheVersion> t = hist.get(i);
+
+            if (t != null && t.get2().topologyVersion() >= verTopVer) {
+                GridCacheVersion ver = keys.get(t.get1());
+
+                if (ver == null || ver.isLess(t.get2()))
+                    keys.put(t.get1(), t.get2());
+            }
+        }
+
+        // History could have been truncated while we were iterating.
+        return verTopVer > histTopVer.get() ? keys : null;
+    }
+
+    /**
+     * @return Last topology version on which this partition was owned by
+     *      local node or {@code 0} if it has never been owned.
+     */
+    public long ownTopologyVersion() {
+        return ownTopVer;
+    }
+
+    /**
+     * Sets last topology version on which this partition was owned by local node.
+     * Non-zero value for a {@link GridDhtPartitionState#MOVING} partition means that
+     * partition holds data which was complete as of that version, so only the
+     * updates made since then need to be preloaded.
+     *
+     * @param topVer Topology version.
+     */
+    public void ownTopologyVersion(long topVer) {
+        ownTopVer = topVer;
+    }
+
     /**
      * Locks partition.
      */
@@ -381,6 +513,14 @@ public class GridDhtLocalPartition<K, V> implements Comparable<GridDhtLocalParti
                 // No need to keep history any more.
                 evictHist = null;
 
+                // Updates history is complete only from this point on.
+                long topVer = cctx.discovery().topologyVersion();
+
+                if (hist != null)
+                    histTopVer.set(cctx.versions().next(topVer).topologyVersion());
+
+                ownTopVer = topVer;
+
                 return true;
             }
         }
@@ -414,6 +554,36 @@ public class GridDhtLocalPartition<K, V> implements Comparable<GridDhtLocalParti
         return rent;
     }
 
+    /**
+     * Moves renting partition back to {@link GridDhtPartitionState#MOVING} state if its
+     * entries have not started being cleared yet. Such partition keeps its data and last
+     * owned topology version, so it can be preloaded from update history of the owners.
+     *
+     * @return {@code True} if partition was moved back to MOVING state.
+     */
+    boolean cancelRent() {
+        synchronized (rentMux) {
+            if (clearing)
+                return false;
+
+            while (true) {
+                int reservations = state.getStamp();
+
+                if (state.getReference() != RENTING)
+                    return false;
+
+                if (state.compareAndSet(RENTING, MOVING, reservations, reservations)) {
+                    if (log.isDebugEnabled())
+                        log.debug("Cancelled partition rent: " + this);
+
+                    evictHist = new HashMap<>();
+
+                    return true;
+                }
+            }
+        }
+    }
+
     /**
      * @param updateSeq Update sequence.
      * @return Future for evict attempt.
@@ -444,8 +614,16 @@ public class GridDhtLocalPartition<K, V> implements Comparable<GridDhtLocalParti
      * @return {@code True} if entry has been transitioned to state EVICTED.
      */
     private boolean tryEvict(boolean updateSeq) {
+        boolean clear = false;
+
+        // Clear outside of the mutex, as entries are locked while clearing.
+        synchronized (rentMux) {
+            if (state.getReference() == RENTING && state.getStamp() == 0)
+                clear = clearing = true;
+        }
+
         // Attempt to evict partition entries from cache.
-        if (state.getReference() == RENTING && state.getStamp() == 0)
+        if (clear)
             clearAll();
 
         if (map.isEmpty() && state.compareAndSet(RENTING, EVICTED, 0, 0)) {
@@ -110,10 +110,12 @@ class GridDhtPartitionTopologyImpl<K, V> implements GridDhtPartitionTopology<K,
     /**
      * Waits for renting partitions.
      *
+     * @param topVer Topology version for which renting partitions which belong to local node again
+     *      should be kept, or {@code -1} to wait for all renting partitions.
      * @return {@code True} if mapping was changed.
      * @throws GridException If failed.
      */
-    private boolean waitForRent() throws GridException {
+    private boolean waitForRent(long topVer) throws GridException {
         boolean changed = false;
 
         // Synchronously wait for all renting partitions to complete.
@@ -122,6 +124,17 @@ class GridDhtPartitionTopologyImpl<K, V> implements GridDhtPartitionTopology<K,
 
             GridDhtPartitionState state = p.state();
 
+            // Partition belongs to local node again and still has its data, so keep it
+            // as MOVING instead of re-creating it empty.
+            if (state == RENTING && topVer > 0 && cctx.affinity().localNode(p.id(), topVer) && p.cancelRent()) {
+                if (log.isDebugEnabled())
+                    log.debug("Kept renting partition which belongs to local node again: " + p);
+
+                changed = true;
+
+                continue;
+            }
+
             if (state == RENTING || state == EVICTED) {
                 if (log.isDebugEnabled())
                     log.debug("Waiting for renting partition: " + p);
@@ -201,7 +214,7 @@ class GridDhtPartitionTopologyImpl<K, V> implements GridDhtPartitionTopology<K,
 
     /** {@inheritDoc} */
     @Override public void beforeExchange(GridDhtPartitionExchangeId exchId) throws GridException {
-        waitForRent();
+        waitForRent(exchId.topologyVersion());
 
         GridNode loc = cctx.localNode();
 
@@ -360,12 +373,12 @@ class GridDhtPartitionTopologyImpl<K, V> implements GridDhtPartitionTopology<K,
         }
 
         // Wait for evictions.
-        waitForRent();
+        waitForRent(-1);
     }
 
     /** {@inheritDoc} */
     @Override public boolean afterExchange(GridDhtPartitionExchangeId exchId) throws GridException {
-        boolean changed = waitForRent();
+        boolean changed = waitForRent(-1);
 
         GridNode loc = cctx.localNode();
 
@@ -398,7 +411,10 @@ class GridDhtPartitionTopologyImpl<K, V> implements GridDhtPartitionTopology<K,
 
                     GridDhtPartitionState state = locPart.state();
 
-                    if (state == MOVING) {
+                    // Exchange is complete, so owned partition is consistent as of this version.
+                    if (state == OWNING)
+                        locPart.ownTopologyVersion(topVer);
+                    else if (state == MOVING) {
                         if (cctx.preloadEnabled()) {
                             Collection<GridNode> owners = owners(p);
 
@@ -108,11 +108,26 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
 
     /** {@inheritDoc} */
     @Override protected void init() {
+        // Use compact entries if cache is configured to save memory on serialized values.
+        final boolean compact = !ctx.config().isStoreValueBytes();
+
         map.setEntryFactory(new GridCacheMapEntryFactory<K, V>() {
             /** {@inheritDoc} */
             @Override public GridCacheMapEntry<K, V> create(GridCacheContext<K, V> ctx, long topVer, K key, int hash,
                 V val, GridCacheMapEntry<K, V> next, long ttl, int hdrId) {
-                return new GridDhtAtomicCacheEntry<>(ctx, topVer, key, hash, val, next, ttl, hdrId);
+                if (!compact)
+                    return new GridDhtAtomicCacheEntry<>(ctx, topVer, key, hash, val, next, ttl, hdrId);
+
+                if (key instanceof Long)
+                    return new GridDhtAtomicLongKeyCacheEntry<>(ctx, topVer, key, hash, val, next, ttl, hdrId);
+
+                if (key instanceof Integer)
+                    return new GridDhtAtomicIntKeyCacheEntry<>(ctx, topVer, key, hash, val, next, ttl, hdrId);
+
+                if (key instanceof String)
+                    return new GridDhtAtomicStringKeyCacheEntry<>(ctx, topVer, key, hash, val, next, ttl, hdrId);
+
+                return new GridDhtAtomicCompactCacheEntry<>(ctx, topVer, key, hash, val, next, ttl, hdrId);
             }
         });
 
@@ -54,16 +54,16 @@ public class GridDhtAtomicCacheEntry<K, V> extends GridDhtCacheEntry<K, V> {
         GridCacheProjectionImpl<K, V> prjPerCall = cctx.projectionPerCall();
 
         if (prjPerCall != null && prjAware)
-            return new GridPartitionedCacheEntryImpl<>(prjPerCall, cctx, key, this);
+            return new GridPartitionedCacheEntryImpl<>(prjPerCall, cctx, key(), this);
 
-        return new GridPartitionedCacheEntryImpl<>(null, cctx, key, this);
+        return new GridPartitionedCacheEntryImpl<>(null, cctx, key(), this);
     }
 
     /** {@inheritDoc} */
     @Override public GridCacheEntry<K, V> wrapFilterLocked() throws GridException {
         assert Thread.holdsLock(this);
 
-        return new GridCacheFilterEvaluationEntry<>(key, rawGetOrUnmarshal(), this);
+        return new GridCacheFilterEvaluationEntry<>(key(), rawGetOrUnmarshal(), this);
     }
 
     /** {@inheritDoc} */
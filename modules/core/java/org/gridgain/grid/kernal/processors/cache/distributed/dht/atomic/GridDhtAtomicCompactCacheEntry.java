@@ -0,0 +1,103 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.kernal.processors.cache.distributed.dht.atomic;
+
+import org.gridgain.grid.kernal.processors.cache.*;
+import org.gridgain.grid.util.typedef.internal.*;
+
+/**
+ * Compact DHT atomic cache entry, used when cache does not store value bytes.
+ * <p>
+ * Entry keeps plain versions in primitive fields instead of a separate {@link GridCacheVersion}
+ * object and does not keep serialized key. Extended versions (e.g. ones carrying DR version)
+ * are still kept as objects. Version object is created on every read, so compact entries
+ * trade some short-lived garbage for smaller heap footprint.
+ */
+public class GridDhtAtomicCompactCacheEntry<K, V> extends GridDhtAtomicCacheEntry<K, V> {
+    /** Version topology version. Set from constructor, so must not have initializer. */
+    private int verTopVer;
+
+    /** Version node order and data center ID. */
+    private int verNodeOrderDrId;
+
+    /** Version global time. */
+    private long verGlobalTime;
+
+    /** Version order. */
+    private long verOrder;
+
+    /**
+     * @param ctx Cache context.
+     * @param topVer Topology version at the time of creation (if negative, then latest topology is assumed).
+     * @param key Cache key.
+     * @param hash Key hash value.
+     * @param val Entry value.
+     * @param next Next entry in the linked list.
+     * @param ttl Time to live.
+     * @param hdrId Header id.
+     */
+    public GridDhtAtomicCompactCacheEntry(GridCacheContext<K, V> ctx, long topVer, K key, int hash, V val,
+        GridCacheMapEntry<K, V> next, long ttl, int hdrId) {
+        super(ctx, topVer, key, hash, val, next, ttl, hdrId);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected GridCacheVersion ver() {
+        GridCacheVersion ver = super.ver();
+
+        if (ver != null)
+            return ver;
+
+        return new GridCacheVersion(verTopVer, verNodeOrderDrId, verGlobalTime, verOrder);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void ver(GridCacheVersion ver) {
+        assert ver != null;
+
+        if (ver.getClass() != GridCacheVersion.class) {
+            super.ver(ver);
+
+            return;
+        }
+
+        super.ver(null);
+
+        verTopVer = ver.topologyVersion();
+        verNodeOrderDrId = ver.nodeOrderAndDrIdRaw();
+        verGlobalTime = ver.globalTime();
+        verOrder = ver.order();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected boolean isStoreKeyBytes() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized String toString() {
+        return S.toString(GridDhtAtomicCompactCacheEntry.class, this, "key", key(), "ver", ver(),
+            "super", super.toString());
+    }
+}
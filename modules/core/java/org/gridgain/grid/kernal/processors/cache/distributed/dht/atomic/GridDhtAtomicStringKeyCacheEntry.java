@@ -0,0 +1,104 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.kernal.processors.cache.distributed.dht.atomic;
+
+import org.gridgain.grid.kernal.processors.cache.*;
+
+import java.nio.charset.*;
+
+/**
+ * Compact DHT atomic cache entry for {@link String} keys. Keys which consist of
+ * ISO-8859-1 characters only are kept as byte arrays with one byte per character.
+ */
+public class GridDhtAtomicStringKeyCacheEntry<K, V> extends GridDhtAtomicCompactCacheEntry<K, V> {
+    /** ISO-8859-1 charset. */
+    private static final Charset LATIN1 = Charset.forName("ISO-8859-1");
+
+    /**
+     * Key characters, {@code null} if key has other characters and is kept as is.
+     * Set from constructor, so must not have initializer.
+     */
+    private byte[] latin1Key;
+
+    /**
+     * @param ctx Cache context.
+     * @param topVer Topology version at the time of creation (if negative, then latest topology is assumed).
+     * @param key Cache key.
+     * @param hash Key hash value.
+     * @param val Entry value.
+     * @param next Next entry in the linked list.
+     * @param ttl Time to live.
+     * @param hdrId Header id.
+     */
+    public GridDhtAtomicStringKeyCacheEntry(GridCacheContext<K, V> ctx, long topVer, K key, int hash, V val,
+        GridCacheMapEntry<K, V> next, long ttl, int hdrId) {
+        super(ctx, topVer, key, hash, val, next, ttl, hdrId);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void key(K key) {
+        String s = (String)key;
+
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0xFF) {
+                super.key(key);
+
+                return;
+            }
+        }
+
+        latin1Key = s.getBytes(LATIN1);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected boolean keyEquals(Object key) {
+        byte[] k = latin1Key;
+
+        if (k == null)
+            return super.keyEquals(key);
+
+        if (!(key instanceof String))
+            return false;
+
+        String s = (String)key;
+
+        if (s.length() != k.length)
+            return false;
+
+        for (int i = 0; i < k.length; i++) {
+            if (s.charAt(i) != (char)(k[i] & 0xFF))
+                return false;
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override public K key() {
+        byte[] k = latin1Key;
+
+        return k != null ? (K)new String(k, LATIN1) : super.key();
+    }
+}
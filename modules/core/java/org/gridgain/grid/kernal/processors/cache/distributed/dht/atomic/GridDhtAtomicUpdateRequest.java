@@ -27,6 +27,7 @@ import org.gridgain.grid.*;
 import org.gridgain.grid.cache.*;
 import org.gridgain.grid.kernal.*;
 import org.gridgain.grid.kernal.processors.cache.*;
+import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.gridgain.grid.util.*;
 import org.gridgain.grid.util.direct.*;
@@ -188,6 +189,11 @@ public class GridDhtAtomicUpdateRequest<K, V> extends GridCacheMessage<K, V> imp
         return CACHE_MSG_IDX;
     }
 
+    /** {@inheritDoc} */
+    @Nullable @Override public K stripeKey() {
+        return F.first(keys);
+    }
+
     /**
      * @return Node ID.
      */
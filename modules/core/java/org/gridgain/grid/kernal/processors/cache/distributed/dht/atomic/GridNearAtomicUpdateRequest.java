@@ -28,6 +28,7 @@ import org.gridgain.grid.cache.*;
 import org.gridgain.grid.kernal.*;
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.lang.*;
+import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.gridgain.grid.util.*;
 import org.gridgain.grid.util.direct.*;
@@ -166,6 +167,11 @@ public class GridNearAtomicUpdateRequest<K, V> extends GridCacheMessage<K, V> im
         return CACHE_MSG_IDX;
     }
 
+    /** {@inheritDoc} */
+    @Nullable @Override public K stripeKey() {
+        return F.first(keys);
+    }
+
     /**
      * @return Mapped node ID.
      */
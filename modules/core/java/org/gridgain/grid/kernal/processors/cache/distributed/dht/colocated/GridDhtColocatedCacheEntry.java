@@ -53,9 +53,9 @@ public class GridDhtColocatedCacheEntry<K, V> extends GridDhtCacheEntry<K, V> {
         GridCacheProjectionImpl<K, V> prjPerCall = cctx.projectionPerCall();
 
         if (prjPerCall != null && prjAware)
-            return new GridPartitionedCacheEntryImpl<>(prjPerCall, cctx, key, this);
+            return new GridPartitionedCacheEntryImpl<>(prjPerCall, cctx, key(), this);
 
-        return new GridDhtCacheEntryImpl<>(null, cctx, key, this);
+        return new GridDhtCacheEntryImpl<>(null, cctx, key(), this);
     }
 
     /** {@inheritDoc} */
@@ -29,6 +29,7 @@ import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.util.direct.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.gridgain.grid.util.tostring.*;
+import org.jetbrains.annotations.*;
 
 import java.io.*;
 import java.nio.*;
@@ -62,6 +63,11 @@ public class GridDhtPartitionDemandMessage<K, V> extends GridCacheMessage<K, V>
     /** Topology version. */
     private long topVer;
 
+    /** Partitions to preload from update history mapped to topology version to get updates from. */
+    @GridToStringInclude
+    @GridDirectMap(keyType = int.class, valueType = long.class)
+    private Map<Integer, Long> histParts;
+
     /**
      * @param updateSeq Update sequence for this node.
      * @param topVer Topology version.
@@ -83,6 +89,7 @@ public class GridDhtPartitionDemandMessage<K, V> extends GridCacheMessage<K, V>
         timeout = cp.timeout;
         workerId = cp.workerId;
         topVer = cp.topVer;
+        histParts = cp.histParts;
     }
 
     /**
@@ -107,6 +114,31 @@ public class GridDhtPartitionDemandMessage<K, V> extends GridCacheMessage<K, V>
         parts.add(p);
     }
 
+    /**
+     * Adds partition to be preloaded from update history of supplier, i.e. only
+     * entries updated on given topology version or later will be sent.
+     *
+     * @param p Partition.
+     * @param histTopVer Topology version to get updates from.
+     */
+    void addPartition(int p, long histTopVer) {
+        assert histTopVer > 0;
+
+        addPartition(p);
+
+        if (histParts == null)
+            histParts = new HashMap<>();
+
+        histParts.put(p, histTopVer);
+    }
+
+    /**
+     * @param p Partition.
+     * @return Topology version to get updates from or {@code null} if whole partition is demanded.
+     */
+    @Nullable Long historyTopologyVersion(int p) {
+        return histParts == null ? null : histParts.get(p);
+    }
 
     /**
      * @return Partition.
@@ -210,6 +242,7 @@ public class GridDhtPartitionDemandMessage<K, V> extends GridCacheMessage<K, V>
         _clone.timeout = timeout;
         _clone.workerId = workerId;
         _clone.topVer = topVer;
+        _clone.histParts = histParts;
     }
 
     /** {@inheritDoc} */
@@ -285,6 +318,44 @@ public class GridDhtPartitionDemandMessage<K, V> extends GridCacheMessage<K, V>
 
                 commState.idx++;
 
+            case 8:
+                if (histParts != null) {
+                    if (commState.it == null) {
+                        if (!commState.putInt(histParts.size()))
+                            return false;
+
+                        commState.it = histParts.entrySet().iterator();
+                    }
+
+                    while (commState.it.hasNext() || commState.cur != NULL) {
+                        if (commState.cur == NULL)
+                            commState.cur = commState.it.next();
+
+                        Map.Entry<Integer, Long> e = (Map.Entry<Integer, Long>)commState.cur;
+
+                        if (!commState.keyDone) {
+                            if (!commState.putInt(e.getKey()))
+                                return false;
+
+                            commState.keyDone = true;
+                        }
+
+                        if (!commState.putLong(e.getValue()))
+                            return false;
+
+                        commState.keyDone = false;
+
+                        commState.cur = NULL;
+                    }
+
+                    commState.it = null;
+                } else {
+                    if (!commState.putInt(-1))
+                        return false;
+                }
+
+                commState.idx++;
+
         }
 
         return true;
@@ -370,6 +441,48 @@ public class GridDhtPartitionDemandMessage<K, V> extends GridCacheMessage<K, V>
 
                 commState.idx++;
 
+            case 8:
+                if (commState.readSize == -1) {
+                    if (buf.remaining() < 4)
+                        return false;
+
+                    commState.readSize = commState.getInt();
+                }
+
+                if (commState.readSize >= 0) {
+                    if (histParts == null)
+                        histParts = new HashMap<>(commState.readSize);
+
+                    for (int i = commState.readItems; i < commState.readSize; i++) {
+                        if (!commState.keyDone) {
+                            if (buf.remaining() < 4)
+                                return false;
+
+                            int _val = commState.getInt();
+
+                            commState.cur = _val;
+                            commState.keyDone = true;
+                        }
+
+                        if (buf.remaining() < 8)
+                            return false;
+
+                        long _val = commState.getLong();
+
+                        histParts.put((Integer)commState.cur, _val);
+
+                        commState.keyDone = false;
+
+                        commState.readItems++;
+                    }
+                }
+
+                commState.readSize = -1;
+                commState.readItems = 0;
+                commState.cur = null;
+
+                commState.idx++;
+
         }
 
         return true;
@@ -110,6 +110,9 @@ public class GridDhtPartitionDemandPool<K, V> {
     private AtomicReference<GridDhtPartitionsExchangeFuture<K, V>> lastExchangeFut =
         new AtomicReference<>();
 
+    /** Partition snapshots restore future, {@code null} if snapshots have not been restored. */
+    private volatile GridFuture<?> restoreFut;
+
     /**
      * @param cctx Cache context.
      * @param busyLock Shutdown lock.
@@ -715,6 +718,95 @@ public class GridDhtPartitionDemandPool<K, V> {
             return true;
         }
 
+        /**
+         * Preloads entry into partition which already holds data, so local entry is
+         * replaced only if it is older than preloaded one. Entries without value
+         * denote removals.
+         *
+         * @param pick Node picked for preloading.
+         * @param p Partition.
+         * @param entry Preloaded entry.
+         * @return {@code False} if partition has become invalid during preloading.
+         * @throws GridInterruptedException If interrupted.
+         */
+        private boolean preloadHistoryEntry(GridNode pick, int p, GridCacheEntryInfo<K, V> entry)
+            throws GridException, GridInterruptedException {
+            try {
+                GridCacheEntryEx<K, V> cached = cctx.dht().entryEx(entry.key());
+
+                // Make sure that swapped out value takes part in comparison.
+                cached.unswap(true);
+
+                if (!cached.isNew() && !cached.version().isLess(entry.version())) {
+                    if (log.isDebugEnabled())
+                        log.debug("Local entry is not older than preloaded one (will ignore) [key=" + entry.key() +
+                            ", part=" + p + ']');
+
+                    return true;
+                }
+
+                if (cached.clear(cctx.versions().next(), cctx.isSwapOrOffheapEnabled(), true, null))
+                    cctx.dht().removeIfObsolete(entry.key());
+                else {
+                    if (log.isDebugEnabled())
+                        log.debug("Failed to clear stale entry as it is in use (will ignore) [key=" + entry.key() +
+                            ", part=" + p + ']');
+
+                    return true;
+                }
+            }
+            catch (GridCacheEntryRemovedException ignored) {
+                if (log.isDebugEnabled())
+                    log.debug("Entry has been concurrently removed while preloading [key=" + entry.key() +
+                        ", part=" + p + ']');
+            }
+            catch (GridDhtInvalidPartitionException ignored) {
+                if (log.isDebugEnabled())
+                    log.debug("Partition became invalid during preloading (will ignore): " + p);
+
+                return false;
+            }
+
+            return (entry.value() == null && entry.valueBytes() == null) || preloadEntry(pick, p, entry);
+        }
+
+        /**
+         * Removes entries left from previous data of partition which were not sent by supplier
+         * and were not updated since given topology version.
+         *
+         * @param part Partition.
+         * @param rcvd Keys received from supplier.
+         * @param topVer Topology version.
+         * @throws GridException If failed.
+         */
+        private void clearStale(GridDhtLocalPartition<K, V> part, Collection<K> rcvd, long topVer)
+            throws GridException {
+            int staleTopVer = cctx.versions().next(topVer).topologyVersion();
+
+            int cnt = 0;
+
+            for (GridDhtCacheEntry<K, V> cached : part.entries()) {
+                if (rcvd.contains(cached.key()))
+                    continue;
+
+                try {
+                    if (cached.version().topologyVersion() < staleTopVer &&
+                        cached.clear(cctx.versions().next(), cctx.isSwapOrOffheapEnabled(), true, null)) {
+                        cctx.dht().removeIfObsolete(cached.key());
+
+                        cnt++;
+                    }
+                }
+                catch (GridCacheEntryRemovedException ignored) {
+                    // No-op.
+                }
+            }
+
+            if (log.isDebugEnabled())
+                log.debug("Cleared stale entries after whole partition preload [part=" + part.id() +
+                    ", cnt=" + cnt + ']');
+        }
+
         /**
          * @param idx Unique index for this topic.
          * @return Topic for partition.
@@ -742,6 +834,9 @@ public class GridDhtPartitionDemandPool<K, V> {
 
             Set<Integer> missed = new HashSet<>();
 
+            // Keys received for partitions which hold data, but are preloaded as a whole.
+            Map<Integer, Collection<K>> rcvdKeys = new HashMap<>();
+
             // Get the same collection that will be sent in the message.
             Collection<Integer> remaining = d.partitions();
 
@@ -871,6 +966,18 @@ public class GridDhtPartitionDemandPool<K, V> {
                                     try {
                                         Collection<Integer> invalidParts = new GridLeanSet<>();
 
+                                        // Partition holds data which has to be brought up to date.
+                                        boolean hist = d.historyTopologyVersion(p) != null;
+
+                                        Collection<K> rcvd = null;
+
+                                        if (hist && !supply.history().contains(p)) {
+                                            rcvd = rcvdKeys.get(p);
+
+                                            if (rcvd == null)
+                                                rcvdKeys.put(p, rcvd = new HashSet<>());
+                                        }
+
                                         // Loop through all received entries and try to preload them.
                                         for (GridCacheEntryInfo<K, V> entry : e.getValue()) {
                                             if (!invalidParts.contains(p)) {
@@ -883,7 +990,11 @@ public class GridDhtPartitionDemandPool<K, V> {
                                                     continue;
                                                 }
 
-                                                if (!preloadEntry(node, p, entry)) {
+                                                if (rcvd != null)
+                                                    rcvd.add(entry.key());
+
+                                                if (!(hist ? preloadHistoryEntry(node, p, entry) :
+                                                    preloadEntry(node, p, entry))) {
                                                     invalidParts.add(p);
 
                                                     if (log.isDebugEnabled())
@@ -900,6 +1011,10 @@ public class GridDhtPartitionDemandPool<K, V> {
                                         if (last) {
                                             remaining.remove(p);
 
+                                            // Supplier had no history, so remove what it did not send.
+                                            if (rcvd != null && !invalidParts.contains(p))
+                                                clearStale(part, rcvdKeys.remove(p), topVer);
+
                                             top.own(part);
 
                                             if (log.isDebugEnabled())
@@ -1238,9 +1353,17 @@ public class GridDhtPartitionDemandPool<K, V> {
                                 log.debug("After waiting for exchange future [exchFut=" + exchFut + ", worker=" +
                                     this + ']');
 
-                            if (exchFut.exchangeId().nodeId().equals(cctx.localNodeId()))
+                            if (exchFut.exchangeId().nodeId().equals(cctx.localNodeId())) {
                                 lastRefresh.compareAndSet(-1, U.currentTimeMillis());
 
+                                GridDhtPartitionSnapshots<K, V> snapshots = cctx.dht().dhtPreloader().snapshots();
+
+                                // Load data saved before restart, so that only updates made
+                                // since then are preloaded from other nodes.
+                                if (snapshots != null && exchFut.exchangeId().isJoined())
+                                    restoreSnapshots(snapshots, exchFut);
+                            }
+
                             // Just pick first worker to do this, so we don't
                             // invoke topology callback more than once for the
                             // same event.
@@ -1262,6 +1385,16 @@ public class GridDhtPartitionDemandPool<K, V> {
                             }
                         }
 
+                        GridFuture<?> restoreFut0 = restoreFut;
+
+                        // Partitions will be assigned once snapshots are loaded.
+                        if (restoreFut0 != null && !restoreFut0.isDone()) {
+                            if (log.isDebugEnabled())
+                                log.debug("Skipping partition assignment until snapshots are loaded: " + exchFut);
+
+                            continue;
+                        }
+
                         // Don't delay for dummy reassigns to avoid infinite recursion.
                         if (delay == 0 || forcePreload)
                             assigns = assign(exchFut);
@@ -1283,6 +1416,32 @@ public class GridDhtPartitionDemandPool<K, V> {
             }
         }
 
+        /**
+         * Loads partition snapshots asynchronously, so that exchange worker is not blocked
+         * by disk reads, and forces preloading once they are loaded.
+         *
+         * @param snapshots Partition snapshots.
+         * @param exchFut Exchange future of local node join.
+         */
+        private void restoreSnapshots(final GridDhtPartitionSnapshots<K, V> snapshots,
+            final GridDhtPartitionsExchangeFuture<K, V> exchFut) {
+            final long topVer = exchFut.exchangeId().topologyVersion();
+
+            GridFuture<?> fut = cctx.closures().runLocalSafe(new GPR() {
+                @Override public void run() {
+                    snapshots.restore(topVer);
+                }
+            });
+
+            restoreFut = fut;
+
+            fut.listenAsync(new CI1<GridFuture<?>>() {
+                @Override public void apply(GridFuture<?> f) {
+                    addFuture(forcePreloadExchange(exchFut.discoveryEvent(), exchFut.exchangeId()));
+                }
+            });
+        }
+
         /**
          * @return {@code True} if another exchange future has been queued up.
          */
@@ -1342,7 +1501,13 @@ public class GridDhtPartitionDemandPool<K, V> {
                                 new GridDhtPartitionDemandMessage<K, V>(top.updateSequence(),
                                     exchFut.exchangeId().topologyVersion()));
 
-                        msg.addPartition(p);
+                        long ownTopVer = part.ownTopologyVersion();
+
+                        // Partition which holds data needs only updates made since it was last owned.
+                        if (ownTopVer > 0)
+                            msg.addPartition(p, ownTopVer);
+                        else
+                            msg.addPartition(p);
                     }
                 }
             }
@@ -0,0 +1,610 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+package org.gridgain.grid.kernal.processors.cache.distributed.dht.preloader;
+
+import org.gridgain.grid.*;
+import org.gridgain.grid.kernal.processors.cache.*;
+import org.gridgain.grid.kernal.processors.cache.distributed.dht.*;
+import org.gridgain.grid.logger.*;
+import org.gridgain.grid.thread.*;
+import org.gridgain.grid.util.lang.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.gridgain.grid.util.worker.*;
+import org.jetbrains.annotations.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
+
+import static org.gridgain.grid.kernal.processors.cache.distributed.dht.GridDhtPartitionState.*;
+import static org.gridgain.grid.kernal.processors.dr.GridDrType.*;
+
+/**
+ * Saves owned local partitions to snapshot files on local disk and loads them back
+ * when node restarts, so that only entries updated since snapshot was taken have to
+ * be preloaded from other nodes.
+ * <p>
+ * Each partition is saved to its own file, which is written sequentially to a
+ * temporary file and then atomically moved in place. File layout is:
+ * <ul>
+ * <li>Header: magic, format version, grid start time and topology version on which
+ *      partition was last owned.</li>
+ * <li>Records: key bytes, value flags, value bytes, version, TTL and expire time.</li>
+ * <li>End marker followed by CRC32 checksum of all preceding bytes.</li>
+ * </ul>
+ */
+class GridDhtPartitionSnapshots<K, V> {
+    /** Snapshot file magic. */
+    private static final int MAGIC = 0x47475053;
+
+    /** Snapshot format version. */
+    private static final int FORMAT_VER = 1;
+
+    /** Snapshot file extension. */
+    private static final String FILE_EXT = ".snp";
+
+    /** Temporary file extension. */
+    private static final String TMP_EXT = ".tmp";
+
+    /** I/O buffer size. */
+    private static final int BUF_SIZE = 64 * 1024;
+
+    /** Value flag for plain byte array values. */
+    private static final byte FLAG_BYTE_ARR = 1;
+
+    /** End of records marker. */
+    private static final int END_MARKER = -1;
+
+    /** Cache context. */
+    private final GridCacheContext<K, V> cctx;
+
+    /** Logger. */
+    private final GridLogger log;
+
+    /** Snapshot directory. */
+    private final File dir;
+
+    /** Snapshot worker. */
+    private SnapshotWorker worker;
+
+    /**
+     * @param cctx Cache context.
+     * @throws GridException If snapshot directory could not be created.
+     */
+    GridDhtPartitionSnapshots(GridCacheContext<K, V> cctx) throws GridException {
+        assert cctx != null;
+        assert cctx.config().getSnapshotPath() != null;
+
+        this.cctx = cctx;
+
+        log = cctx.logger(getClass());
+
+        File dir = new File(cctx.config().getSnapshotPath() + File.separator + cctx.namexx());
+
+        if (!dir.isAbsolute())
+            dir = new File(U.getGridGainHome(), dir.getPath());
+
+        if (!U.mkdirs(dir))
+            throw new GridException("Failed to create partition snapshot directory: " + dir.getAbsolutePath());
+
+        this.dir = dir;
+    }
+
+    /**
+     * Starts periodic snapshots.
+     */
+    void start() {
+        worker = new SnapshotWorker();
+
+        new GridThread(cctx.gridName(), "partition-snapshot-worker", worker).start();
+    }
+
+    /**
+     * Stops periodic snapshots and saves owned partitions for the last time.
+     */
+    void stop() {
+        U.cancel(worker);
+        U.join(worker, log);
+
+        worker = null;
+
+        if (log.isInfoEnabled())
+            log.info("Saving partition snapshots before stop: " + dir.getAbsolutePath());
+
+        snapshotAll();
+    }
+
+    /**
+     * Loads saved snapshots into local partitions. Must be called after partitions have been
+     * created for local node join and before they are assigned for preloading. Only partitions
+     * in {@link GridDhtPartitionState#MOVING} state are loaded. Called from a pool thread, since
+     * loading may take long time and must not block partition exchange.
+     *
+     * @param topVer Topology version of local node join.
+     */
+    void restore(long topVer) {
+        File[] files = snapshotFiles();
+
+        if (files == null || files.length == 0)
+            return;
+
+        GridDhtPartitionTopology<K, V> top = cctx.dht().topology();
+
+        long start = U.currentTimeMillis();
+
+        int parts = 0;
+        long cnt = 0;
+
+        for (File f : files) {
+            int p = partition(f);
+
+            if (p < 0)
+                continue;
+
+            GridDhtLocalPartition<K, V> part = top.localPartition(p, topVer, false);
+
+            if (part == null || part.state() != MOVING) {
+                if (log.isDebugEnabled())
+                    log.debug("Skipping partition snapshot (partition is not moving to local node) [part=" + p +
+                        ", locPart=" + part + ']');
+
+                continue;
+            }
+
+            try {
+                if (!verify(f)) {
+                    U.warn(log, "Partition snapshot is corrupted (will ignore): " + f.getAbsolutePath());
+
+                    continue;
+                }
+
+                long loaded = restore(part, f);
+
+                if (loaded >= 0) {
+                    parts++;
+                    cnt += loaded;
+                }
+            }
+            catch (IOException | GridException e) {
+                U.error(log, "Failed to load partition snapshot (partition will be fully preloaded): " +
+                    f.getAbsolutePath(), e);
+            }
+        }
+
+        if (log.isInfoEnabled())
+            log.info("Loaded partition snapshots [cache=" + cctx.name() + ", parts=" + parts + ", entries=" + cnt +
+                ", time=" + (U.currentTimeMillis() - start) + " ms]");
+    }
+
+    /**
+     * @param part Partition to load data into.
+     * @param f Snapshot file.
+     * @return Number of loaded entries or {@code -1} if snapshot could not be used.
+     * @throws IOException If failed to read snapshot.
+     * @throws GridException If failed to load entry.
+     */
+    @SuppressWarnings("unchecked")
+    private long restore(GridDhtLocalPartition<K, V> part, File f) throws IOException, GridException {
+        if (!part.reserve())
+            return -1;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(f), BUF_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VER) {
+                U.warn(log, "Unsupported partition snapshot format (will ignore): " + f.getAbsolutePath());
+
+                return -1;
+            }
+
+            long gridStartTime = in.readLong();
+            long ownTopVer = in.readLong();
+
+            ClassLoader ldr = cctx.deploy().globalLoader();
+
+            long now = U.currentTimeMillis();
+
+            long cnt = 0;
+
+            for (int keyLen = in.readInt(); keyLen != END_MARKER; keyLen = in.readInt()) {
+                byte[] keyBytes = new byte[keyLen];
+
+                in.readFully(keyBytes);
+
+                byte flags = in.readByte();
+
+                byte[] valBytes = new byte[in.readInt()];
+
+                in.readFully(valBytes);
+
+                GridCacheVersion ver = new GridCacheVersion(in.readInt(), in.readInt(), in.readLong(), in.readLong());
+
+                long ttl = in.readLong();
+                long expireTime = in.readLong();
+
+                if (expireTime != 0 && expireTime <= now)
+                    continue;
+
+                K key = cctx.marshaller().unmarshal(keyBytes, ldr);
+
+                boolean plain = (flags & FLAG_BYTE_ARR) != 0;
+
+                try {
+                    GridCacheEntryEx<K, V> cached = cctx.dht().entryEx(key);
+
+                    // Entries updated after node has joined are newer than snapshot.
+                    if (cached.initialValue(plain ? (V)valBytes : null, plain ? null : valBytes, ver, ttl, expireTime,
+                        true, DR_NONE)) {
+                        cctx.evicts().touch(cached);
+
+                        cnt++;
+                    }
+                }
+                catch (GridCacheEntryRemovedException ignored) {
+                    if (log.isDebugEnabled())
+                        log.debug("Entry has been concurrently removed while loading snapshot (will ignore): " + key);
+                }
+                catch (GridDhtInvalidPartitionException ignored) {
+                    if (log.isDebugEnabled())
+                        log.debug("Partition became invalid while loading snapshot (will ignore): " + part.id());
+
+                    return -1;
+                }
+            }
+
+            // If grid has been restarted since snapshot was taken, topology versions are not
+            // comparable anymore, so partition will be preloaded as a whole on top of loaded data.
+            part.ownTopologyVersion(gridStartTime == cctx.discovery().gridStartTime() ? ownTopVer : 1);
+
+            if (log.isDebugEnabled())
+                log.debug("Loaded partition snapshot [part=" + part.id() + ", entries=" + cnt + ", ownTopVer=" +
+                    part.ownTopologyVersion() + ']');
+
+            return cnt;
+        }
+        finally {
+            part.release();
+        }
+    }
+
+    /**
+     * Saves all owned local partitions and removes snapshots of partitions which are no longer owned.
+     */
+    private void snapshotAll() {
+        long start = U.currentTimeMillis();
+
+        Collection<Integer> saved = new HashSet<>();
+
+        for (GridDhtLocalPartition<K, V> part : cctx.dht().topology().currentLocalPartitions()) {
+            if (part.state() != OWNING)
+                continue;
+
+            try {
+                if (snapshot(part))
+                    saved.add(part.id());
+            }
+            catch (IOException | GridException e) {
+                U.error(log, "Failed to save partition snapshot: " + part.id(), e);
+            }
+        }
+
+        File[] files = snapshotFiles();
+
+        if (files != null) {
+            for (File f : files) {
+                if (!saved.contains(partition(f)) && !f.delete())
+                    U.warn(log, "Failed to delete stale partition snapshot: " + f.getAbsolutePath());
+            }
+        }
+
+        if (log.isDebugEnabled())
+            log.debug("Saved partition snapshots [cache=" + cctx.name() + ", parts=" + saved.size() +
+                ", time=" + (U.currentTimeMillis() - start) + " ms]");
+    }
+
+    /**
+     * @param part Partition to save.
+     * @return {@code True} if partition has been saved.
+     * @throws IOException If failed to write snapshot.
+     * @throws GridException If failed to marshal entry.
+     */
+    private boolean snapshot(GridDhtLocalPartition<K, V> part) throws IOException, GridException {
+        if (!part.reserve())
+            return false;
+
+        try {
+            // Concurrent updates are made on this or later topology version, so
+            // they will be preloaded after restart even if snapshot misses them.
+            long ownTopVer = part.ownTopologyVersion();
+
+            if (part.state() != OWNING || ownTopVer == 0)
+                return false;
+
+            UnswapListener<K, V> unswapLsnr = null;
+
+            // Entries which are unswapped after memory pass has passed them are no longer in
+            // swap when swap pass gets to them, so they are captured by listener instead.
+            if (cctx.isSwapOrOffheapEnabled()) {
+                unswapLsnr = new UnswapListener<>();
+
+                cctx.swap().addOffHeapListener(part.id(), unswapLsnr);
+                cctx.swap().addSwapListener(part.id(), unswapLsnr);
+            }
+
+            try {
+                return snapshot(part, ownTopVer, unswapLsnr);
+            }
+            finally {
+                if (unswapLsnr != null) {
+                    cctx.swap().removeOffHeapListener(part.id(), unswapLsnr);
+                    cctx.swap().removeSwapListener(part.id(), unswapLsnr);
+                }
+            }
+        }
+        finally {
+            part.release();
+        }
+    }
+
+    /**
+     * @param part Partition to save.
+     * @param ownTopVer Topology version on which partition was last owned.
+     * @param unswapLsnr Listener capturing entries unswapped during snapshot or {@code null} if swap is disabled.
+     * @return {@code True} if partition has been saved.
+     * @throws IOException If failed to write snapshot.
+     * @throws GridException If failed to marshal entry.
+     */
+    private boolean snapshot(GridDhtLocalPartition<K, V> part, long ownTopVer,
+        @Nullable UnswapListener<K, V> unswapLsnr) throws IOException, GridException {
+        File tmp = new File(dir, part.id() + TMP_EXT);
+
+        FileOutputStream fos = new FileOutputStream(tmp);
+
+        CRC32 crc = new CRC32();
+
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+            new BufferedOutputStream(fos, BUF_SIZE), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VER);
+            out.writeLong(cctx.discovery().gridStartTime());
+            out.writeLong(ownTopVer);
+
+            for (GridDhtCacheEntry<K, V> e : part.entries()) {
+                if (e.isInternal())
+                    continue;
+
+                GridCacheEntryInfo<K, V> info = e.info();
+
+                if (info == null || info.isNew() || info.isDeleted())
+                    continue;
+
+                boolean plain = false;
+
+                byte[] valBytes = info.valueBytes();
+
+                if (valBytes == null) {
+                    // Expired.
+                    if (info.value() == null)
+                        continue;
+
+                    plain = info.value() instanceof byte[];
+
+                    valBytes = plain ? (byte[])info.value() : CU.marshal(cctx, info.value());
+                }
+
+                byte[] keyBytes = info.keyBytes() != null ? info.keyBytes() : CU.marshal(cctx, info.key());
+
+                write(out, keyBytes, plain, valBytes, info.version(), info.ttl(), info.expireTime());
+            }
+
+            if (cctx.isSwapOrOffheapEnabled()) {
+                GridCloseableIterator<Map.Entry<byte[], GridCacheSwapEntry<V>>> iter =
+                    cctx.swap().iterator(part.id());
+
+                // Iterator may be null if space does not exist.
+                if (iter != null) {
+                    try {
+                        for (Map.Entry<byte[], GridCacheSwapEntry<V>> e : iter) {
+                            GridCacheSwapEntry<V> swapEntry = e.getValue();
+
+                            write(out, e.getKey(), swapEntry.valueIsByteArray(), swapEntry.valueBytes(),
+                                swapEntry.version(), swapEntry.ttl(), swapEntry.expireTime());
+                        }
+                    }
+                    finally {
+                        iter.close();
+                    }
+                }
+            }
+
+            if (unswapLsnr != null) {
+                for (Map.Entry<K, GridCacheEntryInfo<K, V>> e : unswapLsnr.entries()) {
+                    GridCacheEntryInfo<K, V> info = e.getValue();
+
+                    boolean plain = info.value() instanceof byte[];
+
+                    byte[] valBytes = plain ? (byte[])info.value() : info.valueBytes() != null ?
+                        info.valueBytes() : CU.marshal(cctx, info.value());
+
+                    byte[] keyBytes = info.keyBytes() != null ? info.keyBytes() : CU.marshal(cctx, e.getKey());
+
+                    write(out, keyBytes, plain, valBytes, info.version(), info.ttl(), info.expireTime());
+                }
+            }
+
+            out.writeInt(END_MARKER);
+
+            out.flush();
+
+            out.writeLong(crc.getValue());
+
+            out.flush();
+
+            fos.getFD().sync();
+        }
+
+        Files.move(tmp.toPath(), new File(dir, part.id() + FILE_EXT).toPath(),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return true;
+    }
+
+    /**
+     * @param out Output.
+     * @param keyBytes Key bytes.
+     * @param plain Whether value is plain byte array.
+     * @param valBytes Value bytes.
+     * @param ver Version.
+     * @param ttl Time to live.
+     * @param expireTime Expire time.
+     * @throws IOException If failed.
+     */
+    private void write(DataOutput out, byte[] keyBytes, boolean plain, byte[] valBytes, GridCacheVersion ver,
+        long ttl, long expireTime) throws IOException {
+        out.writeInt(keyBytes.length);
+        out.write(keyBytes);
+        out.writeByte(plain ? FLAG_BYTE_ARR : 0);
+        out.writeInt(valBytes.length);
+        out.write(valBytes);
+        out.writeInt(ver.topologyVersion());
+        out.writeInt(ver.nodeOrderAndDrIdRaw());
+        out.writeLong(ver.globalTime());
+        out.writeLong(ver.order());
+        out.writeLong(ttl);
+        out.writeLong(expireTime);
+    }
+
+    /**
+     * Checks snapshot file against its checksum.
+     *
+     * @param f Snapshot file.
+     * @return {@code True} if checksum matches.
+     * @throws IOException If failed to read file.
+     */
+    private boolean verify(File f) throws IOException {
+        long len = f.length() - 8;
+
+        if (len < 0)
+            return false;
+
+        CRC32 crc = new CRC32();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(f), BUF_SIZE))) {
+            byte[] buf = new byte[BUF_SIZE];
+
+            while (len > 0) {
+                int cnt = (int)Math.min(len, buf.length);
+
+                in.readFully(buf, 0, cnt);
+
+                crc.update(buf, 0, cnt);
+
+                len -= cnt;
+            }
+
+            return in.readLong() == crc.getValue();
+        }
+    }
+
+    /**
+     * @return Snapshot files or {@code null} if failed to list directory.
+     */
+    @Nullable private File[] snapshotFiles() {
+        return dir.listFiles(new FileFilter() {
+            @Override public boolean accept(File f) {
+                return f.isFile() && f.getName().endsWith(FILE_EXT);
+            }
+        });
+    }
+
+    /**
+     * @param f Snapshot file.
+     * @return Partition number or {@code -1} if file name is invalid.
+     */
+    private int partition(File f) {
+        String name = f.getName();
+
+        try {
+            return Integer.parseInt(name.substring(0, name.length() - FILE_EXT.length()));
+        }
+        catch (NumberFormatException ignored) {
+            return -1;
+        }
+    }
+
+    /**
+     * Captures entries unswapped while partition is being saved.
+     */
+    private static class UnswapListener<K, V> implements GridCacheSwapListener<K, V> {
+        /** Unswapped entries. */
+        private final Map<K, GridCacheEntryInfo<K, V>> entries = new ConcurrentHashMap<>();
+
+        /** {@inheritDoc} */
+        @Override public void onEntryUnswapped(int part, K key, byte[] keyBytes, V val, byte[] valBytes,
+            GridCacheVersion ver, long ttl, long expireTime) {
+            assert key != null;
+            assert val != null || valBytes != null;
+
+            GridCacheEntryInfo<K, V> info = new GridCacheEntryInfo<>();
+
+            info.keyBytes(keyBytes);
+            info.value(val);
+            info.valueBytes(valBytes);
+            info.ttl(ttl);
+            info.expireTime(expireTime);
+            info.version(ver);
+
+            entries.put(key, info);
+        }
+
+        /**
+         * @return Unswapped entries.
+         */
+        Set<Map.Entry<K, GridCacheEntryInfo<K, V>>> entries() {
+            return entries.entrySet();
+        }
+    }
+
+    /**
+     * Periodically saves owned partitions.
+     */
+    private class SnapshotWorker extends GridWorker {
+        /**
+         *
+         */
+        private SnapshotWorker() {
+            super(cctx.gridName(), "partition-snapshot-worker", log);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void body() throws InterruptedException, GridInterruptedException {
+            long freq = cctx.config().getSnapshotFrequency();
+
+            while (!isCancelled()) {
+                Thread.sleep(freq);
+
+                snapshotAll();
+            }
+        }
+    }
+}
@@ -56,6 +56,14 @@ public class GridDhtPartitionSupplyMessage<K, V> extends GridCacheMessage<K, V>
     @GridDirectCollection(int.class)
     private Set<Integer> missed;
 
+    /**
+     * Partitions which are sent from update history. Entries without value
+     * in such partitions denote removals.
+     */
+    @GridToStringInclude
+    @GridDirectCollection(int.class)
+    private Set<Integer> hist;
+
     /** Entries. */
     @GridDirectTransient
     private Map<Integer, Collection<GridCacheEntryInfo<K, V>>> infos =
@@ -173,6 +181,24 @@ public class GridDhtPartitionSupplyMessage<K, V> extends GridCacheMessage<K, V>
         return missed == null ? Collections.<Integer>emptySet() : missed;
     }
 
+    /**
+     * @param p Partition which is sent from update history.
+     */
+    void history(int p) {
+        if (hist == null)
+            hist = new HashSet<>();
+
+        if (hist.add(p))
+            msgSize += 4;
+    }
+
+    /**
+     * @return Partitions which are sent from update history.
+     */
+    Set<Integer> history() {
+        return hist == null ? Collections.<Integer>emptySet() : hist;
+    }
+
     /**
      * @return Entries.
      */
@@ -292,6 +318,7 @@ public class GridDhtPartitionSupplyMessage<K, V> extends GridCacheMessage<K, V>
         _clone.ack = ack;
         _clone.last = last;
         _clone.missed = missed;
+        _clone.hist = hist;
         _clone.infos = infos;
         _clone.infoBytesMap = infoBytesMap;
         _clone.infoBytes = infoBytes;
@@ -392,6 +419,33 @@ public class GridDhtPartitionSupplyMessage<K, V> extends GridCacheMessage<K, V>
 
                 commState.idx++;
 
+            case 8:
+                if (hist != null) {
+                    if (commState.it == null) {
+                        if (!commState.putInt(hist.size()))
+                            return false;
+
+                        commState.it = hist.iterator();
+                    }
+
+                    while (commState.it.hasNext() || commState.cur != NULL) {
+                        if (commState.cur == NULL)
+                            commState.cur = commState.it.next();
+
+                        if (!commState.putInt((int)commState.cur))
+                            return false;
+
+                        commState.cur = NULL;
+                    }
+
+                    commState.it = null;
+                } else {
+                    if (!commState.putInt(-1))
+                        return false;
+                }
+
+                commState.idx++;
+
         }
 
         return true;
@@ -498,6 +552,35 @@ public class GridDhtPartitionSupplyMessage<K, V> extends GridCacheMessage<K, V>
 
                 commState.idx++;
 
+            case 8:
+                if (commState.readSize == -1) {
+                    if (buf.remaining() < 4)
+                        return false;
+
+                    commState.readSize = commState.getInt();
+                }
+
+                if (commState.readSize >= 0) {
+                    if (hist == null)
+                        hist = new HashSet<>(commState.readSize);
+
+                    for (int i = commState.readItems; i < commState.readSize; i++) {
+                        if (buf.remaining() < 4)
+                            return false;
+
+                        int _val = commState.getInt();
+
+                        hist.add((Integer)_val);
+
+                        commState.readItems++;
+                    }
+                }
+
+                commState.readSize = -1;
+                commState.readItems = 0;
+
+                commState.idx++;
+
         }
 
         return true;
@@ -276,6 +276,85 @@ class GridDhtPartitionSupplyPool<K, V> {
                     SwapListener<K, V> swapLsnr = null;
 
                     try {
+                        Long histTopVer = d.historyTopologyVersion(part);
+
+                        Map<K, GridCacheVersion> histKeys = histTopVer != null ? loc.historySince(histTopVer) :
+                            null;
+
+                        if (histKeys != null) {
+                            if (log.isDebugEnabled())
+                                log.debug("Supplying partition from update history [part=" + part +
+                                    ", histTopVer=" + histTopVer + ", keys=" + histKeys.size() +
+                                    ", demander=" + msg.senderId() + ']');
+
+                            s.history(part);
+
+                            boolean partMissing = false;
+
+                            for (Map.Entry<K, GridCacheVersion> histEntry : histKeys.entrySet()) {
+                                if (!cctx.affinity().belongs(node, part)) {
+                                    // Demander no longer needs this partition, so we send '-1' partition and move on.
+                                    s.missed(part);
+
+                                    if (log.isDebugEnabled())
+                                        log.debug("Demanding node does not need requested partition [part=" + part +
+                                            ", nodeId=" + msg.senderId() + ']');
+
+                                    partMissing = true;
+
+                                    break;
+                                }
+
+                                if (s.messageSize() >= cctx.config().getPreloadBatchSize()) {
+                                    ack = true;
+
+                                    if (!reply(node, d, s)) {
+                                        nodeLeft = true;
+
+                                        return;
+                                    }
+
+                                    // Throttle preloading.
+                                    if (preloadThrottle > 0)
+                                        U.sleep(preloadThrottle);
+
+                                    s = new GridDhtPartitionSupplyMessage<>(d.workerId(), d.updateSequence());
+
+                                    s.history(part);
+                                }
+
+                                GridCacheEntryInfo<K, V> info = historyEntry(histEntry.getKey(),
+                                    histEntry.getValue());
+
+                                if (info == null)
+                                    continue;
+
+                                if ((info.value() == null && info.valueBytes() == null) ||
+                                    preloadPred == null || preloadPred.apply(info))
+                                    s.addEntry(part, info, cctx);
+                                else if (log.isDebugEnabled())
+                                    log.debug("Preload predicate evaluated to false (will not send cache entry): " +
+                                        info);
+                            }
+
+                            if (partMissing)
+                                continue;
+
+                            // Mark as last supply message.
+                            s.last(part);
+
+                            if (ack) {
+                                s.markAck();
+
+                                break; // Partition for loop.
+                            }
+
+                            continue;
+                        }
+                        else if (histTopVer != null && log.isDebugEnabled())
+                            log.debug("Update history is not available, will supply whole partition [part=" + part +
+                                ", histTopVer=" + histTopVer + ", demander=" + msg.senderId() + ']');
+
                         if (cctx.isSwapOrOffheapEnabled()) {
                             swapLsnr = new SwapListener<>();
 
@@ -497,6 +576,45 @@ class GridDhtPartitionSupplyPool<K, V> {
             }
         }
 
+        /**
+         * Gets current state of key updated in partition. Removed keys are
+         * returned as entries without value.
+         *
+         * @param key Key.
+         * @param ver Version of the latest recorded update of the key.
+         * @return Entry info or {@code null} if key should not be sent.
+         * @throws GridException If failed.
+         */
+        @Nullable private GridCacheEntryInfo<K, V> historyEntry(K key, GridCacheVersion ver) throws GridException {
+            if (key instanceof GridPartitionLockKey)
+                return null;
+
+            GridCacheEntryEx<K, V> e = cctx.dht().peekEx(key);
+
+            GridCacheEntryInfo<K, V> info = e != null ? e.info() : null;
+
+            if (info != null && !info.isNew())
+                return info;
+
+            GridCacheSwapEntry<V> swapEntry = cctx.isSwapOrOffheapEnabled() ? cctx.swap().read(key) : null;
+
+            info = new GridCacheEntryInfo<>();
+
+            info.key(key);
+
+            if (swapEntry != null) {
+                info.valueBytes(swapEntry.valueBytes());
+                info.ttl(swapEntry.ttl());
+                info.expireTime(swapEntry.expireTime());
+                info.version(swapEntry.version());
+            }
+            else
+                // Key is no longer in cache, so its latest update was a removal.
+                info.version(ver);
+
+            return info;
+        }
+
         /**
          * @param n Node.
          * @param d Demand message.
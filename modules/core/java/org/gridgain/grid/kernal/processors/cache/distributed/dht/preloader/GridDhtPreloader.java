@@ -73,6 +73,9 @@ public class GridDhtPreloader<K, V> extends GridCachePreloaderAdapter<K, V> {
     /** Partition demanders. */
     private GridDhtPartitionDemandPool<K, V> demandPool;
 
+    /** Partition snapshots, {@code null} if disabled. */
+    private GridDhtPartitionSnapshots<K, V> snapshots;
+
     /** Start future. */
     private final GridFutureAdapter<?> startFut;
 
@@ -189,7 +192,7 @@ public class GridDhtPreloader<K, V> extends GridCachePreloaderAdapter<K, V> {
     }
 
     /** {@inheritDoc} */
-    @Override public void start() {
+    @Override public void start() throws GridException {
         if (log.isDebugEnabled())
             log.debug("Starting DHT preloader...");
 
@@ -231,6 +234,9 @@ public class GridDhtPreloader<K, V> extends GridCachePreloaderAdapter<K, V> {
         supplyPool = new GridDhtPartitionSupplyPool<>(cctx, busyLock);
         demandPool = new GridDhtPartitionDemandPool<>(cctx, busyLock);
 
+        if (cctx.config().getSnapshotPath() != null && cctx.preloadEnabled())
+            snapshots = new GridDhtPartitionSnapshots<>(cctx);
+
         cctx.events().addListener(discoLsnr, EVT_NODE_JOINED, EVT_NODE_LEFT, EVT_NODE_FAILED);
     }
 
@@ -263,6 +269,9 @@ public class GridDhtPreloader<K, V> extends GridCachePreloaderAdapter<K, V> {
         supplyPool.start();
         demandPool.start(fut);
 
+        if (snapshots != null)
+            snapshots.start();
+
         // Allow discovery events to get processed.
         locExchFut.onDone();
 
@@ -353,6 +362,9 @@ public class GridDhtPreloader<K, V> extends GridCachePreloaderAdapter<K, V> {
         if (demandPool != null)
             demandPool.stop();
 
+        if (snapshots != null)
+            snapshots.stop();
+
         ResendTimeoutObject resendTimeoutObj = pendingResend.getAndSet(null);
 
         if (resendTimeoutObj != null)
@@ -362,6 +374,13 @@ public class GridDhtPreloader<K, V> extends GridCachePreloaderAdapter<K, V> {
         exchFuts = null;
     }
 
+    /**
+     * @return Partition snapshots or {@code null} if disabled.
+     */
+    @Nullable GridDhtPartitionSnapshots<K, V> snapshots() {
+        return snapshots;
+    }
+
     /**
      * @return Start future.
      */
@@ -120,7 +120,7 @@ public class GridNearCacheEntry<K, V> extends GridDistributedCacheEntry<K, V> {
      */
     public boolean initializeFromDht(long topVer) throws GridCacheEntryRemovedException {
         while (true) {
-            GridDhtCacheEntry<K, V> entry = cctx.near().dht().peekExx(key);
+            GridDhtCacheEntry<K, V> entry = cctx.near().dht().peekExx(key());
 
             if (entry != null) {
                 GridCacheEntryInfo<K, V> e = entry.info();
@@ -131,9 +131,9 @@ public class GridNearCacheEntry<K, V> extends GridDistributedCacheEntry<K, V> {
 
                         if (isNew()) {
                             // Version does not change for load ops.
-                            update(e.value(), e.valueBytes(), e.expireTime(), e.ttl(), e.isNew() ? ver : e.version());
+                            update(e.value(), e.valueBytes(), e.expireTime(), e.ttl(), e.isNew() ? ver() : e.version());
 
-                            recordNodeId(cctx.affinity().primary(key, topVer).id());
+                            recordNodeId(cctx.affinity().primary(key(), topVer).id());
 
                             dhtVer = e.isNew() || e.isDeleted() ? null : e.version();
 
@@ -183,7 +183,7 @@ public class GridNearCacheEntry<K, V> extends GridDistributedCacheEntry<K, V> {
             if (!F.eq(this.dhtVer, dhtVer)) {
                 value(val, valBytes);
 
-                this.ver = ver;
+                ver(ver);
                 this.dhtVer = dhtVer;
 
                 return true;
@@ -370,7 +370,7 @@ public class GridNearCacheEntry<K, V> extends GridDistributedCacheEntry<K, V> {
             }
 
             if (evt && cctx.events().isRecordable(EVT_CACHE_OBJECT_READ))
-                cctx.events().addEvent(partition(), key, tx, null, EVT_CACHE_OBJECT_READ,
+                cctx.events().addEvent(partition(), key(), tx, null, EVT_CACHE_OBJECT_READ,
                     val, val != null || valBytes != null, old, hasVal);
 
             return ret;
@@ -595,7 +595,7 @@ public class GridNearCacheEntry<K, V> extends GridDistributedCacheEntry<K, V> {
         if (prjAware)
             prjPerCall = cctx.projectionPerCall();
 
-        return new GridPartitionedCacheEntryImpl<>(prjPerCall, cctx, key, this);
+        return new GridPartitionedCacheEntryImpl<>(prjPerCall, cctx, key(), this);
     }
 
     /** {@inheritDoc} */
@@ -32,6 +32,7 @@ import org.gridgain.grid.util.direct.*;
 import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.gridgain.grid.util.tostring.*;
+import org.jetbrains.annotations.*;
 
 import java.io.*;
 import java.nio.*;
@@ -132,6 +133,11 @@ public class GridNearGetRequest<K, V> extends GridCacheMessage<K, V> implements
         return keys;
     }
 
+    /** {@inheritDoc} */
+    @Nullable @Override public K stripeKey() {
+        return keys != null ? F.firstKey(keys) : null;
+    }
+
     /**
      * @return Reload flag.
      */
@@ -74,7 +74,7 @@ public class GridCacheAttributesEntryExtras<K> extends GridCacheEntryExtrasAdapt
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
-        return ttl != 0 ? new GridCacheAttributesTtlEntryExtras<K>(attrData, ttl, expireTime) : this;
+        return ttl != 0 ? new GridCacheAttributesTtlEntryExtras<K>(attrData, ttl, expireTime, null) : this;
     }
 
     /** {@inheritDoc} */
@@ -92,7 +92,7 @@ public class GridCacheAttributesMvccEntryExtras<K> extends GridCacheEntryExtrasA
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
-        return ttl != 0 ? new GridCacheAttributesMvccTtlEntryExtras<>(attrData, mvcc, ttl, expireTime) : this;
+        return ttl != 0 ? new GridCacheAttributesMvccTtlEntryExtras<>(attrData, mvcc, ttl, expireTime, null) : this;
     }
 
     /** {@inheritDoc} */
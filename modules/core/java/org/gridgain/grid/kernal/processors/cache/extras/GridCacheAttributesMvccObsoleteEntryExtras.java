@@ -110,7 +110,7 @@ public class GridCacheAttributesMvccObsoleteEntryExtras<K> extends GridCacheEntr
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
         return ttl != 0 ? new GridCacheAttributesMvccObsoleteTtlEntryExtras<>(attrData, mvcc, obsoleteVer, ttl,
-            expireTime) : this;
+            expireTime, null) : this;
     }
 
     /** {@inheritDoc} */
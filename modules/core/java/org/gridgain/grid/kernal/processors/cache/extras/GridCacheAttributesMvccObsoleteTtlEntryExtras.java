@@ -25,6 +25,7 @@ package org.gridgain.grid.kernal.processors.cache.extras;
 
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.tostring.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.jetbrains.annotations.*;
 
@@ -47,6 +48,10 @@ public class GridCacheAttributesMvccObsoleteTtlEntryExtras<K> extends GridCacheE
     /** Expire time. */
     private long expireTime;
 
+    /** Timing wheel node of eagerly expired entry. */
+    @GridToStringExclude
+    private GridTimingWheel.Node<?> ttlNode;
+
     /**
      * Constructor.
      *
@@ -55,9 +60,10 @@ public class GridCacheAttributesMvccObsoleteTtlEntryExtras<K> extends GridCacheE
      * @param obsoleteVer Obsolete version.
      * @param ttl TTL.
      * @param expireTime Expire time.
+     * @param ttlNode Timing wheel node of eagerly expired entry.
      */
     public GridCacheAttributesMvccObsoleteTtlEntryExtras(GridLeanMap<String, Object> attrData, GridCacheMvcc<K> mvcc,
-        GridCacheVersion obsoleteVer, long ttl, long expireTime) {
+        GridCacheVersion obsoleteVer, long ttl, long expireTime, @Nullable GridTimingWheel.Node<?> ttlNode) {
         assert attrData != null;
         assert mvcc != null;
         assert obsoleteVer != null;
@@ -68,6 +74,7 @@ public class GridCacheAttributesMvccObsoleteTtlEntryExtras<K> extends GridCacheE
         this.obsoleteVer = obsoleteVer;
         this.ttl = ttl;
         this.expireTime = expireTime;
+        this.ttlNode = ttlNode;
     }
 
     /** {@inheritDoc} */
@@ -83,7 +90,7 @@ public class GridCacheAttributesMvccObsoleteTtlEntryExtras<K> extends GridCacheE
             return this;
         }
         else
-            return new GridCacheMvccObsoleteTtlEntryExtras<>(mvcc, obsoleteVer, ttl ,expireTime);
+            return new GridCacheMvccObsoleteTtlEntryExtras<>(mvcc, obsoleteVer, ttl ,expireTime, ttlNode);
     }
 
     /** {@inheritDoc} */
@@ -99,7 +106,7 @@ public class GridCacheAttributesMvccObsoleteTtlEntryExtras<K> extends GridCacheE
             return this;
         }
         else
-            return new GridCacheAttributesObsoleteTtlEntryExtras<>(attrData, obsoleteVer, ttl, expireTime);
+            return new GridCacheAttributesObsoleteTtlEntryExtras<>(attrData, obsoleteVer, ttl, expireTime, ttlNode);
     }
 
     /** {@inheritDoc} */
@@ -115,7 +122,7 @@ public class GridCacheAttributesMvccObsoleteTtlEntryExtras<K> extends GridCacheE
             return this;
         }
         else
-            return new GridCacheAttributesMvccTtlEntryExtras<>(attrData, mvcc, ttl, expireTime);
+            return new GridCacheAttributesMvccTtlEntryExtras<>(attrData, mvcc, ttl, expireTime, ttlNode);
     }
 
     /** {@inheritDoc} */
@@ -128,6 +135,18 @@ public class GridCacheAttributesMvccObsoleteTtlEntryExtras<K> extends GridCacheE
         return expireTime;
     }
 
+    /** {@inheritDoc} */
+    @Override public GridTimingWheel.Node<?> ttlNode() {
+        return ttlNode;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> ttlNode(@Nullable GridTimingWheel.Node<?> ttlNode) {
+        this.ttlNode = ttlNode;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
         if (ttl != 0) {
@@ -142,7 +161,7 @@ public class GridCacheAttributesMvccObsoleteTtlEntryExtras<K> extends GridCacheE
 
     /** {@inheritDoc} */
     @Override public int size() {
-        return 40;
+        return 48;
     }
 
     /** {@inheritDoc} */
@@ -25,6 +25,7 @@ package org.gridgain.grid.kernal.processors.cache.extras;
 
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.tostring.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.jetbrains.annotations.*;
 
@@ -44,6 +45,10 @@ public class GridCacheAttributesMvccTtlEntryExtras<K> extends GridCacheEntryExtr
     /** Expire time. */
     private long expireTime;
 
+    /** Timing wheel node of eagerly expired entry. */
+    @GridToStringExclude
+    private GridTimingWheel.Node<?> ttlNode;
+
     /**
      * Constructor.
      *
@@ -51,9 +56,10 @@ public class GridCacheAttributesMvccTtlEntryExtras<K> extends GridCacheEntryExtr
      * @param mvcc MVCC.
      * @param ttl TTL.
      * @param expireTime Expire time.
+     * @param ttlNode Timing wheel node of eagerly expired entry.
      */
     public GridCacheAttributesMvccTtlEntryExtras(GridLeanMap<String, Object> attrData, GridCacheMvcc<K> mvcc, long ttl,
-        long expireTime) {
+        long expireTime, @Nullable GridTimingWheel.Node<?> ttlNode) {
         assert attrData != null;
         assert mvcc != null;
         assert ttl != 0;
@@ -62,6 +68,7 @@ public class GridCacheAttributesMvccTtlEntryExtras<K> extends GridCacheEntryExtr
         this.mvcc = mvcc;
         this.ttl = ttl;
         this.expireTime = expireTime;
+        this.ttlNode = ttlNode;
     }
 
     /** {@inheritDoc} */
@@ -77,7 +84,7 @@ public class GridCacheAttributesMvccTtlEntryExtras<K> extends GridCacheEntryExtr
             return this;
         }
         else
-            return new GridCacheMvccTtlEntryExtras<>(mvcc, ttl ,expireTime);
+            return new GridCacheMvccTtlEntryExtras<>(mvcc, ttl ,expireTime, ttlNode);
     }
 
     /** {@inheritDoc} */
@@ -93,13 +100,13 @@ public class GridCacheAttributesMvccTtlEntryExtras<K> extends GridCacheEntryExtr
             return this;
         }
         else
-            return new GridCacheAttributesTtlEntryExtras<>(attrData, ttl, expireTime);
+            return new GridCacheAttributesTtlEntryExtras<>(attrData, ttl, expireTime, ttlNode);
     }
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> obsoleteVersion(GridCacheVersion obsoleteVer) {
         return obsoleteVer != null ? new GridCacheAttributesMvccObsoleteTtlEntryExtras<>(attrData, mvcc, obsoleteVer,
-            ttl, expireTime) : this;
+            ttl, expireTime, ttlNode) : this;
     }
 
     /** {@inheritDoc} */
@@ -112,6 +119,18 @@ public class GridCacheAttributesMvccTtlEntryExtras<K> extends GridCacheEntryExtr
         return expireTime;
     }
 
+    /** {@inheritDoc} */
+    @Override public GridTimingWheel.Node<?> ttlNode() {
+        return ttlNode;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> ttlNode(@Nullable GridTimingWheel.Node<?> ttlNode) {
+        this.ttlNode = ttlNode;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
         if (ttl != 0) {
@@ -126,7 +145,7 @@ public class GridCacheAttributesMvccTtlEntryExtras<K> extends GridCacheEntryExtr
 
     /** {@inheritDoc} */
     @Override public int size() {
-        return 32;
+        return 40;
     }
 
     /** {@inheritDoc} */
@@ -91,8 +91,8 @@ public class GridCacheAttributesObsoleteEntryExtras<K> extends GridCacheEntryExt
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
-        return ttl != 0 ? new GridCacheAttributesObsoleteTtlEntryExtras<K>(attrData, obsoleteVer, ttl, expireTime) :
-            this;
+        return ttl != 0 ? new GridCacheAttributesObsoleteTtlEntryExtras<K>(attrData, obsoleteVer, ttl, expireTime,
+            null) : this;
     }
 
     /** {@inheritDoc} */
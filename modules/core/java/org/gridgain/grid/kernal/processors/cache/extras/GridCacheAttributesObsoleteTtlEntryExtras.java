@@ -25,6 +25,7 @@ package org.gridgain.grid.kernal.processors.cache.extras;
 
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.tostring.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.jetbrains.annotations.*;
 
@@ -44,6 +45,10 @@ public class GridCacheAttributesObsoleteTtlEntryExtras<K> extends GridCacheEntry
     /** Expire time. */
     private long expireTime;
 
+    /** Timing wheel node of eagerly expired entry. */
+    @GridToStringExclude
+    private GridTimingWheel.Node<?> ttlNode;
+
     /**
      * Constructor.
      *
@@ -51,9 +56,10 @@ public class GridCacheAttributesObsoleteTtlEntryExtras<K> extends GridCacheEntry
      * @param obsoleteVer Obsolete version.
      * @param ttl TTL.
      * @param expireTime Expire time.
+     * @param ttlNode Timing wheel node of eagerly expired entry.
      */
     public GridCacheAttributesObsoleteTtlEntryExtras(GridLeanMap<String, Object> attrData, GridCacheVersion obsoleteVer,
-        long ttl, long expireTime) {
+        long ttl, long expireTime, @Nullable GridTimingWheel.Node<?> ttlNode) {
         assert attrData != null;
         assert obsoleteVer != null;
         assert ttl != 0;
@@ -62,6 +68,7 @@ public class GridCacheAttributesObsoleteTtlEntryExtras<K> extends GridCacheEntry
         this.obsoleteVer = obsoleteVer;
         this.ttl = ttl;
         this.expireTime = expireTime;
+        this.ttlNode = ttlNode;
     }
 
     /** {@inheritDoc} */
@@ -77,13 +84,13 @@ public class GridCacheAttributesObsoleteTtlEntryExtras<K> extends GridCacheEntry
             return this;
         }
         else
-            return new GridCacheObsoleteTtlEntryExtras<>(obsoleteVer, ttl, expireTime);
+            return new GridCacheObsoleteTtlEntryExtras<>(obsoleteVer, ttl, expireTime, ttlNode);
     }
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> mvcc(GridCacheMvcc<K> mvcc) {
         return mvcc != null ? new GridCacheAttributesMvccObsoleteTtlEntryExtras<>(attrData, mvcc, obsoleteVer, ttl,
-            expireTime) : this;
+            expireTime, ttlNode) : this;
     }
 
     /** {@inheritDoc} */
@@ -99,7 +106,7 @@ public class GridCacheAttributesObsoleteTtlEntryExtras<K> extends GridCacheEntry
             return this;
         }
         else
-            return new GridCacheAttributesTtlEntryExtras<>(attrData, ttl, expireTime);
+            return new GridCacheAttributesTtlEntryExtras<>(attrData, ttl, expireTime, ttlNode);
     }
 
     /** {@inheritDoc} */
@@ -112,6 +119,18 @@ public class GridCacheAttributesObsoleteTtlEntryExtras<K> extends GridCacheEntry
         return expireTime;
     }
 
+    /** {@inheritDoc} */
+    @Override public GridTimingWheel.Node<?> ttlNode() {
+        return ttlNode;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> ttlNode(@Nullable GridTimingWheel.Node<?> ttlNode) {
+        this.ttlNode = ttlNode;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
         if (ttl != 0) {
@@ -126,7 +145,7 @@ public class GridCacheAttributesObsoleteTtlEntryExtras<K> extends GridCacheEntry
 
     /** {@inheritDoc} */
     @Override public int size() {
-        return 32;
+        return 40;
     }
 
     /** {@inheritDoc} */
@@ -25,6 +25,7 @@ package org.gridgain.grid.kernal.processors.cache.extras;
 
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.tostring.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.jetbrains.annotations.*;
 
@@ -41,20 +42,27 @@ public class GridCacheAttributesTtlEntryExtras<K> extends GridCacheEntryExtrasAd
     /** Expire time. */
     private long expireTime;
 
+    /** Timing wheel node of eagerly expired entry. */
+    @GridToStringExclude
+    private GridTimingWheel.Node<?> ttlNode;
+
     /**
      * Constructor.
      *
      * @param attrData Attributes data.
      * @param ttl TTL.
      * @param expireTime Expire time.
+     * @param ttlNode Timing wheel node of eagerly expired entry.
      */
-    public GridCacheAttributesTtlEntryExtras(GridLeanMap<String, Object> attrData, long ttl, long expireTime) {
+    public GridCacheAttributesTtlEntryExtras(GridLeanMap<String, Object> attrData, long ttl, long expireTime,
+        @Nullable GridTimingWheel.Node<?> ttlNode) {
         assert attrData != null;
         assert ttl != 0;
 
         this.attrData = attrData;
         this.ttl = ttl;
         this.expireTime = expireTime;
+        this.ttlNode = ttlNode;
     }
 
     /** {@inheritDoc} */
@@ -70,18 +78,19 @@ public class GridCacheAttributesTtlEntryExtras<K> extends GridCacheEntryExtrasAd
             return this;
         }
         else
-            return new GridCacheTtlEntryExtras<>(ttl, expireTime);
+            return new GridCacheTtlEntryExtras<>(ttl, expireTime, ttlNode);
     }
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> mvcc(GridCacheMvcc<K> mvcc) {
-        return mvcc != null ? new GridCacheAttributesMvccTtlEntryExtras<>(attrData, mvcc, ttl, expireTime) : this;
+        return mvcc != null ? new GridCacheAttributesMvccTtlEntryExtras<>(attrData, mvcc, ttl, expireTime, ttlNode) :
+            this;
     }
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> obsoleteVersion(GridCacheVersion obsoleteVer) {
         return obsoleteVer != null ? new GridCacheAttributesObsoleteTtlEntryExtras<K>(attrData, obsoleteVer, ttl,
-            expireTime) : this;
+            expireTime, ttlNode) : this;
     }
 
     /** {@inheritDoc} */
@@ -94,6 +103,18 @@ public class GridCacheAttributesTtlEntryExtras<K> extends GridCacheEntryExtrasAd
         return expireTime;
     }
 
+    /** {@inheritDoc} */
+    @Override public GridTimingWheel.Node<?> ttlNode() {
+        return ttlNode;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> ttlNode(@Nullable GridTimingWheel.Node<?> ttlNode) {
+        this.ttlNode = ttlNode;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
         if (ttl != 0) {
@@ -108,7 +129,7 @@ public class GridCacheAttributesTtlEntryExtras<K> extends GridCacheEntryExtrasAd
 
     /** {@inheritDoc} */
     @Override public int size() {
-        return 24;
+        return 32;
     }
 
     /** {@inheritDoc} */
@@ -81,6 +81,19 @@ public interface GridCacheEntryExtras<K> {
      */
     public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime);
 
+    /**
+     * @return Timing wheel node of eagerly expired entry or {@code null} if entry is not tracked.
+     */
+    @Nullable public GridTimingWheel.Node<?> ttlNode();
+
+    /**
+     * Sets timing wheel node of eagerly expired entry. Can be non-{@code null} only if TTL is set.
+     *
+     * @param ttlNode Timing wheel node or {@code null} if entry is not tracked.
+     * @return Updated extras.
+     */
+    public GridCacheEntryExtras<K> ttlNode(@Nullable GridTimingWheel.Node<?> ttlNode);
+
     /**
      * @return Extras size.
      */
@@ -25,6 +25,7 @@ package org.gridgain.grid.kernal.processors.cache.extras;
 
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.util.*;
+import org.jetbrains.annotations.*;
 
 /**
  * Cache extras adapter.
@@ -54,4 +55,16 @@ public abstract class GridCacheEntryExtrasAdapter<K> implements GridCacheEntryEx
     @Override public long expireTime() {
         return 0;
     }
+
+    /** {@inheritDoc} */
+    @Override public GridTimingWheel.Node<?> ttlNode() {
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> ttlNode(@Nullable GridTimingWheel.Node<?> ttlNode) {
+        assert ttlNode == null : "TTL is not set: " + this;
+
+        return this;
+    }
 }
@@ -73,7 +73,7 @@ public class GridCacheMvccEntryExtras<K> extends GridCacheEntryExtrasAdapter<K>
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
-        return ttl != 0 ? new GridCacheMvccTtlEntryExtras<>(mvcc, ttl, expireTime) : this;
+        return ttl != 0 ? new GridCacheMvccTtlEntryExtras<>(mvcc, ttl, expireTime, null) : this;
     }
 
     /** {@inheritDoc} */
@@ -90,7 +90,7 @@ public class GridCacheMvccObsoleteEntryExtras<K> extends GridCacheEntryExtrasAda
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
-        return ttl != 0 ? new GridCacheMvccObsoleteTtlEntryExtras<>(mvcc, obsoleteVer, ttl, expireTime) : this;
+        return ttl != 0 ? new GridCacheMvccObsoleteTtlEntryExtras<>(mvcc, obsoleteVer, ttl, expireTime, null) : this;
     }
 
     /** {@inheritDoc} */
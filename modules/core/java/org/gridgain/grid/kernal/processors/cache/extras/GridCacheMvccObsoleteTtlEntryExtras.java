@@ -25,7 +25,9 @@ package org.gridgain.grid.kernal.processors.cache.extras;
 
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.tostring.*;
 import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
 
 /**
  * Extras where MVCC, obsolete version and TTL are set.
@@ -43,6 +45,10 @@ public class GridCacheMvccObsoleteTtlEntryExtras<K> extends GridCacheEntryExtras
     /** Expire time. */
     private long expireTime;
 
+    /** Timing wheel node of eagerly expired entry. */
+    @GridToStringExclude
+    private GridTimingWheel.Node<?> ttlNode;
+
     /**
      * Constructor.
      *
@@ -50,9 +56,10 @@ public class GridCacheMvccObsoleteTtlEntryExtras<K> extends GridCacheEntryExtras
      * @param obsoleteVer Obsolete version.
      * @param ttl TTL.
      * @param expireTime Expire time.
+     * @param ttlNode Timing wheel node of eagerly expired entry.
      */
     public GridCacheMvccObsoleteTtlEntryExtras(GridCacheMvcc<K> mvcc, GridCacheVersion obsoleteVer, long ttl,
-        long expireTime) {
+        long expireTime, @Nullable GridTimingWheel.Node<?> ttlNode) {
         assert mvcc != null;
         assert obsoleteVer != null;
         assert ttl != 0;
@@ -61,12 +68,13 @@ public class GridCacheMvccObsoleteTtlEntryExtras<K> extends GridCacheEntryExtras
         this.obsoleteVer = obsoleteVer;
         this.ttl = ttl;
         this.expireTime = expireTime;
+        this.ttlNode = ttlNode;
     }
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> attributesData(GridLeanMap<String, Object> attrData) {
         return attrData != null ? new GridCacheAttributesMvccObsoleteTtlEntryExtras<>(attrData, mvcc, obsoleteVer, ttl,
-            expireTime) : this;
+            expireTime, ttlNode) : this;
     }
 
     /** {@inheritDoc} */
@@ -82,7 +90,7 @@ public class GridCacheMvccObsoleteTtlEntryExtras<K> extends GridCacheEntryExtras
             return this;
         }
         else
-            return new GridCacheObsoleteTtlEntryExtras<>(obsoleteVer, ttl, expireTime);
+            return new GridCacheObsoleteTtlEntryExtras<>(obsoleteVer, ttl, expireTime, ttlNode);
     }
 
     /** {@inheritDoc} */
@@ -98,7 +106,7 @@ public class GridCacheMvccObsoleteTtlEntryExtras<K> extends GridCacheEntryExtras
             return this;
         }
         else
-            return new GridCacheMvccTtlEntryExtras<>(mvcc, ttl, expireTime);
+            return new GridCacheMvccTtlEntryExtras<>(mvcc, ttl, expireTime, ttlNode);
     }
 
     /** {@inheritDoc} */
@@ -111,6 +119,18 @@ public class GridCacheMvccObsoleteTtlEntryExtras<K> extends GridCacheEntryExtras
         return expireTime;
     }
 
+    /** {@inheritDoc} */
+    @Override public GridTimingWheel.Node<?> ttlNode() {
+        return ttlNode;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> ttlNode(@Nullable GridTimingWheel.Node<?> ttlNode) {
+        this.ttlNode = ttlNode;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
         if (ttl != 0) {
@@ -125,7 +145,7 @@ public class GridCacheMvccObsoleteTtlEntryExtras<K> extends GridCacheEntryExtras
 
     /** {@inheritDoc} */
     @Override public int size() {
-        return 32;
+        return 40;
     }
 
     /** {@inheritDoc} */
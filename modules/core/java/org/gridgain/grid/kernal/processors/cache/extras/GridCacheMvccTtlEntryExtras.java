@@ -25,7 +25,9 @@ package org.gridgain.grid.kernal.processors.cache.extras;
 
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.tostring.*;
 import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
 
 /**
  * Extras where MVCC and TTL are set.
@@ -40,25 +42,33 @@ public class GridCacheMvccTtlEntryExtras<K> extends GridCacheEntryExtrasAdapter<
     /** Expire time. */
     private long expireTime;
 
+    /** Timing wheel node of eagerly expired entry. */
+    @GridToStringExclude
+    private GridTimingWheel.Node<?> ttlNode;
+
     /**
      * Constructor.
      *
      * @param mvcc MVCC.
      * @param ttl TTL.
      * @param expireTime Expire time.
+     * @param ttlNode Timing wheel node of eagerly expired entry.
      */
-    public GridCacheMvccTtlEntryExtras(GridCacheMvcc<K> mvcc, long ttl, long expireTime) {
+    public GridCacheMvccTtlEntryExtras(GridCacheMvcc<K> mvcc, long ttl, long expireTime,
+        @Nullable GridTimingWheel.Node<?> ttlNode) {
         assert mvcc != null;
         assert ttl != 0;
 
         this.mvcc = mvcc;
         this.ttl = ttl;
         this.expireTime = expireTime;
+        this.ttlNode = ttlNode;
     }
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> attributesData(GridLeanMap<String, Object> attrData) {
-        return attrData != null ? new GridCacheAttributesMvccTtlEntryExtras<>(attrData, mvcc, ttl, expireTime) : this;
+        return attrData != null ? new GridCacheAttributesMvccTtlEntryExtras<>(attrData, mvcc, ttl, expireTime,
+            ttlNode) : this;
     }
 
     /** {@inheritDoc} */
@@ -74,13 +84,13 @@ public class GridCacheMvccTtlEntryExtras<K> extends GridCacheEntryExtrasAdapter<
             return this;
         }
         else
-            return new GridCacheTtlEntryExtras<>(ttl, expireTime);
+            return new GridCacheTtlEntryExtras<>(ttl, expireTime, ttlNode);
     }
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> obsoleteVersion(GridCacheVersion obsoleteVer) {
-        return obsoleteVer != null ? new GridCacheMvccObsoleteTtlEntryExtras<>(mvcc, obsoleteVer, ttl, expireTime) :
-            this;
+        return obsoleteVer != null ? new GridCacheMvccObsoleteTtlEntryExtras<>(mvcc, obsoleteVer, ttl, expireTime,
+            ttlNode) : this;
     }
 
     /** {@inheritDoc} */
@@ -93,6 +103,18 @@ public class GridCacheMvccTtlEntryExtras<K> extends GridCacheEntryExtrasAdapter<
         return expireTime;
     }
 
+    /** {@inheritDoc} */
+    @Override public GridTimingWheel.Node<?> ttlNode() {
+        return ttlNode;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> ttlNode(@Nullable GridTimingWheel.Node<?> ttlNode) {
+        this.ttlNode = ttlNode;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
         if (ttl != 0) {
@@ -107,7 +129,7 @@ public class GridCacheMvccTtlEntryExtras<K> extends GridCacheEntryExtrasAdapter<
 
     /** {@inheritDoc} */
     @Override public int size() {
-        return 24;
+        return 32;
     }
 
     /** {@inheritDoc} */
@@ -73,7 +73,7 @@ public class GridCacheObsoleteEntryExtras<K> extends GridCacheEntryExtrasAdapter
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
-        return ttl != 0 ? new GridCacheObsoleteTtlEntryExtras<K>(obsoleteVer, ttl, expireTime) : this;
+        return ttl != 0 ? new GridCacheObsoleteTtlEntryExtras<K>(obsoleteVer, ttl, expireTime, null) : this;
     }
 
     /** {@inheritDoc} */
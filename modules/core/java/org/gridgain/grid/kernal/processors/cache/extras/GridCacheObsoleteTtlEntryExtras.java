@@ -25,7 +25,9 @@ package org.gridgain.grid.kernal.processors.cache.extras;
 
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.tostring.*;
 import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
 
 /**
  * Extras where obsolete version and TTL are set.
@@ -40,31 +42,39 @@ public class GridCacheObsoleteTtlEntryExtras<K> extends GridCacheEntryExtrasAdap
     /** Expire time. */
     private long expireTime;
 
+    /** Timing wheel node of eagerly expired entry. */
+    @GridToStringExclude
+    private GridTimingWheel.Node<?> ttlNode;
+
     /**
      * Constructor.
      *
      * @param obsoleteVer Obsolete version.
      * @param ttl TTL.
      * @param expireTime Expire time.
+     * @param ttlNode Timing wheel node of eagerly expired entry.
      */
-    public GridCacheObsoleteTtlEntryExtras(GridCacheVersion obsoleteVer, long ttl, long expireTime) {
+    public GridCacheObsoleteTtlEntryExtras(GridCacheVersion obsoleteVer, long ttl, long expireTime,
+        @Nullable GridTimingWheel.Node<?> ttlNode) {
         assert obsoleteVer != null;
         assert ttl != 0;
 
         this.obsoleteVer = obsoleteVer;
         this.ttl = ttl;
         this.expireTime = expireTime;
+        this.ttlNode = ttlNode;
     }
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> attributesData(GridLeanMap<String, Object> attrData) {
         return attrData != null ? new GridCacheAttributesObsoleteTtlEntryExtras<K>(attrData, obsoleteVer, ttl,
-            expireTime) : this;
+            expireTime, ttlNode) : this;
     }
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> mvcc(GridCacheMvcc<K> mvcc) {
-        return mvcc != null ? new GridCacheMvccObsoleteTtlEntryExtras<>(mvcc, obsoleteVer, ttl, expireTime) : this;
+        return mvcc != null ? new GridCacheMvccObsoleteTtlEntryExtras<>(mvcc, obsoleteVer, ttl, expireTime, ttlNode) :
+            this;
     }
 
     /** {@inheritDoc} */
@@ -80,7 +90,7 @@ public class GridCacheObsoleteTtlEntryExtras<K> extends GridCacheEntryExtrasAdap
             return this;
         }
         else
-            return new GridCacheTtlEntryExtras<>(ttl, expireTime);
+            return new GridCacheTtlEntryExtras<>(ttl, expireTime, ttlNode);
     }
 
     /** {@inheritDoc} */
@@ -93,6 +103,18 @@ public class GridCacheObsoleteTtlEntryExtras<K> extends GridCacheEntryExtrasAdap
         return expireTime;
     }
 
+    /** {@inheritDoc} */
+    @Override public GridTimingWheel.Node<?> ttlNode() {
+        return ttlNode;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> ttlNode(@Nullable GridTimingWheel.Node<?> ttlNode) {
+        this.ttlNode = ttlNode;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
         if (ttl != 0) {
@@ -107,7 +129,7 @@ public class GridCacheObsoleteTtlEntryExtras<K> extends GridCacheEntryExtrasAdap
 
     /** {@inheritDoc} */
     @Override public int size() {
-        return 24;
+        return 32;
     }
 
     /** {@inheritDoc} */
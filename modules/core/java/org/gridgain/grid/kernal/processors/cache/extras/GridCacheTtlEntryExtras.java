@@ -25,7 +25,9 @@ package org.gridgain.grid.kernal.processors.cache.extras;
 
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.tostring.*;
 import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
 
 /**
  * Extras where TTL and expire time are set.
@@ -37,32 +39,39 @@ public class GridCacheTtlEntryExtras<K> extends GridCacheEntryExtrasAdapter<K> {
     /** Expire time. */
     private long expireTime;
 
+    /** Timing wheel node of eagerly expired entry. */
+    @GridToStringExclude
+    private GridTimingWheel.Node<?> ttlNode;
+
     /**
      * Constructor.
      *
      * @param ttl TTL.
      * @param expireTime Expire time.
+     * @param ttlNode Timing wheel node of eagerly expired entry.
      */
-    public GridCacheTtlEntryExtras(long ttl, long expireTime) {
+    public GridCacheTtlEntryExtras(long ttl, long expireTime, @Nullable GridTimingWheel.Node<?> ttlNode) {
         assert ttl != 0;
 
         this.ttl = ttl;
         this.expireTime = expireTime;
+        this.ttlNode = ttlNode;
     }
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> attributesData(GridLeanMap<String, Object> attrData) {
-        return attrData != null ? new GridCacheAttributesTtlEntryExtras<K>(attrData, ttl, expireTime) : this;
+        return attrData != null ? new GridCacheAttributesTtlEntryExtras<K>(attrData, ttl, expireTime, ttlNode) : this;
     }
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> mvcc(GridCacheMvcc<K> mvcc) {
-        return mvcc != null ? new GridCacheMvccTtlEntryExtras<>(mvcc, ttl, expireTime) : this;
+        return mvcc != null ? new GridCacheMvccTtlEntryExtras<>(mvcc, ttl, expireTime, ttlNode) : this;
     }
 
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> obsoleteVersion(GridCacheVersion obsoleteVer) {
-        return obsoleteVer != null ? new GridCacheObsoleteTtlEntryExtras<K>(obsoleteVer, ttl, expireTime) : this;
+        return obsoleteVer != null ? new GridCacheObsoleteTtlEntryExtras<K>(obsoleteVer, ttl, expireTime, ttlNode) :
+            this;
     }
 
     /** {@inheritDoc} */
@@ -75,6 +84,18 @@ public class GridCacheTtlEntryExtras<K> extends GridCacheEntryExtrasAdapter<K> {
         return expireTime;
     }
 
+    /** {@inheritDoc} */
+    @Override public GridTimingWheel.Node<?> ttlNode() {
+        return ttlNode;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> ttlNode(@Nullable GridTimingWheel.Node<?> ttlNode) {
+        this.ttlNode = ttlNode;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
         if (ttl != 0) {
@@ -89,7 +110,7 @@ public class GridCacheTtlEntryExtras<K> extends GridCacheEntryExtrasAdapter<K> {
 
     /** {@inheritDoc} */
     @Override public int size() {
-        return 16;
+        return 24;
     }
 
     /** {@inheritDoc} */
@@ -117,7 +117,7 @@ public class GridLocalCacheEntry<K, V> extends GridCacheMapEntry<K, V> {
 
             // Event notification.
             if (cctx.events().isRecordable(EVT_CACHE_OBJECT_LOCKED))
-                cctx.events().addEvent(partition(), key, cand.nodeId(), cand, EVT_CACHE_OBJECT_LOCKED, val, hasVal,
+                cctx.events().addEvent(partition(), key(), cand.nodeId(), cand, EVT_CACHE_OBJECT_LOCKED, val, hasVal,
                     val, hasVal);
         }
 
@@ -323,7 +323,7 @@ public class GridLocalCacheEntry<K, V> extends GridCacheMapEntry<K, V> {
 
             // Event notification.
             if (cctx.events().isRecordable(EVT_CACHE_OBJECT_UNLOCKED))
-                cctx.events().addEvent(partition(), key, prev.nodeId(), prev, EVT_CACHE_OBJECT_UNLOCKED, val, hasVal,
+                cctx.events().addEvent(partition(), key(), prev.nodeId(), prev, EVT_CACHE_OBJECT_UNLOCKED, val, hasVal,
                     val, hasVal);
         }
 
@@ -379,7 +379,7 @@ public class GridLocalCacheEntry<K, V> extends GridCacheMapEntry<K, V> {
 
             // Event notification.
             if (cctx.events().isRecordable(EVT_CACHE_OBJECT_UNLOCKED))
-                cctx.events().addEvent(partition(), key, doomed.nodeId(), doomed, EVT_CACHE_OBJECT_UNLOCKED,
+                cctx.events().addEvent(partition(), key(), doomed.nodeId(), doomed, EVT_CACHE_OBJECT_UNLOCKED,
                     val, hasVal, val, hasVal);
         }
 
@@ -41,11 +41,15 @@ public class GridCacheDistributedFieldsQueryFuture
     /** Meta data future. */
     private final GridFutureAdapter<List<GridIndexingFieldMetadata>> metaFut;
 
+    /** Reducer of partial aggregates, {@code null} if query was not split. */
+    private final GridCacheSqlAggregateReducer aggRdc;
+
     /**
      * Required by {@link Externalizable}.
      */
     public GridCacheDistributedFieldsQueryFuture() {
         metaFut = null;
+        aggRdc = null;
     }
 
     /**
@@ -53,11 +57,14 @@ public class GridCacheDistributedFieldsQueryFuture
      * @param reqId Request ID.
      * @param qry Query.
      * @param nodes Nodes.
+     * @param aggRdc Reducer of partial aggregates, {@code null} if query was not split.
      */
     public GridCacheDistributedFieldsQueryFuture(GridCacheContext<?, ?> ctx, long reqId,
-        GridCacheQueryBean qry, Iterable<GridNode> nodes) {
+        GridCacheQueryBean qry, Iterable<GridNode> nodes, @Nullable GridCacheSqlAggregateReducer aggRdc) {
         super((GridCacheContext<Object, Object>)ctx, reqId, qry, nodes);
 
+        this.aggRdc = aggRdc;
+
         metaFut = new GridFutureAdapter<>(ctx.kernalContext());
 
         if (!qry.query().includeMetadata())
@@ -74,11 +81,22 @@ public class GridCacheDistributedFieldsQueryFuture
     public void onPage(@Nullable UUID nodeId, @Nullable List<GridIndexingFieldMetadata> metaData,
         @Nullable Collection<Map<String, Object>> data, @Nullable Throwable err, boolean finished) {
         if (!metaFut.isDone() && metaData != null)
-            metaFut.onDone(metaData);
+            metaFut.onDone(aggRdc != null ? aggRdc.metadata(metaData) : metaData);
 
         onPage(nodeId, data, err, finished);
     }
 
+    /** {@inheritDoc} */
+    @Override protected Collection<?> reduce(Collection<?> data, boolean last) {
+        if (aggRdc == null)
+            return data;
+
+        // Partial aggregates are accumulated until results from all nodes are received.
+        aggRdc.add(data);
+
+        return last ? aggRdc.reduce() : Collections.emptyList();
+    }
+
     /** {@inheritDoc} */
     @Override public boolean onDone(@Nullable Collection<List<Object>> res, @Nullable Throwable err) {
         if (!metaFut.isDone())
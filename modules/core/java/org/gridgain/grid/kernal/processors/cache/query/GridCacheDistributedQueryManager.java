@@ -598,8 +598,23 @@ public class GridCacheDistributedQueryManager<K, V> extends GridCacheQueryManage
 
         long reqId = cctx.io().nextIoId();
 
+        String clause = qry.query().clause();
+
+        // Split aggregate query, so that data nodes send partial aggregates instead of per-node results.
+        boolean split = nodes.size() > 1 && qry.query().type() == GridCacheQueryType.SQL_FIELDS &&
+            clause != null && qry.reducer() == null && qry.transform() == null;
+
+        GridCacheSqlAggregateReducer aggRdc = split ? GridCacheSqlAggregateReducer.forQuery(clause) : null;
+
+        if (aggRdc != null) {
+            clause = aggRdc.mapQuery();
+
+            if (log.isDebugEnabled())
+                log.debug("Split aggregate query [qry=" + qry + ", mapQry=" + clause + ']');
+        }
+
         final GridCacheDistributedFieldsQueryFuture fut =
-            new GridCacheDistributedFieldsQueryFuture(cctx, reqId, qry, nodes);
+            new GridCacheDistributedFieldsQueryFuture(cctx, reqId, qry, nodes, aggRdc);
 
         try {
             qry.query().validate();
@@ -609,7 +624,7 @@ public class GridCacheDistributedQueryManager<K, V> extends GridCacheQueryManage
                 cctx.name(),
                 qry.query().type(),
                 true,
-                qry.query().clause(),
+                clause,
                 null,
                 null,
                 qry.query().projectionFilter(),
@@ -316,12 +316,16 @@ public abstract class GridCacheQueryFutureAdapter<K, V, R> extends GridFutureAda
             data = dedupIfRequired((Collection<Object>)data);
 
             synchronized (mux) {
+                boolean futFinish = onPage(nodeId, finished);
+
+                data = reduce(data, futFinish);
+
                 enqueue(data);
 
                 if (qry.query().keepAll())
                     allCol.addAll(maskNulls((Collection<Object>)data));
 
-                if (onPage(nodeId, finished)) {
+                if (futFinish) {
                     onDone((Collection<R>)(qry.query().keepAll() ? unmaskNulls(allCol) : data));
 
                     clear();
@@ -332,6 +336,20 @@ public abstract class GridCacheQueryFutureAdapter<K, V, R> extends GridFutureAda
         }
     }
 
+    /**
+     * Processes received page data before it is made available to user. Default implementation
+     * returns data as is.
+     *
+     * @param data Page data.
+     * @param last Whether this is the last page of the whole query.
+     * @return Data to be made available to user.
+     */
+    protected Collection<?> reduce(Collection<?> data, boolean last) {
+        assert Thread.holdsLock(mux);
+
+        return data;
+    }
+
     /**
      * @param col Collection.
      * @return Collection with masked {@code null} values.
@@ -0,0 +1,681 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.kernal.processors.cache.query;
+
+import org.gridgain.grid.spi.indexing.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
+
+import java.io.*;
+import java.math.*;
+import java.util.*;
+import java.util.regex.*;
+
+/**
+ * Splits SQL fields query with aggregates into a map query, which is executed on every data node
+ * and returns partial aggregates for each group, and a reduce phase, which merges partial aggregates
+ * received from all nodes into final groups on the query originating node.
+ * <p>
+ * Only simple aggregate queries are split: select list may contain group columns and
+ * {@code COUNT}, {@code SUM}, {@code MIN}, {@code MAX} and {@code AVG} functions (but not expressions
+ * over them), and query may not contain {@code DISTINCT}, {@code HAVING}, {@code ORDER BY},
+ * {@code LIMIT}, {@code OFFSET} or set operations at top level. Every {@code GROUP BY} expression must
+ * also be present in select list, since groups are merged by select list columns. Other queries are
+ * executed as before, i.e. aggregated on each node separately.
+ * <p>
+ * {@code AVG} is computed as {@code SUM / COUNT}, so it is returned as {@link Double} (or
+ * {@link BigDecimal} for decimal arguments) regardless of the argument type.
+ */
+class GridCacheSqlAggregateReducer {
+    /** Pattern for aggregate function call. */
+    private static final Pattern AGG_PTRN =
+        Pattern.compile("^(COUNT|SUM|MIN|MAX|AVG)\\s*\\((.*)\\)$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    /** Pattern for any aggregate function call inside of an expression. */
+    private static final Pattern ANY_AGG_PTRN = Pattern.compile("\\b(COUNT|SUM|MIN|MAX|AVG|GROUP_CONCAT|" +
+        "STDDEV_POP|STDDEV_SAMP|VAR_POP|VAR_SAMP|BOOL_AND|BOOL_OR|BIT_AND|BIT_OR|SELECTIVITY|HISTOGRAM)\\s*\\(",
+        Pattern.CASE_INSENSITIVE);
+
+    /** Pattern for select item with alias. */
+    private static final Pattern ALIAS_PTRN =
+        Pattern.compile("^(.*\\S)\\s+AS\\s+(\"[^\"]+\"|\\w+)$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    /** Pattern for select item with alias specified without {@code AS} keyword. */
+    private static final Pattern IMPLICIT_ALIAS_PTRN =
+        Pattern.compile("^(.*\\))\\s*(\"[^\"]+\"|[A-Za-z_]\\w*)$", Pattern.DOTALL);
+
+    /** Keywords which prevent query from being split if found at top level after {@code FROM}. */
+    private static final Collection<String> UNSUPPORTED_KEYWORDS = new HashSet<>(Arrays.asList("HAVING", "ORDER",
+        "LIMIT", "OFFSET", "FETCH", "UNION", "INTERSECT", "EXCEPT", "MINUS", "FOR"));
+
+    /** Group column. */
+    private static final int KEY = 0;
+
+    /** Count aggregate. */
+    private static final int COUNT = 1;
+
+    /** Sum aggregate. */
+    private static final int SUM = 2;
+
+    /** Min aggregate. */
+    private static final int MIN = 3;
+
+    /** Max aggregate. */
+    private static final int MAX = 4;
+
+    /** Avg aggregate, map query returns sum and count for it. */
+    private static final int AVG = 5;
+
+    /** Map query. */
+    private final String mapQry;
+
+    /** Kind of every column of original query. */
+    private final int[] kinds;
+
+    /** Index of every column of original query in map query result. */
+    private final int[] mapIdx;
+
+    /** Indexes of group columns in map query result. */
+    private final int[] keyIdx;
+
+    /**
+     * Partial aggregates merged so far, mapped by group. For every column aggregate value is
+     * kept at column index, count for {@code AVG} columns is kept at column index plus number of columns.
+     */
+    private final Map<List<Object>, Object[]> grps = new LinkedHashMap<>();
+
+    /**
+     * @param mapQry Map query.
+     * @param kinds Kind of every column.
+     * @param mapIdx Index of every column in map query result.
+     */
+    private GridCacheSqlAggregateReducer(String mapQry, int[] kinds, int[] mapIdx) {
+        this.mapQry = mapQry;
+        this.kinds = kinds;
+        this.mapIdx = mapIdx;
+
+        int keyCnt = 0;
+
+        for (int kind : kinds) {
+            if (kind == KEY)
+                keyCnt++;
+        }
+
+        keyIdx = new int[keyCnt];
+
+        for (int i = 0, j = 0; i < kinds.length; i++) {
+            if (kinds[i] == KEY)
+                keyIdx[j++] = mapIdx[i];
+        }
+    }
+
+    /**
+     * Creates reducer for a given query.
+     *
+     * @param sql SQL fields query.
+     * @return Reducer or {@code null} if query is not an aggregate query or cannot be split.
+     */
+    @Nullable static GridCacheSqlAggregateReducer forQuery(String sql) {
+        String qry = sql.trim();
+
+        List<Integer> commas = new ArrayList<>();
+        List<String> words = new ArrayList<>();
+        List<Integer> wordPos = new ArrayList<>();
+
+        if (!scan(qry, commas, words, wordPos))
+            return null;
+
+        if (words.size() < 2 || !"SELECT".equals(words.get(0)))
+            return null;
+
+        String first = words.get(1);
+
+        if ("DISTINCT".equals(first) || "TOP".equals(first))
+            return null;
+
+        int from = words.indexOf("FROM");
+
+        if (from < 0)
+            return null;
+
+        // Position right after GROUP BY or -1 if there is no GROUP BY.
+        int grpByEnd = -1;
+
+        for (int i = from + 1; i < words.size(); i++) {
+            String word = words.get(i);
+
+            if (UNSUPPORTED_KEYWORDS.contains(word))
+                return null;
+
+            if ("GROUP".equals(word) && i + 1 < words.size() && "BY".equals(words.get(i + 1)))
+                grpByEnd = wordPos.get(i + 1) + "BY".length();
+        }
+
+        int fromPos = wordPos.get(from);
+        int selectEnd = wordPos.get(0) + "SELECT".length();
+
+        if ("ALL".equals(first))
+            selectEnd = wordPos.get(1) + "ALL".length();
+
+        Collection<String> items = new ArrayList<>();
+
+        int start = selectEnd;
+
+        for (int comma : commas) {
+            if (comma < fromPos) {
+                items.add(qry.substring(start, comma).trim());
+
+                start = comma + 1;
+            }
+        }
+
+        items.add(qry.substring(start, fromPos).trim());
+
+        int[] kinds = new int[items.size()];
+        int[] mapIdx = new int[items.size()];
+
+        StringBuilder mapItems = new StringBuilder();
+
+        // Group columns of select list, both expressions and aliases.
+        Collection<String> keys = new HashSet<>();
+
+        boolean hasAgg = false;
+
+        int i = 0;
+        int col = 0;
+
+        for (String item : items) {
+            if (item.isEmpty())
+                return null;
+
+            String expr = item;
+            String alias = null;
+
+            Matcher m = ALIAS_PTRN.matcher(item);
+
+            if (!m.matches()) {
+                m = IMPLICIT_ALIAS_PTRN.matcher(item);
+
+                // Only aggregate calls are of interest, other items are passed to map query as is.
+                if (m.matches() && !AGG_PTRN.matcher(m.group(1).trim()).matches())
+                    m = null;
+            }
+
+            if (m != null && m.matches()) {
+                expr = m.group(1).trim();
+                alias = m.group(2);
+            }
+
+            int kind = KEY;
+            String arg = null;
+
+            m = AGG_PTRN.matcher(expr);
+
+            if (m.matches() && balanced(m.group(2))) {
+                kind = kind(m.group(1));
+                arg = m.group(2).trim();
+
+                if (arg.toUpperCase().startsWith("DISTINCT") && kind != MIN && kind != MAX)
+                    return null;
+
+                if (ANY_AGG_PTRN.matcher(arg).find())
+                    return null;
+
+                hasAgg = true;
+            }
+            else if (expr.endsWith("*") || ANY_AGG_PTRN.matcher(expr).find())
+                return null;
+            else {
+                keys.add(normalize(expr));
+
+                if (alias != null)
+                    keys.add(normalize(alias));
+            }
+
+            if (mapItems.length() > 0)
+                mapItems.append(", ");
+
+            kinds[i] = kind;
+            mapIdx[i] = col++;
+
+            if (kind == AVG) {
+                mapItems.append("SUM(").append(arg).append(')');
+
+                if (alias != null)
+                    mapItems.append(" AS ").append(alias);
+
+                mapItems.append(", COUNT(").append(arg).append(')');
+
+                col++;
+            }
+            else
+                mapItems.append(item);
+
+            i++;
+        }
+
+        if (!hasAgg && grpByEnd < 0)
+            return null;
+
+        if (grpByEnd >= 0) {
+            // Rows can be merged by select list columns only if they include every grouping expression,
+            // GROUP BY is the last clause since all clauses which may follow it are not supported.
+            int start0 = grpByEnd;
+
+            for (int comma : commas) {
+                if (comma > grpByEnd) {
+                    if (!keys.contains(normalize(qry.substring(start0, comma))))
+                        return null;
+
+                    start0 = comma + 1;
+                }
+            }
+
+            if (!keys.contains(normalize(qry.substring(start0))))
+                return null;
+        }
+
+        String mapQry = qry.substring(0, selectEnd) + ' ' + mapItems + ' ' + qry.substring(fromPos);
+
+        return new GridCacheSqlAggregateReducer(mapQry, kinds, mapIdx);
+    }
+
+    /**
+     * Scans query collecting positions of top level commas and top level words.
+     *
+     * @param qry Query.
+     * @param commas Positions of top level commas.
+     * @param words Top level words in upper case.
+     * @param wordPos Positions of top level words.
+     * @return {@code False} if query contains comments or unbalanced parentheses or quotes.
+     */
+    private static boolean scan(String qry, Collection<Integer> commas, List<String> words,
+        List<Integer> wordPos) {
+        int depth = 0;
+
+        int len = qry.length();
+
+        for (int i = 0; i < len; i++) {
+            char c = qry.charAt(i);
+
+            if (c == '\'' || c == '"') {
+                int end = qry.indexOf(c, i + 1);
+
+                if (end < 0)
+                    return false;
+
+                i = end;
+            }
+            else if (c == '(')
+                depth++;
+            else if (c == ')') {
+                if (--depth < 0)
+                    return false;
+            }
+            else if ((c == '-' || c == '/') && i + 1 < len && (qry.charAt(i + 1) == c || qry.charAt(i + 1) == '*'))
+                return false;
+            else if (depth == 0) {
+                if (c == ',')
+                    commas.add(i);
+                else if (Character.isLetter(c) && (i == 0 || !isWordPart(qry.charAt(i - 1)))) {
+                    int end = i + 1;
+
+                    while (end < len && isWordPart(qry.charAt(end)))
+                        end++;
+
+                    words.add(qry.substring(i, end).toUpperCase());
+                    wordPos.add(i);
+
+                    i = end - 1;
+                }
+            }
+        }
+
+        return depth == 0;
+    }
+
+    /**
+     * @param expr Expression.
+     * @return Expression with collapsed whitespaces in upper case, used to compare expressions.
+     */
+    private static String normalize(String expr) {
+        return expr.trim().replaceAll("\\s+", " ").toUpperCase();
+    }
+
+    /**
+     * @param c Character.
+     * @return Whether character may be a part of SQL identifier.
+     */
+    private static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '$';
+    }
+
+    /**
+     * @param s String.
+     * @return Whether parentheses in string are balanced.
+     */
+    private static boolean balanced(String s) {
+        int depth = 0;
+
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+
+            if (c == '(')
+                depth++;
+            else if (c == ')' && --depth < 0)
+                return false;
+        }
+
+        return depth == 0;
+    }
+
+    /**
+     * @param fn Function name.
+     * @return Aggregate kind.
+     */
+    private static int kind(String fn) {
+        switch (fn.toUpperCase()) {
+            case "COUNT":
+                return COUNT;
+
+            case "SUM":
+                return SUM;
+
+            case "MIN":
+                return MIN;
+
+            case "MAX":
+                return MAX;
+
+            case "AVG":
+                return AVG;
+
+            default:
+                throw new IllegalArgumentException("Unknown aggregate: " + fn);
+        }
+    }
+
+    /**
+     * @return Query to be executed on data nodes.
+     */
+    String mapQuery() {
+        return mapQry;
+    }
+
+    /**
+     * Converts map query metadata to metadata of original query.
+     *
+     * @param mapMeta Map query metadata.
+     * @return Original query metadata.
+     */
+    List<GridIndexingFieldMetadata> metadata(List<GridIndexingFieldMetadata> mapMeta) {
+        List<GridIndexingFieldMetadata> meta = new ArrayList<>(kinds.length);
+
+        for (int i = 0; i < kinds.length; i++) {
+            GridIndexingFieldMetadata m = mapMeta.get(mapIdx[i]);
+
+            meta.add(kinds[i] == AVG ? new AvgFieldMetadata(m) : m);
+        }
+
+        return meta;
+    }
+
+    /**
+     * Merges page of map query results.
+     *
+     * @param rows Rows.
+     */
+    void add(Collection<?> rows) {
+        for (Object o : rows) {
+            List<?> row = (List<?>)o;
+
+            List<Object> key = new ArrayList<>(keyIdx.length);
+
+            for (int idx : keyIdx)
+                key.add(row.get(idx));
+
+            Object[] acc = grps.get(key);
+
+            if (acc == null)
+                grps.put(key, acc = new Object[kinds.length * 2]);
+
+            for (int i = 0; i < kinds.length; i++) {
+                Object val = row.get(mapIdx[i]);
+
+                switch (kinds[i]) {
+                    case KEY:
+                        acc[i] = val;
+
+                        break;
+
+                    case COUNT:
+                        acc[i] = add(acc[i] == null ? 0L : acc[i], val == null ? 0L : val);
+
+                        break;
+
+                    case SUM:
+                        acc[i] = add(acc[i], val);
+
+                        break;
+
+                    case MIN:
+                    case MAX:
+                        if (acc[i] == null || (val != null && (compare(val, acc[i]) < 0) == (kinds[i] == MIN)))
+                            acc[i] = val;
+
+                        break;
+
+                    case AVG:
+                        int cntIdx = kinds.length + i;
+
+                        Object cnt = row.get(mapIdx[i] + 1);
+
+                        acc[i] = add(acc[i], val);
+                        acc[cntIdx] = add(acc[cntIdx] == null ? 0L : acc[cntIdx], cnt == null ? 0L : cnt);
+
+                        break;
+
+                    default:
+                        assert false : "Unknown aggregate kind: " + kinds[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Final rows.
+     */
+    Collection<List<Object>> reduce() {
+        Collection<List<Object>> res = new ArrayList<>(grps.size());
+
+        for (Object[] acc : grps.values()) {
+            Object[] row = Arrays.copyOf(acc, kinds.length);
+
+            for (int i = 0; i < kinds.length; i++) {
+                if (kinds[i] == AVG)
+                    row[i] = avg(acc[i], (Number)acc[kinds.length + i]);
+            }
+
+            res.add(Arrays.asList(row));
+        }
+
+        grps.clear();
+
+        return res;
+    }
+
+    /**
+     * Adds two partial sums.
+     *
+     * @param a First value.
+     * @param b Second value.
+     * @return Sum, {@code null} if both values are {@code null}.
+     */
+    @Nullable private static Object add(@Nullable Object a, @Nullable Object b) {
+        if (a == null)
+            return b;
+
+        if (b == null)
+            return a;
+
+        if (a instanceof BigDecimal || b instanceof BigDecimal)
+            return decimal((Number)a).add(decimal((Number)b));
+
+        if (a instanceof BigInteger || b instanceof BigInteger)
+            return decimal((Number)a).add(decimal((Number)b)).toBigInteger();
+
+        if (a instanceof Double || a instanceof Float || b instanceof Double || b instanceof Float)
+            return ((Number)a).doubleValue() + ((Number)b).doubleValue();
+
+        return ((Number)a).longValue() + ((Number)b).longValue();
+    }
+
+    /**
+     * @param sum Sum.
+     * @param cnt Count.
+     * @return Average or {@code null} if there were no values.
+     */
+    @Nullable private static Object avg(@Nullable Object sum, @Nullable Number cnt) {
+        if (sum == null || cnt == null || cnt.longValue() == 0)
+            return null;
+
+        if (sum instanceof BigDecimal)
+            return ((BigDecimal)sum).divide(BigDecimal.valueOf(cnt.longValue()), MathContext.DECIMAL64);
+
+        return ((Number)sum).doubleValue() / cnt.longValue();
+    }
+
+    /**
+     * @param n Number.
+     * @return Decimal value.
+     */
+    private static BigDecimal decimal(Number n) {
+        if (n instanceof BigDecimal)
+            return (BigDecimal)n;
+
+        if (n instanceof BigInteger)
+            return new BigDecimal((BigInteger)n);
+
+        if (n instanceof Double || n instanceof Float)
+            return BigDecimal.valueOf(n.doubleValue());
+
+        return BigDecimal.valueOf(n.longValue());
+    }
+
+    /**
+     * @param a First value.
+     * @param b Second value.
+     * @return Comparison result.
+     */
+    @SuppressWarnings("unchecked")
+    private static int compare(Object a, Object b) {
+        return ((Comparable<Object>)a).compareTo(b);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheSqlAggregateReducer.class, this);
+    }
+
+    /**
+     * Metadata of {@code AVG} column based on metadata of {@code SUM} column of map query.
+     */
+    private static class AvgFieldMetadata implements GridIndexingFieldMetadata {
+        /** Schema name. */
+        private String schemaName;
+
+        /** Type name. */
+        private String typeName;
+
+        /** Name. */
+        private String name;
+
+        /** Type. */
+        private String type;
+
+        /**
+         * Required by {@link Externalizable}.
+         */
+        public AvgFieldMetadata() {
+            // No-op.
+        }
+
+        /**
+         * @param sumMeta Metadata of {@code SUM} column.
+         */
+        AvgFieldMetadata(GridIndexingFieldMetadata sumMeta) {
+            schemaName = sumMeta.schemaName();
+            typeName = sumMeta.typeName();
+
+            String sumName = sumMeta.fieldName();
+
+            name = sumName != null && sumName.toUpperCase().startsWith("SUM(") ? "AVG" + sumName.substring(3) :
+                sumName;
+
+            type = BigDecimal.class.getName().equals(sumMeta.fieldTypeName()) ? BigDecimal.class.getName() :
+                Double.class.getName();
+        }
+
+        /** {@inheritDoc} */
+        @Override public String schemaName() {
+            return schemaName;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String typeName() {
+            return typeName;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String fieldName() {
+            return name;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String fieldTypeName() {
+            return type;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void writeExternal(ObjectOutput out) throws IOException {
+            U.writeString(out, schemaName);
+            U.writeString(out, typeName);
+            U.writeString(out, name);
+            U.writeString(out, type);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            schemaName = U.readString(in);
+            typeName = U.readString(in);
+            name = U.readString(in);
+            type = U.readString(in);
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(AvgFieldMetadata.class, this);
+        }
+    }
+}
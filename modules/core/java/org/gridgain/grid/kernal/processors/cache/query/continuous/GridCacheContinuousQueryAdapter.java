@@ -78,6 +78,9 @@ class GridCacheContinuousQueryAdapter<K, V> implements GridCacheContinuousQuery<
     /** Automatic unsubscribe flag. */
     private volatile boolean autoUnsubscribe = DFLT_AUTO_UNSUBSCRIBE;
 
+    /** Conflation flag. */
+    private volatile boolean conflate = DFLT_CONFLATE;
+
     /** Continuous routine ID. */
     private UUID routineId;
 
@@ -186,6 +189,24 @@ class GridCacheContinuousQueryAdapter<K, V> implements GridCacheContinuousQuery<
         return autoUnsubscribe;
     }
 
+    /** {@inheritDoc} */
+    @Override public void conflate(boolean conflate) {
+        if (!guard.enterBusy())
+            throw new IllegalStateException("Continuous query can't be changed after it was executed.");
+
+        try {
+            this.conflate = conflate;
+        }
+        finally {
+            guard.leaveBusy();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isConflate() {
+        return conflate;
+    }
+
     /** {@inheritDoc} */
     @Override public void execute() throws GridException {
         execute(null);
@@ -233,7 +254,8 @@ class GridCacheContinuousQueryAdapter<K, V> implements GridCacheContinuousQuery<
 
             guard.block();
 
-            GridContinuousHandler hnd = new GridCacheContinuousQueryHandler<>(ctx.name(), topic, cb, filter, prjPred);
+            GridContinuousHandler hnd = new GridCacheContinuousQueryHandler<>(ctx.name(), topic, cb, filter, prjPred,
+                conflate);
 
             routineId = ctx.kernalContext().continuous().startRoutine(hnd, bufSize, timeInterval, autoUnsubscribe,
                 prj.predicate()).get();
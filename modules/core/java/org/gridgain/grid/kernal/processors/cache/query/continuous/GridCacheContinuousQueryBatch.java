@@ -0,0 +1,181 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.kernal.processors.cache.query.continuous;
+
+import org.gridgain.grid.*;
+import org.gridgain.grid.kernal.managers.deployment.*;
+import org.gridgain.grid.kernal.processors.cache.*;
+import org.gridgain.grid.marshaller.*;
+import org.gridgain.grid.util.tostring.*;
+import org.gridgain.grid.util.typedef.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.gridgain.grid.kernal.processors.cache.GridCacheValueBytes.*;
+
+/**
+ * Batch of conflated continuous query notifications. Contains serialized keys and values
+ * only, cache name and deployment info are sent once per batch.
+ */
+class GridCacheContinuousQueryBatch implements Externalizable {
+    /** Cache name. */
+    private String cacheName;
+
+    /** Deployment info. */
+    private GridDeploymentInfo depInfo;
+
+    /** Serialized keys. */
+    @GridToStringExclude
+    private List<byte[]> keys;
+
+    /** Serialized values. */
+    @GridToStringExclude
+    private List<GridCacheValueBytes> vals;
+
+    /**
+     * Required by {@link Externalizable}.
+     */
+    public GridCacheContinuousQueryBatch() {
+        // No-op.
+    }
+
+    /**
+     * @param cacheName Cache name.
+     * @param size Expected batch size.
+     */
+    GridCacheContinuousQueryBatch(@Nullable String cacheName, int size) {
+        this.cacheName = cacheName;
+
+        keys = new ArrayList<>(size);
+        vals = new ArrayList<>(size);
+    }
+
+    /**
+     * Adds marshalled entry to batch.
+     *
+     * @param e Entry.
+     */
+    void add(GridCacheContinuousQueryEntry<?, ?> e) {
+        assert e.keyBytes() != null;
+
+        keys.add(e.keyBytes());
+        vals.add(e.valueBytes());
+
+        if (depInfo == null)
+            depInfo = e.deployInfo();
+    }
+
+    /**
+     * @return Cache name.
+     */
+    @Nullable String cacheName() {
+        return cacheName;
+    }
+
+    /**
+     * @return Deployment info.
+     */
+    @Nullable GridDeploymentInfo deployInfo() {
+        return depInfo;
+    }
+
+    /**
+     * Unmarshals batch entries.
+     *
+     * @param marsh Marshaller.
+     * @param ldr Class loader.
+     * @return Entries.
+     * @throws GridException In case of error.
+     */
+    <K, V> Collection<Map.Entry<K, V>> entries(GridMarshaller marsh, @Nullable ClassLoader ldr) throws GridException {
+        Collection<Map.Entry<K, V>> entries = new ArrayList<>(keys.size());
+
+        for (int i = 0; i < keys.size(); i++) {
+            K key = marsh.unmarshal(keys.get(i), ldr);
+
+            GridCacheValueBytes valBytes = vals.get(i);
+
+            V val = null;
+
+            if (valBytes != null && !valBytes.isNull())
+                val = valBytes.isPlain() ? (V)valBytes.get() : marsh.<V>unmarshal(valBytes.get(), ldr);
+
+            entries.add(F.t(key, val));
+        }
+
+        return entries;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeExternal(ObjectOutput out) throws IOException {
+        U.writeString(out, cacheName);
+        out.writeObject(depInfo);
+
+        out.writeInt(keys.size());
+
+        for (int i = 0; i < keys.size(); i++) {
+            U.writeByteArray(out, keys.get(i));
+
+            GridCacheValueBytes valBytes = vals.get(i);
+
+            if (valBytes != null && !valBytes.isNull()) {
+                out.writeBoolean(true);
+                out.writeBoolean(valBytes.isPlain());
+                U.writeByteArray(out, valBytes.get());
+            }
+            else
+                out.writeBoolean(false);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        cacheName = U.readString(in);
+        depInfo = (GridDeploymentInfo)in.readObject();
+
+        int size = in.readInt();
+
+        keys = new ArrayList<>(size);
+        vals = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            keys.add(U.readByteArray(in));
+
+            GridCacheValueBytes valBytes = null;
+
+            if (in.readBoolean())
+                valBytes = in.readBoolean() ? plain(U.readByteArray(in)) : marshaled(U.readByteArray(in));
+
+            vals.add(valBytes);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheContinuousQueryBatch.class, this, "size", keys != null ? keys.size() : 0);
+    }
+}
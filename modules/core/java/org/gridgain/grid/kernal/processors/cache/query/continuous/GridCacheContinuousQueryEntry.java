@@ -146,6 +146,20 @@ class GridCacheContinuousQueryEntry<K, V> implements GridCacheEntry<K, V>, GridC
             valBytes = val != null ? val instanceof byte[] ? plain(val) : marshaled(marsh.marshal(val)) : null;
     }
 
+    /**
+     * @return Serialized key or {@code null} if entry was not marshalled.
+     */
+    byte[] keyBytes() {
+        return keyBytes;
+    }
+
+    /**
+     * @return Serialized value or {@code null} if value is {@code null} or entry was not marshalled.
+     */
+    @Nullable GridCacheValueBytes valueBytes() {
+        return valBytes;
+    }
+
     /**
      * @param marsh Marshaller.
      * @param ldr Class loader.
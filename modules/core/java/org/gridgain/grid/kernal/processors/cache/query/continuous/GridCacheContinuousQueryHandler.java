@@ -30,6 +30,7 @@ import org.gridgain.grid.kernal.managers.deployment.*;
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.kernal.processors.continuous.*;
 import org.gridgain.grid.lang.*;
+import org.gridgain.grid.marshaller.*;
 import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.jetbrains.annotations.*;
@@ -63,6 +64,9 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
     /** Deployable object for Projection predicate. */
     private DeployableObject prjPredDep;
 
+    /** Conflation flag. */
+    private boolean conflate;
+
     /** Stopped flag. */
     private boolean stopped;
 
@@ -79,10 +83,11 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
      * @param cb Local callback.
      * @param filter Filter.
      * @param prjPred Projection predicate.
+     * @param conflate Conflation flag.
      */
     GridCacheContinuousQueryHandler(@Nullable String cacheName, Object topic,
         GridBiPredicate<UUID, Collection<Map.Entry<K, V>>> cb, @Nullable GridBiPredicate<K, V> filter,
-        @Nullable GridPredicate<GridCacheEntry<K, V>> prjPred) {
+        @Nullable GridPredicate<GridCacheEntry<K, V>> prjPred, boolean conflate) {
         assert topic != null;
         assert cb != null;
 
@@ -91,6 +96,7 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
         this.cb = cb;
         this.filter = filter;
         this.prjPred = prjPred;
+        this.conflate = conflate;
     }
 
     /** {@inheritDoc} */
@@ -136,10 +142,15 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
                     }
                     else {
                         try {
-                            if (ctx.config().isPeerClassLoadingEnabled() &&
-                                U.hasCache(ctx.discovery().node(nodeId), cacheName)) {
+                            boolean p2p = ctx.config().isPeerClassLoadingEnabled() &&
+                                U.hasCache(ctx.discovery().node(nodeId), cacheName);
+
+                            // Conflated entries are buffered as is, only those which survive
+                            // conflation are marshalled in prepareNotifications().
+                            if (p2p && !conflate)
                                 e.p2pMarshal(ctx.config().getMarshaller());
 
+                            if (p2p) {
                                 e.cacheName(cacheName);
 
                                 GridCacheDeploymentManager depMgr =
@@ -148,7 +159,7 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
                                 depMgr.prepare(e);
                             }
 
-                            ctx.continuous().addNotification(nodeId, routineId, e, topic);
+                            ctx.continuous().addNotification(nodeId, routineId, e, topic, conflate ? e.getKey() : null);
                         }
                         catch (GridException ex) {
                             U.error(ctx.log(getClass()), "Failed to send event notification to node: " + nodeId, ex);
@@ -158,7 +169,7 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
             }
         };
 
-        return cacheContext(ctx).continuousQueries().registerListener(routineId, lsnr);
+        return cacheContext(ctx).continuousQueries().registerListener(routineId, lsnr, filter);
     }
 
     /** {@inheritDoc} */
@@ -181,9 +192,28 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
         assert objs != null;
         assert ctx != null;
 
-        Collection<Map.Entry<K, V>> entries = (Collection<Map.Entry<K, V>>)objs;
+        Collection<Map.Entry<K, V>> entries;
+
+        if (conflate) {
+            entries = new ArrayList<>();
+
+            for (Object obj : objs) {
+                assert obj instanceof GridCacheContinuousQueryBatch;
+
+                GridCacheContinuousQueryBatch batch = (GridCacheContinuousQueryBatch)obj;
+
+                try {
+                    entries.addAll(batch.<K, V>entries(ctx.config().getMarshaller(), batchLoader(nodeId, batch, ctx)));
+                }
+                catch (GridException ex) {
+                    U.error(ctx.log(getClass()), "Failed to unmarshal entries batch.", ex);
+                }
+            }
+        }
+        else
+            entries = (Collection<Map.Entry<K, V>>)objs;
 
-        if (ctx.config().isPeerClassLoadingEnabled()) {
+        if (!conflate && ctx.config().isPeerClassLoadingEnabled()) {
             for (Map.Entry<K, V> e : entries) {
                 assert e instanceof GridCacheContinuousQueryEntry;
 
@@ -231,6 +261,61 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
             ctx.continuous().stopRoutine(routineId);
     }
 
+    /** {@inheritDoc} */
+    @Override public Collection<?> prepareNotifications(Collection<Object> objs, GridKernalContext ctx) {
+        if (!conflate)
+            return objs;
+
+        GridMarshaller marsh = ctx.config().getMarshaller();
+
+        GridCacheContinuousQueryBatch batch = new GridCacheContinuousQueryBatch(cacheName, objs.size());
+
+        for (Object obj : objs) {
+            assert obj instanceof GridCacheContinuousQueryEntry;
+
+            GridCacheContinuousQueryEntry<?, ?> e = (GridCacheContinuousQueryEntry<?, ?>)obj;
+
+            try {
+                // Conflated notifications are always sent in serialized form.
+                e.p2pMarshal(marsh);
+
+                batch.add(e);
+            }
+            catch (GridException ex) {
+                U.error(ctx.log(getClass()), "Failed to marshal entry: " + e.getKey(), ex);
+            }
+        }
+
+        return Collections.singletonList(batch);
+    }
+
+    /**
+     * Gets class loader for entries of received batch.
+     *
+     * @param nodeId Sender node ID.
+     * @param batch Batch.
+     * @param ctx Kernal context.
+     * @return Class loader.
+     */
+    @Nullable private ClassLoader batchLoader(UUID nodeId, GridCacheContinuousQueryBatch batch,
+        GridKernalContext ctx) {
+        GridCacheAdapter cache = ctx.cache().internalCache(batch.cacheName());
+
+        if (cache == null)
+            return null;
+
+        GridCacheDeploymentManager depMgr = cache.context().deploy();
+
+        GridDeploymentInfo depInfo = batch.deployInfo();
+
+        if (ctx.config().isPeerClassLoadingEnabled() && depInfo != null) {
+            depMgr.p2pContext(nodeId, depInfo.classLoaderId(), depInfo.userVersion(), depInfo.deployMode(),
+                depInfo.participants(), depInfo.localDeploymentOwner());
+        }
+
+        return depMgr.globalLoader();
+    }
+
     /** {@inheritDoc} */
     @Override public void p2pMarshal(GridKernalContext ctx) throws GridException {
         assert ctx != null;
@@ -283,6 +368,8 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
             out.writeObject(prjPredDep);
         else
             out.writeObject(prjPred);
+
+        out.writeBoolean(conflate);
     }
 
     /** {@inheritDoc} */
@@ -303,6 +390,8 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
             prjPredDep = (DeployableObject)in.readObject();
         else
             prjPred = (GridPredicate<GridCacheEntry<K, V>>)in.readObject();
+
+        conflate = in.readBoolean();
     }
 
     /**
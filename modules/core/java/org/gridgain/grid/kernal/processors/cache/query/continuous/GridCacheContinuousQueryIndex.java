@@ -0,0 +1,245 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.kernal.processors.cache.query.continuous;
+
+import org.gridgain.grid.cache.query.*;
+import org.gridgain.grid.lang.*;
+import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.typedef.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Subscription index for continuous query listeners. Listeners with
+ * {@link GridCacheContinuousQueryFieldFilter} are indexed by filtered field,
+ * equality subscriptions are additionally hashed by value, so that every update
+ * is matched only against listeners which may be interested in it. All other
+ * listeners are matched with every update.
+ */
+class GridCacheContinuousQueryIndex<V, T> {
+    /** Listeners which can't be indexed. */
+    private final Collection<T> unindexed = new GridConcurrentHashSet<>();
+
+    /** Field indexes. */
+    private final ConcurrentMap<String, FieldIndex<V, T>> fields = new ConcurrentHashMap8<>();
+
+    /**
+     * Adds listener to index.
+     *
+     * @param lsnr Listener.
+     * @param filter Listener filter.
+     */
+    void add(T lsnr, @Nullable GridBiPredicate<?, V> filter) {
+        if (filter instanceof GridCacheContinuousQueryFieldFilter) {
+            GridCacheContinuousQueryFieldFilter<?, V> f = (GridCacheContinuousQueryFieldFilter<?, V>)filter;
+
+            String name = f.field().toUpperCase();
+
+            synchronized (this) {
+                FieldIndex<V, T> idx = fields.get(name);
+
+                if (idx == null)
+                    fields.put(name, idx = new FieldIndex<>(f));
+
+                idx.add(lsnr, f);
+            }
+        }
+        else
+            unindexed.add(lsnr);
+    }
+
+    /**
+     * Removes listener from index.
+     *
+     * @param lsnr Listener.
+     * @param filter Listener filter.
+     */
+    void remove(T lsnr, @Nullable GridBiPredicate<?, V> filter) {
+        if (filter instanceof GridCacheContinuousQueryFieldFilter) {
+            GridCacheContinuousQueryFieldFilter<?, V> f = (GridCacheContinuousQueryFieldFilter<?, V>)filter;
+
+            String name = f.field().toUpperCase();
+
+            synchronized (this) {
+                FieldIndex<V, T> idx = fields.get(name);
+
+                if (idx != null && idx.remove(lsnr, f))
+                    fields.remove(name);
+            }
+        }
+        else
+            unindexed.remove(lsnr);
+    }
+
+    /**
+     * Collects listeners which may be interested in given updated entry.
+     *
+     * @param e Updated entry.
+     * @param res Collection to add matched listeners to.
+     */
+    void match(Map.Entry<?, V> e, Collection<T> res) {
+        res.addAll(unindexed);
+
+        if (fields.isEmpty())
+            return;
+
+        V val = e.getValue();
+
+        if (val == null)
+            return;
+
+        for (FieldIndex<V, T> idx : fields.values())
+            idx.match(val, res);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheContinuousQueryIndex.class, this);
+    }
+
+    /**
+     * Index of listeners subscribed to single field.
+     */
+    private static class FieldIndex<V, T> {
+        /** Filter used to get field value. */
+        private final GridCacheContinuousQueryFieldFilter<?, V> extractor;
+
+        /** Equality subscriptions. */
+        private final ConcurrentMap<Object, Collection<T>> eq = new ConcurrentHashMap8<>();
+
+        /** Range subscriptions, copied on write. */
+        private volatile Collection<T2<GridCacheContinuousQueryFieldFilter<?, V>, T>> ranges =
+            Collections.emptyList();
+
+        /** Number of subscribed listeners. */
+        private int size;
+
+        /**
+         * @param extractor Filter used to get field value.
+         */
+        private FieldIndex(GridCacheContinuousQueryFieldFilter<?, V> extractor) {
+            this.extractor = extractor;
+        }
+
+        /**
+         * Adds listener. Must be called under index lock.
+         *
+         * @param lsnr Listener.
+         * @param f Listener filter.
+         */
+        void add(T lsnr, GridCacheContinuousQueryFieldFilter<?, V> f) {
+            if (f.range()) {
+                Collection<T2<GridCacheContinuousQueryFieldFilter<?, V>, T>> ranges0 = new ArrayList<>(ranges);
+
+                ranges0.add(new T2<GridCacheContinuousQueryFieldFilter<?, V>, T>(f, lsnr));
+
+                ranges = ranges0;
+            }
+            else {
+                Collection<T> lsnrs = eq.get(f.value());
+
+                if (lsnrs == null)
+                    eq.put(f.value(), lsnrs = new GridConcurrentHashSet<>());
+
+                lsnrs.add(lsnr);
+            }
+
+            size++;
+        }
+
+        /**
+         * Removes listener. Must be called under index lock.
+         *
+         * @param lsnr Listener.
+         * @param f Listener filter.
+         * @return {@code True} if index became empty.
+         */
+        boolean remove(T lsnr, GridCacheContinuousQueryFieldFilter<?, V> f) {
+            boolean rmv = false;
+
+            if (f.range()) {
+                Collection<T2<GridCacheContinuousQueryFieldFilter<?, V>, T>> ranges0 = new ArrayList<>(ranges);
+
+                for (Iterator<T2<GridCacheContinuousQueryFieldFilter<?, V>, T>> it = ranges0.iterator();
+                    it.hasNext();) {
+                    if (it.next().get2() == lsnr) {
+                        it.remove();
+
+                        rmv = true;
+
+                        break;
+                    }
+                }
+
+                ranges = ranges0;
+            }
+            else {
+                Collection<T> lsnrs = eq.get(f.value());
+
+                if (lsnrs != null) {
+                    rmv = lsnrs.remove(lsnr);
+
+                    if (lsnrs.isEmpty())
+                        eq.remove(f.value());
+                }
+            }
+
+            if (rmv)
+                size--;
+
+            return size == 0;
+        }
+
+        /**
+         * Collects listeners subscribed to field value of given cache value.
+         *
+         * @param val Cache value.
+         * @param res Collection to add matched listeners to.
+         */
+        void match(V val, Collection<T> res) {
+            Object fieldVal = extractor.fieldValue(val);
+
+            if (fieldVal == null)
+                return;
+
+            Collection<T> lsnrs = eq.get(fieldVal);
+
+            if (lsnrs != null)
+                res.addAll(lsnrs);
+
+            for (T2<GridCacheContinuousQueryFieldFilter<?, V>, T> t : ranges) {
+                if (t.get1().matches(fieldVal))
+                    res.add(t.get2());
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(FieldIndex.class, this);
+        }
+    }
+}
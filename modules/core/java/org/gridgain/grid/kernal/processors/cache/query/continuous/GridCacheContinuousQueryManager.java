@@ -60,6 +60,9 @@ public class GridCacheContinuousQueryManager<K, V> extends GridCacheManagerAdapt
     /** Listeners count. */
     private final AtomicInteger lsnrCnt = new AtomicInteger();
 
+    /** Listeners subscription index. */
+    private final GridCacheContinuousQueryIndex<V, ListenerInfo<K, V>> idx = new GridCacheContinuousQueryIndex<>();
+
     /** Query sequence number for message topic. */
     private final AtomicLong seq = new AtomicLong();
 
@@ -98,9 +101,15 @@ public class GridCacheContinuousQueryManager<K, V> extends GridCacheManagerAdapt
 
                     GridCacheContinuousQueryEntry<K, V> e;
 
+                    Collection<ListenerInfo<K, V>> matched = new ArrayList<>();
+
                     while ((e = q.poll()) != null) {
-                        for (ListenerInfo<K, V> lsnr : lsnrs.values())
+                        idx.match(e, matched);
+
+                        for (ListenerInfo<K, V> lsnr : matched)
                             lsnr.onEntryUpdate(e);
+
+                        matched.clear();
                     }
                 }
             }
@@ -231,15 +240,20 @@ public class GridCacheContinuousQueryManager<K, V> extends GridCacheManagerAdapt
     /**
      * @param id Listener ID.
      * @param lsnr Listener.
+     * @param filter Listener filter used to index listener, {@code null} if there is no filter.
      * @return Whether listener was actually registered.
      */
-    boolean registerListener(UUID id, GridCacheContinuousQueryListener<K, V> lsnr) {
-        ListenerInfo<K, V> info = new ListenerInfo<>(lsnr);
+    boolean registerListener(UUID id, GridCacheContinuousQueryListener<K, V> lsnr,
+        @Nullable GridBiPredicate<K, V> filter) {
+        ListenerInfo<K, V> info = new ListenerInfo<>(lsnr, filter);
 
         boolean added = lsnrs.putIfAbsent(id, info) == null;
 
-        if (added)
+        if (added) {
+            idx.add(info, filter);
+
             lsnrCnt.incrementAndGet();
+        }
 
         return added;
     }
@@ -264,8 +278,13 @@ public class GridCacheContinuousQueryManager<K, V> extends GridCacheManagerAdapt
      * @param id Listener ID.
      */
     void unregisterListener(UUID id) {
-        if (lsnrs.remove(id) != null)
+        ListenerInfo<K, V> info = lsnrs.remove(id);
+
+        if (info != null) {
+            idx.remove(info, info.filter);
+
             lsnrCnt.decrementAndGet();
+        }
     }
 
     /**
@@ -275,32 +294,40 @@ public class GridCacheContinuousQueryManager<K, V> extends GridCacheManagerAdapt
         /** Listener. */
         private final GridCacheContinuousQueryListener<K, V> lsnr;
 
-        /** Pending entries. */
-        private Collection<GridCacheContinuousQueryEntry<K, V>> pending = new LinkedList<>();
+        /** Filter. */
+        private final GridBiPredicate<K, V> filter;
+
+        /** Entries updated while existing data is iterated. */
+        private final ConcurrentLinkedDeque8<GridCacheContinuousQueryEntry<K, V>> pending =
+            new ConcurrentLinkedDeque8<>();
+
+        /** Whether pending entries were flushed. */
+        private volatile boolean flushed;
 
         /**
          * @param lsnr Listener.
+         * @param filter Filter.
          */
-        private ListenerInfo(GridCacheContinuousQueryListener<K, V> lsnr) {
+        private ListenerInfo(GridCacheContinuousQueryListener<K, V> lsnr, @Nullable GridBiPredicate<K, V> filter) {
             this.lsnr = lsnr;
+            this.filter = filter;
         }
 
         /**
          * @param e Entry update callback.
          */
         void onEntryUpdate(GridCacheContinuousQueryEntry<K, V> e) {
-            boolean notifyLsnr = true;
+            if (!flushed) {
+                pending.add(e);
 
-            synchronized (this) {
-                if (pending != null) {
-                    pending.add(e);
+                // Flush could happen concurrently, make sure that entry is not left in pending queue.
+                if (flushed)
+                    drainPending();
 
-                    notifyLsnr = false;
-                }
+                return;
             }
 
-            if (notifyLsnr)
-                lsnr.onEntryUpdate(e);
+            lsnr.onEntryUpdate(e);
         }
 
         /**
@@ -315,15 +342,18 @@ public class GridCacheContinuousQueryManager<K, V> extends GridCacheManagerAdapt
          * Flushes pending entries to listener.
          */
         void flushPending() {
-            Collection<GridCacheContinuousQueryEntry<K, V>> pending0;
+            flushed = true;
 
-            synchronized (this) {
-                pending0 = pending;
+            drainPending();
+        }
 
-                pending = null;
-            }
+        /**
+         * Notifies listener with entries from pending queue.
+         */
+        private void drainPending() {
+            GridCacheContinuousQueryEntry<K, V> e;
 
-            for (GridCacheContinuousQueryEntry<K, V> e : pending0)
+            while ((e = pending.poll()) != null)
                 lsnr.onEntryUpdate(e);
         }
     }
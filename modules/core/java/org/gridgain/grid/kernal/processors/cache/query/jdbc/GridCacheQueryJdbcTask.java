@@ -58,6 +58,9 @@ public class GridCacheQueryJdbcTask extends GridComputeTaskAdapter<byte[], byte[
     /** How long to store future (10 minutes). */
     private static final int RMV_DELAY = 10 * 60;
 
+    /** Maximum number of batch executions running concurrently. */
+    private static final int BATCH_WINDOW = 4;
+
     /** {@inheritDoc} */
     @Override public Map<? extends GridComputeJob, GridNode> map(List<GridNode> subgrid, byte[] arg) throws GridException {
         assert arg != null;
@@ -152,7 +155,7 @@ public class GridCacheQueryJdbcTask extends GridComputeTaskAdapter<byte[], byte[
          */
         JdbcDriverJob(Map<String, Object> args, boolean first) {
             assert args != null;
-            assert args.size() == (first ? 6 : 3);
+            assert args.containsKey(first ? "sql" : "futId");
 
             this.args = args;
             this.first = first;
@@ -169,13 +172,33 @@ public class GridCacheQueryJdbcTask extends GridComputeTaskAdapter<byte[], byte[
             String sql = argument("sql");
             Long timeout = argument("timeout");
             List<Object> args = argument("args");
+            List<List<Object>> batchArgs = argument("batchArgs");
             UUID futId = argument("futId");
             Integer pageSize = argument("pageSize");
             Integer maxRows = argument("maxRows");
+            Boolean columnar = argument("columnar");
+            Boolean close = argument("close");
+
+            if (close != null && close) {
+                assert !first;
+
+                closeCursor(futId);
+
+                return F.asList(Collections.emptyList(), true);
+            }
 
             assert pageSize != null;
             assert maxRows != null;
 
+            if (batchArgs != null) {
+                assert first;
+                assert sql != null;
+                assert timeout != null;
+
+                return executeBatch(cacheName, sql, timeout, batchArgs, pageSize, maxRows,
+                    columnar != null && columnar);
+            }
+
             GridTuple4<GridCacheQueryFuture<List<?>>, Integer, Boolean, Collection<String>> t = null;
 
             Collection<String> tbls = null;
@@ -188,36 +211,9 @@ public class GridCacheQueryJdbcTask extends GridComputeTaskAdapter<byte[], byte[
                 assert args != null;
                 assert futId == null;
 
-                GridCache<?, ?> cache = ((GridEx)grid).cachex(cacheName);
-
-                GridCacheQuery<List<?>> qry =
-                    ((GridCacheQueriesEx<?, ?>)cache.queries()).createSqlFieldsQuery(sql, true);
-
-                qry.pageSize(pageSize);
-                qry.timeout(timeout);
-
-                // Query local and replicated caches only locally.
-                if (cache.configuration().getCacheMode() != PARTITIONED)
-                    qry = qry.projection(grid.forLocal());
-
-                GridCacheQueryFuture<List<?>> fut = qry.execute(args.toArray());
-
-                Collection<GridIndexingFieldMetadata> meta = ((GridCacheQueryMetadataAware)fut).metadata().get();
-
-                if (meta == null) {
-                    // Try to extract initial SQL exception.
-                    try {
-                        fut.get();
-                    }
-                    catch (GridException e) {
-                        if (e.hasCause(SQLException.class))
-                            throw new GridInternalException(e.getCause(SQLException.class).getMessage(), e);
-                    }
+                GridCacheQueryFuture<List<?>> fut = query(cacheName, sql, pageSize, timeout).execute(args.toArray());
 
-                    throw new GridInternalException("Query failed on all nodes. Probably you are requesting " +
-                        "nonexistent table (check database metadata) or you are trying to join data that is " +
-                        "stored in non-collocated mode.");
-                }
+                Collection<GridIndexingFieldMetadata> meta = metadata(fut);
 
                 tbls = new ArrayList<>(meta.size());
                 cols = new ArrayList<>(meta.size());
@@ -242,11 +238,12 @@ public class GridCacheQueryJdbcTask extends GridComputeTaskAdapter<byte[], byte[
                 t = grid.<UUID, GridTuple4<GridCacheQueryFuture<List<?>>, Integer, Boolean,
                     Collection<String>>>nodeLocalMap().get(futId);
 
-            assert t != null;
+            if (t == null)
+                throw new GridInternalException("Query cursor was closed or expired: " + futId);
 
             cols = t.get4();
 
-            Collection<List<Object>> fields = new LinkedList<>();
+            Collection<List<Object>> fields = new ArrayList<>(Math.min(pageSize, 1024));
 
             GridCacheQueryFuture<List<?>> fut = t.get1();
 
@@ -255,16 +252,8 @@ public class GridCacheQueryJdbcTask extends GridComputeTaskAdapter<byte[], byte[
 
             List<?> next;
 
-            while ((next = fut.next()) != null && pageCnt++ < pageSize && (maxRows == 0 || totalCnt++ < maxRows)) {
-                fields.add(F.transformList(next, new C1<Object, Object>() {
-                    @Override public Object apply(Object val) {
-                        if (val != null && !sqlType(val))
-                            val = val.toString();
-
-                        return val;
-                    }
-                }));
-            }
+            while ((next = fut.next()) != null && pageCnt++ < pageSize && (maxRows == 0 || totalCnt++ < maxRows))
+                fields.add(row(next));
 
             boolean finished = next == null || totalCnt == maxRows;
 
@@ -273,8 +262,307 @@ public class GridCacheQueryJdbcTask extends GridComputeTaskAdapter<byte[], byte[
             else
                 grid.nodeLocalMap().remove(futId);
 
-            return first ? F.asList(grid.localNode().id(), futId, tbls, cols, types, fields, finished) :
-                F.asList(fields, finished);
+            Object page = columnar != null && columnar ? columns(fields, cols.size()) : fields;
+
+            return first ? F.asList(grid.localNode().id(), futId, tbls, cols, types, page, finished) :
+                F.asList(page, finished);
+        }
+
+        /**
+         * Executes the same query for each set of arguments. At most {@link #BATCH_WINDOW} executions
+         * run concurrently. Only the first page of each result is returned in the response, the rest
+         * is fetched through a server-side cursor the same way as for a regular query.
+         *
+         * @param cacheName Cache name.
+         * @param sql SQL query.
+         * @param timeout Query timeout.
+         * @param batchArgs Query arguments for each execution.
+         * @param pageSize Page size.
+         * @param maxRows Maximum number of rows for each execution.
+         * @param columnar Whether results should be returned in columnar form.
+         * @return Node ID, table names, column names, types and for each execution cursor ID
+         *      (or {@code null} if result is complete), first page and finished flag.
+         * @throws GridException In case of error.
+         */
+        private Object executeBatch(String cacheName, String sql, long timeout, List<List<Object>> batchArgs,
+            int pageSize, int maxRows, boolean columnar) throws GridException {
+            GridCacheQuery<List<?>> qry = query(cacheName, sql, pageSize, timeout);
+
+            Iterator<List<Object>> argsIt = batchArgs.iterator();
+
+            Queue<GridCacheQueryFuture<List<?>>> running = new ArrayDeque<>(BATCH_WINDOW);
+
+            Collection<String> tbls = null;
+            Collection<String> cols = null;
+            Collection<String> types = null;
+
+            Collection<Object> res = new ArrayList<>(batchArgs.size());
+
+            try {
+                while (running.size() < BATCH_WINDOW && argsIt.hasNext())
+                    running.add(qry.execute(argsIt.next().toArray()));
+
+                GridCacheQueryFuture<List<?>> fut;
+
+                while ((fut = running.poll()) != null) {
+                    if (cols == null) {
+                        Collection<GridIndexingFieldMetadata> meta;
+
+                        try {
+                            meta = metadata(fut);
+                        }
+                        catch (GridException e) {
+                            fut.cancel();
+
+                            throw e;
+                        }
+
+                        tbls = new ArrayList<>(meta.size());
+                        cols = new ArrayList<>(meta.size());
+                        types = new ArrayList<>(meta.size());
+
+                        for (GridIndexingFieldMetadata desc : meta) {
+                            tbls.add(desc.typeName());
+                            cols.add(desc.fieldName().toUpperCase());
+                            types.add(desc.fieldTypeName());
+                        }
+                    }
+
+                    Collection<List<Object>> fields = new ArrayList<>(Math.min(pageSize, 1024));
+
+                    List<?> next = null;
+
+                    while (fields.size() < pageSize && (maxRows == 0 || fields.size() < maxRows) &&
+                        (next = fut.next()) != null)
+                        fields.add(row(next));
+
+                    boolean finished = next == null || fields.size() == maxRows;
+
+                    UUID futId = null;
+
+                    if (finished) {
+                        if (!fut.isDone())
+                            fut.cancel();
+                    }
+                    else {
+                        futId = UUID.randomUUID();
+
+                        grid.nodeLocalMap().put(futId, F.t(fut, fields.size(), true, cols));
+
+                        scheduleRemoval(futId);
+                    }
+
+                    res.add(F.asList(futId, columnar ? columns(fields, cols.size()) : fields, finished));
+
+                    // Start next execution only when a slot is free.
+                    if (argsIt.hasNext())
+                        running.add(qry.execute(argsIt.next().toArray()));
+                }
+            }
+            finally {
+                for (GridCacheQueryFuture<List<?>> fut : running)
+                    fut.cancel();
+            }
+
+            return F.asList(grid.localNode().id(), tbls, cols, types, res);
+        }
+
+        /**
+         * Creates fields query.
+         *
+         * @param cacheName Cache name.
+         * @param sql SQL query.
+         * @param pageSize Page size.
+         * @param timeout Query timeout.
+         * @return Query.
+         */
+        private GridCacheQuery<List<?>> query(String cacheName, String sql, int pageSize, long timeout) {
+            GridCache<?, ?> cache = ((GridEx)grid).cachex(cacheName);
+
+            GridCacheQuery<List<?>> qry =
+                ((GridCacheQueriesEx<?, ?>)cache.queries()).createSqlFieldsQuery(sql, true);
+
+            qry.pageSize(pageSize);
+            qry.timeout(timeout);
+
+            // Query local and replicated caches only locally.
+            if (cache.configuration().getCacheMode() != PARTITIONED)
+                qry = qry.projection(grid.forLocal());
+
+            return qry;
+        }
+
+        /**
+         * Gets fields metadata of executed query.
+         *
+         * @param fut Query future.
+         * @return Fields metadata.
+         * @throws GridException If query failed.
+         */
+        private Collection<GridIndexingFieldMetadata> metadata(GridCacheQueryFuture<List<?>> fut)
+            throws GridException {
+            Collection<GridIndexingFieldMetadata> meta = ((GridCacheQueryMetadataAware)fut).metadata().get();
+
+            if (meta == null) {
+                // Try to extract initial SQL exception.
+                try {
+                    fut.get();
+                }
+                catch (GridException e) {
+                    if (e.hasCause(SQLException.class))
+                        throw new GridInternalException(e.getCause(SQLException.class).getMessage(), e);
+                }
+
+                throw new GridInternalException("Query failed on all nodes. Probably you are requesting " +
+                    "nonexistent table (check database metadata) or you are trying to join data that is " +
+                    "stored in non-collocated mode.");
+            }
+
+            return meta;
+        }
+
+        /**
+         * Converts query result row, replacing values of non-SQL types with their string representation.
+         *
+         * @param row Query result row.
+         * @return Converted row.
+         */
+        private List<Object> row(List<?> row) {
+            return F.transformList(row, new C1<Object, Object>() {
+                @Override public Object apply(Object val) {
+                    if (val != null && !sqlType(val))
+                        val = val.toString();
+
+                    return val;
+                }
+            });
+        }
+
+        /**
+         * Removes stored query future and cancels the query.
+         *
+         * @param futId Future ID.
+         * @throws GridException In case of error.
+         */
+        private void closeCursor(UUID futId) throws GridException {
+            assert futId != null;
+
+            GridTuple4<GridCacheQueryFuture<List<?>>, Integer, Boolean, Collection<String>> t =
+                grid.<UUID, GridTuple4<GridCacheQueryFuture<List<?>>, Integer, Boolean,
+                    Collection<String>>>nodeLocalMap().remove(futId);
+
+            if (t != null)
+                t.get1().cancel();
+        }
+
+        /**
+         * Converts page rows to columnar form. Column with values of the same primitive
+         * wrapper type and without {@code null}s is converted to primitive array, which is
+         * much cheaper to marshal than list of boxed values. Other columns are converted
+         * to {@code Object[]}.
+         *
+         * @param rows Rows.
+         * @param colCnt Column count.
+         * @return Array of columns.
+         */
+        private static Object[] columns(Collection<List<Object>> rows, int colCnt) {
+            Object[] cols = new Object[colCnt];
+
+            for (int i = 0; i < colCnt; i++)
+                cols[i] = column(rows, i);
+
+            return cols;
+        }
+
+        /**
+         * @param rows Rows.
+         * @param idx Column index.
+         * @return Column values.
+         */
+        @SuppressWarnings("IfMayBeConditional")
+        private static Object column(Collection<List<Object>> rows, int idx) {
+            int size = rows.size();
+
+            Class<?> cls = null;
+
+            for (List<Object> row : rows) {
+                Object val = row.get(idx);
+
+                if (val == null || (cls != null && cls != val.getClass())) {
+                    cls = null;
+
+                    break;
+                }
+
+                cls = val.getClass();
+            }
+
+            int i = 0;
+
+            if (cls == Integer.class) {
+                int[] arr = new int[size];
+
+                for (List<Object> row : rows)
+                    arr[i++] = (Integer)row.get(idx);
+
+                return arr;
+            }
+            else if (cls == Long.class) {
+                long[] arr = new long[size];
+
+                for (List<Object> row : rows)
+                    arr[i++] = (Long)row.get(idx);
+
+                return arr;
+            }
+            else if (cls == Double.class) {
+                double[] arr = new double[size];
+
+                for (List<Object> row : rows)
+                    arr[i++] = (Double)row.get(idx);
+
+                return arr;
+            }
+            else if (cls == Float.class) {
+                float[] arr = new float[size];
+
+                for (List<Object> row : rows)
+                    arr[i++] = (Float)row.get(idx);
+
+                return arr;
+            }
+            else if (cls == Short.class) {
+                short[] arr = new short[size];
+
+                for (List<Object> row : rows)
+                    arr[i++] = (Short)row.get(idx);
+
+                return arr;
+            }
+            else if (cls == Byte.class) {
+                byte[] arr = new byte[size];
+
+                for (List<Object> row : rows)
+                    arr[i++] = (Byte)row.get(idx);
+
+                return arr;
+            }
+            else if (cls == Boolean.class) {
+                boolean[] arr = new boolean[size];
+
+                for (List<Object> row : rows)
+                    arr[i++] = (Boolean)row.get(idx);
+
+                return arr;
+            }
+            else {
+                Object[] arr = new Object[size];
+
+                for (List<Object> row : rows)
+                    arr[i++] = row.get(idx);
+
+                return arr;
+            }
         }
 
         /**
@@ -71,6 +71,18 @@ public interface GridContinuousHandler extends Externalizable {
      */
     public void notifyCallback(UUID nodeId, UUID routineId, Collection<?> objs, GridKernalContext ctx);
 
+    /**
+     * Prepares buffered notifications before they are sent to the node that started routine.
+     * Handler may replace them with more compact representation which is then passed to
+     * {@link #notifyCallback(UUID, UUID, Collection, GridKernalContext)} on that node.
+     *
+     * @param objs Buffered notification objects.
+     * @param ctx Kernal context.
+     * @return Notification objects to send.
+     * @throws GridException In case of error.
+     */
+    public Collection<?> prepareNotifications(Collection<Object> objs, GridKernalContext ctx) throws GridException;
+
     /**
      * Deploys and marshals inner objects (called only if peer deployment is enabled).
      *
@@ -643,6 +643,21 @@ public class GridContinuousProcessor extends GridProcessorAdapter {
      */
     public void addNotification(UUID nodeId, UUID routineId, @Nullable Object obj, @Nullable Object orderedTopic)
         throws GridException {
+        addNotification(nodeId, routineId, obj, orderedTopic, null);
+    }
+
+    /**
+     * @param nodeId ID of the node that started routine.
+     * @param routineId Routine ID.
+     * @param obj Notification object.
+     * @param orderedTopic Topic for ordered notifications.
+     *      If {@code null}, non-ordered message will be sent.
+     * @param conflateKey If not {@code null}, notification replaces buffered notification
+     *      with the same key, if any.
+     * @throws GridException In case of error.
+     */
+    public void addNotification(UUID nodeId, UUID routineId, @Nullable Object obj, @Nullable Object orderedTopic,
+        @Nullable Object conflateKey) throws GridException {
         assert nodeId != null;
         assert routineId != null;
 
@@ -651,29 +666,33 @@ public class GridContinuousProcessor extends GridProcessorAdapter {
         RemoteRoutineInfo info = rmtInfos.get(routineId);
 
         if (info != null) {
-            Collection<Object> toSnd = info.add(obj);
+            Collection<Object> toSnd = info.add(obj, conflateKey);
 
             if (toSnd != null)
-                sendNotification(nodeId, routineId, toSnd, orderedTopic);
+                sendNotification(nodeId, routineId, info.hnd, toSnd, orderedTopic);
         }
     }
 
     /**
      * @param nodeId Node ID.
      * @param routineId Routine ID.
+     * @param hnd Routine handler.
      * @param toSnd Notification object to send.
      * @param orderedTopic Topic for ordered notifications.
      *      If {@code null}, non-ordered message will be sent.
      * @throws GridException In case of error.
      */
-    private void sendNotification(UUID nodeId, UUID routineId, Collection<Object> toSnd,
+    private void sendNotification(UUID nodeId, UUID routineId, GridContinuousHandler hnd, Collection<Object> toSnd,
         @Nullable Object orderedTopic) throws GridException {
         assert nodeId != null;
         assert routineId != null;
+        assert hnd != null;
         assert toSnd != null;
         assert !toSnd.isEmpty();
 
-        sendWithRetries(nodeId, new GridContinuousMessage(MSG_EVT_NOTIFICATION, routineId, toSnd), orderedTopic);
+        Collection<?> data = hnd.prepareNotifications(toSnd, ctx);
+
+        sendWithRetries(nodeId, new GridContinuousMessage(MSG_EVT_NOTIFICATION, routineId, data), orderedTopic);
     }
 
     /**
@@ -915,7 +934,7 @@ public class GridContinuousProcessor extends GridProcessorAdapter {
 
                             if (toSnd != null) {
                                 try {
-                                    sendNotification(nodeId, routineId, toSnd, hnd.orderedTopic());
+                                    sendNotification(nodeId, routineId, hnd, toSnd, hnd.orderedTopic());
                                 }
                                 catch (GridException e) {
                                     U.error(log, "Failed to send notification to node: " + nodeId, e);
@@ -1126,6 +1145,9 @@ public class GridContinuousProcessor extends GridProcessorAdapter {
         /** Buffer. */
         private Collection<Object> buf;
 
+        /** Buffer of conflated notifications. */
+        private Map<Object, Object> conflated;
+
         /** Last send time. */
         private long lastSndTime = U.currentTimeMillis();
 
@@ -1157,18 +1179,27 @@ public class GridContinuousProcessor extends GridProcessorAdapter {
 
         /**
          * @param obj Object to add.
+         * @param conflateKey Conflation key or {@code null} if object should not be conflated.
          * @return Object to send or {@code null} if there is nothing to send for now.
          */
-        @Nullable Collection<Object> add(@Nullable Object obj) {
+        @Nullable Collection<Object> add(@Nullable Object obj, @Nullable Object conflateKey) {
             Collection<Object> toSnd = null;
 
             synchronized (this) {
-                buf.add(obj);
+                if (conflateKey != null) {
+                    if (conflated == null)
+                        conflated = new LinkedHashMap<>();
 
-                if (buf.size() == bufSize) {
-                    toSnd = buf;
+                    // Move key to the end, so that notifications are sent in order of latest updates.
+                    conflated.remove(conflateKey);
 
-                    buf = new ArrayList<>(bufSize);
+                    conflated.put(conflateKey, obj);
+                }
+                else
+                    buf.add(obj);
+
+                if (size() == bufSize) {
+                    toSnd = flush();
 
                     if (interval > 0)
                         lastSndTime = U.currentTimeMillis();
@@ -1178,6 +1209,34 @@ public class GridContinuousProcessor extends GridProcessorAdapter {
             return toSnd;
         }
 
+        /**
+         * @return Number of buffered notifications.
+         */
+        private int size() {
+            assert Thread.holdsLock(this);
+
+            return conflated == null ? buf.size() : buf.size() + conflated.size();
+        }
+
+        /**
+         * @return Buffered notifications.
+         */
+        private Collection<Object> flush() {
+            assert Thread.holdsLock(this);
+
+            Collection<Object> toSnd = buf;
+
+            buf = new ArrayList<>(bufSize);
+
+            if (conflated != null && !conflated.isEmpty()) {
+                toSnd.addAll(conflated.values());
+
+                conflated.clear();
+            }
+
+            return toSnd;
+        }
+
         /**
          * @return Tuple with objects to sleep (or {@code null} if there is nothing to
          *      send for now) and time interval after next check is needed.
@@ -1193,10 +1252,8 @@ public class GridContinuousProcessor extends GridProcessorAdapter {
             synchronized (this) {
                 diff = now - lastSndTime;
 
-                if (diff >= interval && !buf.isEmpty()) {
-                    toSnd = buf;
-
-                    buf = new ArrayList<>(bufSize);
+                if (diff >= interval && size() > 0) {
+                    toSnd = flush();
 
                     lastSndTime = now;
                 }
@@ -28,6 +28,7 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.permission.*;
 import org.gridgain.grid.*;
 import org.gridgain.grid.cache.*;
+import org.gridgain.grid.cache.query.*;
 import org.gridgain.grid.events.*;
 import org.gridgain.grid.ggfs.*;
 import org.gridgain.grid.kernal.managers.eventstorage.*;
@@ -79,6 +80,15 @@ public class GridGgfsMetaManager extends GridGgfsManager {
     /** Local node ID. */
     private UUID locNodeId;
 
+    /** Node-local cache of file infos and resolved paths, {@code null} if disabled. */
+    private volatile GridGgfsPathCache pathCache;
+
+    /** Meta cache updates listener keeping path cache coherent. */
+    private GridCacheContinuousQuery<Object, Object> pathCacheQry;
+
+    /** Discovery listener dropping path cache on topology changes. */
+    private GridLocalEventListener pathCacheDiscoLsnr;
+
     /** {@inheritDoc} */
     @Override protected void start0() throws GridException {
         cfg = ggfsCtx.configuration();
@@ -107,6 +117,9 @@ public class GridGgfsMetaManager extends GridGgfsManager {
         delWorker = new GridGgfsDeleteWorker(ggfsCtx);
 
         delWorker.start();
+
+        if (cfg.getPathCacheSize() > 0)
+            startPathCache();
     }
 
     /** {@inheritDoc} */
@@ -115,6 +128,78 @@ public class GridGgfsMetaManager extends GridGgfsManager {
 
         if (delWorker0 != null)
             delWorker0.shutdown();
+
+        pathCache = null;
+
+        if (pathCacheDiscoLsnr != null)
+            evts.removeLocalEventListener(pathCacheDiscoLsnr, EVT_NODE_LEFT, EVT_NODE_FAILED);
+
+        if (pathCacheQry != null) {
+            try {
+                pathCacheQry.close();
+            }
+            catch (GridException e) {
+                U.warn(log, "Failed to stop meta cache updates listener: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Starts node-local path cache along with meta cache updates listener which keeps it coherent.
+     */
+    private void startPathCache() {
+        final GridGgfsPathCache pathCache0 = new GridGgfsPathCache(cfg.getPathCacheSize());
+
+        GridCacheContinuousQuery<Object, Object> qry = metaCache.queries().createContinuousQuery();
+
+        qry.callback(new GridBiPredicate<UUID, Collection<Map.Entry<Object, Object>>>() {
+            @Override public boolean apply(UUID nodeId, Collection<Map.Entry<Object, Object>> entries) {
+                for (Map.Entry<Object, Object> e : entries) {
+                    if (e.getKey() instanceof GridUuid)
+                        pathCache0.invalidate((GridUuid)e.getKey());
+                }
+
+                return true;
+            }
+        });
+
+        // All updates of REPLICATED and LOCAL caches are observed by local node.
+        GridProjection prj = metaCache.configuration().getCacheMode() == GridCacheMode.PARTITIONED ? null :
+            ggfsCtx.kernalContext().grid().forLocal();
+
+        try {
+            qry.execute(prj);
+        }
+        catch (GridException e) {
+            U.warn(log, "Failed to start meta cache updates listener (path cache will be disabled): " +
+                e.getMessage());
+
+            return;
+        }
+
+        // Notifications from failed nodes could be lost, so start from scratch.
+        pathCacheDiscoLsnr = new GridLocalEventListener() {
+            @Override public void onEvent(GridEvent evt) {
+                pathCache0.clear();
+            }
+        };
+
+        evts.addLocalEventListener(pathCacheDiscoLsnr, EVT_NODE_LEFT, EVT_NODE_FAILED);
+
+        pathCacheQry = qry;
+        pathCache = pathCache0;
+    }
+
+    /**
+     * Drops infos of updated files from path cache. Must be called after update is committed.
+     *
+     * @param fileIds Updated file IDs, {@code null} elements are ignored.
+     */
+    private void invalidate(GridUuid... fileIds) {
+        GridGgfsPathCache pathCache0 = pathCache;
+
+        if (pathCache0 != null)
+            pathCache0.invalidate(fileIds);
     }
 
     /**
@@ -136,7 +221,11 @@ public class GridGgfsMetaManager extends GridGgfsManager {
     @Nullable public GridUuid fileId(GridGgfsPath path) throws GridException {
         assert validTxState(false);
 
-        return fileId(path, false);
+        List<GridUuid> ids = fileIds(path);
+
+        assert ids != null && !ids.isEmpty() : "Invalid file IDs [path=" + path + ", ids=" + ids + ']';
+
+        return ids.get(ids.size() - 1);
     }
 
     /**
@@ -192,6 +281,10 @@ public class GridGgfsMetaManager extends GridGgfsManager {
     /**
      * Gets all file IDs for components of specified path. Result cannot be empty - there is at least root element.
      * But each element (except the first) can be {@code null} if such files don't exist.
+     * <p>
+     * If path cache is enabled, positive lookups may be served from it and are eventually consistent: path
+     * cache is invalidated asynchronously, so a file concurrently moved or removed on another node may still be
+     * resolved for a short time. Negative lookups are never served from path cache and always go to meta cache.
      *
      * @param path Path.
      * @return Collection of file IDs for components of specified path.
@@ -200,7 +293,64 @@ public class GridGgfsMetaManager extends GridGgfsManager {
     public List<GridUuid> fileIds(GridGgfsPath path) throws GridException {
         assert validTxState(false);
 
-        return fileIds(path, false);
+        GridGgfsPathCache pathCache0 = pathCache;
+
+        if (pathCache0 == null)
+            return fileIds(path, false);
+
+        List<GridUuid> ids = pathCache0.fileIds(path);
+
+        return ids != null ? ids : fileIds(path, pathCache0);
+    }
+
+    /**
+     * Gets all file IDs for components of specified path resolving them through infos cached in path cache.
+     * Resolved path is put into path cache. If any component is missing in cached listing, cached infos
+     * may be stale, so path is resolved bypassing path cache and result is not cached.
+     *
+     * @param path Path.
+     * @param pathCache0 Path cache.
+     * @return Collection of file IDs for components of specified path.
+     * @throws GridException If failed.
+     */
+    private List<GridUuid> fileIds(GridGgfsPath path, GridGgfsPathCache pathCache0) throws GridException {
+        Collection<String> components = path.components();
+
+        List<GridUuid> ids = new ArrayList<>(components.size() + 1);
+
+        GridGgfsFileInfo[] parents = new GridGgfsFileInfo[components.size()];
+
+        int parentsCnt = 0;
+
+        ids.add(ROOT_ID); // Always add root ID.
+
+        GridUuid fileId = ROOT_ID;
+
+        for (String s : components) {
+            assert !s.isEmpty();
+
+            GridGgfsFileInfo parent = info(fileId);
+
+            // Parent was concurrently removed, such chain cannot be validated later.
+            if (parent == null)
+                return fileIds(path, false);
+
+            parents[parentsCnt++] = parent;
+
+            GridGgfsListingEntry entry = parent.listing().get(s);
+
+            // Do not trust negative result, file could be created on another node and not invalidated yet.
+            if (entry == null)
+                return fileIds(path, false);
+
+            fileId = entry.fileId();
+
+            ids.add(fileId);
+        }
+
+        pathCache0.onResolved(path, ids, Arrays.copyOf(parents, parentsCnt));
+
+        return ids;
     }
 
     /**
@@ -249,7 +399,8 @@ public class GridGgfsMetaManager extends GridGgfsManager {
         assert fileId != null;
 
         // containsKey() doesn't work here since meta cache can be PARTITIONED (we do not restrict if!).
-        return info(fileId) != null;
+        // Path cache is bypassed since this method is used to detect concurrent deletes.
+        return info0(fileId) != null;
     }
 
     /**
@@ -265,6 +416,34 @@ public class GridGgfsMetaManager extends GridGgfsManager {
         if (fileId == null)
             return null;
 
+        GridGgfsPathCache pathCache0 = pathCache;
+
+        // Reads within transaction must lock entries, so they always go to meta cache.
+        if (pathCache0 == null || metaCache.tx() != null)
+            return info0(fileId);
+
+        GridGgfsFileInfo info = pathCache0.info(fileId);
+
+        if (info == null) {
+            long ver = pathCache0.version();
+
+            info = info0(fileId);
+
+            if (info != null)
+                pathCache0.onLoaded(ver, info);
+        }
+
+        return info;
+    }
+
+    /**
+     * Gets file info by its ID bypassing path cache.
+     *
+     * @param fileId File ID to get details for.
+     * @return File info.
+     * @throws GridException If failed.
+     */
+    @Nullable private GridGgfsFileInfo info0(GridUuid fileId) throws GridException {
         GridGgfsFileInfo info = id2InfoPrj.get(fileId);
 
         // Force root ID always exist in cache.
@@ -288,6 +467,51 @@ public class GridGgfsMetaManager extends GridGgfsManager {
         if (F.isEmpty(fileIds))
             return Collections.emptyMap();
 
+        GridGgfsPathCache pathCache0 = pathCache;
+
+        if (pathCache0 == null)
+            return infos0(fileIds);
+
+        Map<GridUuid, GridGgfsFileInfo> map = new HashMap<>(fileIds.size(), 1.0f);
+
+        Collection<GridUuid> missed = null;
+
+        for (GridUuid fileId : fileIds) {
+            GridGgfsFileInfo info = pathCache0.info(fileId);
+
+            if (info != null)
+                map.put(fileId, info);
+            else {
+                if (missed == null)
+                    missed = new ArrayList<>(fileIds.size());
+
+                missed.add(fileId);
+            }
+        }
+
+        if (missed != null) {
+            long ver = pathCache0.version();
+
+            // Read all missed infos in one batch.
+            Map<GridUuid, GridGgfsFileInfo> loaded = infos0(missed);
+
+            for (GridGgfsFileInfo info : loaded.values())
+                pathCache0.onLoaded(ver, info);
+
+            map.putAll(loaded);
+        }
+
+        return map;
+    }
+
+    /**
+     * Gets files details by their IDs bypassing path cache.
+     *
+     * @param fileIds file IDs to get details for.
+     * @return Files details.
+     * @throws GridException If failed.
+     */
+    private Map<GridUuid, GridGgfsFileInfo> infos0(Collection<GridUuid> fileIds) throws GridException {
         Map<GridUuid, GridGgfsFileInfo> map = id2InfoPrj.getAll(fileIds);
 
         // Force root ID always exist in cache.
@@ -332,6 +556,8 @@ public class GridGgfsMetaManager extends GridGgfsManager {
 
             tx.commit();
 
+            invalidate(fileId);
+
             return newInfo;
         }
         catch (GridClosureException e) {
@@ -400,6 +626,8 @@ public class GridGgfsMetaManager extends GridGgfsManager {
             assert put : "Value was not stored in cache [fileId=" + fileId + ", newInfo=" + newInfo + ']';
 
             tx.commit();
+
+            invalidate(fileId);
         }
         catch (GridClosureException e) {
             throw U.cast(e);
@@ -457,13 +685,24 @@ public class GridGgfsMetaManager extends GridGgfsManager {
 
     /**
      * List child files for specified file ID.
+     * <p>
+     * If path cache is enabled, listing may be served from it and is eventually consistent: it may miss files
+     * concurrently created on another node or contain files concurrently removed there. Use
+     * {@link #fileId(GridUuid, String)} to check whether particular file exists.
      *
      * @param fileId File to list child files for.
      * @return Directory listing for the specified file.
      * @throws GridException If failed.
      */
     public Map<String, GridGgfsListingEntry> directoryListing(GridUuid fileId) throws GridException {
-        return directoryListing(fileId, false);
+        assert fileId != null;
+
+        if (pathCache == null)
+            return directoryListing(fileId, false);
+
+        GridGgfsFileInfo info = info(fileId);
+
+        return info == null ? Collections.<String, GridGgfsListingEntry>emptyMap() : info.listing();
     }
 
     /**
@@ -560,6 +799,8 @@ public class GridGgfsMetaManager extends GridGgfsManager {
             res = putIfAbsentNonTx(parentId, fileName, newFileInfo);
 
             tx.commit();
+
+            invalidate(parentId);
         }
         finally {
             tx.close();
@@ -644,6 +885,8 @@ public class GridGgfsMetaManager extends GridGgfsManager {
             moveNonTx(fileId, srcFileName, srcParentId, destFileName, destParentId);
 
             tx.commit();
+
+            invalidate(fileId, srcParentId, destParentId);
         }
         finally {
             tx.close();
@@ -759,6 +1002,8 @@ public class GridGgfsMetaManager extends GridGgfsManager {
 
             tx.commit();
 
+            invalidate(parentId, fileId, TRASH_ID);
+
             delWorker.signal();
 
             return fileInfo;
@@ -863,6 +1108,8 @@ public class GridGgfsMetaManager extends GridGgfsManager {
 
             tx.commit();
 
+            invalidate(parentId, pathId, TRASH_ID);
+
             delWorker.signal();
 
             return resId;
@@ -1018,6 +1265,8 @@ public class GridGgfsMetaManager extends GridGgfsManager {
 
             tx.commit();
 
+            invalidate(allIds);
+
             return res;
         }
         finally {
@@ -1062,6 +1311,8 @@ public class GridGgfsMetaManager extends GridGgfsManager {
 
             tx.commit();
 
+            invalidate(parentId, id);
+
             return res;
         }
         finally {
@@ -1198,6 +1449,8 @@ public class GridGgfsMetaManager extends GridGgfsManager {
 
             tx.commit();
 
+            invalidate(parentId, fileId);
+
             return info;
         }
         finally {
@@ -1214,13 +1467,22 @@ public class GridGgfsMetaManager extends GridGgfsManager {
      * @param lenDelta Length delta.
      * @param modificationTime Last modification time.
      */
-    public void updateParentListingAsync(GridUuid parentId, GridUuid fileId, String fileName, long lenDelta,
+    public void updateParentListingAsync(final GridUuid parentId, GridUuid fileId, String fileName, long lenDelta,
         long modificationTime) {
         assert parentId != null;
 
         assert validTxState(false);
 
-        id2InfoPrj.transformAsync(parentId, new UpdateListingEntry(fileId, fileName, lenDelta, 0, modificationTime));
+        GridFuture<?> fut = id2InfoPrj.transformAsync(parentId,
+            new UpdateListingEntry(fileId, fileName, lenDelta, 0, modificationTime));
+
+        if (pathCache != null) {
+            fut.listenAsync(new CI1<GridFuture<?>>() {
+                @Override public void apply(GridFuture<?> fut) {
+                    invalidate(parentId);
+                }
+            });
+        }
     }
 
     /**
@@ -1243,8 +1505,8 @@ public class GridGgfsMetaManager extends GridGgfsManager {
         GridCacheTx tx = metaCache.isLockedByThread(fileId) ? null : metaCache.txStart(PESSIMISTIC, REPEATABLE_READ);
 
         try {
-            // Lock file ID for this transaction.
-            GridGgfsFileInfo oldInfo = info(fileId);
+            // Lock file ID for this transaction. Bypass path cache since file can be locked outside of transaction.
+            GridGgfsFileInfo oldInfo = info0(fileId);
 
             if (oldInfo == null)
                 return null; // File not found.
@@ -1270,6 +1532,8 @@ public class GridGgfsMetaManager extends GridGgfsManager {
             if (tx != null)
                 tx.commit();
 
+            invalidate(fileId);
+
             return newInfo;
         }
         catch (GridClosureException e) {
@@ -2056,7 +2320,7 @@ public class GridGgfsMetaManager extends GridGgfsManager {
             List<List<GridUuid>> pathIds = new ArrayList<>(paths.length);
 
             for (GridGgfsPath path : paths)
-                pathIds.add(fileIds(path));
+                pathIds.add(fileIds(path, false));
 
             // Start pessimistic.
             GridCacheTx tx = metaCache.txStart(PESSIMISTIC, REPEATABLE_READ);
@@ -2213,6 +2477,12 @@ public class GridGgfsMetaManager extends GridGgfsManager {
                 }
 
                 tx.commit();
+
+                // Synchronization may update arbitrary number of paths.
+                GridGgfsPathCache pathCache0 = pathCache;
+
+                if (pathCache0 != null)
+                    pathCache0.clear();
             }
             catch (GridException e) {
                 if (!finished) {
@@ -2343,6 +2613,8 @@ public class GridGgfsMetaManager extends GridGgfsManager {
             id2InfoPrj.transform(parentId, new UpdateListingEntry(fileId, fileName, 0, accessTime, modificationTime));
 
             tx.commit();
+
+            invalidate(parentId, fileId);
         }
         finally {
             tx.close();
@@ -0,0 +1,176 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.kernal.processors.ggfs;
+
+import org.gridgain.grid.*;
+import org.gridgain.grid.ggfs.*;
+import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Node-local cache of file infos and resolved path chains. Infos are populated by non-transactional metadata
+ * reads and dropped whenever the corresponding meta cache entry is updated. Path chains are not invalidated
+ * explicitly: each chain remembers directory infos it was resolved through and is only valid while all of
+ * them are still cached.
+ */
+class GridGgfsPathCache {
+    /** File ID to file info. */
+    private final ConcurrentMap<GridUuid, GridGgfsFileInfo> infos;
+
+    /** Path to resolved file IDs chain. */
+    private final ConcurrentMap<GridGgfsPath, PathEntry> paths;
+
+    /** Invalidations counter used to reject infos loaded concurrently with an update. */
+    private final AtomicLong ver = new AtomicLong();
+
+    /**
+     * @param maxSize Maximum number of cached infos and maximum number of cached paths.
+     */
+    GridGgfsPathCache(int maxSize) {
+        assert maxSize > 0;
+
+        infos = new GridBoundedConcurrentLinkedHashMap<>(maxSize);
+        paths = new GridBoundedConcurrentLinkedHashMap<>(maxSize);
+    }
+
+    /**
+     * Gets current version which should be captured before loading info from meta cache
+     * and passed to {@link #onLoaded(long, GridGgfsFileInfo)}.
+     *
+     * @return Current version.
+     */
+    long version() {
+        return ver.get();
+    }
+
+    /**
+     * @param fileId File ID.
+     * @return Cached file info or {@code null} if not cached.
+     */
+    @Nullable GridGgfsFileInfo info(GridUuid fileId) {
+        return infos.get(fileId);
+    }
+
+    /**
+     * Caches info loaded from meta cache.
+     *
+     * @param ver0 Version captured before info was loaded.
+     * @param info Loaded info.
+     */
+    void onLoaded(long ver0, GridGgfsFileInfo info) {
+        GridUuid fileId = info.id();
+
+        infos.put(fileId, info);
+
+        // Update could be applied after info was read but before it was put, in this case info may be stale.
+        if (ver.get() != ver0)
+            infos.remove(fileId);
+    }
+
+    /**
+     * @param path Path.
+     * @return Cached file IDs chain or {@code null} if not cached or any of directories on the path has changed.
+     */
+    @Nullable List<GridUuid> fileIds(GridGgfsPath path) {
+        PathEntry e = paths.get(path);
+
+        if (e == null)
+            return null;
+
+        for (GridGgfsFileInfo dir : e.dirs) {
+            if (infos.get(dir.id()) != dir) {
+                paths.remove(path, e);
+
+                return null;
+            }
+        }
+
+        return e.ids;
+    }
+
+    /**
+     * Caches resolved path.
+     *
+     * @param path Path.
+     * @param ids File IDs chain.
+     * @param dirs Directory infos path was resolved through.
+     */
+    void onResolved(GridGgfsPath path, List<GridUuid> ids, GridGgfsFileInfo[] dirs) {
+        paths.put(path, new PathEntry(Collections.unmodifiableList(ids), dirs));
+    }
+
+    /**
+     * Drops cached infos for given file IDs, so that path chains resolved through them become invalid as well.
+     *
+     * @param fileIds File IDs, {@code null} elements are ignored.
+     */
+    void invalidate(GridUuid... fileIds) {
+        ver.incrementAndGet();
+
+        for (GridUuid fileId : fileIds) {
+            if (fileId != null)
+                infos.remove(fileId);
+        }
+    }
+
+    /**
+     * Drops all cached infos and paths.
+     */
+    void clear() {
+        ver.incrementAndGet();
+
+        infos.clear();
+        paths.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridGgfsPathCache.class, this, "infos", infos.size(), "paths", paths.size());
+    }
+
+    /**
+     * Resolved path.
+     */
+    private static class PathEntry {
+        /** File IDs chain. */
+        private final List<GridUuid> ids;
+
+        /** Directory infos path was resolved through. */
+        private final GridGgfsFileInfo[] dirs;
+
+        /**
+         * @param ids File IDs chain.
+         * @param dirs Directory infos path was resolved through.
+         */
+        private PathEntry(List<GridUuid> ids, GridGgfsFileInfo[] dirs) {
+            this.ids = ids;
+            this.dirs = dirs;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.gridgain.grid.kernal.*;
 import org.gridgain.grid.kernal.processors.*;
 import org.gridgain.grid.lang.*;
 import org.gridgain.grid.marshaller.*;
+import org.gridgain.grid.marshaller.optimized.*;
 import org.gridgain.grid.util.*;
 import org.gridgain.grid.util.lang.*;
 import org.gridgain.grid.util.offheap.*;
@@ -167,6 +168,13 @@ public class GridOffHeapProcessor extends GridProcessorAdapter {
      */
     @Nullable public <T> T getValue(@Nullable String spaceName, int part, Object key, byte[] keyBytes,
         @Nullable ClassLoader ldr) throws GridException {
+        if (marsh instanceof GridOptimizedMarshaller) {
+            GridOffHeapPartitionedMap m = offheap(spaceName);
+
+            // Unmarshal directly from off-heap memory.
+            return m == null ? null : m.read(part, U.hash(key), keyBytes(key, keyBytes), this.<T>reader(ldr));
+        }
+
         byte[] valBytes = get(spaceName, part, key, keyBytes);
 
         if (valBytes == null)
@@ -191,6 +199,51 @@ public class GridOffHeapProcessor extends GridProcessorAdapter {
         return m == null ? null : m.remove(part, U.hash(key), keyBytes(key, keyBytes));
     }
 
+    /**
+     * Removes value from offheap space for the given key and unmarshals it.
+     *
+     * @param spaceName Space name.
+     * @param part Partition.
+     * @param key Key.
+     * @param keyBytes Key bytes.
+     * @param ldr Class loader.
+     * @return Removed value.
+     * @throws GridException If failed.
+     */
+    @Nullable public <T> T removeValue(@Nullable String spaceName, int part, Object key, byte[] keyBytes,
+        @Nullable ClassLoader ldr) throws GridException {
+        if (marsh instanceof GridOptimizedMarshaller) {
+            GridOffHeapPartitionedMap m = offheap(spaceName);
+
+            // Unmarshal directly from off-heap memory.
+            return m == null ? null : m.remove(part, U.hash(key), keyBytes(key, keyBytes), this.<T>reader(ldr));
+        }
+
+        byte[] valBytes = remove(spaceName, part, key, keyBytes);
+
+        if (valBytes == null)
+            return null;
+
+        return marsh.unmarshal(valBytes, ldr == null ? U.gridClassLoader() : ldr);
+    }
+
+    /**
+     * @param ldr Class loader.
+     * @return Reader unmarshalling values directly from off-heap memory.
+     */
+    private <T> GridOffHeapValueReader<T> reader(@Nullable ClassLoader ldr) {
+        assert marsh instanceof GridOptimizedMarshaller;
+
+        final GridOptimizedMarshaller optMarsh = (GridOptimizedMarshaller)marsh;
+        final ClassLoader ldr0 = ldr == null ? U.gridClassLoader() : ldr;
+
+        return new GridOffHeapValueReader<T>() {
+            @Override public T read(long ptr, int len) throws GridException {
+                return optMarsh.unmarshal(ptr, len, ldr0);
+            }
+        };
+    }
+
     /**
      * Puts the given value to offheap space for the given key.
      *
@@ -212,6 +265,39 @@ public class GridOffHeapProcessor extends GridProcessorAdapter {
         m.put(part, U.hash(key), keyBytes(key, keyBytes), valBytes);
     }
 
+    /**
+     * Puts all given values into offheap space of the given partition. Entries which fall
+     * into the same segment of off-heap map are put under a single segment lock.
+     *
+     * @param spaceName Space name.
+     * @param part Partition.
+     * @param keys Keys.
+     * @param keyBytes Key bytes, elements may be {@code null} if key is not marshalled yet.
+     * @param valBytes Value bytes.
+     * @throws GridException If failed.
+     */
+    public void putAll(@Nullable String spaceName, int part, Object[] keys, byte[][] keyBytes, byte[][] valBytes)
+        throws GridException {
+        assert keys.length == keyBytes.length && keys.length == valBytes.length;
+
+        GridOffHeapPartitionedMap m = offheap(spaceName);
+
+        if (m == null)
+            throw new GridException("Failed to write data to off-heap space, no space registered for name: " +
+                spaceName);
+
+        int[] hashes = new int[keys.length];
+
+        byte[][] kb = new byte[keys.length][];
+
+        for (int i = 0; i < keys.length; i++) {
+            hashes[i] = U.hash(keys[i]);
+            kb[i] = keyBytes(keys[i], keyBytes[i]);
+        }
+
+        m.putAll(part, hashes, kb, valBytes);
+    }
+
     /**
      * Removes value from offheap space for the given key.
      *
@@ -31,29 +31,30 @@ import org.gridgain.grid.util.*;
 import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.gridgain.grid.util.worker.*;
+
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Detects timeout events and processes them.
+ * <p>
+ * Timeout objects are kept in a hierarchical timing wheel, so adding and removing
+ * timeout object is {@code O(1)} regardless of the number of pending timeouts.
  */
 public class GridTimeoutProcessor extends GridProcessorAdapter {
+    /** Timing wheel tick in milliseconds, matches granularity of {@link U#currentTimeMillis()}. */
+    private static final long TICK = 10;
+
     /** */
     private final GridThread timeoutWorker;
 
-    /** Time-based sorted set for timeout objects. */
-    private final GridConcurrentSkipListSet<GridTimeoutObject> timeoutObjs =
-        new GridConcurrentSkipListSet<>(new Comparator<GridTimeoutObject>() {
-            /** {@inheritDoc} */
-            @Override public int compare(GridTimeoutObject o1, GridTimeoutObject o2) {
-                long time1 = o1.endTime();
-                long time2 = o2.endTime();
+    /** Timing wheel for timeout objects. */
+    private final GridTimingWheel<GridTimeoutObject> wheel =
+        new GridTimingWheel<>(TICK, Runtime.getRuntime().availableProcessors() * 2);
 
-                return time1 < time2 ? -1 : time1 > time2 ? 1 : o1.timeoutId().compareTo(o2.timeoutId());
-            }
-        });
-
-    /** */
-    private final Object mux = new Object();
+    /** Wheel nodes of pending timeout objects. */
+    private final ConcurrentMap<GridUuid, GridTimingWheel.Node<GridTimeoutObject>> timeoutObjs =
+        new ConcurrentHashMap8<>();
 
     /**
      * @param ctx Kernal context.
@@ -85,28 +86,28 @@ public class GridTimeoutProcessor extends GridProcessorAdapter {
     /**
      * @param timeoutObj Timeout object.
      */
-    @SuppressWarnings({"NakedNotify", "CallToNotifyInsteadOfNotifyAll"})
     public void addTimeoutObject(GridTimeoutObject timeoutObj) {
         if (timeoutObj.endTime() <= 0 || timeoutObj.endTime() == Long.MAX_VALUE)
             // Timeout will never happen.
             return;
 
-        boolean added = timeoutObjs.add(timeoutObj);
+        GridTimingWheel.Node<GridTimeoutObject> node = new GridTimingWheel.Node<>(timeoutObj, timeoutObj.endTime());
 
-        assert added : "Duplicate timeout object found: " + timeoutObj;
+        GridTimingWheel.Node<GridTimeoutObject> old = timeoutObjs.putIfAbsent(timeoutObj.timeoutId(), node);
 
-        if (timeoutObjs.firstx() == timeoutObj) {
-            synchronized (mux) {
-                mux.notify(); // No need to notifyAll since we only have one thread.
-            }
-        }
+        assert old == null : "Duplicate timeout object found: " + timeoutObj;
+
+        wheel.add(node, (int)Thread.currentThread().getId());
     }
 
     /**
      * @param timeoutObj Timeout object.
      */
     public void removeTimeoutObject(GridTimeoutObject timeoutObj) {
-        timeoutObjs.remove(timeoutObj);
+        GridTimingWheel.Node<GridTimeoutObject> node = timeoutObjs.remove(timeoutObj.timeoutId());
+
+        if (node != null)
+            wheel.cancel(node);
     }
 
     /**
@@ -122,49 +123,32 @@ public class GridTimeoutProcessor extends GridProcessorAdapter {
 
         /** {@inheritDoc} */
         @Override protected void body() throws InterruptedException {
+            Collection<GridTimingWheel.Node<GridTimeoutObject>> expired = new ArrayList<>();
+
             while (!isCancelled()) {
-                long now = U.currentTimeMillis();
+                wheel.expire(expired);
 
-                for (Iterator<GridTimeoutObject> iter = timeoutObjs.iterator(); iter.hasNext();) {
-                    GridTimeoutObject timeoutObj = iter.next();
+                for (GridTimingWheel.Node<GridTimeoutObject> node : expired) {
+                    GridTimeoutObject timeoutObj = node.item();
 
-                    if (timeoutObj.endTime() <= now) {
-                        iter.remove();
+                    // Object could have been concurrently removed.
+                    if (!timeoutObjs.remove(timeoutObj.timeoutId(), node))
+                        continue;
 
-                        if (log.isDebugEnabled())
-                            log.debug("Timeout has occurred: " + timeoutObj);
+                    if (log.isDebugEnabled())
+                        log.debug("Timeout has occurred: " + timeoutObj);
 
-                        try {
-                            timeoutObj.onTimeout();
-                        }
-                        catch (Throwable e) {
-                            U.error(log, "Error when executing timeout callback: " + timeoutObj, e);
-                        }
+                    try {
+                        timeoutObj.onTimeout();
                     }
-                    else
-                        break;
-                }
-
-                synchronized (mux) {
-                    while (true) {
-                        // Access of the first element must be inside of
-                        // synchronization block, so we don't miss out
-                        // on thread notification events sent from
-                        // 'addTimeoutObject(..)' method.
-                        GridTimeoutObject first = timeoutObjs.firstx();
-
-                        if (first != null) {
-                            long waitTime = first.endTime() - U.currentTimeMillis();
-
-                            if (waitTime > 0)
-                                mux.wait(waitTime);
-                            else
-                                break;
-                        }
-                        else
-                            mux.wait(5000);
+                    catch (Throwable e) {
+                        U.error(log, "Error when executing timeout callback: " + timeoutObj, e);
                     }
                 }
+
+                expired.clear();
+
+                wheel.await();
             }
         }
     }
@@ -174,5 +158,9 @@ public class GridTimeoutProcessor extends GridProcessorAdapter {
         X.println(">>>");
         X.println(">>> Timeout processor memory stats [grid=" + ctx.gridName() + ']');
         X.println(">>>   timeoutObjsSize: " + timeoutObjs.size());
+        X.println(">>>   wheelSize: " + wheel.size());
+        X.println(">>>   wheelExpired: " + wheel.expiredCount());
+        X.println(">>>   wheelCancelled: " + wheel.cancelledCount());
+        X.println(">>>   wheelCascades: " + wheel.cascades());
     }
 }
@@ -186,6 +186,9 @@ class GridOptimizedClassDescriptor {
     /** Fields. */
     private List<List<T2<GridOptimizedFieldType, Long>>> fieldOffs;
 
+    /** Generated field serializers. */
+    private List<GridOptimizedFieldsSerializer> fieldSers;
+
     /** {@code writeObject} methods. */
     private List<Method> writeObjMtds;
 
@@ -511,6 +514,12 @@ class GridOptimizedClassDescriptor {
                     Collections.reverse(fields);
                     Collections.reverse(fieldOffs);
 
+                    fieldSers = new ArrayList<>(fieldOffs.size());
+
+                    for (int i = 0; i < fieldOffs.size(); i++)
+                        fieldSers.add(writeObjMtds.get(i) == null || readObjMtds.get(i) == null ?
+                            GridOptimizedFieldsSerializer.serializer(fieldOffs.get(i)) : null);
+
                     try {
                         Field serFieldsDesc = cls.getDeclaredField("serialPersistentFields");
 
@@ -846,7 +855,7 @@ class GridOptimizedClassDescriptor {
                         "set GridOptimizedMarshaller.setRequireSerializable() to false " +
                         "(note that performance may degrade if object is not Serializable): " + name);
 
-                out.writeSerializable(obj, fieldOffs, writeObjMtds);
+                out.writeSerializable(obj, fieldOffs, fieldSers, writeObjMtds);
 
                 break;
 
@@ -956,7 +965,7 @@ class GridOptimizedClassDescriptor {
                 return in.readExternalizable(constructor, readResolveMtd);
 
             case TYPE_SERIALIZABLE:
-                return in.readSerializable(cls, fieldOffs, readObjMtds, readResolveMtd);
+                return in.readSerializable(cls, fieldOffs, fieldSers, readObjMtds, readResolveMtd);
 
             default:
                 throw new IllegalStateException("Invalid class type: " + type);
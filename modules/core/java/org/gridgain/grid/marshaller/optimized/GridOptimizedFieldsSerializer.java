@@ -0,0 +1,251 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.marshaller.optimized;
+
+import javassist.*;
+import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.typedef.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
+import sun.misc.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.gridgain.grid.GridSystemProperties.*;
+
+/**
+ * Serializer for fields of one class in hierarchy of serializable class. Implementations are
+ * generated at runtime and read and write fields directly through {@code Unsafe} using
+ * constant offsets, so no per-field type dispatch or boxing happens. Generated code writes
+ * fields in the same order and format as
+ * {@link GridOptimizedObjectOutputStream#writeFields(Object, List)}, so it is fully
+ * wire-compatible with reflective path.
+ * <p>
+ * Serializers are shared between classes with identical field layout.
+ */
+abstract class GridOptimizedFieldsSerializer {
+    /** Unsafe. */
+    protected static final Unsafe UNSAFE = GridUnsafe.unsafe();
+
+    /** Whether code generation is enabled. */
+    private static final boolean ENABLED =
+        !"false".equalsIgnoreCase(X.getSystemOrEnv(GG_OPTIMIZED_MARSHALLER_GENERATE_SERIALIZERS));
+
+    /** Maximum number of fields to generate serializer for, larger classes use reflective path. */
+    private static final int MAX_FIELDS = 512;
+
+    /** Marker for layouts serializer could not be generated for. */
+    private static final GridOptimizedFieldsSerializer FAILED = new GridOptimizedFieldsSerializer() {
+        @Override void writeFields(GridOptimizedObjectOutputStream out, Object obj) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override void readFields(GridOptimizedObjectInputStream in, Object obj) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    /** Serializers by field layout. */
+    private static final ConcurrentMap<String, GridOptimizedFieldsSerializer> cache = new ConcurrentHashMap8<>();
+
+    /** Generated class name counter. */
+    private static final AtomicInteger cntr = new AtomicInteger();
+
+    /** Generation lock. */
+    private static final Object mux = new Object();
+
+    /**
+     * Writes all fields of object.
+     *
+     * @param out Output stream.
+     * @param obj Object.
+     * @throws IOException In case of error.
+     */
+    abstract void writeFields(GridOptimizedObjectOutputStream out, Object obj) throws IOException;
+
+    /**
+     * Reads and sets all fields of object.
+     *
+     * @param in Input stream.
+     * @param obj Object.
+     * @throws ClassNotFoundException If class not found.
+     * @throws IOException In case of error.
+     */
+    abstract void readFields(GridOptimizedObjectInputStream in, Object obj) throws ClassNotFoundException,
+        IOException;
+
+    /**
+     * Gets serializer for given field layout, generating it on first use.
+     *
+     * @param fieldOffs Field types and offsets.
+     * @return Serializer or {@code null} if it could not be generated.
+     */
+    @Nullable static GridOptimizedFieldsSerializer serializer(List<T2<GridOptimizedFieldType, Long>> fieldOffs) {
+        if (!ENABLED || fieldOffs.isEmpty() || fieldOffs.size() > MAX_FIELDS)
+            return null;
+
+        String layout = layout(fieldOffs);
+
+        GridOptimizedFieldsSerializer ser = cache.get(layout);
+
+        if (ser == null) {
+            synchronized (mux) {
+                ser = cache.get(layout);
+
+                if (ser == null) {
+                    try {
+                        ser = generate(fieldOffs);
+                    }
+                    catch (Throwable ignored) {
+                        // Fall back to reflective path.
+                        ser = FAILED;
+                    }
+
+                    cache.put(layout, ser);
+                }
+            }
+        }
+
+        return ser == FAILED ? null : ser;
+    }
+
+    /**
+     * @param fieldOffs Field types and offsets.
+     * @return Layout key.
+     */
+    private static String layout(List<T2<GridOptimizedFieldType, Long>> fieldOffs) {
+        SB sb = new SB();
+
+        for (T2<GridOptimizedFieldType, Long> t : fieldOffs)
+            sb.a(t.get1().ordinal()).a(':').a(t.get2()).a(',');
+
+        return sb.toString();
+    }
+
+    /**
+     * Generates serializer class.
+     *
+     * @param fieldOffs Field types and offsets.
+     * @return Serializer.
+     * @throws Exception If failed.
+     */
+    private static GridOptimizedFieldsSerializer generate(List<T2<GridOptimizedFieldType, Long>> fieldOffs)
+        throws Exception {
+        Class<?> base = GridOptimizedFieldsSerializer.class;
+
+        ClassLoader ldr = base.getClassLoader();
+
+        ClassPool pool = new ClassPool(true);
+
+        pool.appendClassPath(new LoaderClassPath(ldr));
+
+        CtClass ctCls = pool.makeClass(base.getName() + "$Generated" + cntr.incrementAndGet(),
+            pool.get(base.getName()));
+
+        try {
+            SB w = new SB();
+
+            w.a("void writeFields(").a(GridOptimizedObjectOutputStream.class.getName())
+                .a(" out, Object obj) throws java.io.IOException {");
+
+            SB r = new SB();
+
+            r.a("void readFields(").a(GridOptimizedObjectInputStream.class.getName())
+                .a(" in, Object obj) throws ClassNotFoundException, java.io.IOException {");
+
+            for (T2<GridOptimizedFieldType, Long> t : fieldOffs) {
+                String off = t.get2() + "L";
+
+                switch (t.get1()) {
+                    case BYTE:
+                        w.a("out.writeByte(UNSAFE.getByte(obj, ").a(off).a("));");
+                        r.a("UNSAFE.putByte(obj, ").a(off).a(", in.readByte());");
+
+                        break;
+
+                    case SHORT:
+                        w.a("out.writeShort(UNSAFE.getShort(obj, ").a(off).a("));");
+                        r.a("UNSAFE.putShort(obj, ").a(off).a(", in.readShort());");
+
+                        break;
+
+                    case INT:
+                        w.a("out.writeInt(UNSAFE.getInt(obj, ").a(off).a("));");
+                        r.a("UNSAFE.putInt(obj, ").a(off).a(", in.readInt());");
+
+                        break;
+
+                    case LONG:
+                        w.a("out.writeLong(UNSAFE.getLong(obj, ").a(off).a("));");
+                        r.a("UNSAFE.putLong(obj, ").a(off).a(", in.readLong());");
+
+                        break;
+
+                    case FLOAT:
+                        w.a("out.writeFloat(UNSAFE.getFloat(obj, ").a(off).a("));");
+                        r.a("UNSAFE.putFloat(obj, ").a(off).a(", in.readFloat());");
+
+                        break;
+
+                    case DOUBLE:
+                        w.a("out.writeDouble(UNSAFE.getDouble(obj, ").a(off).a("));");
+                        r.a("UNSAFE.putDouble(obj, ").a(off).a(", in.readDouble());");
+
+                        break;
+
+                    case CHAR:
+                        w.a("out.writeChar(UNSAFE.getChar(obj, ").a(off).a("));");
+                        r.a("UNSAFE.putChar(obj, ").a(off).a(", in.readChar());");
+
+                        break;
+
+                    case BOOLEAN:
+                        w.a("out.writeBoolean(UNSAFE.getBoolean(obj, ").a(off).a("));");
+                        r.a("UNSAFE.putBoolean(obj, ").a(off).a(", in.readBoolean());");
+
+                        break;
+
+                    case OTHER:
+                        w.a("out.writeObject0(UNSAFE.getObject(obj, ").a(off).a("));");
+                        r.a("UNSAFE.putObject(obj, ").a(off).a(", in.readObject());");
+                }
+            }
+
+            ctCls.addConstructor(CtNewConstructor.defaultConstructor(ctCls));
+            ctCls.addMethod(CtNewMethod.make(w.a('}').toString(), ctCls));
+            ctCls.addMethod(CtNewMethod.make(r.a('}').toString(), ctCls));
+
+            // Generated class must be defined by the same class loader to access package-private members.
+            Class<?> cls = ctCls.toClass(ldr, base.getProtectionDomain());
+
+            return (GridOptimizedFieldsSerializer)cls.newInstance();
+        }
+        finally {
+            ctCls.detach();
+        }
+    }
+}
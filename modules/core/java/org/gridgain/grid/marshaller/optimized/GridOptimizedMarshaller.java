@@ -375,6 +375,42 @@ public class GridOptimizedMarshaller extends GridAbstractMarshaller {
         }
     }
 
+    /**
+     * Unmarshals object directly from off-heap memory. Memory must not be released until this method returns.
+     *
+     * @param ptr Memory address.
+     * @param len Length of marshalled object.
+     * @param clsLdr Class loader to use.
+     * @return Unmarshalled object.
+     * @throws GridException If unmarshalling failed.
+     */
+    public <T> T unmarshal(long ptr, int len, @Nullable ClassLoader clsLdr) throws GridException {
+        assert ptr != 0;
+
+        GridOptimizedObjectInputStream objIn = null;
+
+        try {
+            objIn = GridOptimizedObjectStreamRegistry.in();
+
+            objIn.classLoader(clsLdr != null ? clsLdr : dfltClsLdr);
+
+            objIn.in().offheap(ptr, len);
+
+            return (T)objIn.readObject();
+        }
+        catch (IOException e) {
+            throw new GridException("Failed to deserialize object with given class loader: " + clsLdr, e);
+        }
+        catch (ClassNotFoundException e) {
+            throw new GridException("Failed to find class with given class loader for unmarshalling " +
+                "(make sure same version of all classes are available on all nodes or enable peer-class-loading): " +
+                clsLdr, e);
+        }
+        finally {
+            GridOptimizedObjectStreamRegistry.closeIn(objIn);
+        }
+    }
+
     /**
      * Checks whether {@code GridOptimizedMarshaller} is able to work on the current JVM.
      * <p>
@@ -321,6 +321,7 @@ class GridOptimizedObjectInputStream extends ObjectInputStream {
      *
      * @param cls Class.
      * @param fieldOffs Field offsets.
+     * @param fieldSers Generated field serializers, {@code null} elements if not available.
      * @param mtds {@code readObject} methods.
      * @param readResolveMtd {@code readResolve} method.
      * @return Object.
@@ -329,7 +330,8 @@ class GridOptimizedObjectInputStream extends ObjectInputStream {
      */
     @SuppressWarnings("ForLoopReplaceableByForEach")
     Object readSerializable(Class<?> cls, List<List<T2<GridOptimizedFieldType, Long>>> fieldOffs,
-        List<Method> mtds, Method readResolveMtd) throws ClassNotFoundException, IOException {
+        List<GridOptimizedFieldsSerializer> fieldSers, List<Method> mtds, Method readResolveMtd)
+        throws ClassNotFoundException, IOException {
         Object obj;
 
         try {
@@ -355,8 +357,14 @@ class GridOptimizedObjectInputStream extends ObjectInputStream {
                     throw new IOException(e);
                 }
             }
-            else
-                readFields(obj, fieldOffs.get(i));
+            else {
+                GridOptimizedFieldsSerializer ser = fieldSers.get(i);
+
+                if (ser != null)
+                    ser.readFields(this, obj);
+                else
+                    readFields(obj, fieldOffs.get(i));
+            }
         }
 
         if (readResolveMtd != null) {
@@ -149,7 +149,7 @@ class GridOptimizedObjectOutputStream extends ObjectOutputStream {
      * @param obj Object.
      * @throws IOException In case of error.
      */
-    private void writeObject0(Object obj) throws IOException {
+    void writeObject0(Object obj) throws IOException {
         curObj = null;
         curFields = null;
         curPut = null;
@@ -275,12 +275,13 @@ class GridOptimizedObjectOutputStream extends ObjectOutputStream {
      *
      * @param obj Object.
      * @param fieldOffs Field offsets.
+     * @param fieldSers Generated field serializers, {@code null} elements if not available.
      * @param mtds {@code writeObject} methods.
      * @throws IOException In case of error.
      */
     @SuppressWarnings("ForLoopReplaceableByForEach")
-    void writeSerializable(Object obj, List<List<T2<GridOptimizedFieldType, Long>>> fieldOffs, List<Method> mtds)
-        throws IOException {
+    void writeSerializable(Object obj, List<List<T2<GridOptimizedFieldType, Long>>> fieldOffs,
+        List<GridOptimizedFieldsSerializer> fieldSers, List<Method> mtds) throws IOException {
         for (int i = 0; i < mtds.size(); i++) {
             Method mtd = mtds.get(i);
 
@@ -295,8 +296,14 @@ class GridOptimizedObjectOutputStream extends ObjectOutputStream {
                     throw new IOException(e);
                 }
             }
-            else
-                writeFields(obj, fieldOffs.get(i));
+            else {
+                GridOptimizedFieldsSerializer ser = fieldSers.get(i);
+
+                if (ser != null)
+                    ser.writeFields(this, obj);
+                else
+                    writeFields(obj, fieldOffs.get(i));
+            }
         }
     }
 
@@ -174,6 +174,9 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
     /** Node attribute that is mapped to node's external ports numbers (value is <tt>comm.tcp.ext-ports</tt>). */
     public static final String ATTR_EXT_PORTS = "comm.tcp.ext-ports";
 
+    /** Node attribute that is mapped to node's compression support flag (value is <tt>comm.tcp.compression</tt>). */
+    public static final String ATTR_COMPRESSION = "comm.tcp.compression";
+
     /** Default port which node sets listener to (value is <tt>47100</tt>). */
     public static final int DFLT_PORT = 47100;
 
@@ -225,6 +228,9 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
     /** Default value for {@code TCP_NODELAY} socket option (value is <tt>true</tt>). */
     public static final boolean DFLT_TCP_NODELAY = true;
 
+    /** Default minimum size of message to compress (value is <tt>4096</tt>). */
+    public static final int DFLT_COMPRESSION_THRESHOLD = 4096;
+
     /** No-op runnable. */
     private static final GridRunnable NOOP = new GridRunnable() {
         @Override public void run() {
@@ -294,6 +300,9 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
                 if (!locVer.equals(rmtVer))
                     ses.addMeta(GridNioServer.DIFF_VER_NODE_ID_META_KEY, sndId);
 
+                if (compress(rmtNode))
+                    ses.addMeta(GridNioCompressionFilter.COMPRESSION_META_KEY, true);
+
                 if (asyncSnd && ses.remoteAddress() != null && !dualSockConn) {
                     Object sync = locks.tryLock(sndId);
 
@@ -426,6 +435,12 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
     /** Use async client flag. */
     private boolean asyncSnd = true;
 
+    /** Compression flag. */
+    private boolean compression;
+
+    /** Minimum size of message to compress. */
+    private int compressionThreshold = DFLT_COMPRESSION_THRESHOLD;
+
     /** Shared memory accept worker. */
     private ShmemAcceptWorker shmemAcceptWorker;
 
@@ -474,6 +489,24 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
     /** Sent bytes count.*/
     private final LongAdder sentBytesCnt = new LongAdder();
 
+    /** Compressed messages count. */
+    private final LongAdder compressedMsgsCnt = new LongAdder();
+
+    /** Size of compressed messages before compression. */
+    private final LongAdder compressRawBytesCnt = new LongAdder();
+
+    /** Size of compressed messages after compression. */
+    private final LongAdder compressBytesCnt = new LongAdder();
+
+    /** Time spent on compression in nanoseconds. */
+    private final LongAdder compressTime = new LongAdder();
+
+    /** Decompressed messages count. */
+    private final LongAdder decompressedMsgsCnt = new LongAdder();
+
+    /** Time spent on decompression in nanoseconds. */
+    private final LongAdder decompressTime = new LongAdder();
+
     /** Context initialization latch. */
     private final CountDownLatch ctxInitLatch = new CountDownLatch(1);
 
@@ -486,6 +519,18 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
         @Override public void onBytesReceived(int bytesCnt) {
             rcvdBytesCnt.add(bytesCnt);
         }
+
+        @Override public void onMessageCompressed(int rawBytesCnt, int compressedBytesCnt, long nanos) {
+            compressedMsgsCnt.increment();
+            compressRawBytesCnt.add(rawBytesCnt);
+            compressBytesCnt.add(compressedBytesCnt);
+            compressTime.add(nanos);
+        }
+
+        @Override public void onMessageDecompressed(int compressedBytesCnt, int rawBytesCnt, long nanos) {
+            decompressedMsgsCnt.increment();
+            decompressTime.add(nanos);
+        }
     };
 
     /** Locks. */
@@ -848,6 +893,47 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
         this.asyncSnd = asyncSnd;
     }
 
+    /**
+     * Enables compression of messages sent to remote nodes. Compression is used only for connections
+     * to nodes which also have compression enabled, which is negotiated through {@link #ATTR_COMPRESSION}
+     * node attribute. Only messages sent with asynchronous IO (see {@link #setAsyncSend(boolean)}) over
+     * TCP are compressed, shared memory connections are never compressed.
+     * <p>
+     * Compression reduces network traffic at the expense of CPU, so it should be enabled only
+     * when network bandwidth between nodes is a bottleneck.
+     * <p>
+     * If not provided, default value is {@code false}.
+     *
+     * @param compression {@code True} to enable compression.
+     */
+    @GridSpiConfiguration(optional = true)
+    public void setCompressionEnabled(boolean compression) {
+        this.compression = compression;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isCompressionEnabled() {
+        return compression;
+    }
+
+    /**
+     * Sets minimum size of serialized message in bytes to be compressed. Smaller messages
+     * are sent uncompressed.
+     * <p>
+     * If not provided, default value is {@link #DFLT_COMPRESSION_THRESHOLD}.
+     *
+     * @param compressionThreshold Minimum size of message to compress.
+     */
+    @GridSpiConfiguration(optional = true)
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
     /**
      * Sets value for {@code TCP_NODELAY} socket option. Each
      * socket will be opened using provided value.
@@ -1023,6 +1109,33 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
         return rcvdBytesCnt.intValue();
     }
 
+    /** {@inheritDoc} */
+    @Override public long getCompressedMessagesCount() {
+        return compressedMsgsCnt.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public double getCompressionRatio() {
+        long raw = compressRawBytesCnt.sum();
+
+        return raw > 0 ? (double)compressBytesCnt.sum() / raw : 1.0d;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getCompressionTime() {
+        return compressTime.sum() / 1000000;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getDecompressedMessagesCount() {
+        return decompressedMsgsCnt.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getDecompressionTime() {
+        return decompressTime.sum() / 1000000;
+    }
+
     /** {@inheritDoc} */
     @Override public void resetMetrics() {
         // Can't use 'reset' method because it is not thread-safe
@@ -1031,6 +1144,12 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
         rcvdMsgsCnt.add(-rcvdMsgsCnt.sum());
         sentBytesCnt.add(-sentBytesCnt.sum());
         rcvdBytesCnt.add(-rcvdBytesCnt.sum());
+        compressedMsgsCnt.add(-compressedMsgsCnt.sum());
+        compressRawBytesCnt.add(-compressRawBytesCnt.sum());
+        compressBytesCnt.add(-compressBytesCnt.sum());
+        compressTime.add(-compressTime.sum());
+        decompressedMsgsCnt.add(-decompressedMsgsCnt.sum());
+        decompressTime.add(-decompressTime.sum());
     }
 
     /** {@inheritDoc} */
@@ -1053,6 +1172,7 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
         assertParameter(bufSizeRatio > 0 && bufSizeRatio < 1, "bufSizeRatio > 0 && bufSizeRatio < 1");
         assertParameter(connTimeout >= 0, "connTimeout >= 0");
         assertParameter(maxConnTimeout >= connTimeout, "maxConnTimeout >= connTimeout");
+        assertParameter(compressionThreshold >= 0, "compressionThreshold >= 0");
 
         try {
             locHost = U.resolveLocalHost(locAddr);
@@ -1093,12 +1213,16 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
         try {
             GridBiTuple<Collection<String>, Collection<String>> addrs = U.resolveLocalAddresses(locHost);
 
-            return F.asMap(
+            Map<String, Object> attrs = new HashMap<>(F.<String, Object>asMap(
                 createSpiAttributeName(ATTR_ADDRS), addrs.get1(),
                 createSpiAttributeName(ATTR_HOST_NAMES), addrs.get2(),
                 createSpiAttributeName(ATTR_PORT), boundTcpPort,
                 createSpiAttributeName(ATTR_SHMEM_PORT), boundTcpShmemPort >= 0 ? boundTcpShmemPort : null,
-                createSpiAttributeName(ATTR_EXT_PORTS), extPorts);
+                createSpiAttributeName(ATTR_EXT_PORTS), extPorts));
+
+            attrs.put(createSpiAttributeName(ATTR_COMPRESSION), compression);
+
+            return attrs;
         }
         catch (IOException | GridException e) {
             throw new GridSpiException("Failed to resolve local host to addresses: " + locHost, e);
@@ -1125,6 +1249,8 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
             log.debug(configInfo("selectorsCnt", selectorsCnt));
             log.debug(configInfo("asyncSend", asyncSnd));
             log.debug(configInfo("tcpNoDelay", tcpNoDelay));
+            log.debug(configInfo("compression", compression));
+            log.debug(configInfo("compressionThreshold", compressionThreshold));
             log.debug(configInfo("sockSndBuf", sockSndBuf));
             log.debug(configInfo("sockRcvBuf", sockRcvBuf));
             log.debug(configInfo("shmemPort", shmemPort));
@@ -1208,6 +1334,31 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
         return super.getSpiContext();
     }
 
+    /**
+     * @return Filters for NIO server.
+     */
+    private GridNioFilter[] filters() {
+        GridNioFilter codec = new GridNioCodecFilter(new GridDirectParser(msgReader), log, true);
+        GridNioFilter verify = new GridConnectionBytesVerifyFilter(log);
+
+        if (compression) {
+            GridNioFilter compress = new GridNioCompressionFilter(msgWriter, msgReader, compressionThreshold,
+                metricsLsnr);
+
+            return new GridNioFilter[] {compress, codec, verify};
+        }
+
+        return new GridNioFilter[] {codec, verify};
+    }
+
+    /**
+     * @param node Remote node.
+     * @return {@code True} if messages sent to the node should be compressed.
+     */
+    private boolean compress(GridNode node) {
+        return compression && Boolean.TRUE.equals(node.attribute(createSpiAttributeName(ATTR_COMPRESSION)));
+    }
+
     /**
      * Recreates tpcSrvr socket instance.
      *
@@ -1240,8 +1391,7 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
                     .directMode(true)
                     .metricsListener(metricsLsnr)
                     .messageWriter(msgWriter)
-                    .filters(new GridNioCodecFilter(new GridDirectParser(msgReader), log, true),
-                        new GridConnectionBytesVerifyFilter(log))
+                    .filters(filters())
                     .build();
 
                 boundTcpPort = port;
@@ -1701,7 +1851,8 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
                                 ch,
                                 F.asMap(
                                     NODE_ID_META, node.id(),
-                                    GridNioServer.DIFF_VER_NODE_ID_META_KEY, diffVerNodeId)
+                                    GridNioServer.DIFF_VER_NODE_ID_META_KEY, diffVerNodeId,
+                                    GridNioCompressionFilter.COMPRESSION_META_KEY, compress(node) ? true : null)
                             ).get();
 
                             client = new GridTcpNioCommunicationClient(ses);
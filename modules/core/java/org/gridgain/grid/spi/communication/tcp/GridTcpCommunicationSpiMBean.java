@@ -110,6 +110,62 @@ public interface GridTcpCommunicationSpiMBean extends GridSpiManagementMBean {
     @GridMBeanDescription("Received bytes count.")
     public long getReceivedBytesCount();
 
+    /**
+     * Gets flag indicating whether compression of messages is enabled.
+     *
+     * @return {@code True} if compression is enabled.
+     */
+    @GridMBeanDescription("Whether compression is enabled.")
+    public boolean isCompressionEnabled();
+
+    /**
+     * Gets minimum size of serialized message to be compressed.
+     *
+     * @return Minimum size of message to compress.
+     */
+    @GridMBeanDescription("Minimum size of message to compress.")
+    public int getCompressionThreshold();
+
+    /**
+     * Gets compressed sent messages count.
+     *
+     * @return Compressed messages count.
+     */
+    @GridMBeanDescription("Compressed sent messages count.")
+    public long getCompressedMessagesCount();
+
+    /**
+     * Gets ratio of compressed size to original size for compressed sent messages.
+     *
+     * @return Compression ratio.
+     */
+    @GridMBeanDescription("Ratio of compressed size to original size of compressed messages.")
+    public double getCompressionRatio();
+
+    /**
+     * Gets total time spent on compression of sent messages in milliseconds.
+     *
+     * @return Compression time.
+     */
+    @GridMBeanDescription("Total time spent on compression in milliseconds.")
+    public long getCompressionTime();
+
+    /**
+     * Gets decompressed received messages count.
+     *
+     * @return Decompressed messages count.
+     */
+    @GridMBeanDescription("Decompressed received messages count.")
+    public long getDecompressedMessagesCount();
+
+    /**
+     * Gets total time spent on decompression of received messages in milliseconds.
+     *
+     * @return Decompression time.
+     */
+    @GridMBeanDescription("Total time spent on decompression in milliseconds.")
+    public long getDecompressionTime();
+
     /**
      * Gets port resolver for ports mapping determination.
      *
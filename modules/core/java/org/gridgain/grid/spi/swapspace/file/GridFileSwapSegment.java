@@ -0,0 +1,486 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+package org.gridgain.grid.spi.swapspace.file;
+
+import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
+import sun.nio.ch.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.concurrent.atomic.*;
+import java.util.zip.*;
+
+/**
+ * Memory-mapped append-only segment of log-structured swap space. Records are never
+ * modified once written, so readers may copy them out of the mapping without locks as long
+ * as they hold a reference acquired by {@link #acquire()}.
+ * <p>
+ * Record layout: {@code magic (int), checksum (int), record length (int), partition (int),
+ * key length (int), value length (int), key bytes, value bytes}, padded to 8 bytes. Value
+ * length is {@code -1} for tombstones. Record length is written as soon as space is reserved,
+ * so that recovery can skip a record which was not completely written before crash and still
+ * find records written after it. Checksum covers everything after it.
+ */
+class GridFileSwapSegment {
+    /** Record header size. */
+    static final int HDR_SIZE = 24;
+
+    /** Record alignment. */
+    private static final int ALIGN = 8;
+
+    /** Marks fully written record. */
+    private static final int MAGIC = 0x53574150;
+
+    /** Value length of tombstone record. */
+    private static final int TOMBSTONE = -1;
+
+    /** Segment ID. */
+    private final int id;
+
+    /** File. */
+    private final File file;
+
+    /** Mapped file region. */
+    private final MappedByteBuffer buf;
+
+    /** Capacity. */
+    private final int cap;
+
+    /** Reserved bytes, bitwise inverted once segment is sealed. */
+    private final AtomicInteger tail = new AtomicInteger();
+
+    /** Bytes of fully written records. */
+    private final AtomicInteger written = new AtomicInteger();
+
+    /** Bytes of stale records. */
+    private final AtomicInteger dead = new AtomicInteger();
+
+    /** References to mapping, including one held by segment itself until it is deleted. */
+    private final AtomicInteger refs = new AtomicInteger(1);
+
+    /** Whether all records of sealed segment are flushed to disk. */
+    private volatile boolean synced;
+
+    /**
+     * Creates new segment or opens existing one. Existing segment is scanned for valid records
+     * and sealed after the last of them. Gaps between valid records are accounted as stale.
+     *
+     * @param file File.
+     * @param id Segment ID.
+     * @param cap Capacity of new segment, ignored if file exists.
+     * @throws IOException If failed.
+     */
+    GridFileSwapSegment(File file, int id, int cap) throws IOException {
+        assert file != null;
+        assert id >= 0;
+
+        this.file = file;
+        this.id = id;
+
+        boolean exists = file.exists();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            if (exists)
+                cap = (int)Math.min(raf.length(), Integer.MAX_VALUE);
+            else
+                raf.setLength(cap);
+
+            this.cap = cap;
+
+            // Mapping stays valid after channel is closed.
+            buf = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, cap);
+        }
+
+        if (exists) {
+            int end = 0;
+            int live = 0;
+
+            for (int off = nextRecord(0); off >= 0; off = nextRecord(end)) {
+                int size = recordSize(off);
+
+                end = off + size;
+                live += size;
+            }
+
+            tail.set(~end);
+            written.set(end);
+            dead.set(end - live);
+        }
+    }
+
+    /**
+     * @return Segment ID.
+     */
+    int id() {
+        return id;
+    }
+
+    /**
+     * @return Capacity.
+     */
+    int capacity() {
+        return cap;
+    }
+
+    /**
+     * @return Bytes occupied by records.
+     */
+    int length() {
+        int t = tail.get();
+
+        return t < 0 ? ~t : t;
+    }
+
+    /**
+     * @return Bytes occupied by stale records.
+     */
+    int deadLength() {
+        return dead.get();
+    }
+
+    /**
+     * @param len Length of record which became stale.
+     */
+    void onDead(int len) {
+        dead.addAndGet(len);
+    }
+
+    /**
+     * @return {@code True} if segment is sealed and all reserved records are written.
+     */
+    boolean complete() {
+        int t = tail.get();
+
+        return t < 0 && written.get() == ~t;
+    }
+
+    /**
+     * Seals segment so that no more records can be appended.
+     */
+    void seal() {
+        for (;;) {
+            int t = tail.get();
+
+            if (t < 0 || tail.compareAndSet(t, ~t))
+                return;
+        }
+    }
+
+    /**
+     * Reopens sealed segment for appending. Used to continue writing to the last segment left
+     * by previous run instead of starting a new one.
+     */
+    void unseal() {
+        int t = tail.get();
+
+        assert t < 0 && written.get() == ~t : this;
+
+        tail.set(~t);
+
+        synced = false;
+    }
+
+    /**
+     * @param keyLen Key length.
+     * @param valLen Value length or {@code 0} for tombstone.
+     * @return Record size.
+     */
+    static int recordSize(int keyLen, int valLen) {
+        return align(HDR_SIZE + keyLen + valLen);
+    }
+
+    /**
+     * @param size Size.
+     * @return Size rounded up to record alignment.
+     */
+    private static int align(int size) {
+        return (size + ALIGN - 1) & -ALIGN;
+    }
+
+    /**
+     * Reserves space for record.
+     *
+     * @param len Record size.
+     * @return Record offset or {@code -1} if segment is sealed or has not enough space.
+     */
+    int reserve(int len) {
+        for (;;) {
+            int t = tail.get();
+
+            if (t < 0 || t + len > cap)
+                return -1;
+
+            if (tail.compareAndSet(t, t + len)) {
+                // Let recovery skip this record if it is not written completely.
+                buf.putInt(t + 8, len);
+
+                return t;
+            }
+        }
+    }
+
+    /**
+     * Writes record into previously reserved space.
+     *
+     * @param off Offset.
+     * @param part Partition.
+     * @param key Key bytes.
+     * @param val Value bytes or {@code null} for tombstone.
+     */
+    void write(int off, int part, byte[] key, @Nullable byte[] val) {
+        int len = recordSize(key.length, val != null ? val.length : 0);
+        int valLen = val != null ? val.length : TOMBSTONE;
+
+        ByteBuffer b = buf.duplicate();
+
+        b.position(off + HDR_SIZE);
+
+        b.put(key);
+
+        if (val != null)
+            b.put(val);
+
+        b.putInt(off + 12, part);
+        b.putInt(off + 16, key.length);
+        b.putInt(off + 20, valLen);
+        b.putInt(off + 4, checksum(len, part, key, val, valLen));
+        b.putInt(off, MAGIC);
+
+        written.addAndGet(len);
+    }
+
+    /**
+     * @param off Offset of record written by this segment instance or found by {@link #nextRecord(int)}.
+     * @return Record size.
+     */
+    int recordSize(int off) {
+        return buf.getInt(off + 8);
+    }
+
+    /**
+     * Finds first valid record at or after given offset. Records which were reserved but not
+     * completely written are skipped using their reserved length if it was written, otherwise
+     * by probing every aligned offset. Must not be called for offsets which are being written.
+     *
+     * @param off Offset to start from.
+     * @return Offset of valid record or {@code -1} if there are no valid records after given offset.
+     */
+    int nextRecord(int off) {
+        assert off >= 0 && off % ALIGN == 0 : off;
+
+        while (off + HDR_SIZE <= cap) {
+            if (valid(off))
+                return off;
+
+            int len = buf.getInt(off + 8);
+
+            if (len >= HDR_SIZE && len % ALIGN == 0 && len <= cap - off && valid(off + len))
+                return off + len;
+
+            off += ALIGN;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param off Offset.
+     * @return {@code True} if there is completely written record at given offset.
+     */
+    private boolean valid(int off) {
+        if (off + HDR_SIZE > cap || buf.getInt(off) != MAGIC)
+            return false;
+
+        int len = buf.getInt(off + 8);
+        int keyLen = buf.getInt(off + 16);
+        int valLen = buf.getInt(off + 20);
+
+        if (keyLen < 0 || valLen < TOMBSTONE || len < HDR_SIZE || len > cap - off)
+            return false;
+
+        if ((long)HDR_SIZE + keyLen + Math.max(valLen, 0) > len ||
+            len != recordSize(keyLen, Math.max(valLen, 0)))
+            return false;
+
+        return buf.getInt(off + 4) == checksum(len, partition(off), key(off), value(off), valLen);
+    }
+
+    /**
+     * @param len Record length.
+     * @param part Partition.
+     * @param key Key bytes.
+     * @param val Value bytes or {@code null} for tombstone.
+     * @param valLen Value length or {@code -1} for tombstone.
+     * @return Record checksum.
+     */
+    private static int checksum(int len, int part, byte[] key, @Nullable byte[] val, int valLen) {
+        CRC32 crc = new CRC32();
+
+        update(crc, len);
+        update(crc, part);
+        update(crc, key.length);
+        update(crc, valLen);
+
+        crc.update(key);
+
+        if (val != null)
+            crc.update(val);
+
+        return (int)crc.getValue();
+    }
+
+    /**
+     * @param crc Checksum.
+     * @param val Value to add to checksum.
+     */
+    private static void update(CRC32 crc, int val) {
+        crc.update(val >>> 24);
+        crc.update(val >>> 16);
+        crc.update(val >>> 8);
+        crc.update(val);
+    }
+
+    /**
+     * @param off Record offset.
+     * @return Partition.
+     */
+    int partition(int off) {
+        return buf.getInt(off + 12);
+    }
+
+    /**
+     * @param off Record offset.
+     * @return {@code True} if record is tombstone.
+     */
+    boolean tombstone(int off) {
+        return buf.getInt(off + 20) == TOMBSTONE;
+    }
+
+    /**
+     * @param off Record offset.
+     * @return Key bytes.
+     */
+    byte[] key(int off) {
+        byte[] key = new byte[buf.getInt(off + 16)];
+
+        ByteBuffer b = buf.duplicate();
+
+        b.position(off + HDR_SIZE);
+
+        b.get(key);
+
+        return key;
+    }
+
+    /**
+     * @param off Record offset.
+     * @return Value bytes or {@code null} for tombstone.
+     */
+    @Nullable byte[] value(int off) {
+        int valLen = buf.getInt(off + 20);
+
+        if (valLen == TOMBSTONE)
+            return null;
+
+        byte[] val = new byte[valLen];
+
+        ByteBuffer b = buf.duplicate();
+
+        b.position(off + HDR_SIZE + buf.getInt(off + 16));
+
+        b.get(val);
+
+        return val;
+    }
+
+    /**
+     * Flushes written records to disk.
+     */
+    void force() {
+        boolean complete = complete();
+
+        buf.force();
+
+        if (complete)
+            synced = true;
+    }
+
+    /**
+     * @return {@code True} if segment is complete and all its records are flushed to disk.
+     */
+    boolean synced() {
+        return synced;
+    }
+
+    /**
+     * Acquires reference to mapping, so that it is not unmapped while records are read.
+     *
+     * @return {@code True} if reference was acquired, {@code false} if segment is deleted.
+     */
+    boolean acquire() {
+        for (;;) {
+            int r = refs.get();
+
+            if (r == 0)
+                return false;
+
+            if (refs.compareAndSet(r, r + 1))
+                return true;
+        }
+    }
+
+    /**
+     * Releases reference acquired by {@link #acquire()}.
+     */
+    void release() {
+        if (refs.decrementAndGet() == 0)
+            unmap();
+    }
+
+    /**
+     * Deletes segment file. Mapping is released once concurrent readers release their references.
+     *
+     * @return {@code True} if file was deleted.
+     */
+    boolean delete() {
+        boolean res = U.delete(file);
+
+        release();
+
+        return res;
+    }
+
+    /**
+     * Unmaps file region without waiting for garbage collector.
+     */
+    private void unmap() {
+        ((DirectBuffer)buf).cleaner().clean();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridFileSwapSegment.class, this, "len", length(), "dead", deadLength());
+    }
+}
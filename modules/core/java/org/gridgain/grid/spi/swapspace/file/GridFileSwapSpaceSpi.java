@@ -31,6 +31,8 @@ import org.gridgain.grid.resources.*;
 import org.gridgain.grid.spi.*;
 import org.gridgain.grid.spi.swapspace.*;
 import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.lang.*;
+import org.gridgain.grid.util.offheap.*;
 import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.jetbrains.annotations.*;
@@ -53,6 +55,13 @@ import static org.gridgain.grid.events.GridEventType.*;
  * <b>NOTE: This SPI does not support swap eviction currently, manual removes needed to reduce disk space
  * consumption.</b>
  * <p>
+ * Alternatively SPI may run in memory-mapped mode (see {@link #setMemoryMapped(boolean)}). In this
+ * mode every space is a log of records appended to memory-mapped segment files while key to record
+ * location index is kept off-heap, so reads are index lookups followed by a copy from mapped memory.
+ * Segments with too many stale records are compacted in background according to maximum sparsity.
+ * If persistence is enabled (see {@link #setPersistent(boolean)}), segment files are kept on stop and
+ * reopened when node with the same grid name restarts on top of the same base directory.
+ * <p>
  * Every space has a name and when used in combination with in-memory data grid name and local node ID,
  * space name represents the actual cache name associated with this swap space. Default name is {@code null}
  * which is represented by {@link #DFLT_SPACE_NAME}.
@@ -67,6 +76,9 @@ import static org.gridgain.grid.events.GridEventType.*;
  *     <li>Write buffer size in bytes (see {@link #setWriteBufferSize(int)}).</li>
  *     <li>Max write queue size in bytes (see {@link #setMaxWriteQueueSize(int)}).</li>
  *     <li>Read stripes number. (see {@link #setReadStripesNumber(int)}).</li>
+ *     <li>Memory-mapped mode flag (see {@link #setMemoryMapped(boolean)}).</li>
+ *     <li>Segment size in bytes for memory-mapped mode (see {@link #setSegmentSize(int)}).</li>
+ *     <li>Persistence flag for memory-mapped mode (see {@link #setPersistent(boolean)}).</li>
  * </ul>
  *
  * <h2 class="header">Java Example</h2>
@@ -125,11 +137,29 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
     /** Default write queue size in bytes. */
     public static final int DFLT_QUE_SIZE = 1024 * 1024;
 
+    /** Default segment size in bytes for memory-mapped mode. */
+    public static final int DFLT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
     /** Name for {@code null} space. */
     public static final String DFLT_SPACE_NAME = "gg-dflt-space";
 
+    /** Segment file extension. */
+    private static final String SEGMENT_EXT = ".seg";
+
+    /** Name of directory lock file for persistent memory-mapped mode. */
+    private static final String LOCK_FILE_NAME = "swap.lock";
+
+    /** Number of key lock stripes in memory-mapped mode, must be power of two. */
+    private static final int LOG_LOCK_STRIPES = 256;
+
+    /** Compactor wait time when compaction is needed but no segment is ready for it. */
+    private static final long COMPACT_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /** Interval of flushing sealed segments to disk in persistent memory-mapped mode. */
+    private static final long SYNC_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     /** Spaces. */
-    private final ConcurrentMap<String, Space> spaces = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, SwapStore> spaces = new ConcurrentHashMap<>();
 
     /** Base directory. */
     private String baseDir = DFLT_BASE_DIR;
@@ -152,6 +182,21 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
     /** Read stripes number. */
     private int readStripesNum = -1;
 
+    /** Memory-mapped mode flag. */
+    private boolean memMapped;
+
+    /** Segment size. */
+    private int segSize = DFLT_SEGMENT_SIZE;
+
+    /** Persistence flag. */
+    private boolean persistent;
+
+    /** Swap directory lock file. */
+    private RandomAccessFile lockFile;
+
+    /** Swap directory lock. */
+    private FileLock dirLock;
+
     /** Logger. */
     @GridLoggerResource
     private GridLogger log;
@@ -236,7 +281,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
 
     /**
      * Sets read stripe size. Defines number of file channels to be used concurrently. Default is equal to number of
-     * CPU cores available to this JVM.
+     * CPU cores available to this JVM. In memory-mapped mode defines concurrency level of off-heap index.
      *
      * @param readStripesNum Read stripe number.
      */
@@ -247,12 +292,65 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         this.readStripesNum = readStripesNum;
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean isMemoryMapped() {
+        return memMapped;
+    }
+
+    /**
+     * Sets memory-mapped mode flag. If {@code true}, every space appends records to memory-mapped segment
+     * files and keeps record locations in off-heap index instead of using write queue and striped file
+     * channels. Default is {@code false}.
+     *
+     * @param memMapped Memory-mapped mode flag.
+     */
+    @GridSpiConfiguration(optional = true)
+    public void setMemoryMapped(boolean memMapped) {
+        this.memMapped = memMapped;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getSegmentSize() {
+        return segSize;
+    }
+
+    /**
+     * Sets segment size in bytes for memory-mapped mode. Values larger than segment size get segments
+     * of their own. Default is {@link #DFLT_SEGMENT_SIZE}.
+     *
+     * @param segSize Segment size in bytes.
+     */
+    @GridSpiConfiguration(optional = true)
+    public void setSegmentSize(int segSize) {
+        this.segSize = segSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isPersistent() {
+        return persistent;
+    }
+
+    /**
+     * Sets persistence flag for memory-mapped mode. If {@code true}, swap directory does not include
+     * local node ID and is not deleted on stop, so node restarted with the same grid name reopens
+     * existing segments instead of starting with empty swap space. Only one node at a time may use
+     * the directory. Default is {@code false}.
+     *
+     * @param persistent Persistence flag.
+     */
+    @GridSpiConfiguration(optional = true)
+    public void setPersistent(boolean persistent) {
+        this.persistent = persistent;
+    }
+
     /** {@inheritDoc} */
     @Override public void spiStart(@Nullable String gridName) throws GridSpiException {
         assertParameter(!F.isEmpty(baseDir), "!F.isEmpty(baseDir)");
         assertParameter(maxSparsity >= 0 && maxSparsity < 1, "maxSparsity >= 0 && maxSparsity < 1");
         assertParameter(readStripesNum == -1 || (readStripesNum & (readStripesNum - 1)) == 0,
             "readStripesNum must be positive and power of two.");
+        assertParameter(segSize > GridFileSwapSegment.HDR_SIZE, "segSize > " + GridFileSwapSegment.HDR_SIZE);
+        assertParameter(!persistent || memMapped, "!persistent || memMapped");
 
         if (readStripesNum == -1) {
             // User has not configured the number.
@@ -275,12 +373,13 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
 
         registerMBean(gridName, this, GridFileSwapSpaceSpiMBean.class);
 
-        dir = new File(baseDir + File.separator + gridName + File.separator + locNodeId);
+        dir = persistent ? new File(baseDir + File.separator + gridName) :
+            new File(baseDir + File.separator + gridName + File.separator + locNodeId);
 
         if (!dir.isAbsolute())
             dir = new File(U.getGridGainHome(), dir.getPath());
 
-        if (dir.exists()) {
+        if (dir.exists() && !persistent) {
             U.warn(log, "Swap directory already exists (will delete): " + dir.getAbsolutePath());
 
             if (!U.delete(dir))
@@ -296,6 +395,35 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         if (!dir.canWrite())
             throw new GridSpiException("Can't write to swap directory: " + dir.getAbsolutePath());
 
+        if (persistent) {
+            lockDirectory();
+
+            // Register spaces left by previous run, so that they are visible before first write.
+            File[] files = dir.listFiles();
+
+            if (files != null) {
+                for (File f : files) {
+                    String name = f.getName();
+
+                    if (f.isFile() && name.endsWith(SEGMENT_EXT)) {
+                        int idx = name.lastIndexOf('.', name.length() - SEGMENT_EXT.length() - 1);
+
+                        if (idx > 0) {
+                            String spaceName = name.substring(0, idx);
+
+                            spaces.putIfAbsent(spaceName, new LogSpace(spaceName));
+                        }
+                    }
+                }
+            }
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(configInfo("memMapped", memMapped));
+            log.debug(configInfo("segSize", segSize));
+            log.debug(configInfo("persistent", persistent));
+        }
+
         if (log.isDebugEnabled())
             log.debug(startInfo());
     }
@@ -304,7 +432,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
     @Override public void spiStop() throws GridSpiException {
         unregisterMBean();
 
-        for (Space space : spaces.values()) {
+        for (SwapStore space : spaces.values()) {
             space.initialize();
 
             try {
@@ -315,7 +443,9 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             }
         }
 
-        if (dir != null && dir.exists() && !U.delete(dir))
+        if (persistent)
+            unlockDirectory();
+        else if (dir != null && dir.exists() && !U.delete(dir))
             U.warn(log, "Failed to delete swap directory: " + dir.getAbsolutePath());
 
         if (log.isDebugEnabled())
@@ -324,7 +454,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
 
     /** {@inheritDoc} */
     @Override public void clear(@Nullable String spaceName) throws GridSpiException {
-        Space space = space(spaceName, false);
+        SwapStore space = space(spaceName, false);
 
         if (space == null)
             return;
@@ -336,7 +466,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
 
     /** {@inheritDoc} */
     @Override public long size(@Nullable String spaceName) throws GridSpiException {
-        Space space = space(spaceName, false);
+        SwapStore space = space(spaceName, false);
 
         if (space == null)
             return 0;
@@ -346,7 +476,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
 
     /** {@inheritDoc} */
     @Override public long count(@Nullable String spaceName) throws GridSpiException {
-        Space space = space(spaceName, false);
+        SwapStore space = space(spaceName, false);
 
         if (space == null)
             return 0;
@@ -360,7 +490,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         assert key != null;
         assert ctx != null;
 
-        Space space = space(spaceName, false);
+        SwapStore space = space(spaceName, false);
 
         if (space == null)
             return null;
@@ -378,7 +508,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         assert keys != null;
         assert ctx != null;
 
-        Space space = space(spaceName, false);
+        SwapStore space = space(spaceName, false);
 
         if (space == null)
             return Collections.emptyMap();
@@ -405,7 +535,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         assert key != null;
         assert ctx != null;
 
-        Space space = space(spaceName, false);
+        SwapStore space = space(spaceName, false);
 
         if (space == null)
             return;
@@ -424,7 +554,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         assert keys != null;
         assert ctx != null;
 
-        Space space = space(spaceName, false);
+        SwapStore space = space(spaceName, false);
 
         if (space == null)
             return;
@@ -447,7 +577,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         assert key != null;
         assert ctx != null;
 
-        Space space = space(spaceName, true);
+        SwapStore space = space(spaceName, true);
 
         assert space != null;
 
@@ -462,7 +592,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         assert pairs != null;
         assert ctx != null;
 
-        Space space = space(spaceName, true);
+        SwapStore space = space(spaceName, true);
 
         assert space != null;
 
@@ -485,7 +615,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
     /** {@inheritDoc} */
     @Nullable @Override public Collection<Integer> partitions(@Nullable String spaceName)
         throws GridSpiException {
-        Space space = space(spaceName, false);
+        SwapStore space = space(spaceName, false);
 
         if (space == null)
             return null;
@@ -496,48 +626,34 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
     /** {@inheritDoc} */
     @Nullable @Override public <K> GridSpiCloseableIterator<K> keyIterator(@Nullable String spaceName,
         GridSwapContext ctx) throws GridSpiException {
-        final Space space = space(spaceName, false);
+        SwapStore space = space(spaceName, false);
 
         if (space == null)
             return null;
 
-        final Iterator<Map.Entry<GridSwapKey, byte[]>> iter = space.entriesIterator();
-
-        return new GridCloseableIteratorAdapter<K>() {
-            @Override protected boolean onHasNext() {
-                return iter.hasNext();
-            }
-
-            @Override protected K onNext() {
-                return (K)iter.next().getKey().key();
-            }
-
-            @Override protected void onRemove() {
-                iter.remove();
-            }
-        };
+        return space.keyIterator(ctx);
     }
 
     /** {@inheritDoc} */
     @Nullable @Override public GridSpiCloseableIterator<Map.Entry<byte[], byte[]>> rawIterator(
         @Nullable String spaceName) throws GridSpiException {
-        Space space = space(spaceName, false);
+        SwapStore space = space(spaceName, false);
 
         if (space == null)
             return null;
 
-        return rawIterator(space.entriesIterator());
+        return space.rawIterator();
     }
 
     /** {@inheritDoc} */
     @Nullable @Override public GridSpiCloseableIterator<Map.Entry<byte[], byte[]>> rawIterator(
         @Nullable String spaceName, int part) throws GridSpiException {
-        Space space = space(spaceName, false);
+        SwapStore space = space(spaceName, false);
 
         if (space == null)
             return null;
 
-        return rawIterator(space.entriesIterator(part));
+        return space.rawIterator(part);
     }
 
     /**
@@ -612,17 +728,17 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
      * @return Space.
      * @throws GridSpiException In case of error.
      */
-    @Nullable private Space space(@Nullable String name, boolean create) throws GridSpiException {
+    @Nullable private SwapStore space(@Nullable String name, boolean create) throws GridSpiException {
         String masked = name != null ? name : DFLT_SPACE_NAME;
 
         assert masked != null;
 
-        Space space = spaces.get(masked);
+        SwapStore space = spaces.get(masked);
 
         if (space == null && create) {
             validateName(name);
 
-            Space old = spaces.putIfAbsent(masked, space = new Space(masked));
+            SwapStore old = spaces.putIfAbsent(masked, space = memMapped ? new LogSpace(masked) : new Space(masked));
 
             if (old != null)
                 space = old;
@@ -652,11 +768,153 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             throw new GridSpiException("Space name contains invalid characters: " + name);
     }
 
+    /**
+     * Locks swap directory so that it is not shared by several nodes.
+     *
+     * @throws GridSpiException If directory is locked by another node or lock failed.
+     */
+    private void lockDirectory() throws GridSpiException {
+        File f = new File(dir, LOCK_FILE_NAME);
+
+        try {
+            lockFile = new RandomAccessFile(f, "rw");
+
+            dirLock = lockFile.getChannel().tryLock();
+        }
+        catch (IOException | OverlappingFileLockException e) {
+            unlockDirectory();
+
+            throw new GridSpiException("Failed to lock swap directory: " + dir.getAbsolutePath(), e);
+        }
+
+        if (dirLock == null) {
+            unlockDirectory();
+
+            throw new GridSpiException("Swap directory is used by another node (configure different base " +
+                "directory or grid name): " + dir.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Releases swap directory lock.
+     */
+    private void unlockDirectory() {
+        if (dirLock != null) {
+            try {
+                dirLock.release();
+            }
+            catch (IOException e) {
+                U.warn(log, "Failed to release swap directory lock: " + e);
+            }
+
+            dirLock = null;
+        }
+
+        U.closeQuiet(lockFile);
+
+        lockFile = null;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(GridFileSwapSpaceSpi.class, this);
     }
 
+    /**
+     * Storage of single swap space.
+     */
+    private interface SwapStore {
+        /**
+         * Initializes space.
+         *
+         * @throws GridSpiException If initialization failed.
+         */
+        public void initialize() throws GridSpiException;
+
+        /**
+         * Gets total space size in bytes.
+         *
+         * @return Total size.
+         */
+        public long size();
+
+        /**
+         * Gets total space count.
+         *
+         * @return Total count.
+         */
+        public long count();
+
+        /**
+         * Clears space.
+         *
+         * @throws GridSpiException If failed.
+         */
+        public void clear() throws GridSpiException;
+
+        /**
+         * Stops space.
+         *
+         * @throws GridInterruptedException If interrupted.
+         */
+        public void stop() throws GridInterruptedException;
+
+        /**
+         * Stores value in space.
+         *
+         * @param key Key.
+         * @param val Value.
+         * @throws GridSpiException In case of error.
+         */
+        public void store(GridSwapKey key, @Nullable byte[] val) throws GridSpiException;
+
+        /**
+         * Reads value from space.
+         *
+         * @param key Key.
+         * @return Value.
+         * @throws GridSpiException In case of error.
+         */
+        @Nullable public byte[] read(GridSwapKey key) throws GridSpiException;
+
+        /**
+         * Removes value from space.
+         *
+         * @param key Key.
+         * @param read If value has to be read.
+         * @return Value.
+         * @throws GridSpiException In case of error.
+         */
+        @Nullable public byte[] remove(GridSwapKey key, boolean read) throws GridSpiException;
+
+        /**
+         * Gets numbers of partitioned stored in this space.
+         *
+         * @return Partition numbers.
+         */
+        public Collection<Integer> partitions();
+
+        /**
+         * @param ctx Swap context.
+         * @return Iterator over keys.
+         * @throws GridSpiException In case of error.
+         */
+        public <K> GridSpiCloseableIterator<K> keyIterator(GridSwapContext ctx) throws GridSpiException;
+
+        /**
+         * @return Iterator over key and value bytes.
+         * @throws GridSpiException In case of error.
+         */
+        public GridSpiCloseableIterator<Map.Entry<byte[], byte[]>> rawIterator() throws GridSpiException;
+
+        /**
+         * @param part Partition.
+         * @return Iterator over key and value bytes of given partition.
+         * @throws GridSpiException In case of error.
+         */
+        public GridSpiCloseableIterator<Map.Entry<byte[], byte[]>> rawIterator(int part) throws GridSpiException;
+    }
+
     /**
      * Swap value.
      */
@@ -1381,7 +1639,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
     /**
      * Space.
      */
-    private class Space {
+    private class Space implements SwapStore {
         /** Space name. */
         private final String name;
 
@@ -1427,12 +1685,8 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             this.name = name;
         }
 
-        /**
-         * Initializes space.
-         *
-         * @throws GridSpiException If initialization failed.
-         */
-        public void initialize() throws GridSpiException {
+        /** {@inheritDoc} */
+        @Override public void initialize() throws GridSpiException {
             if (initializer.succeeded())
                 return;
 
@@ -1539,42 +1793,26 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             }
         }
 
-        /**
-         * Gets total space size in bytes.
-         *
-         * @return Total size.
-         */
-        public long size() {
+        /** {@inheritDoc} */
+        @Override public long size() {
             return left.length() + right.length();
         }
 
-        /**
-         * Gets total space count.
-         *
-         * @return Total count.
-         */
-        public long count() {
+        /** {@inheritDoc} */
+        @Override public long count() {
             return cnt.get();
         }
 
-        /**
-         * Clears space.
-         *
-         * @throws GridSpiException If failed.
-         */
-        public void clear() throws GridSpiException {
+        /** {@inheritDoc} */
+        @Override public void clear() throws GridSpiException {
             Iterator<Map.Entry<GridSwapKey, byte[]>> iter = entriesIterator();
 
             while (iter.hasNext())
                 remove(iter.next().getKey(), false);
         }
 
-        /**
-         * Stops space.
-         *
-         * @throws GridInterruptedException If interrupted.
-         */
-        public void stop() throws GridInterruptedException {
+        /** {@inheritDoc} */
+        @Override public void stop() throws GridInterruptedException {
             U.interrupt(writer);
             U.interrupt(compactor);
 
@@ -1585,14 +1823,8 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             right.delete();
         }
 
-        /**
-         * Stores value in space.
-         *
-         * @param key Key.
-         * @param val Value.
-         * @throws GridSpiException In case of error.
-         */
-        public void store(final GridSwapKey key, @Nullable final byte[] val) throws GridSpiException {
+        /** {@inheritDoc} */
+        @Override public void store(final GridSwapKey key, @Nullable final byte[] val) throws GridSpiException {
             assert key != null;
 
             final ConcurrentMap<GridSwapKey, SwapValue> part = partition(key.partition(), true);
@@ -1629,14 +1861,8 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             que.add(swapVal);
         }
 
-        /**
-         * Reads value from space.
-         *
-         * @param key Key.
-         * @return Value.
-         * @throws GridSpiException In case of error.
-         */
-        @Nullable public byte[] read(GridSwapKey key) throws GridSpiException {
+        /** {@inheritDoc} */
+        @Nullable @Override public byte[] read(GridSwapKey key) throws GridSpiException {
             assert key != null;
 
             final Map<GridSwapKey, SwapValue> part = partition(key.partition(), false);
@@ -1652,15 +1878,8 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             return swapVal.value(this);
         }
 
-        /**
-         * Removes value from space.
-         *
-         * @param key Key.
-         * @param read If value has to be read.
-         * @return Value.
-         * @throws GridSpiException In case of error.
-         */
-        @Nullable public byte[] remove(GridSwapKey key, boolean read) throws GridSpiException {
+        /** {@inheritDoc} */
+        @Nullable @Override public byte[] remove(GridSwapKey key, boolean read) throws GridSpiException {
             assert key != null;
 
             final Map<GridSwapKey, SwapValue> part = partition(key.partition(), false);
@@ -1723,15 +1942,40 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             return fileLen > writeBufSize && (fileLen - size.get()) / (float)fileLen > maxSparsity;
         }
 
-        /**
-         * Gets numbers of partitioned stored in this space.
-         *
-         * @return Partition numbers.
-         */
-        public Collection<Integer> partitions() {
+        /** {@inheritDoc} */
+        @Override public Collection<Integer> partitions() {
             return parts.keySet();
         }
 
+        /** {@inheritDoc} */
+        @Override public <K> GridSpiCloseableIterator<K> keyIterator(GridSwapContext ctx) {
+            final Iterator<Map.Entry<GridSwapKey, byte[]>> iter = entriesIterator();
+
+            return new GridCloseableIteratorAdapter<K>() {
+                @Override protected boolean onHasNext() {
+                    return iter.hasNext();
+                }
+
+                @Override protected K onNext() {
+                    return (K)iter.next().getKey().key();
+                }
+
+                @Override protected void onRemove() {
+                    iter.remove();
+                }
+            };
+        }
+
+        /** {@inheritDoc} */
+        @Override public GridSpiCloseableIterator<Map.Entry<byte[], byte[]>> rawIterator() {
+            return GridFileSwapSpaceSpi.this.rawIterator(entriesIterator());
+        }
+
+        /** {@inheritDoc} */
+        @Override public GridSpiCloseableIterator<Map.Entry<byte[], byte[]>> rawIterator(int part) {
+            return GridFileSwapSpaceSpi.this.rawIterator(entriesIterator(part));
+        }
+
         /**
          * Gets partition map by its number.
          *
@@ -1866,4 +2110,862 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             };
         }
     }
+
+    /**
+     * Log-structured space. Records are appended to memory-mapped segments, locations of live records
+     * are kept in off-heap index, stale records are dropped by background compaction. All updates of
+     * the same key are serialized by striped locks, so that order of records in the log matches order
+     * of index updates and the index can be rebuilt by replaying segments.
+     */
+    private class LogSpace implements SwapStore {
+        /** Space name. */
+        private final String name;
+
+        /** */
+        private final GridAtomicInitializer<Void> initializer = new GridAtomicInitializer<>();
+
+        /** Segments by ID. */
+        private final ConcurrentNavigableMap<Integer, GridFileSwapSegment> segs = new ConcurrentSkipListMap<>();
+
+        /** Record locations by partition. */
+        private final ConcurrentMap<Integer, GridOffHeapMap<GridSwapKey>> parts = new ConcurrentHashMap8<>();
+
+        /** Key locks. */
+        private final Object[] locks = new Object[LOG_LOCK_STRIPES];
+
+        /** Segment switch mutex. */
+        private final Object mux = new Object();
+
+        /** Segment records are appended to. */
+        private volatile GridFileSwapSegment active;
+
+        /** Next segment ID. */
+        private int nextId;
+
+        /** Bytes occupied by records. */
+        private final AtomicLong size = new AtomicLong();
+
+        /** Bytes occupied by stale records. */
+        private final AtomicLong deadSize = new AtomicLong();
+
+        /** Total count. */
+        private final AtomicLong cnt = new AtomicLong();
+
+        /** */
+        private Thread compactor;
+
+        /**
+         * @param name Space name.
+         */
+        private LogSpace(String name) {
+            assert name != null;
+
+            this.name = name;
+
+            for (int i = 0; i < locks.length; i++)
+                locks[i] = new Object();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void initialize() throws GridSpiException {
+            if (initializer.succeeded())
+                return;
+
+            assert dir.exists();
+            assert dir.isDirectory();
+
+            try {
+                initializer.init(new Callable<Void>() {
+                    @Override public Void call() throws Exception {
+                        if (persistent)
+                            recover();
+
+                        synchronized (mux) {
+                            active = reusableSegment();
+
+                            if (active == null)
+                                active = newSegment(segSize);
+                        }
+
+                        compactor = new GridSpiThread(gridName, "Swap compactor: " + name, log) {
+                            @Override protected void body() throws InterruptedException {
+                                while (!isInterrupted()) {
+                                    try {
+                                        if (persistent)
+                                            sync();
+
+                                        if (!needCompact()) {
+                                            if (persistent)
+                                                LockSupport.parkNanos(SYNC_WAIT_NANOS);
+                                            else
+                                                LockSupport.park();
+
+                                            continue;
+                                        }
+
+                                        GridFileSwapSegment seg = compactCandidate();
+
+                                        if (seg == null) {
+                                            LockSupport.parkNanos(COMPACT_WAIT_NANOS);
+
+                                            continue;
+                                        }
+
+                                        compact(seg);
+                                    }
+                                    catch (GridSpiException e) {
+                                        U.error(log, "Failed to compact swap space (will retry): " + name, e);
+
+                                        LockSupport.parkNanos(SYNC_WAIT_NANOS);
+                                    }
+                                }
+                            }
+                        };
+
+                        compactor.start();
+
+                        return null;
+                    }
+                });
+            }
+            catch (GridException e) {
+                throw new GridSpiException(e);
+            }
+        }
+
+        /**
+         * Rebuilds index from segments left by previous run.
+         *
+         * @throws GridSpiException If failed.
+         */
+        private void recover() throws GridSpiException {
+            File[] files = dir.listFiles();
+
+            if (files == null)
+                return;
+
+            SortedMap<Integer, File> found = new TreeMap<>();
+
+            String prefix = name + '.';
+
+            for (File f : files) {
+                String fileName = f.getName();
+
+                if (f.isFile() && fileName.startsWith(prefix) && fileName.endsWith(SEGMENT_EXT)) {
+                    try {
+                        found.put(Integer.parseInt(fileName.substring(prefix.length(),
+                            fileName.length() - SEGMENT_EXT.length())), f);
+                    }
+                    catch (NumberFormatException ignored) {
+                        // Segment of another space with dot in name.
+                    }
+                }
+            }
+
+            for (Map.Entry<Integer, File> e : found.entrySet()) {
+                int id = e.getKey();
+
+                GridFileSwapSegment seg;
+
+                try {
+                    seg = new GridFileSwapSegment(e.getValue(), id, segSize);
+                }
+                catch (IOException ex) {
+                    throw new GridSpiException("Failed to open swap segment: " + e.getValue().getAbsolutePath(), ex);
+                }
+
+                nextId = id + 1;
+
+                // Drop segments without records, e.g. ones created right before previous run stopped.
+                if (seg.length() == 0) {
+                    if (!seg.delete())
+                        U.warn(log, "Failed to delete empty swap segment: " + seg);
+
+                    continue;
+                }
+
+                segs.put(id, seg);
+
+                size.addAndGet(seg.length());
+                deadSize.addAndGet(seg.deadLength());
+
+                for (int off = seg.nextRecord(0), end = seg.length(); off >= 0 && off < end; ) {
+                    int len = seg.recordSize(off);
+
+                    byte[] keyBytes = seg.key(off);
+
+                    int hash = hash(keyBytes);
+
+                    GridOffHeapMap<GridSwapKey> idx = partition(seg.partition(off), true);
+
+                    assert idx != null;
+
+                    byte[] old;
+
+                    if (seg.tombstone(off)) {
+                        old = idx.remove(hash, keyBytes);
+
+                        onDead(seg, len);
+
+                        if (old != null)
+                            cnt.decrementAndGet();
+                    }
+                    else {
+                        old = idx.get(hash, keyBytes);
+
+                        idx.put(hash, keyBytes, U.longToBytes(location(id, off)));
+
+                        if (old == null)
+                            cnt.incrementAndGet();
+                    }
+
+                    if (old != null)
+                        onDead(U.bytesToLong(old, 0));
+
+                    off = off + len < end ? seg.nextRecord(off + len) : -1;
+                }
+            }
+
+            if (log.isDebugEnabled())
+                log.debug("Recovered swap space [name=" + name + ", segments=" + segs.size() + ", count=" +
+                    cnt.get() + ", size=" + size.get() + ", deadSize=" + deadSize.get() + ']');
+        }
+
+        /** {@inheritDoc} */
+        @Override public long size() {
+            return size.get();
+        }
+
+        /** {@inheritDoc} */
+        @Override public long count() {
+            return cnt.get();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void clear() throws GridSpiException {
+            for (Map.Entry<Integer, GridOffHeapMap<GridSwapKey>> e : parts.entrySet()) {
+                GridOffHeapMap<GridSwapKey> idx = e.getValue();
+
+                try (GridCloseableIterator<GridBiTuple<byte[], byte[]>> it = idx.iterator()) {
+                    while (it.hasNext())
+                        remove0(idx, e.getKey(), it.next().get1(), false);
+                }
+                catch (GridException ex) {
+                    throw new GridSpiException(ex);
+                }
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public void stop() throws GridInterruptedException {
+            U.interrupt(compactor);
+
+            U.join(compactor);
+
+            for (GridFileSwapSegment seg : segs.values()) {
+                if (persistent)
+                    seg.force();
+                else if (!seg.delete() && log.isDebugEnabled())
+                    log.debug("Failed to delete swap segment: " + seg);
+            }
+
+            for (GridOffHeapMap<GridSwapKey> idx : parts.values())
+                idx.destruct();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void store(GridSwapKey key, @Nullable byte[] val) throws GridSpiException {
+            assert key != null;
+
+            if (val == null) {
+                remove(key, false);
+
+                return;
+            }
+
+            byte[] keyBytes = keyBytes(key);
+
+            GridOffHeapMap<GridSwapKey> idx = partition(key.partition(), true);
+
+            assert idx != null;
+
+            int hash = hash(keyBytes);
+
+            synchronized (lock(hash)) {
+                long loc = append(key.partition(), keyBytes, val);
+
+                byte[] old = idx.get(hash, keyBytes);
+
+                idx.put(hash, keyBytes, U.longToBytes(loc));
+
+                if (old != null)
+                    onDead(U.bytesToLong(old, 0));
+                else
+                    cnt.incrementAndGet();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Nullable @Override public byte[] read(GridSwapKey key) throws GridSpiException {
+            assert key != null;
+
+            GridOffHeapMap<GridSwapKey> idx = partition(key.partition(), false);
+
+            if (idx == null)
+                return null;
+
+            byte[] keyBytes = keyBytes(key);
+
+            return read0(idx, hash(keyBytes), keyBytes);
+        }
+
+        /**
+         * Reads value without locking. Records are immutable and segment mapping stays valid while
+         * referenced, so the only race is with compaction which moves record and drops its segment.
+         *
+         * @param idx Partition index.
+         * @param hash Key hash.
+         * @param keyBytes Key bytes.
+         * @return Value or {@code null} if there is no value for the key.
+         */
+        @Nullable private byte[] read0(GridOffHeapMap<GridSwapKey> idx, int hash, byte[] keyBytes) {
+            for (;;) {
+                byte[] locBytes = idx.get(hash, keyBytes);
+
+                if (locBytes == null)
+                    return null;
+
+                long loc = U.bytesToLong(locBytes, 0);
+
+                GridFileSwapSegment seg = segs.get(segment(loc));
+
+                if (seg != null && seg.acquire()) {
+                    try {
+                        return seg.value(offset(loc));
+                    }
+                    finally {
+                        seg.release();
+                    }
+                }
+
+                // Segment was compacted concurrently, retry with new location.
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Nullable @Override public byte[] remove(GridSwapKey key, boolean read) throws GridSpiException {
+            assert key != null;
+
+            GridOffHeapMap<GridSwapKey> idx = partition(key.partition(), false);
+
+            if (idx == null)
+                return null;
+
+            return remove0(idx, key.partition(), keyBytes(key), read);
+        }
+
+        /**
+         * @param idx Partition index.
+         * @param part Partition.
+         * @param keyBytes Key bytes.
+         * @param read If value has to be read.
+         * @return Value.
+         * @throws GridSpiException In case of error.
+         */
+        @Nullable private byte[] remove0(GridOffHeapMap<GridSwapKey> idx, int part, byte[] keyBytes, boolean read)
+            throws GridSpiException {
+            int hash = hash(keyBytes);
+
+            synchronized (lock(hash)) {
+                byte[] old = idx.remove(hash, keyBytes);
+
+                if (old == null)
+                    return null;
+
+                long loc = U.bytesToLong(old, 0);
+
+                GridFileSwapSegment seg = segs.get(segment(loc));
+
+                assert seg != null; // Compaction can't drop segment while record is referenced.
+
+                byte[] val = read ? seg.value(offset(loc)) : null;
+
+                onDead(seg, seg.recordSize(offset(loc)));
+
+                cnt.decrementAndGet();
+
+                if (persistent)
+                    append(part, keyBytes, null); // Tombstone hides older records of the key on recovery.
+
+                return val;
+            }
+        }
+
+        /**
+         * Appends record to active segment, switching to new segment if active one is full.
+         *
+         * @param part Partition.
+         * @param keyBytes Key bytes.
+         * @param val Value bytes or {@code null} for tombstone.
+         * @return Record location.
+         * @throws GridSpiException If failed to create new segment.
+         */
+        private long append(int part, byte[] keyBytes, @Nullable byte[] val) throws GridSpiException {
+            int len = GridFileSwapSegment.recordSize(keyBytes.length, val != null ? val.length : 0);
+
+            for (;;) {
+                GridFileSwapSegment seg = active;
+
+                int off = seg.reserve(len);
+
+                if (off >= 0) {
+                    seg.write(off, part, keyBytes, val);
+
+                    size.addAndGet(len);
+
+                    if (val == null)
+                        onDead(seg, len);
+
+                    return location(seg.id(), off);
+                }
+
+                synchronized (mux) {
+                    if (active == seg) {
+                        seg.seal();
+
+                        active = newSegment(Math.max(segSize, len));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Reopens the last segment left by previous run if it has free space, so that every
+         * restart does not leave another partially filled segment behind.
+         *
+         * @return Reopened segment or {@code null} if there is no such segment.
+         */
+        @Nullable private GridFileSwapSegment reusableSegment() {
+            assert Thread.holdsLock(mux);
+
+            Map.Entry<Integer, GridFileSwapSegment> last = segs.lastEntry();
+
+            if (last == null)
+                return null;
+
+            GridFileSwapSegment seg = last.getValue();
+
+            if (seg.capacity() - seg.length() < GridFileSwapSegment.HDR_SIZE)
+                return null;
+
+            seg.unseal();
+
+            return seg;
+        }
+
+        /**
+         * @param cap Segment capacity.
+         * @return New segment.
+         * @throws GridSpiException If failed.
+         */
+        private GridFileSwapSegment newSegment(int cap) throws GridSpiException {
+            assert Thread.holdsLock(mux);
+
+            int id = nextId++;
+
+            File f = new File(dir, name + '.' + id + SEGMENT_EXT);
+
+            GridFileSwapSegment seg;
+
+            try {
+                seg = new GridFileSwapSegment(f, id, cap);
+            }
+            catch (IOException e) {
+                throw new GridSpiException("Failed to create swap segment: " + f.getAbsolutePath(), e);
+            }
+
+            segs.put(id, seg);
+
+            return seg;
+        }
+
+        /**
+         * @param loc Location of record which became stale.
+         */
+        private void onDead(long loc) {
+            GridFileSwapSegment seg = segs.get(segment(loc));
+
+            assert seg != null;
+
+            onDead(seg, seg.recordSize(offset(loc)));
+        }
+
+        /**
+         * @param seg Segment.
+         * @param len Length of record which became stale.
+         */
+        private void onDead(GridFileSwapSegment seg, int len) {
+            assert len > 0;
+
+            seg.onDead(len);
+
+            deadSize.addAndGet(len);
+
+            if (needCompact())
+                LockSupport.unpark(compactor);
+        }
+
+        /**
+         * @return {@code true} If compaction needed.
+         */
+        private boolean needCompact() {
+            long total = size.get();
+
+            return total > segSize && deadSize.get() / (float)total > maxSparsity;
+        }
+
+        /**
+         * Chooses sealed segment with the highest share of stale records. If only active segment has
+         * stale records, it gets sealed to become a candidate once in-flight writes complete.
+         *
+         * @return Segment to compact or {@code null} if there is no segment ready for compaction.
+         * @throws GridSpiException If failed to switch active segment.
+         */
+        @Nullable private GridFileSwapSegment compactCandidate() throws GridSpiException {
+            GridFileSwapSegment cur = active;
+
+            GridFileSwapSegment res = null;
+
+            float maxSparsity = 0;
+
+            for (GridFileSwapSegment seg : segs.values()) {
+                if (seg == cur || !seg.complete() || seg.deadLength() == 0)
+                    continue;
+
+                float sparsity = seg.deadLength() / (float)seg.length();
+
+                if (sparsity > maxSparsity) {
+                    maxSparsity = sparsity;
+
+                    res = seg;
+                }
+            }
+
+            if (res == null && cur.deadLength() > 0) {
+                synchronized (mux) {
+                    if (active == cur) {
+                        cur.seal();
+
+                        active = newSegment(segSize);
+                    }
+                }
+            }
+
+            return res;
+        }
+
+        /**
+         * Flushes sealed segments which are not flushed yet to disk.
+         */
+        private void sync() {
+            GridFileSwapSegment cur = active;
+
+            for (GridFileSwapSegment seg : segs.values()) {
+                if (seg != cur && seg.complete() && !seg.synced())
+                    seg.force();
+            }
+        }
+
+        /**
+         * Moves live records of the segment to active segment and drops it.
+         *
+         * @param seg Segment.
+         * @throws GridSpiException If failed.
+         */
+        private void compact(GridFileSwapSegment seg) throws GridSpiException {
+            assert seg.complete();
+
+            int id = seg.id();
+
+            // Tombstones still matter while older segments may contain records they hide.
+            boolean keepTombstones = persistent && segs.firstKey() < id;
+
+            for (int off = seg.nextRecord(0), end = seg.length(); off >= 0 && off < end; ) {
+                int len = seg.recordSize(off);
+
+                int part = seg.partition(off);
+
+                byte[] keyBytes = seg.key(off);
+
+                int hash = hash(keyBytes);
+
+                GridOffHeapMap<GridSwapKey> idx = parts.get(part);
+
+                synchronized (lock(hash)) {
+                    if (seg.tombstone(off)) {
+                        if (keepTombstones && (idx == null || !idx.contains(hash, keyBytes)))
+                            append(part, keyBytes, null);
+                    }
+                    else if (idx != null) {
+                        byte[] locBytes = idx.get(hash, keyBytes);
+
+                        if (locBytes != null && U.bytesToLong(locBytes, 0) == location(id, off))
+                            idx.put(hash, keyBytes, U.longToBytes(append(part, keyBytes, seg.value(off))));
+                    }
+                }
+
+                off = off + len < end ? seg.nextRecord(off + len) : -1;
+            }
+
+            // Moved records must reach disk before segment they were moved from is deleted.
+            if (persistent) {
+                for (GridFileSwapSegment s : segs.values()) {
+                    if (s != seg && !s.synced())
+                        s.force();
+                }
+            }
+
+            // No index entry references the segment anymore.
+            segs.remove(id);
+
+            size.addAndGet(-seg.length());
+            deadSize.addAndGet(-seg.deadLength());
+
+            if (!seg.delete())
+                U.warn(log, "Failed to delete compacted swap segment: " + seg);
+        }
+
+        /** {@inheritDoc} */
+        @Override public Collection<Integer> partitions() {
+            return parts.keySet();
+        }
+
+        /** {@inheritDoc} */
+        @Override public <K> GridSpiCloseableIterator<K> keyIterator(final GridSwapContext ctx) {
+            final RawIterator iter = new RawIterator(parts.entrySet().iterator());
+
+            return new GridCloseableIteratorAdapter<K>() {
+                @Override protected boolean onHasNext() throws GridException {
+                    return iter.hasNextX();
+                }
+
+                @Override protected K onNext() throws GridException {
+                    return marsh.unmarshal(iter.nextX().getKey(), ctx.classLoader());
+                }
+
+                @Override protected void onRemove() throws GridException {
+                    iter.removeX();
+                }
+
+                @Override protected void onClose() throws GridException {
+                    iter.close();
+                }
+            };
+        }
+
+        /** {@inheritDoc} */
+        @Override public GridSpiCloseableIterator<Map.Entry<byte[], byte[]>> rawIterator() {
+            return new RawIterator(parts.entrySet().iterator());
+        }
+
+        /** {@inheritDoc} */
+        @Override public GridSpiCloseableIterator<Map.Entry<byte[], byte[]>> rawIterator(int part) {
+            GridOffHeapMap<GridSwapKey> idx = parts.get(part);
+
+            Iterator<Map.Entry<Integer, GridOffHeapMap<GridSwapKey>>> it = idx == null ?
+                Collections.<Map.Entry<Integer, GridOffHeapMap<GridSwapKey>>>emptyIterator() :
+                Collections.singletonMap(part, idx).entrySet().iterator();
+
+            return new RawIterator(it);
+        }
+
+        /**
+         * Gets partition index by its number.
+         *
+         * @param part Partition number.
+         * @param create Whether to create partition index if it doesn't exist.
+         * @return Partition index.
+         */
+        @Nullable private GridOffHeapMap<GridSwapKey> partition(int part, boolean create) {
+            GridOffHeapMap<GridSwapKey> idx = parts.get(part);
+
+            if (idx == null && create) {
+                GridOffHeapMap<GridSwapKey> old = parts.putIfAbsent(part,
+                    idx = GridOffHeapMapFactory.<GridSwapKey>unsafeMap(readStripesNum, 1024));
+
+                if (old != null) {
+                    idx.destruct();
+
+                    idx = old;
+                }
+            }
+
+            return idx;
+        }
+
+        /**
+         * @param hash Key hash.
+         * @return Lock for the key.
+         */
+        private Object lock(int hash) {
+            return locks[U.hash(hash) & (locks.length - 1)];
+        }
+
+        /**
+         * Iterator over key and value bytes of given partitions.
+         */
+        private class RawIterator extends GridCloseableIteratorAdapter<Map.Entry<byte[], byte[]>> {
+            /** */
+            private final Iterator<Map.Entry<Integer, GridOffHeapMap<GridSwapKey>>> partIt;
+
+            /** */
+            private GridCloseableIterator<GridBiTuple<byte[], byte[]>> it;
+
+            /** */
+            private GridOffHeapMap<GridSwapKey> idx;
+
+            /** */
+            private int part;
+
+            /** */
+            private Map.Entry<byte[], byte[]> next;
+
+            /** */
+            private Map.Entry<byte[], byte[]> last;
+
+            /** */
+            private int lastPart;
+
+            /**
+             * @param partIt Partitions iterator.
+             */
+            private RawIterator(Iterator<Map.Entry<Integer, GridOffHeapMap<GridSwapKey>>> partIt) {
+                this.partIt = partIt;
+
+                advance();
+            }
+
+            /**
+             * Gets next entry which is still present in the index.
+             */
+            private void advance() {
+                for (;;) {
+                    while (it == null || !it.hasNext()) {
+                        if (it != null)
+                            closeQuiet(it);
+
+                        if (!partIt.hasNext()) {
+                            it = null;
+
+                            return;
+                        }
+
+                        Map.Entry<Integer, GridOffHeapMap<GridSwapKey>> e = partIt.next();
+
+                        part = e.getKey();
+                        idx = e.getValue();
+                        it = idx.iterator();
+                    }
+
+                    byte[] keyBytes = it.next().get1();
+
+                    byte[] val = read0(idx, hash(keyBytes), keyBytes);
+
+                    if (val != null) {
+                        next = new T2<>(keyBytes, val);
+
+                        return;
+                    }
+                }
+            }
+
+            /** {@inheritDoc} */
+            @Override protected boolean onHasNext() {
+                return next != null;
+            }
+
+            /** {@inheritDoc} */
+            @Override protected Map.Entry<byte[], byte[]> onNext() {
+                Map.Entry<byte[], byte[]> res = next;
+
+                if (res == null)
+                    throw new NoSuchElementException();
+
+                last = res;
+                lastPart = part;
+
+                next = null;
+
+                advance();
+
+                return res;
+            }
+
+            /** {@inheritDoc} */
+            @Override protected void onRemove() throws GridException {
+                if (last == null)
+                    throw new IllegalStateException();
+
+                GridOffHeapMap<GridSwapKey> lastIdx = parts.get(lastPart);
+
+                if (lastIdx != null)
+                    remove0(lastIdx, lastPart, last.getKey(), false);
+
+                last = null;
+            }
+
+            /** {@inheritDoc} */
+            @Override protected void onClose() {
+                if (it != null)
+                    closeQuiet(it);
+
+                next = null;
+            }
+
+            /**
+             * @param it Index iterator.
+             */
+            private void closeQuiet(GridCloseableIterator<?> it) {
+                try {
+                    it.close();
+                }
+                catch (GridException e) {
+                    U.warn(log, "Failed to close swap index iterator: " + e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param keyBytes Key bytes.
+     * @return Hash of key bytes, stable across restarts.
+     */
+    private static int hash(byte[] keyBytes) {
+        return Arrays.hashCode(keyBytes);
+    }
+
+    /**
+     * @param segId Segment ID.
+     * @param off Record offset.
+     * @return Record location.
+     */
+    private static long location(int segId, int off) {
+        return ((long)segId << 32) | (off & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param loc Record location.
+     * @return Segment ID.
+     */
+    private static int segment(long loc) {
+        return (int)(loc >>> 32);
+    }
+
+    /**
+     * @param loc Record location.
+     * @return Record offset.
+     */
+    private static int offset(long loc) {
+        return (int)loc;
+    }
 }
@@ -70,4 +70,28 @@ public interface GridFileSwapSpaceSpiMBean extends GridSpiManagementMBean {
      */
     @GridMBeanDescription("Read pool size.")
     public int getReadStripesNumber();
+
+    /**
+     * Gets memory-mapped mode flag.
+     *
+     * @return Memory-mapped mode flag.
+     */
+    @GridMBeanDescription("Memory-mapped mode flag.")
+    public boolean isMemoryMapped();
+
+    /**
+     * Gets segment size in bytes for memory-mapped mode.
+     *
+     * @return Segment size in bytes.
+     */
+    @GridMBeanDescription("Segment size in bytes for memory-mapped mode.")
+    public int getSegmentSize();
+
+    /**
+     * Gets persistence flag for memory-mapped mode.
+     *
+     * @return Persistence flag.
+     */
+    @GridMBeanDescription("Persistence flag for memory-mapped mode.")
+    public boolean isPersistent();
 }
\ No newline at end of file
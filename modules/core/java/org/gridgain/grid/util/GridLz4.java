@@ -0,0 +1,376 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.util;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Pure Java compressor producing blocks in LZ4 block format. Compression favors speed over
+ * ratio, which makes it suitable for compressing data on the fly before sending it over network.
+ */
+public final class GridLz4 {
+    /** Minimum match length. */
+    private static final int MIN_MATCH = 4;
+
+    /** Number of last bytes which are always encoded as literals. */
+    private static final int LAST_LITERALS = 5;
+
+    /** Matches can not start within this number of last bytes. */
+    private static final int MF_LIMIT = 12;
+
+    /** Maximum match distance. */
+    private static final int MAX_DISTANCE = (1 << 16) - 1;
+
+    /** Hash table size log. */
+    private static final int HASH_LOG = 12;
+
+    /** Controls how fast search step grows when no matches are found. */
+    private static final int SKIP_STRENGTH = 6;
+
+    /** Mask for run length in token. */
+    private static final int RUN_MASK = 0x0F;
+
+    /** Hash tables. */
+    private static final ThreadLocal<int[]> tables = new ThreadLocal<int[]>() {
+        @Override protected int[] initialValue() {
+            return new int[1 << HASH_LOG];
+        }
+    };
+
+    /**
+     * Ensure singleton.
+     */
+    private GridLz4() {
+        // No-op.
+    }
+
+    /**
+     * @param len Length of source data.
+     * @return Maximum length of compressed data.
+     */
+    public static int maxCompressedLength(int len) {
+        return len + len / 255 + 16;
+    }
+
+    /**
+     * Compresses data.
+     *
+     * @param src Source array.
+     * @param srcOff Source offset.
+     * @param srcLen Source length.
+     * @param dst Destination array, must have at least {@link #maxCompressedLength(int)} bytes
+     *      available starting from {@code dstOff}.
+     * @param dstOff Destination offset.
+     * @return Compressed length.
+     */
+    public static int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        assert dst.length - dstOff >= maxCompressedLength(srcLen);
+
+        int srcEnd = srcOff + srcLen;
+        int mfLimit = srcEnd - MF_LIMIT;
+        int matchLimit = srcEnd - LAST_LITERALS;
+
+        int sOff = srcOff;
+        int dOff = dstOff;
+        int anchor = srcOff;
+
+        if (srcLen > MF_LIMIT) {
+            int[] tbl = tables.get();
+
+            // Positions before source offset are treated as empty.
+            Arrays.fill(tbl, -1);
+
+            tbl[hash(readInt(src, sOff))] = sOff;
+
+            sOff++;
+
+            main:
+            while (true) {
+                int ref;
+                int step = 1;
+                int searchCnt = 1 << SKIP_STRENGTH;
+
+                // Find match.
+                while (true) {
+                    if (sOff > mfLimit)
+                        break main;
+
+                    int h = hash(readInt(src, sOff));
+
+                    ref = tbl[h];
+
+                    tbl[h] = sOff;
+
+                    if (ref >= srcOff && sOff - ref <= MAX_DISTANCE && readInt(src, ref) == readInt(src, sOff))
+                        break;
+
+                    sOff += step;
+
+                    step = searchCnt++ >>> SKIP_STRENGTH;
+                }
+
+                // Extend match backwards.
+                while (sOff > anchor && ref > srcOff && src[sOff - 1] == src[ref - 1]) {
+                    sOff--;
+                    ref--;
+                }
+
+                int litLen = sOff - anchor;
+
+                int tokenOff = dOff++;
+
+                int token;
+
+                if (litLen >= RUN_MASK) {
+                    token = RUN_MASK << 4;
+
+                    dOff = writeLength(litLen - RUN_MASK, dst, dOff);
+                }
+                else
+                    token = litLen << 4;
+
+                System.arraycopy(src, anchor, dst, dOff, litLen);
+
+                dOff += litLen;
+
+                while (true) {
+                    int dist = sOff - ref;
+
+                    dst[dOff++] = (byte)dist;
+                    dst[dOff++] = (byte)(dist >>> 8);
+
+                    sOff += MIN_MATCH;
+                    ref += MIN_MATCH;
+
+                    int matchLen = 0;
+
+                    while (sOff < matchLimit && src[sOff] == src[ref]) {
+                        sOff++;
+                        ref++;
+                        matchLen++;
+                    }
+
+                    if (matchLen >= RUN_MASK) {
+                        token |= RUN_MASK;
+
+                        dOff = writeLength(matchLen - RUN_MASK, dst, dOff);
+                    }
+                    else
+                        token |= matchLen;
+
+                    dst[tokenOff] = (byte)token;
+
+                    anchor = sOff;
+
+                    if (sOff > mfLimit)
+                        break main;
+
+                    tbl[hash(readInt(src, sOff - 2))] = sOff - 2;
+
+                    // Check if match immediately follows.
+                    int h = hash(readInt(src, sOff));
+
+                    ref = tbl[h];
+
+                    tbl[h] = sOff;
+
+                    if (ref >= srcOff && sOff - ref <= MAX_DISTANCE && readInt(src, ref) == readInt(src, sOff)) {
+                        tokenOff = dOff++;
+
+                        token = 0;
+                    }
+                    else {
+                        sOff++;
+
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Encode last literals.
+        int litLen = srcEnd - anchor;
+
+        if (litLen >= RUN_MASK) {
+            dst[dOff++] = (byte)(RUN_MASK << 4);
+
+            dOff = writeLength(litLen - RUN_MASK, dst, dOff);
+        }
+        else
+            dst[dOff++] = (byte)(litLen << 4);
+
+        System.arraycopy(src, anchor, dst, dOff, litLen);
+
+        dOff += litLen;
+
+        return dOff - dstOff;
+    }
+
+    /**
+     * Decompresses data.
+     *
+     * @param src Source array.
+     * @param srcOff Source offset.
+     * @param srcLen Compressed length.
+     * @param dst Destination array.
+     * @param dstOff Destination offset.
+     * @param dstLen Decompressed length.
+     * @throws IOException If compressed data is malformed.
+     */
+    public static void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen)
+        throws IOException {
+        int srcEnd = srcOff + srcLen;
+        int dstEnd = dstOff + dstLen;
+
+        int sOff = srcOff;
+        int dOff = dstOff;
+
+        while (true) {
+            if (sOff >= srcEnd)
+                throw malformed(sOff);
+
+            int token = src[sOff++] & 0xFF;
+
+            int litLen = token >>> 4;
+
+            if (litLen == RUN_MASK) {
+                int b;
+
+                do {
+                    if (sOff >= srcEnd)
+                        throw malformed(sOff);
+
+                    b = src[sOff++] & 0xFF;
+
+                    litLen += b;
+                }
+                while (b == 255 && litLen > 0);
+            }
+
+            if (litLen < 0 || litLen > srcEnd - sOff || litLen > dstEnd - dOff)
+                throw malformed(sOff);
+
+            System.arraycopy(src, sOff, dst, dOff, litLen);
+
+            sOff += litLen;
+            dOff += litLen;
+
+            // Last sequence contains only literals.
+            if (sOff == srcEnd)
+                break;
+
+            if (srcEnd - sOff < 2)
+                throw malformed(sOff);
+
+            int dist = (src[sOff] & 0xFF) | ((src[sOff + 1] & 0xFF) << 8);
+
+            sOff += 2;
+
+            int ref = dOff - dist;
+
+            if (dist == 0 || ref < dstOff)
+                throw malformed(sOff);
+
+            int matchLen = token & RUN_MASK;
+
+            if (matchLen == RUN_MASK) {
+                int b;
+
+                do {
+                    if (sOff >= srcEnd)
+                        throw malformed(sOff);
+
+                    b = src[sOff++] & 0xFF;
+
+                    matchLen += b;
+                }
+                while (b == 255 && matchLen > 0);
+            }
+
+            matchLen += MIN_MATCH;
+
+            if (matchLen < 0 || matchLen > dstEnd - dOff)
+                throw malformed(sOff);
+
+            if (dist >= matchLen)
+                System.arraycopy(dst, ref, dst, dOff, matchLen);
+            else {
+                // Overlapping copy.
+                for (int i = 0; i < matchLen; i++)
+                    dst[dOff + i] = dst[ref + i];
+            }
+
+            dOff += matchLen;
+        }
+
+        if (dOff != dstEnd)
+            throw new IOException("Unexpected decompressed length [expected=" + dstLen +
+                ", actual=" + (dOff - dstOff) + ']');
+    }
+
+    /**
+     * @param len Length remainder.
+     * @param dst Destination array.
+     * @param dOff Destination offset.
+     * @return New destination offset.
+     */
+    private static int writeLength(int len, byte[] dst, int dOff) {
+        while (len >= 255) {
+            dst[dOff++] = (byte)255;
+
+            len -= 255;
+        }
+
+        dst[dOff++] = (byte)len;
+
+        return dOff;
+    }
+
+    /**
+     * @param arr Array.
+     * @param off Offset.
+     * @return Little-endian integer.
+     */
+    private static int readInt(byte[] arr, int off) {
+        return (arr[off] & 0xFF) | ((arr[off + 1] & 0xFF) << 8) | ((arr[off + 2] & 0xFF) << 16) |
+            ((arr[off + 3] & 0xFF) << 24);
+    }
+
+    /**
+     * @param i Integer.
+     * @return Hash table index.
+     */
+    private static int hash(int i) {
+        return (i * -1640531535) >>> (32 - HASH_LOG);
+    }
+
+    /**
+     * @param off Offset.
+     * @return Exception.
+     */
+    private static IOException malformed(int off) {
+        return new IOException("Malformed compressed data at offset: " + off);
+    }
+}
@@ -0,0 +1,251 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+package org.gridgain.grid.util;
+
+import org.gridgain.grid.*;
+import org.gridgain.grid.logger.*;
+import org.gridgain.grid.thread.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.gridgain.grid.util.worker.*;
+import org.jetbrains.annotations.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Executor with fixed number of single-threaded stripes. Tasks submitted with the same
+ * stripe index are always executed by the same thread in submission order, so work bound
+ * to the same partition never contends with itself. Every stripe keeps its own queue
+ * and reports its own queue depth and latency.
+ */
+public class GridStripedExecutor implements Executor {
+    /** Stripes. */
+    private final Stripe[] stripes;
+
+    /** Round-robin counter for tasks without stripe index. */
+    private final AtomicInteger rr = new AtomicInteger();
+
+    /** Logger. */
+    private final GridLogger log;
+
+    /** Stopped flag. */
+    private volatile boolean stopped;
+
+    /**
+     * @param cnt Number of stripes.
+     * @param gridName Grid name.
+     * @param poolName Pool name used for thread names.
+     * @param log Logger.
+     */
+    public GridStripedExecutor(int cnt, @Nullable String gridName, String poolName, GridLogger log) {
+        A.ensure(cnt > 0, "cnt > 0");
+
+        this.log = log;
+
+        stripes = new Stripe[cnt];
+
+        for (int i = 0; i < cnt; i++) {
+            stripes[i] = new Stripe(gridName, poolName + "-stripe-" + i, log);
+
+            new GridThread(gridName, poolName + "-stripe-" + i, stripes[i]).start();
+        }
+    }
+
+    /**
+     * @return Number of stripes.
+     */
+    public int stripes() {
+        return stripes.length;
+    }
+
+    /**
+     * Executes task in the stripe selected by given index. Tasks with the same
+     * index are executed sequentially in submission order.
+     *
+     * @param idx Stripe index, any non-negative value (will be taken modulo number of stripes).
+     * @param task Task.
+     * @throws RejectedExecutionException If executor has been stopped.
+     */
+    public void execute(int idx, Runnable task) {
+        assert task != null;
+
+        if (stopped)
+            throw new RejectedExecutionException("Striped executor has been stopped.");
+
+        stripes[U.safeAbs(idx) % stripes.length].add(task);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void execute(Runnable task) {
+        execute(rr.getAndIncrement(), task);
+    }
+
+    /**
+     * @param idx Stripe index.
+     * @return Number of tasks waiting in the stripe queue.
+     */
+    public int queueSize(int idx) {
+        return stripes[idx].queue.size();
+    }
+
+    /**
+     * @param idx Stripe index.
+     * @return Number of tasks completed by the stripe.
+     */
+    public long completedTasks(int idx) {
+        return stripes[idx].completed.get();
+    }
+
+    /**
+     * @param idx Stripe index.
+     * @return Average time in nanoseconds tasks spent in the stripe queue before execution.
+     */
+    public long averageWaitTime(int idx) {
+        Stripe s = stripes[idx];
+
+        long cnt = s.completed.get();
+
+        return cnt == 0 ? 0 : s.waitTime.get() / cnt;
+    }
+
+    /**
+     * @param idx Stripe index.
+     * @return Average time in nanoseconds from task submission till its completion.
+     */
+    public long averageLatency(int idx) {
+        Stripe s = stripes[idx];
+
+        long cnt = s.completed.get();
+
+        return cnt == 0 ? 0 : (s.waitTime.get() + s.execTime.get()) / cnt;
+    }
+
+    /**
+     * @return Total number of tasks waiting in all stripes.
+     */
+    public int queueSize() {
+        int size = 0;
+
+        for (Stripe s : stripes)
+            size += s.queue.size();
+
+        return size;
+    }
+
+    /**
+     * Stops all stripes. Tasks still waiting in queues are discarded.
+     */
+    public void stop() {
+        stopped = true;
+
+        for (Stripe s : stripes)
+            U.cancel(s);
+
+        for (Stripe s : stripes)
+            U.join(s, log);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridStripedExecutor.class, this, "stripes", stripes.length, "queueSize", queueSize());
+    }
+
+    /**
+     * Queued task.
+     */
+    private static class Task {
+        /** Task. */
+        private final Runnable r;
+
+        /** Submission time. */
+        private final long startNanos = System.nanoTime();
+
+        /**
+         * @param r Task.
+         */
+        private Task(Runnable r) {
+            this.r = r;
+        }
+    }
+
+    /**
+     * Single stripe.
+     */
+    private static class Stripe extends GridWorker {
+        /** Queue. */
+        private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+
+        /** Logger. */
+        private final GridLogger log;
+
+        /** Completed tasks. */
+        private final AtomicLong completed = new AtomicLong();
+
+        /** Total wait time. */
+        private final AtomicLong waitTime = new AtomicLong();
+
+        /** Total execution time. */
+        private final AtomicLong execTime = new AtomicLong();
+
+        /**
+         * @param gridName Grid name.
+         * @param name Stripe name.
+         * @param log Logger.
+         */
+        private Stripe(@Nullable String gridName, String name, GridLogger log) {
+            super(gridName, name, log);
+
+            this.log = log;
+        }
+
+        /**
+         * @param r Task.
+         */
+        void add(Runnable r) {
+            queue.add(new Task(r));
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void body() throws InterruptedException, GridInterruptedException {
+            while (!isCancelled()) {
+                Task t = queue.take();
+
+                long start = System.nanoTime();
+
+                waitTime.addAndGet(start - t.startNanos);
+
+                try {
+                    t.r.run();
+                }
+                catch (RuntimeException | Error e) {
+                    U.error(log, "Unexpected error in striped executor task (will continue): " + name(), e);
+                }
+                finally {
+                    execTime.addAndGet(System.nanoTime() - start);
+
+                    completed.incrementAndGet();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,747 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.util;
+
+import org.gridgain.grid.util.typedef.internal.*;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Hierarchical timing wheel. Items can be added and cancelled from any thread in {@code O(1)}, all
+ * other operations must be called from single worker thread which periodically calls
+ * {@link #expire(Collection)} to collect expired items in bulk and {@link #await()} to wait for
+ * the next deadline.
+ * <p>
+ * Added, rescheduled and cancelled items are first pushed to lock-free stacks (striped by shard hint
+ * for adds) and are linked into the wheel by worker thread, so wheel itself is not synchronized.
+ * Nodes can be rescheduled without allocation as long as they are neither expired nor cancelled.
+ * Deadlines are rounded up to the wheel tick, so items never expire earlier than their deadline.
+ */
+public class GridTimingWheel<T> {
+    /** Number of bits in slot index. */
+    private static final int BITS = 8;
+
+    /** Number of slots on each level. */
+    private static final int SLOTS = 1 << BITS;
+
+    /** Slot index mask. */
+    private static final int MASK = SLOTS - 1;
+
+    /** Number of levels. */
+    private static final int LEVELS = 4;
+
+    /** Maximum time worker waits when there are no items. */
+    private static final long MAX_WAIT = 5000;
+
+    /** Tick duration in milliseconds. */
+    private final long tick;
+
+    /** Slot list heads by level. */
+    private final Node<T>[][] slots;
+
+    /** Number of linked items by level. */
+    private final int[] levelSize = new int[LEVELS];
+
+    /** Number of items linked into wheel. */
+    private int linked;
+
+    /** Current tick. */
+    private long curTick;
+
+    /** Stacks of added items. */
+    private final AtomicReference<Node<T>>[] added;
+
+    /** Added stacks mask. */
+    private final int addedMask;
+
+    /** Stack of cancelled items. */
+    private final AtomicReference<Node<T>> cancelled = new AtomicReference<>();
+
+    /** Stack of items rescheduled to earlier deadline. */
+    private final AtomicReference<Node<T>> rescheduled = new AtomicReference<>();
+
+    /** Mutex worker waits on. */
+    private final Object mux = new Object();
+
+    /** Time worker is going to wake up at, {@code 0} if worker is not waiting. */
+    private volatile long wakeTime;
+
+    /** Added items counter. */
+    private final LongAdder addedCnt = new LongAdder();
+
+    /** Expired items counter. */
+    private final LongAdder expiredCnt = new LongAdder();
+
+    /** Cancelled items counter. */
+    private final LongAdder cancelledCnt = new LongAdder();
+
+    /** Number of cascades from upper levels. */
+    private volatile long cascades;
+
+    /**
+     * @param tick Tick duration in milliseconds.
+     * @param shards Number of shards for concurrent adds, will be rounded up to power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public GridTimingWheel(long tick, int shards) {
+        A.ensure(tick > 0, "tick > 0");
+        A.ensure(shards > 0, "shards > 0");
+
+        this.tick = tick;
+
+        slots = new Node[LEVELS][SLOTS];
+
+        int stripes = U.ceilPow2(shards);
+
+        added = new AtomicReference[stripes];
+
+        for (int i = 0; i < stripes; i++)
+            added[i] = new AtomicReference<>();
+
+        addedMask = stripes - 1;
+
+        curTick = U.currentTimeMillis() / tick;
+    }
+
+    /**
+     * Adds item to the wheel. Can be called from any thread.
+     *
+     * @param item Item.
+     * @param deadline Time in milliseconds item should expire at.
+     * @param shard Shard hint, e.g. partition number, to reduce contention between concurrent adds.
+     * @return Node which can be passed to {@link #cancel(Node)}.
+     */
+    public Node<T> add(T item, long deadline, int shard) {
+        Node<T> node = new Node<>(item, deadline);
+
+        add(node, shard);
+
+        return node;
+    }
+
+    /**
+     * Adds node to the wheel. Can be called from any thread, but only once for each node.
+     *
+     * @param node Node.
+     * @param shard Shard hint, e.g. partition number, to reduce contention between concurrent adds.
+     */
+    public void add(Node<T> node, int shard) {
+        node.ticks = ticks(node.deadline);
+
+        AtomicReference<Node<T>> stack = added[shard & addedMask];
+
+        Node<T> head;
+
+        do {
+            head = stack.get();
+
+            node.addNext = head;
+        }
+        while (!stack.compareAndSet(head, node));
+
+        addedCnt.increment();
+
+        wakeUp(node.ticks);
+    }
+
+    /**
+     * Moves deadline of added node. Can be called from any thread, but not concurrently for the same node.
+     * <p>
+     * Later deadline is applied lazily when node reaches its current slot, earlier deadline makes
+     * worker relink the node on next {@link #expire(Collection)}.
+     *
+     * @param node Node previously passed to {@link #add(Node, int)}.
+     * @param deadline New deadline.
+     * @return {@code True} if node was rescheduled, {@code false} if it is already expired or
+     *      cancelled, in which case a new node has to be added.
+     */
+    public boolean reschedule(Node<T> node, long deadline) {
+        if (node.state != Node.STATE_ACTIVE)
+            return false;
+
+        long oldDeadline = node.deadline;
+
+        node.deadline = deadline;
+
+        // Worker re-checks deadline after marking node expired, so this check can not miss the update.
+        if (node.state != Node.STATE_ACTIVE)
+            return false;
+
+        if (deadline < oldDeadline && node.markRescheduled()) {
+            Node<T> head;
+
+            do {
+                head = rescheduled.get();
+
+                node.reschedNext = head;
+            }
+            while (!rescheduled.compareAndSet(head, node));
+
+            wakeUp(ticks(deadline));
+        }
+
+        return true;
+    }
+
+    /**
+     * Cancels node. Can be called from any thread.
+     *
+     * @param node Node returned by {@link #add(Object, long, int)}.
+     * @return {@code True} if node was cancelled by this call, {@code false} if it was already
+     *      cancelled or expired.
+     */
+    public boolean cancel(Node<T> node) {
+        if (!node.cancel())
+            return false;
+
+        Node<T> head;
+
+        do {
+            head = cancelled.get();
+
+            node.cancelNext = head;
+        }
+        while (!cancelled.compareAndSet(head, node));
+
+        return true;
+    }
+
+    /**
+     * Collects all expired nodes. Must be called from worker thread.
+     *
+     * @param res Collection to add expired nodes to.
+     * @return Number of expired nodes.
+     */
+    public int expire(Collection<? super Node<T>> res) {
+        int cnt = res.size();
+
+        drainCancelled();
+        drainRescheduled(res);
+        drainAdded(res);
+
+        long nowTick = U.currentTimeMillis() / tick;
+
+        while (curTick < nowTick) {
+            if (linked == 0) {
+                curTick = nowTick;
+
+                break;
+            }
+
+            curTick++;
+
+            if ((curTick & MASK) == 0) {
+                int top = 1;
+
+                while (top + 1 < LEVELS && ((curTick >>> (BITS * top)) & MASK) == 0)
+                    top++;
+
+                for (int level = top; level > 0; level--)
+                    cascade(level, res);
+            }
+
+            Node<T> n = unlinkSlot(0, (int)(curTick & MASK));
+
+            while (n != null) {
+                Node<T> next = n.next;
+
+                n.next = null;
+
+                onExpired(n, res);
+
+                n = next;
+            }
+        }
+
+        return res.size() - cnt;
+    }
+
+    /**
+     * Waits until the next item may expire or until an item with earlier deadline is added.
+     * Must be called from worker thread.
+     *
+     * @throws InterruptedException If interrupted.
+     */
+    public void await() throws InterruptedException {
+        long wake = nextWakeTime();
+
+        synchronized (mux) {
+            wakeTime = wake;
+
+            try {
+                if (hasAdded())
+                    return;
+
+                long wait = wake - U.currentTimeMillis();
+
+                if (wait > 0)
+                    mux.wait(Math.min(wait, MAX_WAIT));
+            }
+            finally {
+                wakeTime = 0;
+            }
+        }
+    }
+
+    /**
+     * @return Number of items which are added but not expired or cancelled yet.
+     */
+    public long size() {
+        return addedCnt.sum() - expiredCnt.sum() - cancelledCnt.sum();
+    }
+
+    /**
+     * @return Total number of added items.
+     */
+    public long addedCount() {
+        return addedCnt.sum();
+    }
+
+    /**
+     * @return Total number of expired items.
+     */
+    public long expiredCount() {
+        return expiredCnt.sum();
+    }
+
+    /**
+     * @return Total number of cancelled items.
+     */
+    public long cancelledCount() {
+        return cancelledCnt.sum();
+    }
+
+    /**
+     * @return Total number of cascades of upper level slots.
+     */
+    public long cascades() {
+        return cascades;
+    }
+
+    /**
+     * @param level Level.
+     * @return Approximate number of items linked into given level.
+     */
+    public int levelSize(int level) {
+        return levelSize[level];
+    }
+
+    /**
+     * @return Tick duration in milliseconds.
+     */
+    public long tick() {
+        return tick;
+    }
+
+    /**
+     * @param deadline Deadline in milliseconds.
+     * @return Deadline in ticks, rounded up.
+     */
+    private long ticks(long deadline) {
+        return deadline / tick + (deadline % tick == 0 ? 0 : 1);
+    }
+
+    /**
+     * Wakes up worker if it is going to sleep past the given tick.
+     *
+     * @param ticks Deadline in ticks.
+     */
+    private void wakeUp(long ticks) {
+        long time = wakeTime;
+
+        if (time != 0 && ticks * tick < time) {
+            synchronized (mux) {
+                mux.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * @return {@code True} if there are added items which are not linked yet.
+     */
+    private boolean hasAdded() {
+        for (AtomicReference<Node<T>> stack : added) {
+            if (stack.get() != null)
+                return true;
+        }
+
+        return rescheduled.get() != null;
+    }
+
+    /**
+     * @return Time worker should wake up at.
+     */
+    private long nextWakeTime() {
+        if (hasAdded())
+            return 0;
+
+        if (linked == 0)
+            return Long.MAX_VALUE;
+
+        if (levelSize[0] > 0) {
+            for (long t = curTick + 1; t <= curTick + SLOTS; t++) {
+                if (slots[0][(int)(t & MASK)] != null)
+                    return t * tick;
+            }
+        }
+
+        // Next cascade.
+        return (((curTick >>> BITS) + 1) << BITS) * tick;
+    }
+
+    /**
+     * Moves all items from current slot of given level to lower levels.
+     *
+     * @param level Level.
+     * @param res Collection to add expired nodes to.
+     */
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    private void cascade(int level, Collection<? super Node<T>> res) {
+        Node<T> n = unlinkSlot(level, (int)((curTick >>> (BITS * level)) & MASK));
+
+        if (n != null)
+            cascades++;
+
+        while (n != null) {
+            Node<T> next = n.next;
+
+            n.next = null;
+
+            place(n, res);
+
+            n = next;
+        }
+    }
+
+    /**
+     * Links all added nodes into the wheel.
+     *
+     * @param res Collection to add expired nodes to.
+     */
+    private void drainAdded(Collection<? super Node<T>> res) {
+        for (AtomicReference<Node<T>> stack : added) {
+            Node<T> n = stack.getAndSet(null);
+
+            while (n != null) {
+                Node<T> next = n.addNext;
+
+                n.addNext = null;
+
+                if (!n.cancelled()) {
+                    // Node could have been rescheduled before it was linked.
+                    n.ticks = ticks(n.deadline);
+
+                    place(n, res);
+                }
+
+                n = next;
+            }
+        }
+    }
+
+    /**
+     * Unlinks all cancelled nodes from the wheel.
+     */
+    private void drainCancelled() {
+        Node<T> n = cancelled.getAndSet(null);
+
+        while (n != null) {
+            Node<T> next = n.cancelNext;
+
+            n.cancelNext = null;
+
+            if (n.level >= 0)
+                unlink(n);
+
+            cancelledCnt.increment();
+
+            n = next;
+        }
+    }
+
+    /**
+     * Relinks nodes rescheduled to earlier deadline.
+     *
+     * @param res Collection to add expired nodes to.
+     */
+    private void drainRescheduled(Collection<? super Node<T>> res) {
+        Node<T> n = rescheduled.getAndSet(null);
+
+        while (n != null) {
+            Node<T> next = n.reschedNext;
+
+            n.reschedNext = null;
+
+            n.clearRescheduled();
+
+            // Nodes which are not linked yet will be placed according to new deadline when added.
+            if (n.level >= 0 && !n.cancelled()) {
+                unlink(n);
+
+                n.ticks = ticks(n.deadline);
+
+                place(n, res);
+            }
+
+            n = next;
+        }
+    }
+
+    /**
+     * Links node into appropriate slot or adds it to expired nodes if deadline has passed.
+     *
+     * @param n Node.
+     * @param res Collection to add expired nodes to.
+     */
+    private void place(Node<T> n, Collection<? super Node<T>> res) {
+        long diff = n.ticks - curTick;
+
+        if (diff <= 0) {
+            onExpired(n, res);
+
+            return;
+        }
+
+        int level = 0;
+
+        while (level + 1 < LEVELS && diff >= 1L << (BITS * (level + 1)))
+            level++;
+
+        int idx = (int)((n.ticks >>> (BITS * level)) & MASK);
+
+        Node<T> head = slots[level][idx];
+
+        n.level = level;
+        n.slot = idx;
+        n.prev = null;
+        n.next = head;
+
+        if (head != null)
+            head.prev = n;
+
+        slots[level][idx] = n;
+
+        levelSize[level]++;
+        linked++;
+    }
+
+    /**
+     * @param n Node to unlink.
+     */
+    private void unlink(Node<T> n) {
+        if (n.prev != null)
+            n.prev.next = n.next;
+        else
+            slots[n.level][n.slot] = n.next;
+
+        if (n.next != null)
+            n.next.prev = n.prev;
+
+        levelSize[n.level]--;
+        linked--;
+
+        n.level = -1;
+        n.prev = null;
+        n.next = null;
+    }
+
+    /**
+     * Unlinks whole slot.
+     *
+     * @param level Level.
+     * @param idx Slot index.
+     * @return Head of unlinked list.
+     */
+    private Node<T> unlinkSlot(int level, int idx) {
+        Node<T> head = slots[level][idx];
+
+        slots[level][idx] = null;
+
+        for (Node<T> n = head; n != null; n = n.next) {
+            n.level = -1;
+            n.prev = null;
+
+            levelSize[level]--;
+            linked--;
+        }
+
+        return head;
+    }
+
+    /**
+     * @param n Expired node.
+     * @param res Collection to add expired nodes to.
+     */
+    private void onExpired(Node<T> n, Collection<? super Node<T>> res) {
+        // Cancelled nodes are counted when cancel is processed.
+        if (!n.expire())
+            return;
+
+        long ticks = ticks(n.deadline);
+
+        // Node was rescheduled to later deadline.
+        if (ticks > n.ticks) {
+            n.ticks = ticks;
+
+            n.state = Node.STATE_ACTIVE;
+
+            place(n, res);
+
+            return;
+        }
+
+        res.add(n);
+
+        expiredCnt.increment();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridTimingWheel.class, this, "size", size(), "expired", expiredCount(),
+            "cancelled", cancelledCount());
+    }
+
+    /**
+     * Wheel node.
+     */
+    @SuppressWarnings("PublicInnerClass")
+    public static class Node<T> {
+        /** */
+        private static final AtomicIntegerFieldUpdater<Node> stateUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(Node.class, "state");
+
+        /** Initial state. */
+        private static final int STATE_ACTIVE = 0;
+
+        /** State of cancelled node. */
+        private static final int STATE_CANCELLED = 1;
+
+        /** State of expired node. */
+        private static final int STATE_EXPIRED = 2;
+
+        /** */
+        private static final AtomicIntegerFieldUpdater<Node> reschedUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(Node.class, "resched");
+
+        /** Item. */
+        private final T item;
+
+        /** Deadline. */
+        private volatile long deadline;
+
+        /** Deadline in ticks, rounded up. */
+        private long ticks;
+
+        /** Node state. */
+        private volatile int state;
+
+        /** Next node in stack of added nodes. */
+        private Node<T> addNext;
+
+        /** Next node in stack of cancelled nodes. */
+        private Node<T> cancelNext;
+
+        /** Next node in stack of rescheduled nodes. */
+        private Node<T> reschedNext;
+
+        /** {@code 1} if node is in stack of rescheduled nodes. */
+        private volatile int resched;
+
+        /** Previous node in slot, accessed only by worker. */
+        private Node<T> prev;
+
+        /** Next node in slot, accessed only by worker. */
+        private Node<T> next;
+
+        /** Level node is linked to or {@code -1}, accessed only by worker. */
+        private int level = -1;
+
+        /** Slot node is linked to, accessed only by worker. */
+        private int slot;
+
+        /**
+         * @param item Item.
+         * @param deadline Deadline.
+         */
+        public Node(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        /**
+         * @return Item.
+         */
+        public T item() {
+            return item;
+        }
+
+        /**
+         * @return Deadline.
+         */
+        public long deadline() {
+            return deadline;
+        }
+
+        /**
+         * @return {@code True} if node was cancelled.
+         */
+        public boolean cancelled() {
+            return state == STATE_CANCELLED;
+        }
+
+        /**
+         * @return {@code True} if this call has cancelled the node.
+         */
+        private boolean cancel() {
+            return stateUpdater.compareAndSet(this, STATE_ACTIVE, STATE_CANCELLED);
+        }
+
+        /**
+         * @return {@code True} if node was pushed to stack of rescheduled nodes by this call.
+         */
+        private boolean markRescheduled() {
+            return reschedUpdater.compareAndSet(this, 0, 1);
+        }
+
+        /**
+         * Allows node to be pushed to stack of rescheduled nodes again.
+         */
+        private void clearRescheduled() {
+            resched = 0;
+        }
+
+        /**
+         * @return {@code True} if node was not cancelled and is marked as expired by this call.
+         */
+        private boolean expire() {
+            return stateUpdater.compareAndSet(this, STATE_ACTIVE, STATE_EXPIRED);
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Node.class, this);
+        }
+    }
+}
@@ -46,6 +46,7 @@ import org.gridgain.grid.lang.*;
 import org.gridgain.grid.spi.collision.jobstealing.*;
 import org.gridgain.grid.spi.communication.tcp.*;
 import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.nio.*;
 
 import java.util.*;
 
@@ -64,8 +65,13 @@ public class GridTcpCommunicationMessageFactory {
      * @return New message.
      */
     public static GridTcpCommunicationMessageAdapter create(byte type) {
-        return type == GridTcpCommunicationSpi.NODE_ID_MSG_TYPE ? new GridTcpCommunicationSpi.NodeIdMessage() :
-            create0(type);
+        if (type == GridTcpCommunicationSpi.NODE_ID_MSG_TYPE)
+            return new GridTcpCommunicationSpi.NodeIdMessage();
+
+        if (type == GridNioCompressedMessage.DIRECT_TYPE)
+            return new GridNioCompressedMessage();
+
+        return create0(type);
     }
 
     /**
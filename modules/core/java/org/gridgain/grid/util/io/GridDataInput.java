@@ -41,6 +41,14 @@ public interface GridDataInput extends DataInput {
      */
     public void inputStream(InputStream in) throws IOException;
 
+    /**
+     * Sets off-heap memory region as data source. Memory must not be released until reading is finished.
+     *
+     * @param ptr Memory address.
+     * @param len Length.
+     */
+    public void offheap(long ptr, int len);
+
     /**
      * Resets data output.
      *
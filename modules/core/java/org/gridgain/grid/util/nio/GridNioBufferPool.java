@@ -0,0 +1,147 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.util.nio;
+
+import org.gridgain.grid.util.typedef.internal.*;
+import sun.nio.ch.*;
+
+import java.nio.*;
+import java.util.*;
+
+/**
+ * Pool of fixed-size byte buffers shared by sessions of one NIO worker. Sessions take buffers only
+ * while they have data in flight and return them once buffer is drained, so idle sessions do not
+ * hold any buffers.
+ * <p>
+ * Pool is not thread-safe and must be accessed only from the worker thread owning it.
+ */
+class GridNioBufferPool {
+    /** Buffer size. */
+    private final int bufSize;
+
+    /** Maximum number of idle buffers kept in pool. */
+    private final int maxIdle;
+
+    /** Direct buffers flag. */
+    private final boolean direct;
+
+    /** Byte order. */
+    private final ByteOrder order;
+
+    /** Idle buffers. */
+    private final ArrayDeque<ByteBuffer> idle;
+
+    /** Number of buffers currently taken from pool. */
+    private int acquired;
+
+    /**
+     * @param bufSize Buffer size.
+     * @param maxIdle Maximum number of idle buffers kept in pool.
+     * @param direct Direct buffers flag.
+     * @param order Byte order.
+     */
+    GridNioBufferPool(int bufSize, int maxIdle, boolean direct, ByteOrder order) {
+        assert bufSize > 0;
+        assert maxIdle >= 0;
+
+        this.bufSize = bufSize;
+        this.maxIdle = maxIdle;
+        this.direct = direct;
+        this.order = order;
+
+        idle = new ArrayDeque<>(maxIdle);
+    }
+
+    /**
+     * @return Cleared buffer.
+     */
+    ByteBuffer acquire() {
+        ByteBuffer buf = idle.pollLast();
+
+        if (buf == null) {
+            buf = direct ? ByteBuffer.allocateDirect(bufSize) : ByteBuffer.allocate(bufSize);
+
+            buf.order(order);
+        }
+
+        acquired++;
+
+        return buf;
+    }
+
+    /**
+     * @param buf Buffer to return to pool.
+     */
+    void release(ByteBuffer buf) {
+        assert buf.capacity() == bufSize;
+        assert acquired > 0;
+
+        acquired--;
+
+        if (idle.size() < maxIdle) {
+            buf.clear();
+
+            idle.addLast(buf);
+        }
+        else
+            clean(buf);
+    }
+
+    /**
+     * Frees all idle buffers.
+     */
+    void clear() {
+        ByteBuffer buf;
+
+        while ((buf = idle.pollLast()) != null)
+            clean(buf);
+    }
+
+    /**
+     * @return Number of buffers currently taken from pool.
+     */
+    int acquired() {
+        return acquired;
+    }
+
+    /**
+     * @return Number of idle buffers.
+     */
+    int idle() {
+        return idle.size();
+    }
+
+    /**
+     * @param buf Buffer to free.
+     */
+    private void clean(ByteBuffer buf) {
+        if (direct)
+            ((DirectBuffer)buf).cleaner().clean();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridNioBufferPool.class, this, "idle", idle.size());
+    }
+}
@@ -0,0 +1,207 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.util.nio;
+
+import org.gridgain.grid.util.direct.*;
+import org.gridgain.grid.util.typedef.internal.*;
+
+import java.nio.*;
+
+/**
+ * Carries serialized form of another direct message, either compressed or as is. Uncompressed
+ * form is written without any header, so receiver reads it as the original message.
+ *
+ * @see GridNioCompressionFilter
+ */
+public class GridNioCompressedMessage extends GridTcpCommunicationMessageAdapter {
+    /** Direct message type. */
+    public static final byte DIRECT_TYPE = -2;
+
+    /** Data. */
+    private byte[] data;
+
+    /** Data length. */
+    private int len;
+
+    /** Length of serialized message before compression. */
+    private int rawLen;
+
+    /** Whether data is compressed. */
+    private boolean compressed;
+
+    /** Number of data bytes written or read. */
+    private int off;
+
+    /**
+     * Required by {@link GridTcpCommunicationMessageFactory}.
+     */
+    public GridNioCompressedMessage() {
+        compressed = true;
+    }
+
+    /**
+     * @param data Data.
+     * @param len Data length.
+     * @param rawLen Length of serialized message before compression.
+     * @param compressed Whether data is compressed.
+     */
+    GridNioCompressedMessage(byte[] data, int len, int rawLen, boolean compressed) {
+        assert len <= data.length;
+        assert compressed || len == rawLen;
+
+        this.data = data;
+        this.len = len;
+        this.rawLen = rawLen;
+        this.compressed = compressed;
+    }
+
+    /**
+     * @return Compressed data.
+     */
+    byte[] data() {
+        return data;
+    }
+
+    /**
+     * @return Compressed data length.
+     */
+    int length() {
+        return len;
+    }
+
+    /**
+     * @return Length of serialized message before compression.
+     */
+    int rawLength() {
+        return rawLen;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean writeTo(ByteBuffer buf) {
+        if (!compressed)
+            return putData(buf);
+
+        commState.setBuffer(buf);
+
+        switch (commState.idx) {
+            case 0:
+                if (!commState.putByte(directType()))
+                    return false;
+
+                commState.idx++;
+
+            case 1:
+                if (!commState.putInt(rawLen))
+                    return false;
+
+                commState.idx++;
+
+            case 2:
+                if (!commState.putInt(len))
+                    return false;
+
+                commState.idx++;
+
+            case 3:
+                return putData(buf);
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readFrom(ByteBuffer buf) {
+        commState.setBuffer(buf);
+
+        switch (commState.idx) {
+            case 0:
+                if (buf.remaining() < 4)
+                    return false;
+
+                rawLen = commState.getInt();
+
+                commState.idx++;
+
+            case 1:
+                if (buf.remaining() < 4)
+                    return false;
+
+                len = commState.getInt();
+
+                if (len < 0 || rawLen < 0)
+                    throw new IllegalStateException("Invalid compressed message [len=" + len +
+                        ", rawLen=" + rawLen + ']');
+
+                data = new byte[len];
+
+                commState.idx++;
+
+            case 2:
+                int cnt = Math.min(buf.remaining(), len - off);
+
+                buf.get(data, off, cnt);
+
+                off += cnt;
+
+                return off == len;
+        }
+
+        return true;
+    }
+
+    /**
+     * @param buf Buffer.
+     * @return Whether all data was written.
+     */
+    private boolean putData(ByteBuffer buf) {
+        int cnt = Math.min(buf.remaining(), len - off);
+
+        buf.put(data, off, cnt);
+
+        off += cnt;
+
+        return off == len;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte directType() {
+        return DIRECT_TYPE;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override public GridTcpCommunicationMessageAdapter clone() {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void clone0(GridTcpCommunicationMessageAdapter _msg) {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridNioCompressedMessage.class, this);
+    }
+}
@@ -0,0 +1,218 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.util.nio;
+
+import org.gridgain.grid.*;
+import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.direct.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.gridgain.grid.util.tostring.*;
+import org.jetbrains.annotations.*;
+
+import java.io.*;
+import java.nio.*;
+import java.util.*;
+
+/**
+ * Filter compressing direct messages with {@link GridLz4}. Must be placed on application side
+ * of {@link GridNioCodecFilter}.
+ * <p>
+ * Outgoing messages are compressed only for sessions which have {@link #COMPRESSION_META_KEY}
+ * meta set, so it is up to the owner of the server to negotiate compression with remote side.
+ * When compression is enabled for session, messages are serialized in the sending thread, and
+ * serialized messages not shorter than configured threshold are sent compressed, while smaller
+ * ones are sent exactly as they would be sent without this filter. Incoming compressed messages
+ * are always decompressed.
+ */
+public class GridNioCompressionFilter extends GridNioFilterAdapter {
+    /** Session meta key enabling compression of outgoing messages. */
+    public static final int COMPRESSION_META_KEY = GridNioSessionMetaKey.nextUniqueKey();
+
+    /** Initial size of serialization buffer. */
+    private static final int INIT_BUF_SIZE = 8 << 10;
+
+    /** Maximum size of serialization buffer which is kept for reuse. */
+    private static final int MAX_CACHED_BUF_SIZE = 1 << 20;
+
+    /** Serialization buffers. */
+    private static final ThreadLocal<ByteBuffer> bufs = new ThreadLocal<ByteBuffer>() {
+        @Override protected ByteBuffer initialValue() {
+            return ByteBuffer.allocate(INIT_BUF_SIZE).order(ByteOrder.nativeOrder());
+        }
+    };
+
+    /** Message writer. */
+    @GridToStringExclude
+    private final GridNioMessageWriter msgWriter;
+
+    /** Message reader. */
+    @GridToStringExclude
+    private final GridNioMessageReader msgReader;
+
+    /** Minimum size of serialized message to compress. */
+    private final int threshold;
+
+    /** Metrics listener. */
+    @GridToStringExclude
+    private final GridNioMetricsListener metricsLsnr;
+
+    /**
+     * @param msgWriter Message writer.
+     * @param msgReader Message reader.
+     * @param threshold Minimum size of serialized message to compress.
+     * @param metricsLsnr Metrics listener.
+     */
+    public GridNioCompressionFilter(GridNioMessageWriter msgWriter, GridNioMessageReader msgReader, int threshold,
+        @Nullable GridNioMetricsListener metricsLsnr) {
+        super("GridNioCompressionFilter");
+
+        assert msgWriter != null;
+        assert msgReader != null;
+        assert threshold >= 0;
+
+        this.msgWriter = msgWriter;
+        this.msgReader = msgReader;
+        this.threshold = threshold;
+        this.metricsLsnr = metricsLsnr;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionOpened(GridNioSession ses) throws GridException {
+        proceedSessionOpened(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionClosed(GridNioSession ses) throws GridException {
+        proceedSessionClosed(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onExceptionCaught(GridNioSession ses, GridException ex) throws GridException {
+        proceedExceptionCaught(ses, ex);
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridNioFuture<?> onSessionWrite(GridNioSession ses, Object msg) throws GridException {
+        if (ses.meta(COMPRESSION_META_KEY) == null || !(msg instanceof GridTcpCommunicationMessageAdapter))
+            return proceedSessionWrite(ses, msg);
+
+        UUID nodeId = ses.meta(GridNioServer.DIFF_VER_NODE_ID_META_KEY);
+
+        ByteBuffer buf = bufs.get();
+
+        buf.clear();
+
+        while (!msgWriter.write(nodeId, (GridTcpCommunicationMessageAdapter)msg, buf)) {
+            ByteBuffer newBuf = ByteBuffer.allocate(buf.capacity() << 1).order(buf.order());
+
+            buf.flip();
+
+            newBuf.put(buf);
+
+            buf = newBuf;
+        }
+
+        if (buf.capacity() <= MAX_CACHED_BUF_SIZE)
+            bufs.set(buf);
+
+        byte[] arr = buf.array();
+        int rawLen = buf.position();
+
+        if (rawLen >= threshold) {
+            long start = System.nanoTime();
+
+            byte[] res = new byte[GridLz4.maxCompressedLength(rawLen)];
+
+            int len = GridLz4.compress(arr, 0, rawLen, res, 0);
+
+            if (metricsLsnr != null)
+                metricsLsnr.onMessageCompressed(rawLen, len, System.nanoTime() - start);
+
+            // Do not send compressed data if it is not smaller than original.
+            if (len < rawLen)
+                return proceedSessionWrite(ses, new GridNioCompressedMessage(res, len, rawLen, true));
+        }
+
+        return proceedSessionWrite(ses, new GridNioCompressedMessage(Arrays.copyOf(arr, rawLen), rawLen, rawLen,
+            false));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onMessageReceived(GridNioSession ses, Object msg) throws GridException {
+        if (!(msg instanceof GridNioCompressedMessage)) {
+            proceedMessageReceived(ses, msg);
+
+            return;
+        }
+
+        GridNioCompressedMessage compressed = (GridNioCompressedMessage)msg;
+
+        long start = System.nanoTime();
+
+        byte[] raw = new byte[compressed.rawLength()];
+
+        try {
+            GridLz4.decompress(compressed.data(), 0, compressed.length(), raw, 0, raw.length);
+        }
+        catch (IOException e) {
+            throw new GridNioException("Failed to decompress message [ses=" + ses + ']', e);
+        }
+
+        if (metricsLsnr != null)
+            metricsLsnr.onMessageDecompressed(compressed.length(), raw.length, System.nanoTime() - start);
+
+        ByteBuffer buf = ByteBuffer.wrap(raw).order(ByteOrder.nativeOrder());
+
+        if (!buf.hasRemaining())
+            throw new GridNioException("Failed to read decompressed message (message is empty) [ses=" + ses + ']');
+
+        GridTcpCommunicationMessageAdapter res = GridTcpCommunicationMessageFactory.create(buf.get());
+
+        if (!msgReader.read(ses.<UUID>meta(GridNioServer.DIFF_VER_NODE_ID_META_KEY), res, buf) || buf.hasRemaining())
+            throw new GridNioException("Failed to read decompressed message (message is corrupted) [ses=" + ses +
+                ", msg=" + res + ']');
+
+        proceedMessageReceived(ses, res);
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridNioFuture<Boolean> onSessionClose(GridNioSession ses) throws GridException {
+        return proceedSessionClose(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionIdleTimeout(GridNioSession ses) throws GridException {
+        proceedSessionIdleTimeout(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionWriteTimeout(GridNioSession ses) throws GridException {
+        proceedSessionWriteTimeout(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridNioCompressionFilter.class, this);
+    }
+}
@@ -36,4 +36,18 @@ public interface GridNioMetricsListener {
      * @param bytesCnt Number of received bytes.
      */
     public void onBytesReceived(int bytesCnt);
+
+    /**
+     * @param rawBytesCnt Size of message before compression.
+     * @param compressedBytesCnt Size of compressed message.
+     * @param nanos Time spent on compression in nanoseconds.
+     */
+    public void onMessageCompressed(int rawBytesCnt, int compressedBytesCnt, long nanos);
+
+    /**
+     * @param compressedBytesCnt Size of compressed message.
+     * @param rawBytesCnt Size of message after decompression.
+     * @param nanos Time spent on decompression in nanoseconds.
+     */
+    public void onMessageDecompressed(int compressedBytesCnt, int rawBytesCnt, long nanos);
 }
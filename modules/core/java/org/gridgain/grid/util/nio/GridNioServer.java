@@ -32,7 +32,6 @@ import org.gridgain.grid.util.tostring.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.gridgain.grid.util.worker.*;
 import org.jetbrains.annotations.*;
-import sun.nio.ch.*;
 
 import java.io.*;
 import java.net.*;
@@ -65,6 +64,15 @@ public class GridNioServer<T> {
     /** Time, which server will wait before retry operation. */
     private static final long ERR_WAIT_TIME = 2000;
 
+    /** Size of pooled buffers used in direct mode. */
+    private static final int POOLED_BUF_SIZE = 8 << 10;
+
+    /** Maximum number of idle pooled buffers kept by each worker in direct mode. */
+    private static final int POOLED_BUF_MAX_IDLE = 64;
+
+    /** Maximum number of buffers written by one gathering write in direct mode. */
+    private static final int MAX_WRITE_BUFS = 16;
+
     /** Buffer metadata key. */
     private static final int BUF_META_KEY = GridNioSessionMetaKey.nextUniqueKey();
 
@@ -676,6 +684,12 @@ public class GridNioServer<T> {
 
             ByteBuffer readBuf = ses.readBuffer();
 
+            if (readBuf == null) {
+                readBuf = bufPool.acquire();
+
+                ses.readBuffer(readBuf);
+            }
+
             // Attempt to read off the channel.
             int cnt = sockCh.read(readBuf);
 
@@ -687,8 +701,15 @@ public class GridNioServer<T> {
 
                 return;
             }
-            else if (cnt == 0 && !readBuf.hasRemaining())
+            else if (cnt == 0) {
+                if (readBuf.position() == 0) {
+                    ses.readBuffer(null);
+
+                    bufPool.release(readBuf);
+                }
+
                 return;
+            }
 
             if (log.isTraceEnabled())
                 log.trace("Bytes received [sockCh=" + sockCh + ", cnt=" + cnt + ']');
@@ -707,10 +728,17 @@ public class GridNioServer<T> {
 
                 filterChain.onMessageReceived(ses, readBuf);
 
-                if (readBuf.hasRemaining())
-                    readBuf.compact();
-                else
-                    readBuf.clear();
+                // Session could have been closed and its buffers released while processing.
+                if (ses.readBuffer() == readBuf) {
+                    if (readBuf.hasRemaining())
+                        readBuf.compact();
+                    else {
+                        // Do not hold buffer while session has no partially received data.
+                        ses.readBuffer(null);
+
+                        bufPool.release(readBuf);
+                    }
+                }
             }
             catch (GridException e) {
                 close(ses, e);
@@ -724,65 +752,75 @@ public class GridNioServer<T> {
          * @throws IOException If write failed.
          */
         @Override protected void processWrite(SelectionKey key) throws IOException {
-            WritableByteChannel sockCh = (WritableByteChannel)key.channel();
+            GatheringByteChannel sockCh = (GatheringByteChannel)key.channel();
 
             GridSelectorNioSessionImpl ses = (GridSelectorNioSessionImpl)key.attachment();
-            ByteBuffer buf = ses.writeBuffer();
             NioOperationFuture<?> req = ses.removeMeta(NIO_OPERATION.ordinal());
             UUID nodeId = ses.meta(DIFF_VER_NODE_ID_META_KEY);
 
+            ByteBuffer[] bufs = ses.writeBuffers();
+            int off = ses.writeBuffersOffset();
+            int cnt = ses.writeBuffersCount();
+
             while (true) {
-                if (req == null) {
-                    req = (NioOperationFuture<?>)ses.pollFuture();
+                if (cnt == 0) {
+                    off = 0;
 
-                    if (req == null && buf.position() == 0) {
-                        key.interestOps(key.interestOps() & (~SelectionKey.OP_WRITE));
+                    // Write as many messages as possible to pooled buffers. Message which
+                    // does not fit into current buffer continues in the next one.
+                    boolean needBuf = true;
 
-                        break;
-                    }
-                }
+                    while (true) {
+                        if (req == null) {
+                            req = (NioOperationFuture<?>)ses.pollFuture();
 
-                GridTcpCommunicationMessageAdapter msg;
-                boolean finished = false;
+                            if (req == null)
+                                break;
+                        }
 
-                if (req != null) {
-                    msg = req.directMessage();
+                        if (needBuf) {
+                            if (cnt == bufs.length)
+                                break;
 
-                    assert msg != null;
-                    assert msgWriter != null;
+                            bufs[cnt++] = bufPool.acquire();
 
-                    finished = msgWriter.write(nodeId, msg, buf);
-                }
+                            needBuf = false;
+                        }
 
-                // Fill up as many messages as possible to write buffer.
-                while (finished) {
-                    req = (NioOperationFuture<?>)ses.pollFuture();
+                        GridTcpCommunicationMessageAdapter msg = req.directMessage();
 
-                    if (req == null)
-                        break;
+                        assert msg != null;
+                        assert msgWriter != null;
 
-                    msg = req.directMessage();
+                        if (msgWriter.write(nodeId, msg, bufs[cnt - 1]))
+                            req = null;
+                        else
+                            needBuf = true;
+                    }
 
-                    assert msg != null;
-                    assert msgWriter != null;
+                    if (cnt == 0) {
+                        key.interestOps(key.interestOps() & (~SelectionKey.OP_WRITE));
 
-                    finished = msgWriter.write(nodeId, msg, buf);
-                }
+                        break;
+                    }
 
-                buf.flip();
+                    for (int i = 0; i < cnt; i++)
+                        bufs[i].flip();
 
-                assert buf.hasRemaining();
+                    // Keep session state consistent, so buffers are released if write fails.
+                    ses.writeBuffers(off, cnt);
+                }
 
                 if (!skipWrite) {
-                    int cnt = sockCh.write(buf);
+                    int written = (int)sockCh.write(bufs, off, cnt);
 
                     if (log.isTraceEnabled())
-                        log.trace("Bytes sent [sockCh=" + sockCh + ", cnt=" + cnt + ']');
+                        log.trace("Bytes sent [sockCh=" + sockCh + ", cnt=" + written + ']');
 
                     if (metricsLsnr != null)
-                        metricsLsnr.onBytesSent(cnt);
+                        metricsLsnr.onBytesSent(written);
 
-                    ses.bytesSent(cnt);
+                    ses.bytesSent(written);
                 }
                 else {
                     // For test purposes only (skipWrite is set to true in tests only).
@@ -794,16 +832,24 @@ public class GridNioServer<T> {
                     }
                 }
 
-                if (buf.hasRemaining()) {
-                    buf.compact();
+                // Return fully written buffers to the pool.
+                while (cnt > 0 && !bufs[off].hasRemaining()) {
+                    bufPool.release(bufs[off]);
 
-                    ses.addMeta(NIO_OPERATION.ordinal(), req);
+                    bufs[off++] = null;
+
+                    cnt--;
+                }
+
+                if (cnt > 0) {
+                    if (req != null)
+                        ses.addMeta(NIO_OPERATION.ordinal(), req);
 
                     break;
                 }
-                else
-                    buf.clear();
             }
+
+            ses.writeBuffers(off, cnt);
         }
     }
 
@@ -820,6 +866,9 @@ public class GridNioServer<T> {
         /** Worker index. */
         private int idx;
 
+        /** Pool of buffers for sessions of this worker, {@code null} if not in direct mode. */
+        protected final GridNioBufferPool bufPool;
+
         /**
          * @param idx Index of this worker in server's array.
          * @param gridName Grid name.
@@ -834,6 +883,8 @@ public class GridNioServer<T> {
             selector = createSelector(null);
 
             this.idx = idx;
+
+            bufPool = directMode ? new GridNioBufferPool(POOLED_BUF_SIZE, POOLED_BUF_MAX_IDLE, directBuf, order) : null;
         }
 
         /** {@inheritDoc} */
@@ -984,6 +1035,9 @@ public class GridNioServer<T> {
 
                     U.close(selector, log);
                 }
+
+                if (bufPool != null)
+                    bufPool.clear();
             }
         }
 
@@ -1085,20 +1139,9 @@ public class GridNioServer<T> {
             Socket sock = sockCh.socket();
 
             try {
-                ByteBuffer writeBuf = null;
-                ByteBuffer readBuf = null;
-
-                if (directMode) {
-                    writeBuf = directBuf ? ByteBuffer.allocateDirect(8 << 10) : ByteBuffer.allocate(8 << 10);
-                    readBuf = directBuf ? ByteBuffer.allocateDirect(8 << 10) : ByteBuffer.allocate(8 << 10);
-
-                    writeBuf.order(order);
-                    readBuf.order(order);
-                }
-
                 final GridSelectorNioSessionImpl ses = new GridSelectorNioSessionImpl(idx, filterChain,
                     (InetSocketAddress)sockCh.getLocalAddress(), (InetSocketAddress)sockCh.getRemoteAddress(),
-                    req.accepted(), sndQueueLimit, writeBuf, readBuf);
+                    req.accepted(), sndQueueLimit, directMode ? MAX_WRITE_BUFS : 0);
 
                 Map<Integer, ?> meta = req.meta();
 
@@ -1154,13 +1197,8 @@ public class GridNioServer<T> {
             Socket sock = ((SocketChannel)key.channel()).socket();
 
             if (ses.setClosed()) {
-                if (directBuf) {
-                    if (ses.writeBuffer() != null)
-                        ((DirectBuffer)ses.writeBuffer()).cleaner().clean();
-
-                    if (ses.readBuffer() != null)
-                        ((DirectBuffer)ses.readBuffer()).cleaner().clean();
-                }
+                if (bufPool != null)
+                    ses.releaseBuffers(bufPool);
 
                 try {
                     try {
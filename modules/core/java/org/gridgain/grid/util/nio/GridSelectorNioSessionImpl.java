@@ -57,12 +57,20 @@ class GridSelectorNioSessionImpl extends GridNioSessionImpl {
     @GridToStringExclude
     private final Semaphore sem;
 
-    /** Write buffer. */
-    private ByteBuffer writeBuf;
-
-    /** Read buffer. */
+    /** Read buffer, {@code null} if there is no unprocessed data. */
+    @GridToStringExclude
     private ByteBuffer readBuf;
 
+    /** Write buffers pending to be sent, {@code null} if not in direct mode. */
+    @GridToStringExclude
+    private final ByteBuffer[] writeBufs;
+
+    /** Index of first pending write buffer. */
+    private int writeBufsOff;
+
+    /** Number of pending write buffers. */
+    private int writeBufsCnt;
+
     /**
      * Creates session instance.
      *
@@ -72,8 +80,8 @@ class GridSelectorNioSessionImpl extends GridNioSessionImpl {
      * @param rmtAddr Remote address.
      * @param accepted Accepted flag.
      * @param sndQueueLimit Send queue limit.
-     * @param writeBuf Write buffer.
-     * @param readBuf Read buffer.
+     * @param maxWriteBufs Maximum number of write buffers gathered in one write, {@code 0} if
+     *      session does not use pooled buffers.
      */
     GridSelectorNioSessionImpl(
         int selectorIdx,
@@ -82,13 +90,13 @@ class GridSelectorNioSessionImpl extends GridNioSessionImpl {
         InetSocketAddress rmtAddr,
         boolean accepted,
         int sndQueueLimit,
-        @Nullable ByteBuffer writeBuf,
-        @Nullable ByteBuffer readBuf
+        int maxWriteBufs
     ) {
         super(filterChain, locAddr, rmtAddr, accepted);
 
         assert selectorIdx >= 0;
         assert sndQueueLimit >= 0;
+        assert maxWriteBufs >= 0;
 
         assert locAddr != null : "GridSelectorNioSessionImpl should have local socket address.";
         assert rmtAddr != null : "GridSelectorNioSessionImpl should have remote socket address.";
@@ -97,17 +105,7 @@ class GridSelectorNioSessionImpl extends GridNioSessionImpl {
 
         sem = sndQueueLimit > 0 ? new Semaphore(sndQueueLimit) : null;
 
-        if (writeBuf != null) {
-            writeBuf.clear();
-
-            this.writeBuf = writeBuf;
-        }
-
-        if (readBuf != null) {
-            readBuf.clear();
-
-            this.readBuf = readBuf;
-        }
+        writeBufs = maxWriteBufs > 0 ? new ByteBuffer[maxWriteBufs] : null;
     }
 
     /**
@@ -122,17 +120,76 @@ class GridSelectorNioSessionImpl extends GridNioSessionImpl {
     }
 
     /**
-     * @return Write buffer.
+     * @return Read buffer or {@code null} if there is no unprocessed data.
      */
-    public ByteBuffer writeBuffer() {
-        return writeBuf;
+    @Nullable ByteBuffer readBuffer() {
+        return readBuf;
     }
 
     /**
-     * @return Read buffer.
+     * @param readBuf Read buffer.
      */
-    public ByteBuffer readBuffer() {
-        return readBuf;
+    void readBuffer(@Nullable ByteBuffer readBuf) {
+        this.readBuf = readBuf;
+    }
+
+    /**
+     * @return Write buffers array, pending buffers are located in range
+     *      {@code [writeBuffersOffset(), writeBuffersOffset() + writeBuffersCount())}.
+     */
+    ByteBuffer[] writeBuffers() {
+        assert writeBufs != null;
+
+        return writeBufs;
+    }
+
+    /**
+     * @return Index of first pending write buffer.
+     */
+    int writeBuffersOffset() {
+        return writeBufsOff;
+    }
+
+    /**
+     * @return Number of pending write buffers.
+     */
+    int writeBuffersCount() {
+        return writeBufsCnt;
+    }
+
+    /**
+     * @param off Index of first pending write buffer.
+     * @param cnt Number of pending write buffers.
+     */
+    void writeBuffers(int off, int cnt) {
+        assert off >= 0 && cnt >= 0 && off + cnt <= writeBufs.length;
+
+        writeBufsOff = off;
+        writeBufsCnt = cnt;
+    }
+
+    /**
+     * Returns all buffers held by this session to the pool.
+     *
+     * @param pool Buffer pool.
+     */
+    void releaseBuffers(GridNioBufferPool pool) {
+        if (readBuf != null) {
+            pool.release(readBuf);
+
+            readBuf = null;
+        }
+
+        if (writeBufs != null) {
+            for (int i = writeBufsOff; i < writeBufsOff + writeBufsCnt; i++) {
+                pool.release(writeBufs[i]);
+
+                writeBufs[i] = null;
+            }
+
+            writeBufsOff = 0;
+            writeBufsCnt = 0;
+        }
     }
 
     /**
@@ -23,6 +23,7 @@
 
 package org.gridgain.grid.util.offheap;
 
+import org.gridgain.grid.*;
 import org.gridgain.grid.lang.*;
 import org.gridgain.grid.util.lang.*;
 import org.jetbrains.annotations.*;
@@ -70,6 +71,18 @@ public interface GridOffHeapMap<K> {
      */
     @Nullable public byte[] get(int hash, byte[] keyBytes);
 
+    /**
+     * Reads value for given key directly from off-heap memory without copying it to intermediate
+     * byte array. Memory passed to reader stays valid until reader returns.
+     *
+     * @param hash Hash.
+     * @param keyBytes Key bytes.
+     * @param rdr Value reader.
+     * @return Value returned by reader or {@code null} if there is no value for given key.
+     * @throws GridException If reader failed.
+     */
+    @Nullable public <T> T read(int hash, byte[] keyBytes, GridOffHeapValueReader<T> rdr) throws GridException;
+
     /**
      * Removes value from off-heap map.
      *
@@ -88,6 +101,18 @@ public interface GridOffHeapMap<K> {
      */
     public boolean removex(int hash, byte[] keyBytes);
 
+    /**
+     * Removes value from off-heap map and passes its memory to given reader instead of copying it to
+     * byte array. Memory passed to reader stays valid until reader returns.
+     *
+     * @param hash Hash.
+     * @param keyBytes Key bytes.
+     * @param rdr Value reader.
+     * @return Value returned by reader or {@code null} if there was no value for given key.
+     * @throws GridException If reader failed.
+     */
+    @Nullable public <T> T remove(int hash, byte[] keyBytes, GridOffHeapValueReader<T> rdr) throws GridException;
+
     /**
      * Puts key and value bytes into the map potentially replacing
      * existing entry.
@@ -99,6 +124,16 @@ public interface GridOffHeapMap<K> {
      */
     public boolean put(int hash, byte[] keyBytes, byte[] valBytes);
 
+    /**
+     * Puts all given entries into the map potentially replacing existing entries. Entries
+     * falling into the same segment are put under a single segment lock acquisition.
+     *
+     * @param hashes Hashes.
+     * @param keyBytes Key bytes.
+     * @param valBytes Value bytes.
+     */
+    public void putAll(int[] hashes, byte[][] keyBytes, byte[][] valBytes);
+
     /**
      * Inserts new entry into the map without comparing if there is
      * a mapping for given key already stored in map.
@@ -0,0 +1,57 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.util.offheap.unsafe;
+
+/**
+ * Allocator of raw off-heap memory used by {@link GridUnsafeMemory}. Implementations must be thread safe
+ * and must report allocation failures by throwing {@link OutOfMemoryError}.
+ */
+public interface GridUnsafeAllocator {
+    /**
+     * Allocates memory block of given size.
+     *
+     * @param size Size of block in bytes.
+     * @return Address of allocated block.
+     * @throws OutOfMemoryError If memory could not be allocated.
+     */
+    public long allocate(long size) throws OutOfMemoryError;
+
+    /**
+     * Releases memory block previously allocated by {@link #allocate(long)}.
+     *
+     * @param ptr Address of block.
+     * @param size Size of block, must be the same as passed to {@link #allocate(long)}.
+     */
+    public void release(long ptr, long size);
+
+    /**
+     * Returns unused memory retained by this allocator back to operating system.
+     */
+    public void compact();
+
+    /**
+     * @return Total amount of memory reserved from operating system by this allocator.
+     */
+    public long reservedSize();
+}
@@ -0,0 +1,160 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.util.offheap.unsafe;
+
+import java.lang.ref.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Epoch-based guard for off-heap memory which is read without locks. Every reader thread publishes
+ * epoch in which it has started reading into its own padded slot, so readers never write to
+ * shared cache lines. Memory retired by writer in some epoch may be released as soon as there is
+ * no reader which started in that or earlier epoch.
+ * <p>
+ * Slot of a thread which has exited is reused by the next registering thread, so number of
+ * slots scanned by {@link #advance()} is bounded by maximum number of concurrently live readers.
+ */
+class GridUnsafeEpochGuard {
+    /** Epoch value for inactive readers. */
+    private static final long INACTIVE = 0;
+
+    /** Current epoch. */
+    private final AtomicLong epoch = new AtomicLong(1);
+
+    /** Reader slots. */
+    private volatile Slot[] slots = new Slot[0];
+
+    /** Slot of the current thread. */
+    private final ThreadLocal<Slot> threadSlot = new ThreadLocal<Slot>() {
+        @Override protected Slot initialValue() {
+            return register();
+        }
+    };
+
+    /**
+     * Marks current thread as active reader. Must be followed by {@link #exit(Slot)}.
+     *
+     * @return Reader slot.
+     */
+    Slot enter() {
+        Slot s = threadSlot.get();
+
+        assert s.epoch == INACTIVE : "Nested optimistic reads are not supported.";
+
+        s.epoch = epoch.get();
+
+        return s;
+    }
+
+    /**
+     * Marks current thread as inactive reader.
+     *
+     * @param s Reader slot returned by {@link #enter()}.
+     */
+    void exit(Slot s) {
+        s.epoch = INACTIVE;
+    }
+
+    /**
+     * @return Current epoch.
+     */
+    long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Advances epoch and returns epoch which memory should be retired before to be safely released.
+     *
+     * @return All memory retired in epochs less than returned one may be released.
+     */
+    long advance() {
+        epoch.incrementAndGet();
+
+        long min = Long.MAX_VALUE;
+
+        for (Slot s : slots) {
+            long e = s.epoch;
+
+            if (e != INACTIVE && e < min)
+                min = e;
+        }
+
+        return min;
+    }
+
+    /**
+     * @return Free slot of exited thread or new slot for current thread.
+     */
+    private synchronized Slot register() {
+        Thread t = Thread.currentThread();
+
+        for (Slot s : slots) {
+            Thread owner = s.owner.get();
+
+            if (owner == null || !owner.isAlive()) {
+                s.owner = new WeakReference<>(t);
+
+                s.epoch = INACTIVE;
+
+                return s;
+            }
+        }
+
+        Slot s = new Slot(t);
+
+        Slot[] arr = Arrays.copyOf(slots, slots.length + 1);
+
+        arr[arr.length - 1] = s;
+
+        slots = arr;
+
+        return s;
+    }
+
+    /**
+     * Reader slot padded to occupy its own cache line.
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    static class Slot {
+        /** */
+        private long p0, p1, p2, p3, p4, p5, p6;
+
+        /** Epoch reader has started in or {@code 0} if reader is not active. */
+        private volatile long epoch;
+
+        /** */
+        private long p8, p9, p10, p11, p12, p13, p14;
+
+        /** Thread owning this slot, guarded by guard monitor. */
+        private WeakReference<Thread> owner;
+
+        /**
+         * @param owner Thread owning this slot.
+         */
+        private Slot(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+    }
+}
@@ -60,6 +60,19 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
     /** Empty byte array. */
     private static final byte[] EMPTY_BYTES = new byte[0];
 
+    /** Result of optimistic read which must be retried under lock. */
+    private static final Object RETRY = new Object();
+
+    /** Optimistic reads flag. */
+    static final boolean OPTIMISTIC_READS = Boolean.valueOf(
+        X.getSystemOrEnv(GridSystemProperties.GG_OFFHEAP_OPTIMISTIC_READS, "false"));
+
+    /** Number of retired memory regions after which segment tries to release them. */
+    private static final int RETIRED_THRESHOLD = 64;
+
+    /** Maximum number of entries traversed by optimistic read before falling back to locking. */
+    private static final int MAX_OPTIMISTIC_STEPS = 1024;
+
     /** Partition this map belongs to. */
     private final int part;
 
@@ -104,6 +117,9 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
     /** LRU poller. */
     private final GridUnsafeLruPoller lruPoller;
 
+    /** Guard for optimistic reads, {@code null} if reads always acquire segment lock. */
+    private final GridUnsafeEpochGuard guard;
+
     /**
      * @param concurrency Concurrency.
      * @param totalMem Total memory.
@@ -120,6 +136,8 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
 
         lru = totalMem > 0 ? new GridUnsafeLru(lruStripes, mem) : null;
 
+        guard = OPTIMISTIC_READS ? new GridUnsafeEpochGuard() : null;
+
         lruRelease = true;
 
         if (lru != null)
@@ -179,10 +197,13 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
      * @param mem Memory.
      * @param lru LRU.
      * @param evictLsnr Eviction closure.
+     * @param lruPoller LRU poller.
+     * @param guard Guard for optimistic reads, {@code null} if reads should always acquire segment lock.
      */
     @SuppressWarnings("unchecked")
     GridUnsafeMap(int part, int concurrency, float load, long initCap, LongAdder totalCnt, GridUnsafeMemory mem,
-        GridUnsafeLru lru, @Nullable GridOffHeapEvictListener evictLsnr, GridUnsafeLruPoller lruPoller) {
+        GridUnsafeLru lru, @Nullable GridOffHeapEvictListener evictLsnr, GridUnsafeLruPoller lruPoller,
+        @Nullable GridUnsafeEpochGuard guard) {
         this.part = part;
         this.concurrency = concurrency > MAX_CONCURRENCY ? MAX_CONCURRENCY : concurrency;
         this.load = load;
@@ -190,6 +211,7 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
         this.mem = mem;
         this.lru = lru;
         this.lruPoller = lruPoller;
+        this.guard = guard;
 
         if (lru != null)
             this.evictLsnr = evictLsnr;
@@ -291,6 +313,11 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
         return segmentFor(hash).get(hash, keyBytes);
     }
 
+    /** {@inheritDoc} */
+    @Override public <T> T read(int hash, byte[] keyBytes, GridOffHeapValueReader<T> rdr) throws GridException {
+        return segmentFor(hash).read(hash, keyBytes, rdr);
+    }
+
     /** {@inheritDoc} */
     @Override public byte[] remove(int hash, byte[] keyBytes) {
         return segmentFor(hash).remove(hash, keyBytes);
@@ -301,11 +328,47 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
         return segmentFor(hash).removex(hash, keyBytes);
     }
 
+    /** {@inheritDoc} */
+    @Override public <T> T remove(int hash, byte[] keyBytes, GridOffHeapValueReader<T> rdr) throws GridException {
+        return segmentFor(hash).remove(hash, keyBytes, rdr);
+    }
+
     /** {@inheritDoc} */
     @Override public boolean put(int hash, byte[] keyBytes, byte[] valBytes) {
         return segmentFor(hash).put(hash, keyBytes, valBytes);
     }
 
+    /** {@inheritDoc} */
+    @Override public void putAll(int[] hashes, byte[][] keyBytes, byte[][] valBytes) {
+        assert hashes.length == keyBytes.length && hashes.length == valBytes.length;
+
+        int n = hashes.length;
+
+        if (n == 0)
+            return;
+
+        // Order entries by segment, so that every segment is locked once.
+        int[] bounds = new int[segs.length + 1];
+
+        for (int i = 0; i < n; i++)
+            bounds[segmentIndex(hashes[i]) + 1]++;
+
+        for (int i = 0; i < segs.length; i++)
+            bounds[i + 1] += bounds[i];
+
+        int[] pos = Arrays.copyOf(bounds, segs.length);
+
+        int[] order = new int[n];
+
+        for (int i = 0; i < n; i++)
+            order[pos[segmentIndex(hashes[i])]++] = i;
+
+        for (int i = 0; i < segs.length; i++) {
+            if (bounds[i] < bounds[i + 1])
+                segs[i].putAll(hashes, keyBytes, valBytes, order, bounds[i], bounds[i + 1]);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void insert(int hash, byte[] keyBytes, byte[] valBytes) {
         segmentFor(hash).insert(hash, keyBytes, valBytes);
@@ -345,6 +408,9 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
 
         if (lru != null && lruRelease)
             lru.destruct();
+
+        if (lruRelease)
+            mem.compact();
     }
 
     /** {@inheritDoc} */
@@ -440,8 +506,16 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
      * @param hash the hash code for the key
      * @return the segment
      */
-    private Segment segmentFor(int hash) {
-        return segs[(hash >>> segmentShift) & segmentMask];
+    private Segment<K> segmentFor(int hash) {
+        return segs[segmentIndex(hash)];
+    }
+
+    /**
+     * @param hash Hash.
+     * @return Index of the segment for key with given hash.
+     */
+    private int segmentIndex(int hash) {
+        return (hash >>> segmentShift) & segmentMask;
     }
 
     /**
@@ -483,6 +557,12 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
         /** Threshold. */
         private long threshold;
 
+        /** Modification sequence, odd while segment is being modified. Used only for optimistic reads. */
+        private volatile int seq;
+
+        /** Retired memory regions as (address, size, epoch) triples, negative size for system memory. */
+        private final GridLongList retired = guard != null ? new GridLongList() : null;
+
         /**
          * @param idx Segment index.
          * @param cap Capacity.
@@ -568,21 +648,117 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
          * @param hash Hash code.
          * @return Locked bin address.
          */
-        @SuppressWarnings("LockAcquiredButNotSafelyReleased")
         private long writeLock(int hash) {
-            lock.writeLock().lock();
+            lockForWrite();
 
             // Get bin address inside the lock.
             return binAddress(hash);
         }
 
         /**
-         * Unlocks bin address.
+         * Acquires write lock and starts modification.
          */
+        @SuppressWarnings({"LockAcquiredButNotSafelyReleased", "NonAtomicOperationOnVolatileField"})
+        private void lockForWrite() {
+            lock.writeLock().lock();
+
+            if (guard != null)
+                seq++;
+        }
+
+        /**
+         * Ends modification and unlocks bin address.
+         */
+        @SuppressWarnings("NonAtomicOperationOnVolatileField")
         private void writeUnlock() {
+            if (guard != null)
+                seq++;
+
             lock.writeLock().unlock();
         }
 
+        /**
+         * Releases entry memory, which must be already unlinked, outside of lock.
+         *
+         * @param addr Address.
+         * @param size Size.
+         */
+        private void release(long addr, int size) {
+            if (addr == 0)
+                return;
+
+            if (guard == null)
+                mem.releaseSafe(addr, size);
+            else
+                retire(addr, size);
+        }
+
+        /**
+         * Releases table memory outside of lock.
+         *
+         * @param addr Table address.
+         * @param memCap Table memory capacity.
+         */
+        private void releaseTable(long addr, long memCap) {
+            if (guard == null)
+                mem.releaseSystem(addr, memCap);
+            else
+                retire(addr, -memCap);
+        }
+
+        /**
+         * Retires memory which may still be accessed by optimistic readers and releases previously
+         * retired memory which can not be accessed anymore.
+         *
+         * @param addr Address.
+         * @param size Size, negative for system memory.
+         */
+        private void retire(long addr, long size) {
+            assert guard != null;
+
+            synchronized (retired) {
+                retired.add(addr);
+                retired.add(size);
+                retired.add(guard.epoch());
+
+                if (retired.size() >= RETIRED_THRESHOLD * 3)
+                    releaseRetired(guard.advance());
+            }
+        }
+
+        /**
+         * Releases retired memory. Must be called while holding lock on {@link #retired}.
+         *
+         * @param before Memory retired in epochs less than this will be released.
+         */
+        private void releaseRetired(long before) {
+            long[] arr = retired.internalArray();
+
+            int size = retired.size();
+            int left = 0;
+
+            for (int i = 0; i < size; i += 3) {
+                long addr = arr[i];
+                long memSize = arr[i + 1];
+                long epoch = arr[i + 2];
+
+                if (epoch < before) {
+                    if (memSize < 0)
+                        mem.releaseSystem(addr, -memSize);
+                    else
+                        mem.releaseSafe(addr, memSize);
+                }
+                else {
+                    // Keep memory which still can be accessed by readers.
+                    arr[left++] = addr;
+                    arr[left++] = memSize;
+                    arr[left++] = epoch;
+                }
+            }
+
+            retired.truncate(left, true);
+        }
+
         /**
          * Acquires read lock abd returns bin address for given hash code.
          *
@@ -608,13 +784,21 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
          * Releases allocated table.
          */
         void destruct() {
-            lock.writeLock().lock();
+            lockForWrite();
 
             try {
                 if (tblAddr == 0)
                     return;
 
-                for (long binAddr = tblAddr; binAddr < memCap; binAddr += 8) {
+                if (retired != null) {
+                    synchronized (retired) {
+                        releaseRetired(Long.MAX_VALUE);
+                    }
+                }
+
+                long tblEnd = tblAddr + memCap;
+
+                for (long binAddr = tblAddr; binAddr < tblEnd; binAddr += 8) {
                     long entryAddr = Bin.first(binAddr, mem);
 
                     if (entryAddr == 0)
@@ -637,7 +821,7 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
             finally {
                 tblAddr = 0;
 
-                lock.writeLock().unlock();
+                writeUnlock();
             }
         }
 
@@ -715,7 +899,7 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
             long oldTblAddr = -1;
             long oldMemCap = -1;
 
-            lock.writeLock().lock();
+            lockForWrite();
 
             try {
                 // Read values inside the lock.
@@ -773,7 +957,7 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
                     evtLsnr.onEvent(REHASH);
             }
             finally {
-                lock.writeLock().unlock();
+                writeUnlock();
 
                 // Release allocated memory outside of lock.
                 if (release) {
@@ -782,7 +966,7 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
                     assert oldTblAddr != -1;
                     assert oldMemCap != -1;
 
-                    mem.releaseSystem(oldTblAddr, oldMemCap);
+                    releaseTable(oldTblAddr, oldMemCap);
                 }
             }
         }
@@ -865,7 +1049,7 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
                 writeUnlock();
 
                 // Remove current mapping outside of lock.
-                mem.release(relAddr, relSize);
+                release(relAddr, relSize);
             }
 
             // Notify eviction.
@@ -940,103 +1124,181 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
          */
         @SuppressWarnings("TooBroadScope")
         boolean put(int hash, byte[] keyBytes, byte[] valBytes) {
-            boolean isNew = true;
-
-            boolean poll = false;
+            long cnt0;
 
-            int size = 0;
+            long[] res = new long[3];
 
-            int relSize = 0;
-            long relAddr = 0;
-
-            long binAddr = writeLock(hash);
+            lockForWrite();
 
             try {
-                long first = Bin.first(binAddr, mem);
+                cnt0 = cnt;
 
-                long qAddr = 0;
+                put0(hash, keyBytes, valBytes, res);
+            }
+            finally {
+                writeUnlock();
 
-                if (first != 0) {
-                    long prev = 0;
-                    long cur = first;
+                // Release memory outside of lock.
+                if (res[0] != 0)
+                    release(res[0], (int)res[1]);
 
-                    while (true) {
-                        long next = Entry.nextAddress(cur, mem);
+                if (res[2] > 0)
+                    lruPoller.lruPoll((int)res[2]);
+            }
 
-                        // If found match.
-                        if (Entry.keyEquals(cur, keyBytes, mem)) {
-                            // If value bytes have the same length, just update the value.
-                            if (Entry.valueLength(cur, mem) == valBytes.length) {
-                                Entry.valueBytes(cur, valBytes, mem);
+            boolean isNew = cnt != cnt0;
 
-                                isNew = false;
+            if (isNew && cnt > threshold)
+                rehash();
 
-                                if (lru != null)
-                                    lru.touch(Entry.queueAddress(cur, mem), cur);
+            return isNew;
+        }
 
-                                return false;
-                            }
+        /**
+         * Puts entries with given indexes under a single write lock acquisition.
+         *
+         * @param hashes Hashes.
+         * @param keyBytes Key bytes.
+         * @param valBytes Value bytes.
+         * @param order Entry indexes.
+         * @param from Index in {@code order} to start from, inclusive.
+         * @param to Index in {@code order} to end at, exclusive.
+         */
+        void putAll(int[] hashes, byte[][] keyBytes, byte[][] valBytes, int[] order, int from, int to) {
+            // Replaced entries as (address, size) pairs to release after unlock.
+            GridLongList rel = new GridLongList();
 
-                            if (prev != 0)
-                                Entry.nextAddress(prev, next, mem); // Unlink.
-                            else
-                                first = next;
+            long pollSize = 0;
 
-                            qAddr = Entry.queueAddress(cur, mem);
+            long[] res = new long[3];
 
-                            // Prepare release of memory.
-                            relSize = Entry.size(cur, mem);
-                            relAddr = cur;
+            lockForWrite();
 
-                            isNew = false;
+            try {
+                for (int i = from; i < to; i++) {
+                    int idx = order[i];
 
-                            break;
-                        }
+                    put0(hashes[idx], keyBytes[idx], valBytes[idx], res);
 
-                        prev = cur;
-                        cur = next;
+                    if (res[0] != 0) {
+                        rel.add(res[0]);
+                        rel.add(res[1]);
 
-                        // If end of linked list.
-                        if (next == 0)
-                            break;
+                        res[0] = 0;
                     }
+
+                    pollSize += res[2];
                 }
+            }
+            finally {
+                writeUnlock();
 
-                size = Entry.HEADER + keyBytes.length + valBytes.length;
+                // Entry replaced by a failed put.
+                if (res[0] != 0) {
+                    rel.add(res[0]);
+                    rel.add(res[1]);
+                }
 
-                poll = !mem.reserve(size);
+                // Release memory outside of lock.
+                for (int i = 0; i < rel.size(); i += 2)
+                    release(rel.get(i), (int)rel.get(i + 1));
 
-                long addr = mem.allocate(size, false, true);
+                if (pollSize > 0)
+                    lruPoller.lruPoll((int)Math.min(pollSize, Integer.MAX_VALUE));
+            }
 
-                Bin.first(binAddr, addr, mem);
+            if (cnt > threshold)
+                rehash();
+        }
 
-                if (isNew) {
-                    cnt++;
+        /**
+         * Puts entry into the segment. Must be called under write lock.
+         *
+         * @param hash Hash.
+         * @param keyBytes Key bytes.
+         * @param valBytes Value bytes.
+         * @param res Result holder: address and size of replaced entry memory which must be released
+         *      after unlock (address is {@code 0} if none) and size to poll from LRU ({@code 0} if none).
+         */
+        private void put0(int hash, byte[] keyBytes, byte[] valBytes, long[] res) {
+            res[0] = 0;
+            res[1] = 0;
+            res[2] = 0;
 
-                    totalCnt.increment();
+            boolean isNew = true;
 
-                    qAddr = lru == null ? 0 : lru.offer(part, addr, hash);
-                }
-                else if (lru != null)
-                    lru.touch(qAddr, addr);
+            long binAddr = binAddress(hash);
+
+            long first = Bin.first(binAddr, mem);
+
+            long qAddr = 0;
+
+            if (first != 0) {
+                long prev = 0;
+                long cur = first;
+
+                while (true) {
+                    long next = Entry.nextAddress(cur, mem);
+
+                    // If found match.
+                    if (Entry.keyEquals(cur, keyBytes, mem)) {
+                        // If value bytes have the same length, just update the value
+                        // (unless value may be concurrently read outside of lock).
+                        if (Entry.valueLength(cur, mem) == valBytes.length && !mem.releaseDeferred()) {
+                            Entry.valueBytes(cur, valBytes, mem);
 
-                Entry.write(addr, hash, keyBytes, valBytes, qAddr, first, mem);
+                            if (lru != null)
+                                lru.touch(Entry.queueAddress(cur, mem), cur);
+
+                            return;
+                        }
+
+                        if (prev != 0)
+                            Entry.nextAddress(prev, next, mem); // Unlink.
+                        else
+                            first = next;
+
+                        qAddr = Entry.queueAddress(cur, mem);
+
+                        // Prepare release of memory.
+                        res[0] = cur;
+                        res[1] = Entry.size(cur, mem);
+
+                        isNew = false;
+
+                        break;
+                    }
 
-                return isNew;
+                    prev = cur;
+                    cur = next;
+
+                    // If end of linked list.
+                    if (next == 0)
+                        break;
+                }
             }
-            finally {
-                writeUnlock();
 
-                // Release memory outside of lock.
-                if (relAddr != 0)
-                    mem.release(relAddr, relSize);
+            int size = Entry.HEADER + keyBytes.length + valBytes.length;
 
-                if (poll)
-                    lruPoller.lruPoll(size);
+            if (!mem.reserve(size))
+                res[2] = size;
 
-                if (isNew && cnt > threshold)
-                    rehash();
+            long addr = mem.allocate(size, false, true);
+
+            if (isNew) {
+                cnt++;
+
+                totalCnt.increment();
+
+                qAddr = lru == null ? 0 : lru.offer(part, addr, hash);
             }
+            else if (lru != null)
+                lru.touch(qAddr, addr);
+
+            Entry.write(addr, hash, keyBytes, valBytes, qAddr, first, mem);
+
+            // Link entry only after it is fully written, so that optimistic readers never see partial entry.
+            Bin.first(binAddr, addr, mem);
         }
 
         /**
@@ -1128,7 +1390,93 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
 
                 // Release memory outside lock.
                 if (relAddr != 0)
-                    mem.release(relAddr, relSize);
+                    release(relAddr, relSize);
+            }
+        }
+
+        /**
+         * @param hash Hash.
+         * @param keyBytes Key bytes.
+         * @param rdr Reader of removed value.
+         * @return Value read by reader or {@code null} if there was no value for given key.
+         * @throws GridException If reader failed.
+         */
+        @SuppressWarnings("TooBroadScope")
+        @Nullable <T> T remove(int hash, byte[] keyBytes, GridOffHeapValueReader<T> rdr) throws GridException {
+            // Removed entry is read outside of lock, so its memory release must be deferred.
+            mem.deferRelease();
+
+            GridUnsafeMemory.Operation op = mem.begin();
+
+            try {
+                int relSize = 0;
+                long relAddr = 0;
+                long qAddr = 0;
+
+                long binAddr = writeLock(hash);
+
+                try {
+                    long first = Bin.first(binAddr, mem);
+
+                    if (first != 0) {
+                        long prev = 0;
+                        long cur = first;
+
+                        while (true) {
+                            long next = Entry.nextAddress(cur, mem);
+
+                            // If found match.
+                            if (Entry.keyEquals(cur, keyBytes, mem)) {
+                                if (prev != 0)
+                                    Entry.nextAddress(prev, next, mem); // Relink.
+                                else {
+                                    if (next == 0)
+                                        Bin.clear(binAddr, mem);
+                                    else
+                                        Bin.first(binAddr, next, mem);
+                                }
+
+                                // Prepare release of memory.
+                                qAddr = Entry.queueAddress(cur, mem);
+                                relSize = Entry.size(cur, mem);
+                                relAddr = cur;
+
+                                cnt--;
+
+                                totalCnt.decrement();
+
+                                break;
+                            }
+
+                            // If end of linked list.
+                            if (next == 0)
+                                break;
+
+                            prev = cur;
+                            cur = next;
+                        }
+                    }
+                }
+                finally {
+                    // Remove current mapping.
+                    if (relAddr != 0 && lru != null) {
+                        assert qAddr != 0;
+
+                        lru.remove(qAddr);
+                    }
+
+                    writeUnlock();
+
+                    // Memory will be actually released only after operation is ended.
+                    if (relAddr != 0)
+                        release(relAddr, relSize);
+                }
+
+                return relAddr == 0 ? null :
+                    rdr.read(Entry.valueAddress(relAddr, mem), Entry.valueLength(relAddr, mem));
+            }
+            finally {
+                mem.end(op);
             }
         }
 
@@ -1137,6 +1485,13 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
          * @param keyBytes Key bytes.
          */
         boolean contains(int hash, byte[] keyBytes) {
+            if (guard != null) {
+                Object res = optimisticGet(hash, keyBytes, false);
+
+                if (res != RETRY)
+                    return res != null;
+            }
+
             long binAddr = readLock(hash);
 
             try {
@@ -1162,6 +1517,13 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
          * @param keyBytes Key bytes.
          */
         @Nullable byte[] get(int hash, byte[] keyBytes) {
+            if (guard != null) {
+                Object res = optimisticGet(hash, keyBytes, true);
+
+                if (res != RETRY)
+                    return (byte[])res;
+            }
+
             long binAddr = readLock(hash);
 
             try {
@@ -1180,6 +1542,108 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
                 readUnlock();
             }
         }
+
+        /**
+         * Looks up entry without acquiring segment lock. Entries and tables retired by writers are not
+         * released while reader is active, and segment modification sequence is validated after read.
+         * <p>
+         * Validation relies on hardware not reordering loads with other loads (as on x86), since
+         * Java 7 has no load fence: volatile read of the sequence does not prevent preceding plain
+         * reads of off-heap memory from being reordered after it.
+         *
+         * @param hash Hash.
+         * @param keyBytes Key bytes.
+         * @param retval Whether value bytes should be returned.
+         * @return Value bytes (or {@link #EMPTY_BYTES} if {@code retval} is {@code false}), {@code null}
+         *      if there is no entry for given key or {@link #RETRY} if segment was concurrently modified.
+         */
+        @Nullable private Object optimisticGet(int hash, byte[] keyBytes, boolean retval) {
+            assert guard != null;
+
+            GridUnsafeEpochGuard.Slot slot = guard.enter();
+
+            try {
+                int s = seq;
+
+                if ((s & 1) != 0)
+                    return RETRY;
+
+                long tblPtr = tblAddr;
+                long c = cap;
+
+                // Table and capacity must be consistent before table is accessed.
+                if (tblPtr == 0 || seq != s)
+                    return RETRY;
+
+                long addr = Bin.first(binAddress(hash, tblPtr, c), mem);
+
+                byte[] res = null;
+
+                for (int i = 0; addr != 0; i++) {
+                    if (i == MAX_OPTIMISTIC_STEPS)
+                        return RETRY;
+
+                    if (Entry.keyEquals(addr, keyBytes, mem)) {
+                        res = retval ? Entry.valueBytes(addr, mem) : EMPTY_BYTES;
+
+                        break;
+                    }
+
+                    addr = Entry.nextAddress(addr, mem);
+                }
+
+                // Data reads are not reordered with this read on x86 only, see method javadoc.
+                return seq == s ? res : RETRY;
+            }
+            finally {
+                guard.exit(slot);
+            }
+        }
+
+        /**
+         * @param hash Hash.
+         * @param keyBytes Key bytes.
+         * @param rdr Value reader.
+         * @return Value read by reader or {@code null} if there is no value for given key.
+         * @throws GridException If reader failed.
+         */
+        @Nullable <T> T read(int hash, byte[] keyBytes, GridOffHeapValueReader<T> rdr) throws GridException {
+            // Writers must not release or overwrite entries which can be read outside of lock.
+            mem.deferRelease();
+
+            GridUnsafeMemory.Operation op = mem.begin();
+
+            try {
+                long valPtr = 0;
+                int valLen = 0;
+
+                long binAddr = readLock(hash);
+
+                try {
+                    long addr = Bin.first(binAddr, mem);
+
+                    while (addr != 0) {
+                        if (Entry.keyEquals(addr, keyBytes, mem)) {
+                            valPtr = Entry.valueAddress(addr, mem);
+                            valLen = Entry.valueLength(addr, mem);
+
+                            break;
+                        }
+
+                        addr = Entry.nextAddress(addr, mem);
+                    }
+                }
+                finally {
+                    readUnlock();
+                }
+
+                // Entry memory can not be released until operation is ended.
+                return valPtr == 0 ? null : rdr.read(valPtr, valLen);
+            }
+            finally {
+                mem.end(op);
+            }
+        }
     }
 
     /**
@@ -1383,6 +1847,15 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
             return mem.readBytes(ptr + HEADER + keyLen, valLen);
         }
 
+        /**
+         * @param ptr Pointer.
+         * @param mem Memory.
+         * @return Value address.
+         */
+        static long valueAddress(long ptr, GridUnsafeMemory mem) {
+            return ptr + HEADER + keyLength(ptr, mem);
+        }
+
         /**
          * @param ptr Pointer.
          * @param valBytes Value bytes.
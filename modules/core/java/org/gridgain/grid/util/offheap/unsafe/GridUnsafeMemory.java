@@ -57,6 +57,10 @@ public class GridUnsafeMemory {
     private static final boolean SAFE_RELEASE = Boolean.valueOf(
         X.getSystemOrEnv(GridSystemProperties.GG_OFFHEAP_SAFE_RELEASE, "false"));
 
+    /** Slab allocator flag. */
+    private static final boolean SLAB_ALLOCATOR = Boolean.valueOf(
+        X.getSystemOrEnv(GridSystemProperties.GG_OFFHEAP_SLAB_ALLOCATOR, "false"));
+
     /** Total size. */
     @GridToStringInclude
     private final long total;
@@ -69,16 +73,35 @@ public class GridUnsafeMemory {
     @GridToStringInclude
     private final AtomicLong sysAllocated;
 
+    /** Memory allocator. */
+    @GridToStringInclude
+    private final GridUnsafeAllocator allocator;
+
     /** Event listener. */
     private GridOffHeapEventListener lsnr;
 
+    /** Flag indicating that memory may be read outside of locks within memory operations. */
+    private volatile boolean deferRelease;
+
     /**
+     * Creates memory with allocator chosen by {@link GridSystemProperties#GG_OFFHEAP_SLAB_ALLOCATOR} property.
+     *
      * @param total Total size, {@code 0} for unlimited.
      */
     public GridUnsafeMemory(long total) {
+        this(total, SLAB_ALLOCATOR ? new GridUnsafeSlabAllocator() : new GridUnsafeSystemAllocator());
+    }
+
+    /**
+     * @param total Total size, {@code 0} for unlimited.
+     * @param allocator Memory allocator.
+     */
+    public GridUnsafeMemory(long total, GridUnsafeAllocator allocator) {
         assert total >= 0;
+        assert allocator != null;
 
         this.total = total;
+        this.allocator = allocator;
 
         allocated = new AtomicLong();
 
@@ -181,7 +204,7 @@ public class GridUnsafeMemory {
             cnt.addAndGet(size);
 
         try {
-            long ptr = UNSAFE.allocateMemory(size);
+            long ptr = allocator.allocate(size);
 
             if (init)
                 fill(ptr, size, FREE);
@@ -217,6 +240,47 @@ public class GridUnsafeMemory {
         release0(ptr, size, allocated);
     }
 
+    /**
+     * Releases memory at the given address. If {@link #deferRelease()} was called, memory will be released
+     * only after all concurrent memory operations are ended.
+     *
+     * @param ptr Pointer to memory.
+     * @param size Memory region size.
+     */
+    public void releaseSafe(long ptr, long size) {
+        if (ptr == 0)
+            return;
+
+        if (!deferRelease)
+            release(ptr, size);
+        else {
+            Operation op = begin();
+
+            try {
+                releaseLater(ptr, size);
+            }
+            finally {
+                end(op);
+            }
+        }
+    }
+
+    /**
+     * Makes all subsequent {@link #releaseSafe(long, long)} calls defer memory release until concurrent
+     * memory operations are ended. Must be called before reading memory outside of locks.
+     */
+    public void deferRelease() {
+        if (!deferRelease)
+            deferRelease = true;
+    }
+
+    /**
+     * @return {@code True} if {@link #releaseSafe(long, long)} defers memory release.
+     */
+    public boolean releaseDeferred() {
+        return deferRelease;
+    }
+
     /**
      * Releases memory allocated by {@link #allocateSystem(long, boolean)}.
      *
@@ -239,7 +303,7 @@ public class GridUnsafeMemory {
             if (SAFE_RELEASE)
                 fill(ptr, size, (byte)0xAB);
 
-            UNSAFE.freeMemory(ptr);
+            allocator.release(ptr, size);
 
             cnt.addAndGet(-size);
 
@@ -677,6 +741,27 @@ public class GridUnsafeMemory {
         return sysAllocated.get();
     }
 
+    /**
+     * @return Size of memory actually reserved from operating system including allocator overhead.
+     */
+    public long reservedSize() {
+        return allocator.reservedSize();
+    }
+
+    /**
+     * @return Memory allocator.
+     */
+    public GridUnsafeAllocator allocator() {
+        return allocator;
+    }
+
+    /**
+     * Returns unused memory retained by allocator back to operating system.
+     */
+    public void compact() {
+        allocator.compact();
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(GridUnsafeMemory.class, this);
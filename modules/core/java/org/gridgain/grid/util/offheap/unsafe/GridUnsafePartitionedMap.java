@@ -89,6 +89,8 @@ public class GridUnsafePartitionedMap implements GridOffHeapPartitionedMap {
 
         lru = totalMem > 0 ? new GridUnsafeLru(lruStripes, mem) : null;
 
+        GridUnsafeEpochGuard guard = GridUnsafeMap.OPTIMISTIC_READS ? new GridUnsafeEpochGuard() : null;
+
         long cnt = initCap / parts;
         int mod = (int)(initCap % parts);
 
@@ -131,7 +133,7 @@ public class GridUnsafePartitionedMap implements GridOffHeapPartitionedMap {
                             left -= released;
                         }
                     }
-                }
+                }, guard
             );
         }
     }
@@ -155,7 +157,7 @@ public class GridUnsafePartitionedMap implements GridOffHeapPartitionedMap {
      * @param p Partition.
      * @return Map for partition.
      */
-    private GridOffHeapMap mapFor(int p) {
+    private GridOffHeapMap<?> mapFor(int p) {
         assert p < parts;
 
         return partMap[p];
@@ -171,6 +173,18 @@ public class GridUnsafePartitionedMap implements GridOffHeapPartitionedMap {
         return mapFor(p).get(hash, keyBytes);
     }
 
+    /** {@inheritDoc} */
+    @Override public <T> T read(int p, int hash, byte[] keyBytes, GridOffHeapValueReader<T> rdr)
+        throws GridException {
+        return mapFor(p).read(hash, keyBytes, rdr);
+    }
+
+    /** {@inheritDoc} */
+    @Override public <T> T remove(int p, int hash, byte[] keyBytes, GridOffHeapValueReader<T> rdr)
+        throws GridException {
+        return mapFor(p).remove(hash, keyBytes, rdr);
+    }
+
     /** {@inheritDoc} */
     @Override public byte[] remove(int p, int hash, byte[] keyBytes) {
         return mapFor(p).remove(hash, keyBytes);
@@ -186,6 +200,11 @@ public class GridUnsafePartitionedMap implements GridOffHeapPartitionedMap {
         return mapFor(p).put(hash, keyBytes, valBytes);
     }
 
+    /** {@inheritDoc} */
+    @Override public void putAll(int p, int[] hashes, byte[][] keyBytes, byte[][] valBytes) {
+        mapFor(p).putAll(hashes, keyBytes, valBytes);
+    }
+
     /** {@inheritDoc} */
     @Override public void insert(int p, int hash, byte[] keyBytes, byte[] valBytes) {
         mapFor(p).insert(hash, keyBytes, valBytes);
@@ -251,6 +270,8 @@ public class GridUnsafePartitionedMap implements GridOffHeapPartitionedMap {
 
         if (lru != null)
             lru.destruct();
+
+        mem.compact();
     }
 
     /** {@inheritDoc} */
@@ -0,0 +1,610 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.util.offheap.unsafe;
+
+import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import sun.misc.*;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Size-class slab allocator. Small blocks are carved from slabs which are reserved from operating
+ * system in large pieces, so that single {@link Unsafe#allocateMemory(long)} call serves many
+ * allocations. Each size class is striped into several arenas selected by thread ID, blocks released
+ * into slab are reused through intrusive free list. Slabs which become empty are returned to operating
+ * system (at most one empty slab per arena is retained to avoid thrashing), {@link #compact()} releases
+ * all empty slabs. Blocks larger than maximum block size are allocated directly.
+ * <p>
+ * Every block is prefixed with {@code 8}-byte header containing ID of the slab it belongs to.
+ */
+public class GridUnsafeSlabAllocator implements GridUnsafeAllocator {
+    /** Unsafe handle. */
+    private static final Unsafe UNSAFE = GridUnsafe.unsafe();
+
+    /** Block header size. */
+    private static final int HDR = 8;
+
+    /** Header value for blocks allocated outside of slabs. */
+    private static final int LARGE = -1;
+
+    /** Size class granularity shift. */
+    private static final int GRANULARITY_SHIFT = 4;
+
+    /** Size class granularity. */
+    private static final int GRANULARITY = 1 << GRANULARITY_SHIFT;
+
+    /** Default slab size. */
+    public static final int DFLT_SLAB_SIZE = 64 * 1024;
+
+    /** Default maximum size of block (including header) served from slabs. */
+    public static final int DFLT_MAX_BLOCK_SIZE = 4096;
+
+    /** Default number of arenas per size class. */
+    public static final int DFLT_ARENAS = Math.min(16, Runtime.getRuntime().availableProcessors());
+
+    /** Slab size. */
+    private final int slabSize;
+
+    /** Maximum block size. */
+    private final int maxBlockSize;
+
+    /** Block sizes indexed by size class. */
+    private final int[] blockSizes;
+
+    /** Size class index by block size divided by granularity. */
+    private final byte[] clsIdx;
+
+    /** Arenas indexed by size class and stripe. */
+    private final Arena[][] arenas;
+
+    /** Arenas mask. */
+    private final int arenaMask;
+
+    /** Slabs indexed by ID. */
+    private volatile Slab[] slabs = new Slab[64];
+
+    /** Released slab IDs. */
+    private final GridLongList freeIds = new GridLongList();
+
+    /** Next never used slab ID. */
+    private int nextId;
+
+    /** Mutex for slabs registry. */
+    private final Object regMux = new Object();
+
+    /** Memory reserved for slabs. */
+    private final AtomicLong slabsReserved = new AtomicLong();
+
+    /** Memory reserved for large blocks. */
+    private final AtomicLong largeReserved = new AtomicLong();
+
+    /**
+     * Creates allocator with default settings.
+     */
+    public GridUnsafeSlabAllocator() {
+        this(DFLT_SLAB_SIZE, DFLT_MAX_BLOCK_SIZE, DFLT_ARENAS);
+    }
+
+    /**
+     * @param slabSize Slab size.
+     * @param maxBlockSize Maximum size of block served from slabs, must be multiple of {@code 16}.
+     * @param arenas Number of arenas per size class, will be rounded up to power of two.
+     */
+    public GridUnsafeSlabAllocator(int slabSize, int maxBlockSize, int arenas) {
+        A.ensure(maxBlockSize >= GRANULARITY && maxBlockSize % GRANULARITY == 0,
+            "maxBlockSize must be positive multiple of " + GRANULARITY);
+        A.ensure(slabSize >= maxBlockSize, "slabSize >= maxBlockSize");
+        A.ensure(arenas > 0, "arenas > 0");
+
+        this.slabSize = slabSize;
+        this.maxBlockSize = maxBlockSize;
+
+        GridLongList sizes = new GridLongList();
+
+        // Fine-grained classes for small blocks, then four classes per each power of two.
+        for (int size = GRANULARITY; size <= maxBlockSize; ) {
+            sizes.add(size);
+
+            if (size < 256)
+                size += GRANULARITY;
+            else
+                size += Integer.highestOneBit(size) >> 2;
+        }
+
+        if (sizes.get(sizes.size() - 1) != maxBlockSize)
+            sizes.add(maxBlockSize);
+
+        A.ensure(sizes.size() <= Byte.MAX_VALUE, "Too many size classes: " + sizes.size());
+
+        blockSizes = new int[sizes.size()];
+
+        for (int i = 0; i < blockSizes.length; i++)
+            blockSizes[i] = (int)sizes.get(i);
+
+        clsIdx = new byte[(maxBlockSize >> GRANULARITY_SHIFT) + 1];
+
+        for (int i = 0, cls = 0; i < clsIdx.length; i++) {
+            while (blockSizes[cls] < i << GRANULARITY_SHIFT)
+                cls++;
+
+            clsIdx[i] = (byte)cls;
+        }
+
+        int stripes = U.ceilPow2(arenas);
+
+        arenaMask = stripes - 1;
+
+        this.arenas = new Arena[blockSizes.length][stripes];
+
+        for (int cls = 0; cls < blockSizes.length; cls++) {
+            for (int i = 0; i < stripes; i++)
+                this.arenas[cls][i] = new Arena(blockSizes[cls]);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public long allocate(long size) {
+        assert size > 0;
+
+        long blockSize = size + HDR;
+
+        if (blockSize > maxBlockSize) {
+            long ptr = UNSAFE.allocateMemory(blockSize);
+
+            largeReserved.addAndGet(blockSize);
+
+            UNSAFE.putInt(ptr, LARGE);
+
+            return ptr + HDR;
+        }
+
+        int cls = clsIdx[(int)((blockSize + GRANULARITY - 1) >> GRANULARITY_SHIFT)];
+
+        Arena arena = arenas[cls][(int)Thread.currentThread().getId() & arenaMask];
+
+        return arena.allocate() + HDR;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void release(long ptr, long size) {
+        long hdr = ptr - HDR;
+
+        int id = UNSAFE.getInt(hdr);
+
+        if (id == LARGE) {
+            UNSAFE.freeMemory(hdr);
+
+            largeReserved.addAndGet(-(size + HDR));
+
+            return;
+        }
+
+        Slab slab = slabs[id];
+
+        assert slab != null && hdr >= slab.base && hdr < slab.base + slabSize : "Invalid block [ptr=" + ptr +
+            ", size=" + size + ", slab=" + slab + ']';
+
+        slab.arena.release(slab, hdr);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void compact() {
+        for (Arena[] clsArenas : arenas) {
+            for (Arena arena : clsArenas)
+                arena.compact();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public long reservedSize() {
+        return slabsReserved.get() + largeReserved.get();
+    }
+
+    /**
+     * @return Memory reserved for slabs.
+     */
+    public long slabsReservedSize() {
+        return slabsReserved.get();
+    }
+
+    /**
+     * @return Memory reserved for blocks larger than maximum block size.
+     */
+    public long largeReservedSize() {
+        return largeReserved.get();
+    }
+
+    /**
+     * @return Number of size classes.
+     */
+    public int sizeClasses() {
+        return blockSizes.length;
+    }
+
+    /**
+     * @param cls Size class.
+     * @return Size of blocks (including header) in given size class.
+     */
+    public int blockSize(int cls) {
+        return blockSizes[cls];
+    }
+
+    /**
+     * @param cls Size class.
+     * @return Number of slabs in given size class.
+     */
+    public int slabs(int cls) {
+        int res = 0;
+
+        for (Arena arena : arenas[cls])
+            res += arena.slabCnt;
+
+        return res;
+    }
+
+    /**
+     * @param cls Size class.
+     * @return Number of bytes occupied by allocated blocks in given size class.
+     */
+    public long usedBytes(int cls) {
+        long res = 0;
+
+        for (Arena arena : arenas[cls])
+            res += arena.usedBlocks;
+
+        return res * blockSizes[cls];
+    }
+
+    /**
+     * @param cls Size class.
+     * @return Number of bytes reserved for given size class but not occupied by allocated blocks.
+     */
+    public long freeBytes(int cls) {
+        long res = 0;
+
+        for (Arena arena : arenas[cls])
+            res += (long)arena.slabCnt * slabSize;
+
+        return res - usedBytes(cls);
+    }
+
+    /**
+     * @return Fraction of slabs memory not occupied by allocated blocks.
+     */
+    public float fragmentation() {
+        long reserved = slabsReserved.get();
+
+        if (reserved == 0)
+            return 0;
+
+        long used = 0;
+
+        for (int cls = 0; cls < blockSizes.length; cls++)
+            used += usedBytes(cls);
+
+        return reserved > used ? (float)(reserved - used) / reserved : 0;
+    }
+
+    /**
+     * Reserves new slab and registers it.
+     *
+     * @param arena Arena the slab will belong to.
+     * @return New slab.
+     */
+    private Slab newSlab(Arena arena) {
+        long base = UNSAFE.allocateMemory(slabSize);
+
+        slabsReserved.addAndGet(slabSize);
+
+        synchronized (regMux) {
+            int id = freeIds.isEmpty() ? nextId++ : (int)freeIds.remove();
+
+            Slab[] arr = slabs;
+
+            if (id == arr.length) {
+                arr = Arrays.copyOf(arr, arr.length << 1);
+
+                arr[id] = new Slab(id, base, arena);
+
+                slabs = arr;
+            }
+            else {
+                arr[id] = new Slab(id, base, arena);
+
+                slabs = arr; // Volatile write to publish slab.
+            }
+
+            return arr[id];
+        }
+    }
+
+    /**
+     * Returns slab memory to operating system.
+     *
+     * @param slab Empty slab.
+     */
+    private void freeSlab(Slab slab) {
+        assert slab.live == 0 : slab;
+
+        synchronized (regMux) {
+            slabs[slab.id] = null;
+
+            freeIds.add(slab.id);
+        }
+
+        UNSAFE.freeMemory(slab.base);
+
+        slabsReserved.addAndGet(-slabSize);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridUnsafeSlabAllocator.class, this, "slabsReserved", slabsReserved.get(),
+            "largeReserved", largeReserved.get());
+    }
+
+    /**
+     * Slab state.
+     */
+    private enum SlabState {
+        /** Slab blocks are currently being allocated. */
+        CURRENT,
+
+        /** Slab has no free blocks. */
+        FULL,
+
+        /** Slab has free blocks and is queued for reuse. */
+        PARTIAL,
+
+        /** Slab is empty and retained for reuse. */
+        SPARE,
+
+        /** Slab memory has been released. */
+        FREED
+    }
+
+    /**
+     * Contiguous memory region split into blocks of the same size. Guarded by owning arena.
+     */
+    private class Slab {
+        /** Slab ID. */
+        private final int id;
+
+        /** Base address. */
+        private final long base;
+
+        /** Owning arena. */
+        private final Arena arena;
+
+        /** Number of blocks never allocated so far. */
+        private int bump;
+
+        /** Head of free blocks list. */
+        private long freeHead;
+
+        /** Number of allocated blocks. */
+        private int live;
+
+        /** State. */
+        private SlabState state = SlabState.CURRENT;
+
+        /**
+         * @param id Slab ID.
+         * @param base Base address.
+         * @param arena Owning arena.
+         */
+        private Slab(int id, long base, Arena arena) {
+            this.id = id;
+            this.base = base;
+            this.arena = arena;
+        }
+
+        /**
+         * @return Address of allocated block header or {@code 0} if slab has no free blocks.
+         */
+        private long allocate() {
+            long hdr = freeHead;
+
+            if (hdr != 0)
+                freeHead = UNSAFE.getLong(hdr + HDR);
+            else if (bump < arena.capacity)
+                hdr = base + (long)bump++ * arena.blockSize;
+            else
+                return 0;
+
+            UNSAFE.putInt(hdr, id);
+
+            live++;
+
+            return hdr;
+        }
+
+        /**
+         * @param hdr Address of released block header.
+         */
+        private void release(long hdr) {
+            UNSAFE.putLong(hdr + HDR, freeHead);
+
+            freeHead = hdr;
+
+            live--;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Slab.class, this);
+        }
+    }
+
+    /**
+     * Set of slabs of one size class used by subset of threads.
+     */
+    private class Arena {
+        /** Block size. */
+        private final int blockSize;
+
+        /** Blocks per slab. */
+        private final int capacity;
+
+        /** Slab blocks are currently allocated from. */
+        private Slab cur;
+
+        /** Empty slab retained for reuse. */
+        private Slab spare;
+
+        /** Slabs with free blocks, may contain stale entries in other states. */
+        private final ArrayDeque<Slab> partial = new ArrayDeque<>();
+
+        /** Number of slabs, read without lock for metrics. */
+        private volatile int slabCnt;
+
+        /** Number of allocated blocks, read without lock for metrics. */
+        private volatile long usedBlocks;
+
+        /**
+         * @param blockSize Block size.
+         */
+        private Arena(int blockSize) {
+            this.blockSize = blockSize;
+
+            capacity = slabSize / blockSize;
+        }
+
+        /**
+         * @return Address of allocated block header.
+         */
+        private synchronized long allocate() {
+            long hdr = cur != null ? cur.allocate() : 0;
+
+            while (hdr == 0) {
+                if (cur != null)
+                    cur.state = SlabState.FULL;
+
+                cur = nextSlab();
+
+                cur.state = SlabState.CURRENT;
+
+                hdr = cur.allocate();
+            }
+
+            usedBlocks++;
+
+            return hdr;
+        }
+
+        /**
+         * @return Slab to allocate blocks from.
+         */
+        private Slab nextSlab() {
+            Slab s;
+
+            while ((s = partial.poll()) != null) {
+                if (s.state == SlabState.PARTIAL)
+                    return s;
+            }
+
+            if (spare != null) {
+                s = spare;
+
+                spare = null;
+
+                return s;
+            }
+
+            s = newSlab(this);
+
+            slabCnt++;
+
+            return s;
+        }
+
+        /**
+         * @param slab Slab.
+         * @param hdr Address of released block header.
+         */
+        private synchronized void release(Slab slab, long hdr) {
+            slab.release(hdr);
+
+            usedBlocks--;
+
+            if (slab.state == SlabState.FULL) {
+                slab.state = SlabState.PARTIAL;
+
+                partial.add(slab);
+            }
+
+            if (slab.live == 0 && slab.state == SlabState.PARTIAL) {
+                if (spare == null) {
+                    slab.state = SlabState.SPARE;
+
+                    spare = slab;
+                }
+                else
+                    free(slab);
+            }
+        }
+
+        /**
+         * Releases all empty slabs.
+         */
+        private synchronized void compact() {
+            if (spare != null) {
+                free(spare);
+
+                spare = null;
+            }
+
+            if (cur != null && cur.live == 0) {
+                free(cur);
+
+                cur = null;
+            }
+
+            for (Iterator<Slab> it = partial.iterator(); it.hasNext(); ) {
+                Slab s = it.next();
+
+                if (s.state != SlabState.PARTIAL)
+                    it.remove();
+                else if (s.live == 0) {
+                    free(s);
+
+                    it.remove();
+                }
+            }
+        }
+
+        /**
+         * @param slab Empty slab.
+         */
+        private void free(Slab slab) {
+            slab.state = SlabState.FREED;
+
+            slabCnt--;
+
+            freeSlab(slab);
+        }
+    }
+}
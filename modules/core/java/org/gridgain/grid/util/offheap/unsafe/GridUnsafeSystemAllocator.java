@@ -0,0 +1,70 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.util.offheap.unsafe;
+
+import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import sun.misc.*;
+
+/**
+ * Allocator which delegates every allocation directly to {@link Unsafe#allocateMemory(long)}.
+ */
+public class GridUnsafeSystemAllocator implements GridUnsafeAllocator {
+    /** Unsafe handle. */
+    private static final Unsafe UNSAFE = GridUnsafe.unsafe();
+
+    /** Reserved size. */
+    private final LongAdder reserved = new LongAdder();
+
+    /** {@inheritDoc} */
+    @Override public long allocate(long size) {
+        long ptr = UNSAFE.allocateMemory(size);
+
+        reserved.add(size);
+
+        return ptr;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void release(long ptr, long size) {
+        UNSAFE.freeMemory(ptr);
+
+        reserved.add(-size);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void compact() {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override public long reservedSize() {
+        return reserved.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridUnsafeSystemAllocator.class, this, "reserved", reservedSize());
+    }
+}
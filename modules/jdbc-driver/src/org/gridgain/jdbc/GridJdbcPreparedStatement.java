@@ -40,6 +40,12 @@ class GridJdbcPreparedStatement extends GridJdbcStatement implements PreparedSta
     /** Arguments count. */
     private final int argsCnt;
 
+    /** Indexes of arguments which have been set. */
+    private final BitSet setArgs = new BitSet();
+
+    /** Batched arguments. */
+    private List<Object[]> batch;
+
     /**
      * Creates new prepared statement.
      *
@@ -60,6 +66,8 @@ class GridJdbcPreparedStatement extends GridJdbcStatement implements PreparedSta
 
         args = null;
 
+        setArgs.clear();
+
         return rs;
     }
 
@@ -166,6 +174,8 @@ class GridJdbcPreparedStatement extends GridJdbcStatement implements PreparedSta
         ensureNotClosed();
 
         args = null;
+
+        setArgs.clear();
     }
 
     /** {@inheritDoc} */
@@ -187,7 +197,41 @@ class GridJdbcPreparedStatement extends GridJdbcStatement implements PreparedSta
     @Override public void addBatch() throws SQLException {
         ensureNotClosed();
 
-        throw new SQLFeatureNotSupportedException("Updates are not supported.");
+        int cnt = setArgs.cardinality();
+
+        if (cnt != argsCnt)
+            throw new SQLException("Not all query parameters are set [expected=" + argsCnt + ", set=" + cnt + ']');
+
+        if (batch == null)
+            batch = new ArrayList<>();
+
+        // Parameters remain set until cleared, so they are copied.
+        batch.add(args != null ? args.clone() : null);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clearBatch() throws SQLException {
+        ensureNotClosed();
+
+        batch = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Since only queries are supported, the whole batch is executed in a single request
+     * and returned array contains {@link Statement#SUCCESS_NO_INFO} for each execution.
+     * Result sets are available via {@link #getResultSet()} and {@link #getMoreResults()}
+     * in the order in which parameter sets were added.
+     */
+    @Override public int[] executeBatch() throws SQLException {
+        ensureNotClosed();
+
+        List<Object[]> batch0 = batch;
+
+        batch = null;
+
+        return executeQueryBatch(sql, batch0 != null ? batch0 : Collections.<Object[]>emptyList());
     }
 
     /** {@inheritDoc} */
@@ -413,5 +457,7 @@ class GridJdbcPreparedStatement extends GridJdbcStatement implements PreparedSta
             args = new Object[argsCnt];
 
         args[paramIdx - 1] = val;
+
+        setArgs.set(paramIdx - 1);
     }
 }
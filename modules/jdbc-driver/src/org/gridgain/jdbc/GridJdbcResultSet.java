@@ -81,6 +81,9 @@ class GridJdbcResultSet implements ResultSet {
     /** Fetch size. */
     private int fetchSize;
 
+    /** Next page requested while current one is consumed. */
+    private GridClientFuture<byte[]> nextPage;
+
     /**
      * Creates new result set.
      *
@@ -158,12 +161,12 @@ class GridJdbcResultSet implements ResultSet {
             assert futId != null;
 
             try {
-                GridClientCompute compute = stmt.connection().client().compute();
+                if (nextPage == null)
+                    prefetch();
 
-                GridClientCompute prj = compute.projection(compute.node(nodeId));
+                byte[] packet = nextPage.get();
 
-                byte[] packet = prj.execute(TASK_NAME, JU.marshalArgument(
-                    JU.taskArgument(nodeId, futId, fetchSize, stmt.getMaxRows())));
+                nextPage = null;
 
                 byte status = packet[0];
                 byte[] data = new byte[packet.length - 1];
@@ -177,7 +180,7 @@ class GridJdbcResultSet implements ResultSet {
 
                     assert msg.size() == 2;
 
-                    fields = ((Collection<List<Object>>)msg.get(0)).iterator();
+                    fields = JU.rows(msg.get(0)).iterator();
                     finished = (Boolean)msg.get(1);
                 }
             }
@@ -186,6 +189,10 @@ class GridJdbcResultSet implements ResultSet {
             }
         }
 
+        // Request next page in background while current one is consumed.
+        if (!finished && nextPage == null && futId != null)
+            prefetch();
+
         if (fields != null && fields.hasNext()) {
             curr = fields.next();
 
@@ -203,9 +210,71 @@ class GridJdbcResultSet implements ResultSet {
         }
     }
 
+    /**
+     * Asynchronously requests next page from the node holding query cursor.
+     *
+     * @throws SQLException In case of error.
+     */
+    private void prefetch() throws SQLException {
+        assert nextPage == null;
+
+        try {
+            nextPage = compute().executeAsync(TASK_NAME, JU.marshalArgument(
+                JU.taskArgument(nodeId, futId, fetchSize, stmt.getMaxRows())));
+        }
+        catch (GridClientException e) {
+            throw new SQLException("Failed to query GridGain.", e);
+        }
+    }
+
+    /**
+     * @return Compute projection on the node holding query cursor.
+     * @throws GridClientException In case of error.
+     */
+    private GridClientCompute compute() throws GridClientException {
+        GridClientCompute compute = stmt.connection().client().compute();
+
+        return compute.projection(compute.node(nodeId));
+    }
+
     /** {@inheritDoc} */
     @Override public void close() throws SQLException {
+        if (closed)
+            return;
+
         closed = true;
+
+        if (!finished && futId != null) {
+            final byte[] arg = JU.marshalArgument(JU.closeArgument(nodeId, futId));
+
+            if (nextPage != null) {
+                // Release cursor only after outstanding page request is processed.
+                nextPage.listenAsync(new GridClientFutureListener<byte[]>() {
+                    @Override public void onDone(GridClientFuture<byte[]> fut) {
+                        releaseCursor(arg);
+                    }
+                });
+
+                nextPage = null;
+            }
+            else
+                releaseCursor(arg);
+        }
+    }
+
+    /**
+     * Releases server-side query cursor. Errors are ignored, since cursor
+     * will be expired by the server anyway.
+     *
+     * @param arg Marshalled task argument.
+     */
+    private void releaseCursor(byte[] arg) {
+        try {
+            compute().executeAsync(TASK_NAME, arg);
+        }
+        catch (GridClientException ignored) {
+            // No-op.
+        }
     }
 
     /** {@inheritDoc} */
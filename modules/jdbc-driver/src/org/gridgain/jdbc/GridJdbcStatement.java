@@ -58,6 +58,9 @@ class GridJdbcStatement implements Statement {
     /** Current result set. */
     private ResultSet rs;
 
+    /** Remaining result sets of executed batch. */
+    private Queue<ResultSet> batchRes;
+
     /** Query arguments. */
     protected Object[] args;
 
@@ -79,7 +82,7 @@ class GridJdbcStatement implements Statement {
     @Override public ResultSet executeQuery(String sql) throws SQLException {
         ensureNotClosed();
 
-        rs = null;
+        closeResults();
 
         if (sql == null || sql.isEmpty())
             throw new SQLException("SQL query is empty");
@@ -106,11 +109,85 @@ class GridJdbcStatement implements Statement {
                 List<String> tbls = (List<String>)msg.get(2);
                 List<String> cols = (List<String>)msg.get(3);
                 List<String> types = (List<String>)msg.get(4);
-                Collection<List<Object>> fields = (Collection<List<Object>>)msg.get(5);
+                Collection<List<Object>> fields = JU.rows(msg.get(5));
                 boolean finished = (Boolean)msg.get(6);
 
-                return new GridJdbcResultSet(this, nodeId, futId, tbls, cols, types, fields, finished, fetchSize);
+                rs = new GridJdbcResultSet(this, nodeId, futId, tbls, cols, types, fields, finished, fetchSize);
+
+                return rs;
+            }
+        }
+        catch (GridClientException e) {
+            throw new SQLException("Failed to query GridGain.", e);
+        }
+    }
+
+    /**
+     * Executes query for each set of arguments in a single request. Result set for the first
+     * execution becomes current one, others are available via {@link #getMoreResults()}.
+     * Only the first page of each result set is received with the response, the rest is
+     * fetched on demand.
+     *
+     * @param sql SQL query.
+     * @param batch Query arguments for each execution.
+     * @return {@link Statement#SUCCESS_NO_INFO} for each execution, as number of selected
+     *      rows is not known until result set is read.
+     * @throws SQLException In case of error.
+     */
+    int[] executeQueryBatch(String sql, Collection<Object[]> batch) throws SQLException {
+        ensureNotClosed();
+
+        assert batch != null;
+
+        closeResults();
+
+        if (batch.isEmpty())
+            return new int[0];
+
+        try {
+            byte[] packet = conn.client().compute().execute(TASK_NAME,
+                JU.marshalArgument(JU.batchArgument(conn.nodeId(), conn.cacheName(),
+                    sql, timeout, batch, fetchSize, maxRows)));
+
+            byte status = packet[0];
+            byte[] data = new byte[packet.length - 1];
+
+            U.arrayCopy(packet, 1, data, 0, data.length);
+
+            if (status == 1)
+                throw JU.unmarshalError(data);
+
+            List<?> msg = JU.unmarshal(data);
+
+            assert msg.size() == 5;
+
+            UUID nodeId = (UUID)msg.get(0);
+            List<String> tbls = (List<String>)msg.get(1);
+            List<String> cols = (List<String>)msg.get(2);
+            List<String> types = (List<String>)msg.get(3);
+            Collection<List<?>> execs = (Collection<List<?>>)msg.get(4);
+
+            assert execs.size() == batch.size();
+
+            batchRes = new LinkedList<>();
+
+            for (List<?> exec : execs) {
+                UUID futId = (UUID)exec.get(0);
+                Collection<List<Object>> fields = JU.rows(exec.get(1));
+                boolean finished = (Boolean)exec.get(2);
+
+                batchRes.add(futId != null ?
+                    new GridJdbcResultSet(this, nodeId, futId, tbls, cols, types, fields, finished, fetchSize) :
+                    new GridJdbcResultSet(this, tbls, cols, types, fields));
             }
+
+            rs = batchRes.poll();
+
+            int[] cnts = new int[execs.size()];
+
+            Arrays.fill(cnts, SUCCESS_NO_INFO);
+
+            return cnts;
         }
         catch (GridClientException e) {
             throw new SQLException("Failed to query GridGain.", e);
@@ -126,7 +203,34 @@ class GridJdbcStatement implements Statement {
 
     /** {@inheritDoc} */
     @Override public void close() throws SQLException {
+        if (closed)
+            return;
+
         closed = true;
+
+        closeResults();
+    }
+
+    /**
+     * Closes current result set and remaining result sets of executed batch, so that
+     * their server-side cursors are released.
+     *
+     * @throws SQLException In case of error.
+     */
+    private void closeResults() throws SQLException {
+        ResultSet rs0 = rs;
+        Queue<ResultSet> batchRes0 = batchRes;
+
+        rs = null;
+        batchRes = null;
+
+        if (rs0 != null)
+            rs0.close();
+
+        if (batchRes0 != null) {
+            for (ResultSet res : batchRes0)
+                res.close();
+        }
     }
 
     /** {@inheritDoc} */
@@ -206,7 +310,7 @@ class GridJdbcStatement implements Statement {
     @Override public boolean execute(String sql) throws SQLException {
         ensureNotClosed();
 
-        rs = executeQuery(sql);
+        executeQuery(sql);
 
         return true;
     }
@@ -215,11 +319,7 @@ class GridJdbcStatement implements Statement {
     @Override public ResultSet getResultSet() throws SQLException {
         ensureNotClosed();
 
-        ResultSet rs0 = rs;
-
-        rs = null;
-
-        return rs0;
+        return rs;
     }
 
     /** {@inheritDoc} */
@@ -233,7 +333,19 @@ class GridJdbcStatement implements Statement {
     @Override public boolean getMoreResults() throws SQLException {
         ensureNotClosed();
 
-        throw new SQLFeatureNotSupportedException("Multiple open results are not supported.");
+        if (batchRes == null)
+            throw new SQLFeatureNotSupportedException("Multiple open results are not supported.");
+
+        // Release server-side cursor of current result set.
+        if (rs != null)
+            rs.close();
+
+        rs = batchRes.poll();
+
+        if (rs == null)
+            batchRes = null;
+
+        return rs != null;
     }
 
     /** {@inheritDoc} */
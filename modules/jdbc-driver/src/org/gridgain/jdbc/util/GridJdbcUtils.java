@@ -106,7 +106,7 @@ public class GridJdbcUtils {
         assert pageSize > 0;
         assert maxRows >= 0;
 
-        Map<String, Object> map = new HashMap<>(7);
+        Map<String, Object> map = new HashMap<>(8);
 
         map.put("confNodeId", nodeId);
         map.put("cache", cacheName);
@@ -115,6 +115,7 @@ public class GridJdbcUtils {
         map.put("args", args != null ? Arrays.asList(args) : Collections.emptyList());
         map.put("pageSize", pageSize);
         map.put("maxRows", maxRows);
+        map.put("columnar", true);
 
         return map;
     }
@@ -134,16 +135,129 @@ public class GridJdbcUtils {
         assert pageSize > 0;
         assert maxRows >= 0;
 
-        Map<String, Object> map = new HashMap<>(4);
+        Map<String, Object> map = new HashMap<>(5);
 
         map.put("nodeId", nodeId);
         map.put("futId", futId);
         map.put("pageSize", pageSize);
         map.put("maxRows", maxRows);
+        map.put("columnar", true);
 
         return map;
     }
 
+    /**
+     * Creates task argument for batch execution.
+     *
+     * @param nodeId Node ID.
+     * @param cacheName Cache name.
+     * @param sql SQL query.
+     * @param timeout Query timeout.
+     * @param batch Query arguments for each execution.
+     * @param pageSize Page size.
+     * @param maxRows Maximum number of rows for each execution.
+     * @return Task argument.
+     */
+    public static Map<String, Object> batchArgument(UUID nodeId, String cacheName, String sql,
+        long timeout, Collection<Object[]> batch, int pageSize, int maxRows) {
+        assert sql != null;
+        assert timeout >= 0;
+        assert batch != null;
+        assert pageSize > 0;
+        assert maxRows >= 0;
+
+        List<List<Object>> batchArgs = new ArrayList<>(batch.size());
+
+        for (Object[] args : batch)
+            batchArgs.add(args != null ? Arrays.asList(args) : Collections.emptyList());
+
+        Map<String, Object> map = new HashMap<>(8);
+
+        map.put("confNodeId", nodeId);
+        map.put("cache", cacheName);
+        map.put("sql", sql);
+        map.put("timeout", timeout);
+        map.put("batchArgs", batchArgs);
+        map.put("pageSize", pageSize);
+        map.put("maxRows", maxRows);
+        map.put("columnar", true);
+
+        return map;
+    }
+
+    /**
+     * Creates task argument for releasing server-side query cursor.
+     *
+     * @param nodeId Node ID.
+     * @param futId Future ID.
+     * @return Task argument.
+     */
+    public static Map<String, Object> closeArgument(UUID nodeId, UUID futId) {
+        assert nodeId != null;
+        assert futId != null;
+
+        Map<String, Object> map = new HashMap<>(3);
+
+        map.put("nodeId", nodeId);
+        map.put("futId", futId);
+        map.put("close", true);
+
+        return map;
+    }
+
+    /**
+     * Converts page received from grid to rows. Page is either a collection of rows or
+     * an array of columns, where each column is a primitive array or {@code Object[]}.
+     *
+     * @param page Page.
+     * @return Rows.
+     */
+    @SuppressWarnings("unchecked")
+    public static Collection<List<Object>> rows(Object page) {
+        assert page != null;
+
+        if (page instanceof Object[])
+            return new ColumnarRows((Object[])page);
+
+        return (Collection<List<Object>>)page;
+    }
+
+    /**
+     * Gets value from column array.
+     *
+     * @param col Column array.
+     * @param idx Row index.
+     * @return Value.
+     */
+    private static Object value(Object col, int idx) {
+        if (col instanceof Object[])
+            return ((Object[])col)[idx];
+        else if (col instanceof int[])
+            return ((int[])col)[idx];
+        else if (col instanceof long[])
+            return ((long[])col)[idx];
+        else if (col instanceof double[])
+            return ((double[])col)[idx];
+        else if (col instanceof float[])
+            return ((float[])col)[idx];
+        else if (col instanceof short[])
+            return ((short[])col)[idx];
+        else if (col instanceof byte[])
+            return ((byte[])col)[idx];
+        else if (col instanceof boolean[])
+            return ((boolean[])col)[idx];
+        else
+            throw new IllegalArgumentException("Unsupported column type: " + col.getClass().getName());
+    }
+
+    /**
+     * @param col Column array.
+     * @return Number of values in column.
+     */
+    private static int length(Object col) {
+        return java.lang.reflect.Array.getLength(col);
+    }
+
     /**
      * Converts Java class name to type from {@link Types}.
      *
@@ -234,4 +348,45 @@ public class GridJdbcUtils {
             float.class.getName().equals(cls) ||
             double.class.getName().equals(cls));
     }
+
+    /**
+     * Rows view over columnar page. Values are boxed on access.
+     */
+    private static class ColumnarRows extends AbstractList<List<Object>> {
+        /** Columns. */
+        private final Object[] cols;
+
+        /** Row count. */
+        private final int size;
+
+        /**
+         * @param cols Columns.
+         */
+        private ColumnarRows(Object[] cols) {
+            this.cols = cols;
+
+            size = cols.length > 0 ? length(cols[0]) : 0;
+        }
+
+        /** {@inheritDoc} */
+        @Override public List<Object> get(final int row) {
+            if (row < 0 || row >= size)
+                throw new IndexOutOfBoundsException("Invalid row index: " + row);
+
+            return new AbstractList<Object>() {
+                @Override public Object get(int col) {
+                    return value(cols[col], row);
+                }
+
+                @Override public int size() {
+                    return cols.length;
+                }
+            };
+        }
+
+        /** {@inheritDoc} */
+        @Override public int size() {
+            return size;
+        }
+    }
 }
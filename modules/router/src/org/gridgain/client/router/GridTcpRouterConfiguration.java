@@ -1,5 +1,6 @@
 package org.gridgain.client.router;
 
+import org.gridgain.client.*;
 import org.gridgain.client.ssl.*;
 import org.gridgain.grid.*;
 import org.gridgain.grid.logger.*;
@@ -68,6 +69,9 @@ public class GridTcpRouterConfiguration {
     /** Credentials. */
     private Object creds;
 
+    /** Data configurations used for partition-aware request routing. */
+    private Collection<GridClientDataConfiguration> dataCfgs = Collections.emptyList();
+
     /**
      * Gets TCP host or IP address for router to bind to.
      * <p>
@@ -184,6 +188,22 @@ public class GridTcpRouterConfiguration {
         return creds;
     }
 
+    /**
+     * Gets data configurations used by router for partition-aware routing.
+     * <p>
+     * If affinity is configured for a cache, router will use it to forward single-key
+     * cache requests that do not specify a destination directly to the primary node
+     * for the key instead of a balanced node. Requests for which primary node cannot be
+     * resolved from router's topology are forwarded to a balanced node.
+     * <p>
+     * If not provided, all requests without destination are balanced.
+     *
+     * @return Data configurations.
+     */
+    public Collection<GridClientDataConfiguration> getDataConfigurations() {
+        return dataCfgs;
+    }
+
     /**
      * Sets host for router.
      *
@@ -282,6 +302,16 @@ public class GridTcpRouterConfiguration {
         this.creds = creds;
     }
 
+    /**
+     * Sets data configurations used by router for partition-aware routing.
+     *
+     * @param dataCfgs Data configurations.
+     * @see #getDataConfigurations()
+     */
+    public void setDataConfigurations(Collection<GridClientDataConfiguration> dataCfgs) {
+        this.dataCfgs = dataCfgs;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(GridTcpRouterConfiguration.class, this);
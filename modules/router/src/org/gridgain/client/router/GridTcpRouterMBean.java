@@ -91,4 +91,24 @@ public interface GridTcpRouterMBean {
      */
     @GridMBeanDescription("Number of responses returned by this router.")
     public long getSendCount();
+
+    /**
+     * Returns number of cache requests forwarded directly to the primary node for the key
+     * resolved by router's partition map.
+     * Note that this parameter has approximate value.
+     *
+     * @return Number of requests forwarded by affinity.
+     */
+    @GridMBeanDescription("Number of requests forwarded directly to primary node by affinity.")
+    public long getAffinityForwardedCount();
+
+    /**
+     * Returns number of requests without destination forwarded to a balanced node. Such requests
+     * may take an extra hop inside the grid if forwarded node is not the primary one.
+     * Note that this parameter has approximate value.
+     *
+     * @return Number of balanced requests.
+     */
+    @GridMBeanDescription("Number of requests forwarded to a balanced node.")
+    public long getBalancedForwardedCount();
 }
@@ -27,10 +27,12 @@ import org.gridgain.client.*;
 import org.gridgain.client.impl.*;
 import org.gridgain.client.impl.connection.*;
 import org.gridgain.client.router.*;
+import org.gridgain.grid.kernal.processors.rest.client.message.*;
 import org.jetbrains.annotations.*;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 import static org.gridgain.client.util.GridClientUtils.*;
 
@@ -48,6 +50,15 @@ class GridRouterClientImpl implements GridClient {
     private ConcurrentMap<Byte, GridClientConnectionManager> tcpConnMgrs =
             new ConcurrentHashMap<>();
 
+    /** Whether affinity is configured for at least one cache. */
+    private final boolean affAware;
+
+    /** Number of requests forwarded to primary node resolved by affinity. */
+    private final AtomicLong affFwdCnt = new AtomicLong();
+
+    /** Number of requests forwarded to a balanced node. */
+    private final AtomicLong balancedFwdCnt = new AtomicLong();
+
     /**
      * Creates a new TCP client based on the given configuration.
      *
@@ -63,9 +74,12 @@ class GridRouterClientImpl implements GridClient {
         cliCfg.setServers(routerCfg.getServers());
         cliCfg.setSslContextFactory(routerCfg.getSslContextFactory());
         cliCfg.setCredentials(routerCfg.getCredentials());
+        cliCfg.setDataConfigurations(routerCfg.getDataConfigurations());
 
         this.cliCfg = cliCfg;
 
+        affAware = hasAffinity(cliCfg);
+
         clientImpl = new GridClientImpl(id, cliCfg);
     }
 
@@ -89,9 +103,97 @@ class GridRouterClientImpl implements GridClient {
 
         this.cliCfg = cliCfg;
 
+        affAware = false;
+
         clientImpl = new GridClientImpl(id, this.cliCfg);
     }
 
+    /**
+     * @param cfg Client configuration.
+     * @return {@code True} if affinity is configured for at least one cache.
+     */
+    private static boolean hasAffinity(GridClientConfiguration cfg) {
+        for (GridClientDataConfiguration dataCfg : cfg.getDataConfigurations()) {
+            if (dataCfg.getAffinity() != null)
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @return {@code True} if router may resolve destination of cache requests by affinity.
+     */
+    boolean affinityAware() {
+        return affAware;
+    }
+
+    /**
+     * Resolves primary node for a single-key cache request using configured cache affinity
+     * and current router's topology. Primary node is returned only if it is present in topology
+     * and is reachable by the router, otherwise {@code null} is returned and request should
+     * be forwarded to a balanced node.
+     *
+     * @param req Cache request.
+     * @return Primary node ID or {@code null} if it could not be resolved.
+     */
+    @Nullable UUID affinityNode(GridClientCacheRequest<?, ?> req) {
+        Object key = req.key();
+
+        if (key == null) {
+            Map<?, ?> vals = req.values();
+
+            if (vals == null || vals.size() != 1)
+                return null;
+
+            key = vals.keySet().iterator().next();
+
+            if (key == null)
+                return null;
+        }
+
+        final String cacheName = req.cacheName();
+
+        GridClientDataConfiguration dataCfg = cliCfg.getDataConfiguration(cacheName);
+
+        GridClientDataAffinity aff = dataCfg != null ? dataCfg.getAffinity() : null;
+
+        if (aff == null)
+            return null;
+
+        Collection<GridClientNodeImpl> nodes = applyFilter(clientImpl.topology().nodes(),
+            new GridClientPredicate<GridClientNodeImpl>() {
+                @Override public boolean apply(GridClientNodeImpl e) {
+                    return e.caches().containsKey(cacheName);
+                }
+            });
+
+        if (nodes.isEmpty())
+            return null;
+
+        GridClientNode primary = aff.node(key, nodes);
+
+        // Partition map may be stale, so check that primary node is still reachable.
+        if (primary == null || !restAvailable(primary, cliCfg.getProtocol()))
+            return null;
+
+        return primary.nodeId();
+    }
+
+    /**
+     * @return Number of requests forwarded to primary node resolved by affinity.
+     */
+    long affinityForwardedCount() {
+        return affFwdCnt.get();
+    }
+
+    /**
+     * @return Number of requests forwarded to a balanced node.
+     */
+    long balancedForwardedCount() {
+        return balancedFwdCnt.get();
+    }
+
     /**
      * Gets the connection manager for a given protocol.
      *
@@ -134,6 +236,7 @@ class GridRouterClientImpl implements GridClient {
      * @param destId Id of node to send message to. If {@code null} than node will be chosen
      *     from the topology randomly.
      * @param protoId Client protocol ID (if applicable).
+     * @param affinity Whether {@code destId} was resolved by affinity.
      * @return Future, representing forwarded message.
      * @throws GridServerUnreachableException If destination node can't be reached.
      * @throws GridClientClosedException If client is closed.
@@ -141,8 +244,8 @@ class GridRouterClientImpl implements GridClient {
      * @throws InterruptedException If router was interrupted while trying.
      *     to establish connection with destination node.
      */
-    GridClientFutureAdapter<?> forwardMessage(Object msg, @Nullable UUID destId, @Nullable Byte protoId)
-        throws GridClientException, InterruptedException {
+    GridClientFutureAdapter<?> forwardMessage(Object msg, @Nullable UUID destId, @Nullable Byte protoId,
+        boolean affinity) throws GridClientException, InterruptedException {
         GridClientTopology top = clientImpl.topology();
 
         GridClientNode dest = destId != null ?
@@ -156,6 +259,11 @@ class GridRouterClientImpl implements GridClient {
         if (dest == null)
             throw new GridServerUnreachableException("Failed to resolve node for specified destination ID: " + destId);
 
+        if (affinity)
+            affFwdCnt.incrementAndGet();
+        else if (destId == null)
+            balancedFwdCnt.incrementAndGet();
+
         GridClientConnectionManager connMgr = connectionManager(protoId);
 
         GridClientConnection conn = null;
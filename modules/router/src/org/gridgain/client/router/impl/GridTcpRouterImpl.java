@@ -308,6 +308,16 @@ public class GridTcpRouterImpl implements GridTcpRouter, GridTcpRouterMBean {
         return parser != null ? parser.getSendCount() : 0;
     }
 
+    /** {@inheritDoc} */
+    @Override public long getAffinityForwardedCount() {
+        return client != null ? client.affinityForwardedCount() : 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getBalancedForwardedCount() {
+        return client != null ? client.balancedForwardedCount() : 0;
+    }
+
     /** {@inheritDoc} */
     @Override public int hashCode() {
         return id.hashCode();
@@ -38,6 +38,7 @@ import org.gridgain.grid.util.nio.*;
 import org.gridgain.grid.util.tostring.*;
 import org.jetbrains.annotations.*;
 
+import java.io.*;
 import java.util.*;
 
 import static org.gridgain.grid.util.nio.GridNioSessionMetaKey.*;
@@ -61,6 +62,10 @@ class GridTcpRouterNioListener implements GridNioServerListener<GridClientMessag
         GridClientJdkMarshaller.PROTOCOL_ID, new GridClientJdkMarshaller()
     );
 
+    /** Serialized headers of cache requests by protocol ID. */
+    @GridToStringExclude
+    private static final Map<Byte, byte[]> cacheReqHdrs = cacheRequestHeaders();
+
     /**
      * @param log Logger.
      * @param client Client for grid access.
@@ -104,7 +109,17 @@ class GridTcpRouterNioListener implements GridNioServerListener<GridClientMessag
                 else
                     U.warn(log, "No marshaller defined for session, using default PROTOBUF [ses=" + ses + ']');
 
-                client.forwardMessage(routerMsg, routerMsg.destinationId(), protoId)
+                UUID destId = routerMsg.destinationId();
+
+                boolean affinity = false;
+
+                if (destId == null && client.affinityAware()) {
+                    destId = affinityDestination(routerMsg, protoId);
+
+                    affinity = destId != null;
+                }
+
+                client.forwardMessage(routerMsg, destId, protoId, affinity)
                     .listenAsync(new GridClientFutureListener() {
                         @Override public void onDone(GridClientFuture fut) {
                             try {
@@ -192,6 +207,83 @@ class GridTcpRouterNioListener implements GridNioServerListener<GridClientMessag
             throw new IllegalArgumentException("Unsupported input message: " + msg);
     }
 
+    /**
+     * Tries to resolve primary node for a single-key cache request, so that it can be
+     * forwarded directly to the node owning the key.
+     *
+     * @param routerMsg Router request.
+     * @param protoId Protocol ID of session marshaller.
+     * @return Primary node ID or {@code null} if request should be forwarded to a balanced node.
+     */
+    @Nullable private UUID affinityDestination(GridRouterRequest routerMsg, byte protoId) {
+        GridClientMarshaller marsh = suppMarshMap.get(protoId);
+
+        byte[] hdr = cacheReqHdrs.get(protoId);
+
+        byte[] body = routerMsg.body();
+
+        // Only cache requests are unmarshalled, other requests are recognized by serialized header.
+        if (marsh == null || hdr == null || body == null || !U.bytesEqual(body, 0, hdr, 0, hdr.length))
+            return null;
+
+        Object req;
+
+        try {
+            req = marsh.unmarshal(body);
+        }
+        catch (IOException | RuntimeException e) {
+            // Key classes may be unavailable on router, fall back to balancing.
+            if (log.isDebugEnabled())
+                log.debug("Failed to unmarshal request for affinity routing (will balance): " + e.getMessage());
+
+            return null;
+        }
+
+        return req instanceof GridClientCacheRequest ? client.affinityNode((GridClientCacheRequest<?, ?>)req) : null;
+    }
+
+    /**
+     * Gets serialized headers identifying cache requests for each supported marshaller. Header is a common
+     * prefix of two cache requests which differ in all fields, so it depends on message type only.
+     *
+     * @return Headers by protocol ID.
+     */
+    private static Map<Byte, byte[]> cacheRequestHeaders() {
+        GridClientCacheRequest<Object, Object> req1 =
+            new GridClientCacheRequest<>(GridClientCacheRequest.GridCacheOperation.PUT);
+
+        req1.key("k1");
+
+        GridClientCacheRequest<Object, Object> req2 =
+            new GridClientCacheRequest<>(GridClientCacheRequest.GridCacheOperation.GET);
+
+        req2.sessionToken(new byte[] {1});
+        req2.cacheName("cache");
+        req2.key(2);
+
+        Map<Byte, byte[]> hdrs = new HashMap<>();
+
+        for (Map.Entry<Byte, GridClientMarshaller> e : suppMarshMap.entrySet()) {
+            try {
+                byte[] b1 = e.getValue().marshal(req1);
+                byte[] b2 = e.getValue().marshal(req2);
+
+                int len = 0;
+
+                while (len < b1.length && len < b2.length && b1[len] == b2[len])
+                    len++;
+
+                if (len > 0)
+                    hdrs.put(e.getKey(), Arrays.copyOf(b1, len));
+            }
+            catch (IOException | RuntimeException ignored) {
+                // Affinity routing is disabled for this protocol.
+            }
+        }
+
+        return hdrs;
+    }
+
     /** {@inheritDoc} */
     @Override public void onSessionWriteTimeout(GridNioSession ses) {
         U.warn(log, "Closing NIO session because of write timeout.");